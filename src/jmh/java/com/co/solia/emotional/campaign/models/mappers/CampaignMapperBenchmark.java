@@ -0,0 +1,78 @@
+package com.co.solia.emotional.campaign.models.mappers;
+
+import com.co.solia.emotional.campaign.models.daos.CampaignDao;
+import com.co.solia.emotional.campaign.models.dtos.rs.CampaignRsDto;
+import com.co.solia.emotional.share.utils.json.RecordedPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of {@link CampaignMapper} on a recorded openai response.
+ * run it with {@code mvn -P jmh compile exec:exec -Djmh.args="CampaignMapperBenchmark -prof gc"}.
+ *
+ * @author luis.bolivar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CampaignMapperBenchmark {
+
+    /**
+     * recorded campaign.
+     */
+    private ChatCompletion chat;
+
+    /**
+     * dao of the recorded campaign.
+     */
+    private CampaignDao dao;
+
+    /**
+     * identifier of the user.
+     */
+    private final UUID userId = UUID.randomUUID();
+
+    /**
+     * read the recorded response.
+     */
+    @Setup
+    public void setup() {
+        chat = RecordedPayloads.chat("campaign");
+        dao = fromChatGetDao().orElseThrow();
+    }
+
+    /**
+     * map the campaign to its dao.
+     * @return the dao.
+     */
+    @Benchmark
+    public Optional<CampaignDao> fromChatGetDao() {
+        return CampaignMapper.fromChatGetDao(chat, 3100L, UUID.randomUUID(), "entrega a tiempo",
+                UUID.randomUUID(), userId, UUID.randomUUID());
+    }
+
+    /**
+     * map a dao to the response.
+     * @return the response.
+     */
+    @Benchmark
+    public Optional<CampaignRsDto> getRsFromDao() {
+        return CampaignMapper.getRsFromDao(dao);
+    }
+}
@@ -0,0 +1,82 @@
+package com.co.solia.emotional.clean.models.mappers;
+
+import com.co.solia.emotional.clean.models.daos.CleanDao;
+import com.co.solia.emotional.clean.models.dtos.rs.CleanRsDto;
+import com.co.solia.emotional.share.utils.json.RecordedPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of {@link CleanMapper} on a recorded openai response.
+ * run it with {@code mvn -P jmh compile exec:exec -Djmh.args="CleanMapperBenchmark -prof gc"}.
+ *
+ * @author luis.bolivar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CleanMapperBenchmark {
+
+    /**
+     * message sent to clean.
+     */
+    private static final String MESSAGE = "Me encanta el nuevo producto!!! llego a tiempo y bien empacado :)";
+
+    /**
+     * recorded clean message.
+     */
+    private ChatCompletion chat;
+
+    /**
+     * dao of the recorded clean message.
+     */
+    private CleanDao dao;
+
+    /**
+     * identifier of the user.
+     */
+    private final UUID userId = UUID.randomUUID();
+
+    /**
+     * read the recorded response.
+     */
+    @Setup
+    public void setup() {
+        chat = RecordedPayloads.chat("clean");
+        dao = toDaoFromChatCompletion().orElseThrow();
+    }
+
+    /**
+     * map the clean message to its dao.
+     * @return the dao.
+     */
+    @Benchmark
+    public Optional<CleanDao> toDaoFromChatCompletion() {
+        return CleanMapper.toDaoFromChatCompletion(chat, UUID.randomUUID(), userId, null, 700L, MESSAGE);
+    }
+
+    /**
+     * map a dao to the response.
+     * @return the response.
+     */
+    @Benchmark
+    public Optional<CleanRsDto> getRsDtoFromDao() {
+        return CleanMapper.getRsDtoFromDao(dao);
+    }
+}
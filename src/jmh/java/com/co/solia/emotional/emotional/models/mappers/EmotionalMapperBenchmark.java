@@ -0,0 +1,102 @@
+package com.co.solia.emotional.emotional.models.mappers;
+
+import com.co.solia.emotional.emotional.models.daos.EmotionalDao;
+import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalRsDto;
+import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
+import com.co.solia.emotional.share.utils.json.RecordedPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of {@link EmotionalMapper} on recorded openai responses.
+ * run it with {@code mvn -P jmh compile exec:exec -Djmh.args="EmotionalMapperBenchmark -prof gc"}.
+ *
+ * @author luis.bolivar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmotionalMapperBenchmark {
+
+    /**
+     * recorded estimation of a message.
+     */
+    private ChatCompletion chat;
+
+    /**
+     * recorded estimation of several messages.
+     */
+    private ChatCompletion batchChat;
+
+    /**
+     * messages of the recorded batch.
+     */
+    private List<String> messages;
+
+    /**
+     * dao of the recorded estimation.
+     */
+    private EmotionalDao dao;
+
+    /**
+     * identifier of the user.
+     */
+    private final UUID userId = UUID.randomUUID();
+
+    /**
+     * read the recorded responses.
+     */
+    @Setup
+    public void setup() {
+        chat = RecordedPayloads.chat("emotional");
+        batchChat = RecordedPayloads.chat("emotional-batch");
+        messages = RecordedPayloads.read("emotional-rs", EmotionalClientRsDto.class).getMessages();
+        dao = EmotionalMapper.fromChatCompletionToDao(messages.getFirst(), chat, userId, 1200L, null, UUID.randomUUID())
+                .orElseThrow();
+    }
+
+    /**
+     * map an estimation to its dao.
+     * @return the dao.
+     */
+    @Benchmark
+    public Optional<EmotionalDao> fromChatCompletionToDao() {
+        return EmotionalMapper.fromChatCompletionToDao(messages.getFirst(), chat, userId, 1200L, null, dao.getId());
+    }
+
+    /**
+     * map a batch estimation to a dao by message.
+     * @return the daos by position.
+     */
+    @Benchmark
+    public Map<Integer, EmotionalDao> fromBatchChatCompletionToDaos() {
+        return EmotionalMapper.fromBatchChatCompletionToDaos(messages, batchChat, 610, userId, 4800L, dao.getId());
+    }
+
+    /**
+     * map a dao to the response.
+     * @return the response.
+     */
+    @Benchmark
+    public Optional<EmotionalRsDto> fromDaoToRsDto() {
+        return EmotionalMapper.fromDaoToRsDto(dao);
+    }
+}
@@ -0,0 +1,93 @@
+package com.co.solia.emotional.keyphrase.models.mappers;
+
+import com.co.solia.emotional.keyphrase.models.daos.KeyphraseDao;
+import com.co.solia.emotional.keyphrase.models.daos.KeyphrasesDao;
+import com.co.solia.emotional.keyphrase.models.dtos.rs.KeyphrasesRsDto;
+import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
+import com.co.solia.emotional.share.utils.json.RecordedPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of {@link KeyphraseMapper} on recorded openai responses.
+ * run it with {@code mvn -P jmh compile exec:exec -Djmh.args="KeyphraseMapperBenchmark -prof gc"}.
+ *
+ * @author luis.bolivar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyphraseMapperBenchmark {
+
+    /**
+     * recorded keyphrases.
+     */
+    private ChatCompletion chat;
+
+    /**
+     * recorded estimation of the messages.
+     */
+    private EmotionalClientRsDto emotionalRs;
+
+    /**
+     * dao of the recorded keyphrases.
+     */
+    private KeyphrasesDao dao;
+
+    /**
+     * a dao by keyphrase of the recorded keyphrases.
+     */
+    private List<KeyphraseDao> keyphrases;
+
+    /**
+     * identifier of the user.
+     */
+    private final UUID userId = UUID.randomUUID();
+
+    /**
+     * read the recorded responses.
+     */
+    @Setup
+    public void setup() {
+        chat = RecordedPayloads.chat("keyphrase");
+        emotionalRs = RecordedPayloads.read("emotional-rs", EmotionalClientRsDto.class);
+        dao = KeyphraseMapper.getDaoFromChatCompletion(chat, UUID.randomUUID(), emotionalRs, 900L, userId, "ALEGRIA")
+                .orElseThrow();
+        keyphrases = KeyphraseMapper.getKeyphraseDaos(dao);
+    }
+
+    /**
+     * map the keyphrases to its dao.
+     * @return the dao.
+     */
+    @Benchmark
+    public Optional<KeyphrasesDao> getDaoFromChatCompletion() {
+        return KeyphraseMapper.getDaoFromChatCompletion(chat, dao.getId(), emotionalRs, 900L, userId, "ALEGRIA");
+    }
+
+    /**
+     * map a dao to the response, reading back the stored estimation.
+     * @return the response.
+     */
+    @Benchmark
+    public Optional<KeyphrasesRsDto> getRsFromDao() {
+        return KeyphraseMapper.getRsFromDao(dao, keyphrases);
+    }
+}
@@ -0,0 +1,100 @@
+package com.co.solia.emotional.share.utils.json;
+
+import com.co.solia.emotional.keyphrase.models.dtos.rq.KeyphraseOpenaiRqDto;
+import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
+import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmark of the json codec against a new {@link Gson} by call, the way the mappers and clients worked before.
+ * run it with {@code mvn -P jmh compile exec:exec -Djmh.args="JsonCodecBenchmark -prof gc"}.
+ *
+ * @author luis.bolivar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    /**
+     * response of the emotional module.
+     */
+    private String emotionalRs;
+
+    /**
+     * request sent to openai to generate the keyphrases.
+     */
+    private KeyphraseOpenaiRqDto keyphraseRq;
+
+    /**
+     * build the payloads.
+     */
+    @Setup
+    public void setup() {
+        final Map<String, Double> emotions = Map.of("alegria", 0.7, "tristeza", 0.1, "enojo", 0.05,
+                "miedo", 0.05, "sorpresa", 0.2, "preocupacion", 0.1);
+        final List<String> messages = List.of("me encanta el nuevo producto, llego a tiempo.",
+                "el servicio al cliente tardo demasiado en responder.",
+                "no se si volveria a comprar, el precio subio mucho.");
+        emotionalRs = "{\"id\":\"8f0c2c4e-3a1b-4c55-9d7e-2f6a1b0c9e11\",\"messages\":"
+                + new Gson().toJson(messages) + ",\"emotions\":" + new Gson().toJson(emotions) + "}";
+        keyphraseRq = KeyphraseOpenaiRqDto.builder()
+                .emotion(EmotionEnum.ALEGRIA)
+                .messages(messages)
+                .emotions(emotions)
+                .build();
+    }
+
+    /**
+     * read with a new {@link Gson} by call.
+     * @return the dto read.
+     */
+    @Benchmark
+    public EmotionalClientRsDto readGsonByCall() {
+        return new Gson().fromJson(emotionalRs, EmotionalClientRsDto.class);
+    }
+
+    /**
+     * read with the shared codec.
+     * @return the dto read.
+     */
+    @Benchmark
+    public EmotionalClientRsDto readCodec() {
+        return JsonCodec.read(emotionalRs, EmotionalClientRsDto.class).orElseThrow();
+    }
+
+    /**
+     * write with a new {@link Gson} by call.
+     * @return the json written.
+     */
+    @Benchmark
+    public String writeGsonByCall() {
+        return new Gson().toJson(keyphraseRq);
+    }
+
+    /**
+     * write with the shared codec.
+     * @return the json written.
+     */
+    @Benchmark
+    public String writeCodec() {
+        return JsonCodec.write(keyphraseRq);
+    }
+}
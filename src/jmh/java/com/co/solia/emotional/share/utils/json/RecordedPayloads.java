@@ -0,0 +1,53 @@
+package com.co.solia.emotional.share.utils.json;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * recorded responses used by the benchmarks, read from {@code src/jmh/resources/payloads}.
+ *
+ * @author luis.bolivar.
+ */
+@UtilityClass
+public class RecordedPayloads {
+
+    /**
+     * read a recorded payload as text.
+     * @param name of the payload, without extension.
+     * @return {@link String} with the json.
+     */
+    public static String text(final String name) {
+        try (InputStream in = Objects.requireNonNull(
+                RecordedPayloads.class.getResourceAsStream("/payloads/" + name + ".json"), name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * read a recorded payload.
+     * @param name of the payload, without extension.
+     * @param type of the payload.
+     * @param <T> type of the payload.
+     * @return the payload.
+     */
+    public static <T> T read(final String name, final Class<T> type) {
+        return JsonCodec.read(text(name), type).orElseThrow(() -> new IllegalStateException("invalid payload: " + name));
+    }
+
+    /**
+     * read a recorded openai response.
+     * @param name of the payload, without extension.
+     * @return {@link ChatCompletion}.
+     */
+    public static ChatCompletion chat(final String name) {
+        return read(name, ChatCompletion.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.co.solia.emotional.loadtest.driver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * latencies and statuses of the requests of an endpoint.
+ *
+ * @author luis.bolivar.
+ */
+public class LatencyRecorder {
+
+    /**
+     * latencies of the successful requests, in nanoseconds.
+     */
+    private final List<Long> latencies = new ArrayList<>();
+
+    /**
+     * amount of responses by status, {@code -1} when the request failed without response.
+     */
+    private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+
+    /**
+     * record a response.
+     * @param status of the response.
+     * @param nanos latency from the time the request was scheduled.
+     */
+    public void record(final int status, final long nanos) {
+        statuses.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+        if (status >= 200 && status < 300) {
+            synchronized (latencies) {
+                latencies.add(nanos);
+            }
+        }
+    }
+
+    /**
+     * amount of responses by status.
+     * @return {@link Map}, {@code key}: status, {@code value}: amount of responses.
+     */
+    public Map<Integer, AtomicLong> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * amount of successful responses.
+     * @return amount of successful responses.
+     */
+    public int getSuccesses() {
+        synchronized (latencies) {
+            return latencies.size();
+        }
+    }
+
+    /**
+     * get the percentiles of the latencies of the successful responses.
+     * @param percentiles to get, between 0 and 100.
+     * @return latency of each percentile, in milliseconds.
+     */
+    public double[] percentiles(final double... percentiles) {
+        final long[] sorted;
+        synchronized (latencies) {
+            sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        final double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length && sorted.length > 0; i++) {
+            final int index = (int) Math.ceil(percentiles[i] / 100 * sorted.length) - 1;
+            result[i] = sorted[Math.clamp(index, 0, sorted.length - 1)] / 1_000_000.0;
+        }
+        return result;
+    }
+}
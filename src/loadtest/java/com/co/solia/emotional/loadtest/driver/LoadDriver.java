@@ -0,0 +1,185 @@
+package com.co.solia.emotional.loadtest.driver;
+
+import com.co.solia.emotional.share.utils.json.JsonCodec;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * open loop load driver, it sends the requests at a target rate whatever the latency of the api, split in round
+ * robin between the endpoints, and reports the throughput and the latency percentiles by endpoint.
+ * the latency is measured from the time the request was scheduled, so a slow api is not hidden by a late request.
+ * configured by system properties:
+ * <ul>
+ *     <li>{@code load.base}: url of the api, {@code http://localhost:8080} by default.</li>
+ *     <li>{@code load.rps}: requests by second between all the endpoints, 10 by default.</li>
+ *     <li>{@code load.duration-seconds}: duration of the test, 60 by default.</li>
+ *     <li>{@code load.endpoints}: {@link LoadEndpointEnum} to push, separated by comma, all but campaign by default.</li>
+ *     <li>{@code load.campaign.keyphrase-id}, {@code load.campaign.brand-id} and {@code load.campaign.emotional-id}:
+ *     existing resources used by the campaign requests.</li>
+ * </ul>
+ * each request carries a different message, so the openai cache doesn't answer it.
+ * run it with {@code mvn -P loadtest compile exec:exec -Dloadtest.args="-Dload.rps=20"}.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+public class LoadDriver {
+
+    /**
+     * percentiles reported.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+
+    /**
+     * messages used in the requests, a sequence is added to make each one unique.
+     */
+    private static final List<String> MESSAGES = List.of(
+            "Hoy fue un dia con mucho por hacer, logré muchas cosas y me la pase super bien",
+            "es buenísimo de sabor y si lo combinas con ejercicios, seguro que te funciona mucho más",
+            "No sé si tiene efectividad, el precio subio mucho este mes",
+            "el pedido llego incompleto y nadie me da una solucion");
+
+    /**
+     * url of the api.
+     */
+    private final String base;
+
+    /**
+     * properties of the campaign requests.
+     */
+    private final Map<String, String> campaign;
+
+    /**
+     * client of the api.
+     */
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * default constructor.
+     * @param base url of the api.
+     * @param campaign properties of the campaign requests.
+     */
+    public LoadDriver(final String base, final Map<String, String> campaign) {
+        this.base = base;
+        this.campaign = campaign;
+    }
+
+    /**
+     * run the load test.
+     * @param args not used, the configuration comes from the system properties.
+     * @throws InterruptedException when the test is interrupted.
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final double rps = Double.parseDouble(System.getProperty("load.rps", "10"));
+        final Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 60));
+        final List<LoadEndpointEnum> endpoints = Stream.of(System.getProperty("load.endpoints", "emotional,clean,keyphrase")
+                        .split(","))
+                .map(endpoint -> LoadEndpointEnum.valueOf(endpoint.trim().toUpperCase()))
+                .toList();
+        final LoadDriver driver = new LoadDriver(System.getProperty("load.base", "http://localhost:8080"), Map.of(
+                "keyphraseId", System.getProperty("load.campaign.keyphrase-id", ""),
+                "brandId", System.getProperty("load.campaign.brand-id", ""),
+                "emotionalId", System.getProperty("load.campaign.emotional-id", "")));
+        driver.report(driver.run(endpoints, rps, duration), duration);
+    }
+
+    /**
+     * send the requests at the target rate.
+     * @param endpoints to push.
+     * @param rps requests by second between all the endpoints.
+     * @param duration of the test.
+     * @return {@link Map}, {@code key}: {@link LoadEndpointEnum}, {@code value}: {@link LatencyRecorder}.
+     * @throws InterruptedException when the test is interrupted.
+     */
+    public Map<LoadEndpointEnum, LatencyRecorder> run(
+            final List<LoadEndpointEnum> endpoints, final double rps, final Duration duration) throws InterruptedException {
+        final Map<LoadEndpointEnum, LatencyRecorder> recorders = new EnumMap<>(LoadEndpointEnum.class);
+        endpoints.forEach(endpoint -> recorders.put(endpoint, new LatencyRecorder()));
+        final long period = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        final long start = System.nanoTime();
+        final long total = duration.toNanos() / period;
+        log.info("[run]: pushing: {} at: {} rps during: {}", endpoints, rps, duration);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                final long scheduled = start + i * period;
+                LockSupport.parkNanos(scheduled - System.nanoTime());
+                final LoadEndpointEnum endpoint = endpoints.get((int) (i % endpoints.size()));
+                final HttpRequest rq = request(endpoint, i);
+                executor.submit(() -> send(rq, scheduled, recorders.get(endpoint)));
+            }
+            log.info("[run]: all requests sent, waiting for the responses.");
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return recorders;
+    }
+
+    /**
+     * send a request and record its latency.
+     * @param rq to send.
+     * @param scheduled time the request was scheduled.
+     * @param recorder of the endpoint.
+     */
+    private void send(final HttpRequest rq, final long scheduled, final LatencyRecorder recorder) {
+        int status = -1;
+        try {
+            status = client.send(rq, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            log.error("[send]: error sending the request: {}", e.getMessage());
+        }
+        recorder.record(status, System.nanoTime() - scheduled);
+    }
+
+    /**
+     * build the request of an endpoint.
+     * @param endpoint to call.
+     * @param sequence of the request.
+     * @return {@link HttpRequest}.
+     */
+    private HttpRequest request(final LoadEndpointEnum endpoint, final long sequence) {
+        final String message = MESSAGES.get((int) (sequence % MESSAGES.size())) + " #" + sequence;
+        final Object body = switch (endpoint) {
+            case EMOTIONAL, CLEAN -> Map.of("message", message);
+            case KEYPHRASE -> Map.of("messages", List.of(message, MESSAGES.get(1), MESSAGES.get(2)));
+            case CAMPAIGN -> campaign;
+        };
+        return HttpRequest.newBuilder(URI.create(base + endpoint.getPath()))
+                .timeout(Duration.ofMinutes(2))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JsonCodec.write(body)))
+                .build();
+    }
+
+    /**
+     * log the throughput and the latency percentiles by endpoint.
+     * @param recorders by endpoint.
+     * @param duration of the test.
+     */
+    public void report(final Map<LoadEndpointEnum, LatencyRecorder> recorders, final Duration duration) {
+        log.info(String.format("%-10s %8s %10s %9s %9s %9s %9s %9s  %s",
+                "endpoint", "ok", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses"));
+        recorders.forEach((endpoint, recorder) -> {
+            final double[] p = recorder.percentiles(PERCENTILES);
+            log.info(String.format("%-10s %8d %10.2f %9.1f %9.1f %9.1f %9.1f %9.1f  %s",
+                    endpoint, recorder.getSuccesses(), recorder.getSuccesses() / (double) duration.toSeconds(),
+                    p[0], p[1], p[2], p[3], p[4], recorder.getStatuses()));
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.co.solia.emotional.loadtest.driver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * endpoints pushed by the {@link LoadDriver}.
+ *
+ * @author luis.bolivar.
+ */
+@Getter
+@AllArgsConstructor
+public enum LoadEndpointEnum {
+    EMOTIONAL("/1/emotional/compute/"),
+    CLEAN("/1/clean/compute/"),
+    KEYPHRASE("/1/keyphrase/compute/FELICIDAD"),
+    CAMPAIGN("/1/campaign/compute/");
+
+    /**
+     * path of the endpoint.
+     */
+    private final String path;
+}
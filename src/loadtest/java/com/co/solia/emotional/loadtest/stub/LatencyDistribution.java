@@ -0,0 +1,73 @@
+package com.co.solia.emotional.loadtest.stub;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * latency of the stub responses in milliseconds, defined as:
+ * <ul>
+ *     <li>{@code fixed:<ms>}.</li>
+ *     <li>{@code uniform:<min-ms>:<max-ms>}.</li>
+ *     <li>{@code lognormal:<median-ms>:<p99-ms>}, the long tail of the openai responses.</li>
+ * </ul>
+ *
+ * @author luis.bolivar.
+ */
+public interface LatencyDistribution {
+
+    /**
+     * z value of the percentile 99 in a normal distribution.
+     */
+    double Z_P99 = 2.326;
+
+    /**
+     * get the next latency.
+     * @return latency in milliseconds.
+     */
+    long next();
+
+    /**
+     * parse a latency distribution.
+     * @param spec definition of the distribution.
+     * @return {@link LatencyDistribution}.
+     */
+    static LatencyDistribution parse(final String spec) {
+        final String[] parts = spec.split(":");
+        return switch (parts[0]) {
+            case "fixed" -> fixed(Long.parseLong(parts[1]));
+            case "uniform" -> uniform(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            case "lognormal" -> lognormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+            default -> throw new IllegalArgumentException("unknown latency distribution: " + spec);
+        };
+    }
+
+    /**
+     * same latency for every response.
+     * @param millis latency.
+     * @return {@link LatencyDistribution}.
+     */
+    static LatencyDistribution fixed(final long millis) {
+        return () -> millis;
+    }
+
+    /**
+     * latency uniform between two values.
+     * @param min latency.
+     * @param max latency.
+     * @return {@link LatencyDistribution}.
+     */
+    static LatencyDistribution uniform(final long min, final long max) {
+        return () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+    }
+
+    /**
+     * latency log-normal from its median and its percentile 99.
+     * @param median latency.
+     * @param p99 latency.
+     * @return {@link LatencyDistribution}.
+     */
+    static LatencyDistribution lognormal(final double median, final double p99) {
+        final double mu = Math.log(median);
+        final double sigma = (Math.log(p99) - mu) / Z_P99;
+        return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+}
@@ -0,0 +1,256 @@
+package com.co.solia.emotional.loadtest.stub;
+
+import com.co.solia.emotional.share.utils.json.JsonCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * stand-in of openai that serves {@code /v1/chat/completions} with canned responses by prompt type,
+ * a configurable latency and injected 429 and 5xx errors, so the api can be load tested without quota.
+ * configured by system properties:
+ * <ul>
+ *     <li>{@code stub.port}: port to listen, 8089 by default.</li>
+ *     <li>{@code stub.latency}: {@link LatencyDistribution} of the responses, {@code lognormal:900:4000} by default.</li>
+ *     <li>{@code stub.rate-429}: ratio of requests answered with 429, 0 by default.</li>
+ *     <li>{@code stub.rate-5xx}: ratio of requests answered with 503, 0 by default.</li>
+ * </ul>
+ * run it with {@code mvn -P loadtest compile exec:exec -Dloadtest.main=com.co.solia.emotional.loadtest.stub.OpenaiStubServer}
+ * and start the api with the spring profile {@code loadtest}.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+public class OpenaiStubServer {
+
+    /**
+     * endpoint of the chat completions.
+     */
+    private static final String CHAT_COMPLETIONS = "/v1/chat/completions";
+
+    /**
+     * latency of the responses.
+     */
+    private final LatencyDistribution latency;
+
+    /**
+     * ratio of requests answered with 429.
+     */
+    private final double rate429;
+
+    /**
+     * ratio of requests answered with 503.
+     */
+    private final double rate5xx;
+
+    /**
+     * canned content by prompt type.
+     */
+    private final Map<StubPromptEnum, String> contents = new EnumMap<>(StubPromptEnum.class);
+
+    /**
+     * requests served, used as the id of the responses.
+     */
+    private final AtomicLong served = new AtomicLong();
+
+    /**
+     * default constructor.
+     * @param latency of the responses.
+     * @param rate429 ratio of requests answered with 429.
+     * @param rate5xx ratio of requests answered with 503.
+     */
+    public OpenaiStubServer(final LatencyDistribution latency, final double rate429, final double rate5xx) {
+        this.latency = latency;
+        this.rate429 = rate429;
+        this.rate5xx = rate5xx;
+        for (StubPromptEnum prompt : StubPromptEnum.values()) {
+            if (prompt.getContent() != null) {
+                contents.put(prompt, read("/stub/" + prompt.getContent()));
+            }
+        }
+    }
+
+    /**
+     * start the stub.
+     * @param args not used, the configuration comes from the system properties.
+     * @throws IOException when the port can't be opened.
+     */
+    public static void main(final String[] args) throws IOException {
+        final int port = Integer.getInteger("stub.port", 8089);
+        final OpenaiStubServer stub = new OpenaiStubServer(
+                LatencyDistribution.parse(System.getProperty("stub.latency", "lognormal:900:4000")),
+                Double.parseDouble(System.getProperty("stub.rate-429", "0")),
+                Double.parseDouble(System.getProperty("stub.rate-5xx", "0")));
+        final HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(CHAT_COMPLETIONS, stub::handle);
+        server.start();
+        log.info("[main]: openai stub listening on port: {}", port);
+    }
+
+    /**
+     * answer a chat completion.
+     * @param exchange of the request.
+     */
+    private void handle(final HttpExchange exchange) {
+        try (exchange) {
+            final JsonNode rq = JsonCodec.getMapper().readTree(exchange.getRequestBody());
+            Thread.sleep(latency.next());
+            final double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < rate429) {
+                exchange.getResponseHeaders().add("retry-after", "1");
+                send(exchange, 429, error("Rate limit reached for requests", "requests", "rate_limit_exceeded"));
+            } else if (roll < rate429 + rate5xx) {
+                send(exchange, 503, error("The server is overloaded or not ready yet.", "server_error", null));
+            } else {
+                final String system = message(rq, "system");
+                final String user = message(rq, "user");
+                final StubPromptEnum prompt = StubPromptEnum.from(system).orElse(null);
+                if (prompt == null) {
+                    send(exchange, 400, error("unknown prompt.", "invalid_request_error", null));
+                } else {
+                    send(exchange, 200, completion(rq, system, user, content(prompt, user)));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[handle]: error answering the request: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * get the content of the response.
+     * @param prompt type of the request.
+     * @param user message of the request.
+     * @return {@link String} with the content.
+     */
+    private String content(final StubPromptEnum prompt, final String user) {
+        return switch (prompt) {
+            case CLEAN -> user.trim().toLowerCase();
+            case EMOTIONAL_BATCH -> batch(user);
+            default -> contents.get(prompt);
+        };
+    }
+
+    /**
+     * get the canned estimation for each message of a batch.
+     * @param user message with the json of the batch.
+     * @return {@link String} with the json of the results.
+     */
+    private String batch(final String user) {
+        final ObjectNode result = JsonCodec.getMapper().createObjectNode();
+        final ArrayNode results = result.putArray("results");
+        final JsonNode emotions = JsonCodec.readTree(contents.get(StubPromptEnum.EMOTIONAL_BATCH)).orElseThrow();
+        JsonCodec.readTree(user).ifPresent(batch -> batch.path("messages").forEach(message -> results.addObject()
+                .put("id", message.path("id").asInt())
+                .set("emotions", emotions)));
+        return result.toString();
+    }
+
+    /**
+     * build the chat completion.
+     * @param rq request received.
+     * @param system message of the request.
+     * @param user message of the request.
+     * @param content of the response.
+     * @return {@link ObjectNode} with the chat completion.
+     */
+    private ObjectNode completion(final JsonNode rq, final String system, final String user, final String content) {
+        final int promptTokens = (system.length() + user.length()) / 4;
+        final int completionTokens = content.length() / 4;
+        final ObjectNode chat = JsonCodec.getMapper().createObjectNode()
+                .put("id", "chatcmpl-stub-" + served.incrementAndGet())
+                .put("object", "chat.completion")
+                .put("created", System.currentTimeMillis() / 1000)
+                .put("model", rq.path("model").asText("stub"))
+                .put("system_fingerprint", "fp_stub");
+        chat.putArray("choices").addObject()
+                .put("index", 0)
+                .put("finish_reason", "stop")
+                .putObject("message")
+                .put("role", "assistant")
+                .put("content", content);
+        chat.putObject("usage")
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+        return chat;
+    }
+
+    /**
+     * build an error in the openai format.
+     * @param message of the error.
+     * @param type of the error.
+     * @param code of the error, optional.
+     * @return {@link ObjectNode} with the error.
+     */
+    private static ObjectNode error(final String message, final String type, final String code) {
+        final ObjectNode error = JsonCodec.getMapper().createObjectNode();
+        error.putObject("error")
+                .put("message", message)
+                .put("type", type)
+                .put("code", code);
+        return error;
+    }
+
+    /**
+     * get the content of the first message of a role.
+     * @param rq request received.
+     * @param role of the message.
+     * @return {@link String} with the content, empty when there is no message of the role.
+     */
+    private static String message(final JsonNode rq, final String role) {
+        for (JsonNode message : rq.path("messages")) {
+            if (role.equals(message.path("role").asText())) {
+                return message.path("content").asText("");
+            }
+        }
+        return "";
+    }
+
+    /**
+     * write the response.
+     * @param exchange of the request.
+     * @param status of the response.
+     * @param body of the response.
+     * @throws IOException when the response can't be written.
+     */
+    private static void send(final HttpExchange exchange, final int status, final JsonNode body) throws IOException {
+        final byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * read a canned content.
+     * @param resource path of the content.
+     * @return {@link String} with the content.
+     */
+    private static String read(final String resource) {
+        try (InputStream in = Objects.requireNonNull(OpenaiStubServer.class.getResourceAsStream(resource), resource)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
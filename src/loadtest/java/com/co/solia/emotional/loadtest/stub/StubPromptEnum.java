@@ -0,0 +1,44 @@
+package com.co.solia.emotional.loadtest.stub;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * type of prompt answered by the stub, found by a text of the system message, in order of evaluation.
+ *
+ * @author luis.bolivar.
+ */
+@Getter
+@AllArgsConstructor
+public enum StubPromptEnum {
+    CLEAN("limpiador de datos", null),
+    EMOTIONAL_BATCH("varias frases", "emotional.json"),
+    EMOTIONAL_UNIQUE("analizador de sentimientos", "emotional.json"),
+    EMOTIONAL("analizador emocional", "emotional.json"),
+    KEYPHRASE("analista de datos", "keyphrase.json"),
+    CAMPAIGN("marketing", "campaign.json");
+
+    /**
+     * text of the system message that identifies the prompt.
+     */
+    private final String marker;
+
+    /**
+     * canned content of the response, in {@code src/loadtest/resources/stub}.
+     */
+    private final String content;
+
+    /**
+     * get the type of prompt from the system message.
+     * @param system message of the request.
+     * @return {@link Optional} of {@link StubPromptEnum}.
+     */
+    public static Optional<StubPromptEnum> from(final String system) {
+        return Stream.of(values())
+                .filter(prompt -> system != null && system.contains(prompt.getMarker()))
+                .findFirst();
+    }
+}
@@ -3,27 +3,27 @@ package com.co.solia.emotional.campaign.clients.impls;
 import com.co.solia.emotional.campaign.clients.clients.BrandClient;
 import com.co.solia.emotional.campaign.models.dtos.rs.BrandClientRsDto;
 import com.co.solia.emotional.campaign.models.mappers.BrandMapper;
+import com.co.solia.emotional.share.utils.http.HttpCaller;
+import com.co.solia.emotional.share.utils.http.HttpClientFactory;
+import com.co.solia.emotional.share.utils.metrics.ClientMetrics;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.Call;
-import okhttp3.ConnectionPool;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 /**
- * implementation of {@link BrandClient}.
+ * implementation of {@link BrandClient} over http, used when the brand module is deployed apart.
  *
  * @author luis.bolivar.
  */
 @Component
 @Slf4j
+@ConditionalOnProperty(name = "solia.emotional.brand.transport", havingValue = "http")
 public class BrandClientImpl implements BrandClient {
 
     /**
@@ -32,23 +32,29 @@ public class BrandClientImpl implements BrandClient {
     private final String brandUrl;
 
     /**
-     * build the client to consume the other endpoints.
+     * client to consume the other endpoints, shared transport.
      */
-    private final OkHttpClient client = new OkHttpClient()
-            .newBuilder()
-            .connectTimeout(2, TimeUnit.MINUTES)
-            .writeTimeout(2, TimeUnit.MINUTES)
-            .readTimeout(2, TimeUnit.MINUTES)
-            .connectionPool(new ConnectionPool(5, 60, TimeUnit.SECONDS))
-            .build();
+    private final HttpCaller client;
+
+    /**
+     * timer of the calls.
+     */
+    private final ClientMetrics clientMetrics;
 
     /**
      * default constructor.
      * @param brandUrl emotional url.
+     * @param httpClientFactory factory of the shared http clients.
+     * @param clientMetrics timer of the calls.
      */
     @Autowired
-    public BrandClientImpl(@Value("${solia.emotional.brand.url}") final String brandUrl){
+    public BrandClientImpl(
+            @Value("${solia.emotional.brand.url}") final String brandUrl,
+            final HttpClientFactory httpClientFactory,
+            final ClientMetrics clientMetrics){
         this.brandUrl = brandUrl;
+        this.client = httpClientFactory.create("brand");
+        this.clientMetrics = clientMetrics;
     }
 
     /**
@@ -59,10 +65,9 @@ public class BrandClientImpl implements BrandClient {
      */
     @Override
     public Optional<BrandClientRsDto> getById(final UUID id) {
-        final Request rq = getRqToGetById(getUrlGetById(id));
-        return callGetBrandById(rq).flatMap(rs -> {
-            log.info("[getById]: response: {}", rs.body());
-            return BrandMapper.getFromRs(rs);
+        return clientMetrics.record("brand", "getById", "http", () -> {
+            final Request rq = getRqToGetById(getUrlGetById(id));
+            return client.execute(rq, BrandMapper::getFromRs);
         });
     }
 
@@ -75,25 +80,6 @@ public class BrandClientImpl implements BrandClient {
         return brandUrl + id;
     }
 
-    /**
-     * call the keyphrase endpoint.
-     * @param rq for call.
-     * @return {@link Optional} of {@link Response}.
-     */
-    private Optional<Response> callGetBrandById(final Request rq) {
-        Optional<Response> result = Optional.empty();
-        try {
-            final Call call = client.newCall(rq);
-            final Response response = call.execute();
-            result = Optional.of(response);
-            log.info("[callGetBrandById] call to keyphrase ok.");
-        } catch(Exception e) {
-            log.error("[callGetBrandById]: error getting the brand processing by id error: {}", e.getMessage());
-        }
-
-        return result;
-    }
-
     /**
      * get the request to call brand api.
      * @param url to consume the api.
@@ -0,0 +1,66 @@
+package com.co.solia.emotional.campaign.clients.impls;
+
+import com.co.solia.emotional.brand.services.services.BrandService;
+import com.co.solia.emotional.campaign.clients.clients.BrandClient;
+import com.co.solia.emotional.campaign.models.dtos.rs.BrandClientRsDto;
+import com.co.solia.emotional.campaign.models.mappers.BrandMapper;
+import com.co.solia.emotional.share.utils.metrics.ClientMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * implementation of {@link BrandClient} that calls the brand service in the same application, without http.
+ *
+ * @author luis.bolivar.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "solia.emotional.brand.transport", havingValue = "local", matchIfMissing = true)
+public class BrandLocalClientImpl implements BrandClient {
+
+    /**
+     * dependency on {@link BrandService}.
+     */
+    private final BrandService brandService;
+
+    /**
+     * timer of the calls.
+     */
+    private final ClientMetrics clientMetrics;
+
+    /**
+     * default constructor.
+     * @param brandService service to get the brands.
+     * @param clientMetrics timer of the calls.
+     */
+    @Autowired
+    public BrandLocalClientImpl(final BrandService brandService, final ClientMetrics clientMetrics) {
+        this.brandService = brandService;
+        this.clientMetrics = clientMetrics;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param id to get the brand.
+     * @return
+     */
+    @Override
+    public Optional<BrandClientRsDto> getById(final UUID id) {
+        return clientMetrics.record("brand", "getById", "local", () -> {
+            Optional<BrandClientRsDto> result = Optional.empty();
+            try {
+                result = brandService.getById(id)
+                        .map(BrandMapper::getFromBrandRs)
+                        .filter(brand -> brand.id() != null);
+            } catch (Exception e) {
+                log.error("[getById]: error getting the brand processing by id error: {}", e.getMessage());
+            }
+            return result;
+        });
+    }
+}
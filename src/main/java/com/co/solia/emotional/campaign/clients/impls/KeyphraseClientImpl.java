@@ -3,27 +3,27 @@ package com.co.solia.emotional.campaign.clients.impls;
 import com.co.solia.emotional.campaign.clients.clients.KeyphraseClient;
 import com.co.solia.emotional.campaign.models.dtos.rs.KeyphraseClientRsDto;
 import com.co.solia.emotional.campaign.models.mappers.KeyphraseMapper;
+import com.co.solia.emotional.share.utils.http.HttpCaller;
+import com.co.solia.emotional.share.utils.http.HttpClientFactory;
+import com.co.solia.emotional.share.utils.metrics.ClientMetrics;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.Call;
-import okhttp3.ConnectionPool;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 /**
- * implementation of {@link KeyphraseClient}.
+ * implementation of {@link KeyphraseClient} over http, used when the keyphrase module is deployed apart.
  *
  * @author luis.bolivar.
  */
 @Component
 @Slf4j
+@ConditionalOnProperty(name = "solia.emotional.keyphrase.transport", havingValue = "http")
 public class KeyphraseClientImpl implements KeyphraseClient {
 
     /**
@@ -32,23 +32,29 @@ public class KeyphraseClientImpl implements KeyphraseClient {
     private final String keyphraseUrl;
 
     /**
-     * build the client to consume the other endpoints.
+     * client to consume the other endpoints, shared transport.
      */
-    private final OkHttpClient client = new OkHttpClient()
-            .newBuilder()
-            .connectTimeout(2, TimeUnit.MINUTES)
-            .writeTimeout(2, TimeUnit.MINUTES)
-            .readTimeout(2, TimeUnit.MINUTES)
-            .connectionPool(new ConnectionPool(5, 60, TimeUnit.SECONDS))
-            .build();
+    private final HttpCaller client;
+
+    /**
+     * timer of the calls.
+     */
+    private final ClientMetrics clientMetrics;
 
     /**
      * default constructor.
      * @param keyphraseUrl keyphrase url.
+     * @param httpClientFactory factory of the shared http clients.
+     * @param clientMetrics timer of the calls.
      */
     @Autowired
-    public KeyphraseClientImpl(@Value("${solia.emotional.keyphrase.url}") final String keyphraseUrl){
+    public KeyphraseClientImpl(
+            @Value("${solia.emotional.keyphrase.url}") final String keyphraseUrl,
+            final HttpClientFactory httpClientFactory,
+            final ClientMetrics clientMetrics){
         this.keyphraseUrl = keyphraseUrl;
+        this.client = httpClientFactory.create("keyphrase");
+        this.clientMetrics = clientMetrics;
     }
 
     /**
@@ -59,32 +65,12 @@ public class KeyphraseClientImpl implements KeyphraseClient {
      */
     @Override
     public Optional<KeyphraseClientRsDto> getKeyphraseById(UUID id) {
-        final Request rq = getRqToGetById(getUrlGetById(id));
-        return callGetKeyphraseById(rq).flatMap(rs -> {
-            log.info("[getKeyphraseById]: response: {}", rs.body());
-            return KeyphraseMapper.getFromRs(rs);
+        return clientMetrics.record("keyphrase", "getKeyphraseById", "http", () -> {
+            final Request rq = getRqToGetById(getUrlGetById(id));
+            return client.execute(rq, KeyphraseMapper::getFromRs);
         });
     }
 
-    /**
-     * call the keyphrase endpoint.
-     * @param rq for call.
-     * @return {@link Optional} of {@link Response}.
-     */
-    private Optional<Response> callGetKeyphraseById(final Request rq) {
-        Optional<Response> result = Optional.empty();
-        try {
-            final Call call = client.newCall(rq);
-            final Response response = call.execute();
-            result = Optional.of(response);
-            log.info("[callGetKeyphraseById] call to keyphrase ok.");
-        } catch(Exception e) {
-            log.error("[callGetKeyphraseById]: error getting the brand processing by id error: {}", e.getMessage());
-        }
-
-        return result;
-    }
-
     /**
      * get a keyphrase url to get keyphrase by id.
      * @param id keyphrase identifier.
@@ -0,0 +1,66 @@
+package com.co.solia.emotional.campaign.clients.impls;
+
+import com.co.solia.emotional.campaign.clients.clients.KeyphraseClient;
+import com.co.solia.emotional.campaign.models.dtos.rs.KeyphraseClientRsDto;
+import com.co.solia.emotional.campaign.models.mappers.KeyphraseMapper;
+import com.co.solia.emotional.keyphrase.services.services.KeyphraseService;
+import com.co.solia.emotional.share.utils.metrics.ClientMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * implementation of {@link KeyphraseClient} that calls the keyphrase service in the same application, without http.
+ *
+ * @author luis.bolivar.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "solia.emotional.keyphrase.transport", havingValue = "local", matchIfMissing = true)
+public class KeyphraseLocalClientImpl implements KeyphraseClient {
+
+    /**
+     * dependency on {@link KeyphraseService}.
+     */
+    private final KeyphraseService keyphraseService;
+
+    /**
+     * timer of the calls.
+     */
+    private final ClientMetrics clientMetrics;
+
+    /**
+     * default constructor.
+     * @param keyphraseService service to get the keyphrases.
+     * @param clientMetrics timer of the calls.
+     */
+    @Autowired
+    public KeyphraseLocalClientImpl(final KeyphraseService keyphraseService, final ClientMetrics clientMetrics) {
+        this.keyphraseService = keyphraseService;
+        this.clientMetrics = clientMetrics;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param id to get the keyphrase.
+     * @return
+     */
+    @Override
+    public Optional<KeyphraseClientRsDto> getKeyphraseById(final UUID id) {
+        return clientMetrics.record("keyphrase", "getKeyphraseById", "local", () -> {
+            Optional<KeyphraseClientRsDto> result = Optional.empty();
+            try {
+                result = keyphraseService.getKeyphraseById(id)
+                        .map(KeyphraseMapper::getFromKeyphraseRs)
+                        .filter(keyphrase -> keyphrase.id() != null);
+            } catch (Exception e) {
+                log.error("[getKeyphraseById]: error getting the keyphrase by id error: {}", e.getMessage());
+            }
+            return result;
+        });
+    }
+}
@@ -1,11 +1,11 @@
 package com.co.solia.emotional.campaign.models.mappers;
 
+import com.co.solia.emotional.brand.models.dtos.rs.BrandRsDto;
 import com.co.solia.emotional.campaign.models.dtos.dtos.BrandDto;
 import com.co.solia.emotional.campaign.models.dtos.rs.BrandClientRsDto;
-import com.google.gson.Gson;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.Response;
 
 import java.util.Optional;
 
@@ -19,15 +19,14 @@ import java.util.Optional;
 public class BrandMapper {
 
     /**
-     * get a brand from a {@link Response}
-     * @param rs to get the brand.
+     * get a brand from the body of a response
+     * @param json body of the response to get the brand.
      * @return {@link Optional} of {@link BrandClientRsDto}.
      */
-    public static Optional<BrandClientRsDto> getFromRs(final Response rs) {
+    public static Optional<BrandClientRsDto> getFromRs(final String json) {
         Optional<BrandClientRsDto> result = Optional.empty();
         try {
-            final BrandClientRsDto brand = new Gson().fromJson(rs.body().string(), BrandClientRsDto.class);
-            result = brand != null && brand.id() != null ? Optional.of(brand) : Optional.empty();
+            result = JsonCodec.read(json, BrandClientRsDto.class).filter(brand -> brand.id() != null);
             log.info("[getFromRs]: data getting ok.");
         } catch(Exception e) {
             log.error("[getFromRs] error parsing the response: {}", e.getMessage());
@@ -48,4 +47,18 @@ public class BrandMapper {
                 .description(rs.description())
                 .build();
     }
+
+    /**
+     * get a brand from the {@link BrandRsDto} of the brand service.
+     * @param rs to get the brand.
+     * @return {@link BrandClientRsDto}.
+     */
+    public static BrandClientRsDto getFromBrandRs(final BrandRsDto rs) {
+        return BrandClientRsDto.builder()
+                .id(rs.getId())
+                .name(rs.getName())
+                .description(rs.getDescription())
+                .competitors(rs.getCompetitors())
+                .build();
+    }
 }
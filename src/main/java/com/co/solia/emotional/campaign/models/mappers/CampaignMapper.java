@@ -3,8 +3,8 @@ package com.co.solia.emotional.campaign.models.mappers;
 import com.co.solia.emotional.campaign.models.daos.CampaignDao;
 import com.co.solia.emotional.campaign.models.dtos.dtos.CampaignDto;
 import com.co.solia.emotional.campaign.models.dtos.rs.CampaignRsDto;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
 import com.co.solia.emotional.share.utils.validators.Validator;
-import com.google.gson.Gson;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
@@ -94,8 +94,7 @@ public class CampaignMapper {
         Optional<CampaignDto> result = Optional.empty();
         try {
             final String text = chat.choices().get(0).message().content();
-            final CampaignDto campaign = new Gson().fromJson(text, CampaignDto.class);
-            result = campaign != null ? Optional.of(campaign): Optional.empty();
+            result = JsonCodec.read(text, CampaignDto.class);
         } catch (Exception e) {
             log.error("[getGetCampaign]: error getting campaign result: {}", e.getMessage());
         }
@@ -1,10 +1,10 @@
 package com.co.solia.emotional.campaign.models.mappers;
 
+import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalUniqueRsDto;
 import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
-import com.google.gson.Gson;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.Response;
 
 import java.util.Optional;
 
@@ -18,21 +18,32 @@ import java.util.Optional;
 public class EmotionalMapper {
 
     /**
-     * get a {@link EmotionalClientRsDto} from a {@link Response}
-     * @param rs to get the {@link EmotionalClientRsDto}.
+     * get a {@link EmotionalClientRsDto} from the body of a response
+     * @param json body of the response to get the {@link EmotionalClientRsDto}.
      * @return an {@link EmotionalClientRsDto}.
      */
-    public static Optional<EmotionalClientRsDto> getFromRs(final Response rs){
+    public static Optional<EmotionalClientRsDto> getFromRs(final String json) {
         Optional<EmotionalClientRsDto> result = Optional.empty();
         try {
-            final EmotionalClientRsDto emotionalRs =
-                    new Gson().fromJson(rs.body().string(), EmotionalClientRsDto.class);
-            result = emotionalRs != null && !emotionalRs.getEmotions().isEmpty() ?
-                    Optional.of(emotionalRs) : Optional.empty();
+            result = JsonCodec.read(json, EmotionalClientRsDto.class)
+                    .filter(emotionalRs -> emotionalRs.getEmotions() != null && !emotionalRs.getEmotions().isEmpty());
             log.info("[getFromRs]: data getting ok.");
         } catch(Exception e) {
             log.error("[getFromRs] error parsing the response: {}", e.getMessage());
         }
         return result;
     }
+
+    /**
+     * get a {@link EmotionalClientRsDto} from the {@link EmotionalUniqueRsDto} of the emotional service.
+     * @param rs to get the {@link EmotionalClientRsDto}.
+     * @return an {@link EmotionalClientRsDto}.
+     */
+    public static EmotionalClientRsDto getFromUniqueRs(final EmotionalUniqueRsDto rs) {
+        return EmotionalClientRsDto.builder()
+                .id(rs.getId())
+                .messages(rs.getMessages())
+                .emotions(rs.getEmotions())
+                .build();
+    }
 }
@@ -2,10 +2,10 @@ package com.co.solia.emotional.campaign.models.mappers;
 
 import com.co.solia.emotional.campaign.models.dtos.rs.BrandClientRsDto;
 import com.co.solia.emotional.campaign.models.dtos.rs.KeyphraseClientRsDto;
-import com.google.gson.Gson;
+import com.co.solia.emotional.keyphrase.models.dtos.rs.KeyphraseRsDto;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.Response;
 
 import java.util.Optional;
 
@@ -19,19 +19,31 @@ import java.util.Optional;
 public class KeyphraseMapper {
 
     /**
-     * get a keyphrase from a {@link Response}
-     * @param rs to get the keyphrase.
+     * get a keyphrase from the body of a response
+     * @param json body of the response to get the keyphrase.
      * @return {@link Optional} of {@link KeyphraseClientRsDto}.
      */
-    public static Optional<KeyphraseClientRsDto> getFromRs(final Response rs) {
+    public static Optional<KeyphraseClientRsDto> getFromRs(final String json) {
         Optional<KeyphraseClientRsDto> result = Optional.empty();
         try {
-            final KeyphraseClientRsDto keyphrase = new Gson().fromJson(rs.body().string(), KeyphraseClientRsDto.class);
-            result = keyphrase != null && keyphrase.id() != null ? Optional.of(keyphrase) : Optional.empty();
+            result = JsonCodec.read(json, KeyphraseClientRsDto.class).filter(keyphrase -> keyphrase.id() != null);
             log.info("[getFromRs]: data getting ok.");
         } catch(Exception e) {
             log.error("[getFromRs] error parsing the response: {}", e.getMessage());
         }
         return result;
     }
+
+    /**
+     * get a keyphrase from the {@link KeyphraseRsDto} of the keyphrase service.
+     * @param rs to get the keyphrase.
+     * @return {@link KeyphraseClientRsDto}.
+     */
+    public static KeyphraseClientRsDto getFromKeyphraseRs(final KeyphraseRsDto rs) {
+        return KeyphraseClientRsDto.builder()
+                .id(rs.getId())
+                .keyphraseId(rs.getIdKeyphrases())
+                .keyphrase(rs.getKeyphrase())
+                .build();
+    }
 }
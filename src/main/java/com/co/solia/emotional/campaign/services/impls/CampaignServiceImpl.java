@@ -12,18 +12,24 @@ import com.co.solia.emotional.campaign.models.mappers.CampaignMapper;
 import com.co.solia.emotional.campaign.models.repos.CampaignRepo;
 import com.co.solia.emotional.campaign.services.services.CampaignService;
 import com.co.solia.emotional.share.clients.clients.EmotionalClient;
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
 import com.co.solia.emotional.share.models.exceptions.InternalServerException;
-import com.co.solia.emotional.share.utils.validators.Validator;
-import com.co.solia.emotional.share.utils.validators.ServiceValidator;
 import com.co.solia.emotional.share.services.services.OpenAIService;
-import lombok.AllArgsConstructor;
+import com.co.solia.emotional.share.utils.concurrency.StructuredScope;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import com.co.solia.emotional.share.utils.validators.ServiceValidator;
+import com.co.solia.emotional.share.utils.validators.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * implementation of {@link CampaignService}.
@@ -32,33 +38,62 @@ import java.util.UUID;
  */
 @Service
 @Slf4j
-@AllArgsConstructor
 public class CampaignServiceImpl implements CampaignService {
 
     /**
      * dependency on {@link OpenAIService}.
      */
-    private OpenAIService openAIService;
+    private final OpenAIService openAIService;
 
     /**
      * dependency on {@link CampaignRepo}.
      */
-    private CampaignRepo campaignRepo;
+    private final CampaignRepo campaignRepo;
 
     /**
      * dependency on {@link EmotionalClient}.
      */
-    private EmotionalClient emotionalClient;
+    private final EmotionalClient emotionalClient;
 
     /**
      * dependency on {@link BrandClient}.
      */
-    private BrandClient brandClient;
+    private final BrandClient brandClient;
 
     /**
      * dependency on {@link KeyphraseClient}.
      */
-    private KeyphraseClient keyphraseClient;
+    private final KeyphraseClient keyphraseClient;
+
+    /**
+     * max duration to get the keyphrase, the emotions and the brand of a campaign.
+     */
+    private final Duration dependenciesDeadline;
+
+    /**
+     * default constructor.
+     * @param openAIService service to generate the campaign.
+     * @param campaignRepo repository of the campaigns.
+     * @param emotionalClient client to get the emotions.
+     * @param brandClient client to get the brand.
+     * @param keyphraseClient client to get the keyphrase.
+     * @param dependenciesDeadline max seconds to get the keyphrase, the emotions and the brand.
+     */
+    @Autowired
+    public CampaignServiceImpl(
+            final OpenAIService openAIService,
+            final CampaignRepo campaignRepo,
+            final EmotionalClient emotionalClient,
+            final BrandClient brandClient,
+            final KeyphraseClient keyphraseClient,
+            @Value("${solia.emotional.campaign.dependencies.deadline-seconds}") final long dependenciesDeadline) {
+        this.openAIService = openAIService;
+        this.campaignRepo = campaignRepo;
+        this.emotionalClient = emotionalClient;
+        this.brandClient = brandClient;
+        this.keyphraseClient = keyphraseClient;
+        this.dependenciesDeadline = Duration.ofSeconds(dependenciesDeadline);
+    }
 
     /**
      * compute for generate the campaigns.
@@ -69,10 +104,13 @@ public class CampaignServiceImpl implements CampaignService {
     public Optional<CampaignRsDto> compute(final CampaignRqDto rq) {
         ServiceValidator.validateCampaignRq(rq);
         final UUID userId = getUserId();
-        final String keyphrase = getKeyphraseById(rq.getKeyphraseId());
-        final Map<String, Double> emotions = getEmotionsById(rq.getEmotionalId());
-        final BrandClientRsDto brand = getBrandById(rq.getBrandId());
-        return generateCampaign(keyphrase, brand, emotions, userId, rq.getEmotionalId());
+        try (StructuredScope scope = new StructuredScope("/campaign/compute/")) {
+            final Supplier<String> keyphrase = scope.fork(() -> getKeyphraseById(rq.getKeyphraseId()));
+            final Supplier<Map<String, Double>> emotions = scope.fork(() -> getEmotionsById(rq.getEmotionalId()));
+            final Supplier<BrandClientRsDto> brand = scope.fork(() -> getBrandById(rq.getBrandId()));
+            scope.join(dependenciesDeadline);
+            return generateCampaign(keyphrase.get(), brand.get(), emotions.get(), userId, rq.getEmotionalId());
+        }
     }
 
     /**
@@ -177,7 +215,8 @@ public class CampaignServiceImpl implements CampaignService {
             final UUID brandId,
             final UUID userId,
             final UUID emotionsId) {
-        return CampaignMapper.fromChatGetDao(chat, duration, id, keyphrase, brandId, userId, emotionsId)
+        return ServerTiming.time(TimingPhaseEnum.MAPPING, () -> CampaignMapper
+                        .fromChatGetDao(chat, duration, id, keyphrase, brandId, userId, emotionsId))
                 .flatMap(this::save);
     }
 
@@ -5,6 +5,9 @@ import com.co.solia.emotional.clean.models.dtos.rq.CleanRqDto;
 import com.co.solia.emotional.clean.models.dtos.rs.CleanBatchRsDto;
 import com.co.solia.emotional.clean.models.dtos.rs.CleanRsDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Parameters;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -56,11 +59,18 @@ public interface CleanControllerDocs {
     /**
      * clean messages.
      * @param cleanRq messages to clean.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
      * @return {@link ResponseEntity} of {@link CleanBatchRsDto}.
      */
     @Operation(
             summary = "clean messages.",
             description = "the basic clean messages to improve the data processing."
     )
-    ResponseEntity<CleanBatchRsDto> cleanList(final CleanBatchRqDto cleanRq);
+    @Parameters({
+            @Parameter(
+                    name = "x-api-key",
+                    description = "api key of the customer, optional. without it the request gets the default share.",
+                    in = ParameterIn.HEADER),
+    })
+    ResponseEntity<CleanBatchRsDto> cleanList(final CleanBatchRqDto cleanRq, final String apiKey);
 }
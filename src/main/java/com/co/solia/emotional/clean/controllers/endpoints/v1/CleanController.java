@@ -5,6 +5,7 @@ import com.co.solia.emotional.clean.models.dtos.rq.CleanBatchRqDto;
 import com.co.solia.emotional.clean.models.dtos.rq.CleanRqDto;
 import com.co.solia.emotional.clean.models.dtos.rs.CleanBatchRsDto;
 import com.co.solia.emotional.clean.models.dtos.rs.CleanRsDto;
+import com.co.solia.emotional.share.services.services.OpenaiTenantService;
 import com.co.solia.emotional.share.utils.validators.ServiceValidator;
 import com.co.solia.emotional.share.models.exceptions.InternalServerException;
 import com.co.solia.emotional.clean.services.services.CleanService;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -37,6 +39,11 @@ public class CleanController implements CleanControllerDocs {
      */
     private CleanService cleanService;
 
+    /**
+     * dependency on {@link OpenaiTenantService} to get the customer of the api key.
+     */
+    private OpenaiTenantService openaiTenantService;
+
     /**
      * clean message.
      * @param cleanRq request with the message to clean.
@@ -78,12 +85,16 @@ public class CleanController implements CleanControllerDocs {
     /**
      * clean messages.
      * @param cleanRq request with the message to clean.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
      * @return {@link ResponseEntity} of {@link CleanBatchRsDto}.
      */
     @PostMapping("/compute/batch/")
-    public ResponseEntity<CleanBatchRsDto> cleanList(@RequestBody final CleanBatchRqDto cleanRq) {
+    public ResponseEntity<CleanBatchRsDto> cleanList(
+            @RequestBody final CleanBatchRqDto cleanRq,
+            @RequestHeader(value = "x-api-key", required = false) final String apiKey) {
         ServiceValidator.validateMessages(cleanRq.getMessages(), "/1/clean/compute/batch");
-        return cleanService.cleanList(cleanRq)
+        final UUID tenant = openaiTenantService.getTenant(apiKey, "/1/clean/compute/batch");
+        return cleanService.cleanList(cleanRq, tenant)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> {
                     log.error("[cleanList]: Error cleaning message.");
@@ -8,7 +8,6 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -142,8 +141,10 @@ public class CleanMapper {
      * @return {@link List} of {@link CleanRsDto}.
      */
     public static Optional<List<CleanRsDto>> getRsFromDaos(final List<CleanDao> daos) {
-        final List<CleanRsDto> results = new ArrayList<>(daos.size());
-        daos.parallelStream().forEach(dao -> CleanMapper.getRsDtoFromDao(dao).map(results::add));
+        final List<CleanRsDto> results = daos.stream()
+                .map(CleanMapper::getRsDtoFromDao)
+                .flatMap(Optional::stream)
+                .toList();
         return results.isEmpty() ? Optional.empty() : Optional.of(results);
     }
 }
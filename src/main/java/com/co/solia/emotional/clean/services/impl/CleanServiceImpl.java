@@ -10,16 +10,21 @@ import com.co.solia.emotional.clean.models.mappers.CleanMapper;
 import com.co.solia.emotional.clean.models.repos.CleanBatchRepo;
 import com.co.solia.emotional.clean.models.repos.CleanRepo;
 import com.co.solia.emotional.clean.services.services.CleanService;
-import com.co.solia.emotional.share.utils.validators.Validator;
+import com.co.solia.emotional.share.models.dtos.internal.OpenaiCallerDto;
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
 import com.co.solia.emotional.share.models.exceptions.InternalServerException;
 import com.co.solia.emotional.share.services.services.OpenAIService;
+import com.co.solia.emotional.share.utils.concurrency.FanOut;
+import com.co.solia.emotional.share.utils.limits.OpenaiCallerContext;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import com.co.solia.emotional.share.utils.validators.Validator;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -49,6 +54,11 @@ public class CleanServiceImpl implements CleanService {
      */
     private OpenAIService openaiService;
 
+    /**
+     * fan-out of the calls by message.
+     */
+    private FanOut batchFanOut;
+
     /**
      * {@inheritDoc}.
      * @param cleanRq with the message to clean.
@@ -102,7 +112,8 @@ public class CleanServiceImpl implements CleanService {
             final UUID idUser,
             final UUID idBatch,
             final long duration) {
-        return CleanMapper.toDaoFromChatCompletion(chat, id, idUser, idBatch, duration, message)
+        return ServerTiming.time(TimingPhaseEnum.MAPPING,
+                        () -> CleanMapper.toDaoFromChatCompletion(chat, id, idUser, idBatch, duration, message))
                 .map(dao -> {
                     save(dao);
                     return Optional.of(dao);
@@ -119,15 +130,21 @@ public class CleanServiceImpl implements CleanService {
     /**
      * {@inheritDoc}.
      * @param clean to save.
+     * @return {@link Optional} of the {@link CleanDao} saved, empty when the save failed.
      */
     @Override
-    public void save(final CleanDao clean) {
+    public Optional<CleanDao> save(final CleanDao clean) {
+        Optional<CleanDao> result = Optional.empty();
+
         try {
             cleanRepo.save(clean);
             log.info("[save]: cleaning processing save ok.");
+            result = Optional.of(clean);
         } catch (Exception e) {
             log.error("[save]: error saving the cleaning process: {}", e.getMessage());
         }
+
+        return result;
     }
 
     /**
@@ -144,14 +161,15 @@ public class CleanServiceImpl implements CleanService {
     /**
      * {@inheritDoc}.
      * @param cleansRq with the messages to clean.
-     * @return
+     * @param tenant customer of the request by its api key, null for the callers without one.
+     * @return {@link Optional} of {@link CleanBatchRsDto}.
      */
     @Override
-    public Optional<CleanBatchRsDto> cleanList(final CleanBatchRqDto cleansRq) {
-        final UUID userId = UUID.randomUUID();
+    public Optional<CleanBatchRsDto> cleanList(final CleanBatchRqDto cleansRq, final UUID tenant) {
+        final UUID userId = Optional.ofNullable(tenant).orElseGet(UUID::randomUUID);
         final UUID id = UUID.randomUUID();
         final long start = Validator.getNow();
-        return getCleanMessages(cleansRq, userId, id)
+        return getCleanMessages(cleansRq, tenant, userId, id)
                 .flatMap(list -> mapAndSave(list.size(), id, userId, start)
                         .flatMap(dao -> CleanMapper.getRsFromResults(id, list)));
     }
@@ -181,15 +199,21 @@ public class CleanServiceImpl implements CleanService {
     /**
      * {@inheritDoc}.
      * @param clean to save.
+     * @return {@link Optional} of the {@link CleanBatchDao} saved, empty when the save failed.
      */
     @Override
-    public void save(final CleanBatchDao clean) {
+    public Optional<CleanBatchDao> save(final CleanBatchDao clean) {
+        Optional<CleanBatchDao> result = Optional.empty();
+
         try {
             cleanBatchRepo.save(clean);
             log.info("[save]: batch cleaning save ok: id: {}", clean.getId());
+            result = Optional.of(clean);
         } catch (Exception e) {
             log.error("[save]: error in batch cleaning save: {}", e.getMessage());
         }
+
+        return result;
     }
 
     /**
@@ -205,16 +229,26 @@ public class CleanServiceImpl implements CleanService {
     }
 
     /**
-     * clean the all message.
+     * clean the all message in the batch fan-out, the results keep the order of the messages.
+     * the calls to openai go by the batch lane, queued as the customer of the batch, or as anonymous without one.
      * @param cleanListRq message to process.
-     * @param userId user identifier.
+     * @param tenant customer of the batch, null when the request has no user.
+     * @param userId user identifier stored with the results.
      * @param id batch identifier.
      * @return {@link Optional} of {@link List} of {@link CleanRsDto}.
      */
-    private Optional<List<CleanRsDto>> getCleanMessages(final CleanBatchRqDto cleanListRq, UUID userId, UUID id) {
-        final List<CleanRsDto> messages = new ArrayList<>(cleanListRq.getMessages().size());
-        cleanListRq.getMessages().parallelStream()
-                .forEach(message -> cleanMessage(message, userId, id).map(messages::add));
+    private Optional<List<CleanRsDto>> getCleanMessages(
+            final CleanBatchRqDto cleanListRq,
+            final UUID tenant,
+            final UUID userId,
+            final UUID id) {
+        final List<CleanRsDto> messages = OpenaiCallerContext.call(
+                OpenaiCallerDto.builder().lane(OpenaiLaneEnum.BATCH).userId(tenant).build(),
+                () -> batchFanOut.map(cleanListRq.getMessages(),
+                                message -> cleanMessage(message, userId, id).orElse(null))
+                        .stream()
+                        .flatMap(Optional::stream)
+                        .toList());
         return messages.isEmpty() ? Optional.empty() : Optional.of(messages);
     }
 
@@ -27,8 +27,9 @@ public interface CleanService {
     /**
      * save the cleaning process.
      * @param clean to save.
+     * @return {@link Optional} of {@link CleanDao}, empty when it could not be saved.
      */
-    void save(CleanDao clean);
+    Optional<CleanDao> save(CleanDao clean);
 
     /**
      * get a {@link CleanRsDto} by id.
@@ -40,15 +41,17 @@ public interface CleanService {
     /**
      * clean a message;
      * @param cleanListRq with the messages to clean.
+     * @param tenant customer of the request by its api key, null for the callers without one.
      * @return {@link Optional} of {@link CleanRsDto}.
      */
-    Optional<CleanBatchRsDto> cleanList(CleanBatchRqDto cleanListRq);
+    Optional<CleanBatchRsDto> cleanList(CleanBatchRqDto cleanListRq, UUID tenant);
 
     /**
      * save the cleaning batch process.
      * @param clean to save.
+     * @return {@link Optional} of {@link CleanBatchDao}, empty when it could not be saved.
      */
-    void save(CleanBatchDao clean);
+    Optional<CleanBatchDao> save(CleanBatchDao clean);
 
     /**
      * get a {@link CleanBatchRsDto} by id.
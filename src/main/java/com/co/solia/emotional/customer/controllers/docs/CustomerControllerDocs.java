@@ -1,9 +1,13 @@
 package com.co.solia.emotional.customer.controllers.docs;
 
 import com.co.solia.emotional.customer.models.dtos.rq.CreateCustomerRqDto;
+import com.co.solia.emotional.customer.models.dtos.rq.UpdateCustomerRqDto;
 import com.co.solia.emotional.customer.models.dtos.rs.CreateCustomerRsDto;
+import com.co.solia.emotional.customer.models.dtos.rs.CustomerKeyRsDto;
 import org.springframework.http.ResponseEntity;
 
+import java.util.UUID;
+
 /**
  * It's the api documentation for swagger.
  *
@@ -12,11 +16,29 @@ import org.springframework.http.ResponseEntity;
 public interface CustomerControllerDocs {
 
     /**
-     * create a new customer.
+     * create a new customer, only an administrator can give it a plan.
      * @param rq payload to create a new customer.
+     * @param adminCode authorization to give a plan to the customer, required only with a plan.
+     * @return {@link ResponseEntity} of {@link CreateCustomerRsDto}.
+     */
+    ResponseEntity<CreateCustomerRsDto> create(CreateCustomerRqDto rq, String adminCode);
+
+    /**
+     * update the name or the plan of a customer, only for the administrators.
+     * @param id customer identifier.
+     * @param rq payload with the data to update.
+     * @param adminCode authorization to update the customer.
      * @return {@link ResponseEntity} of {@link CreateCustomerRsDto}.
      */
-    ResponseEntity<CreateCustomerRsDto> create(CreateCustomerRqDto rq);
+    ResponseEntity<CreateCustomerRsDto> update(UUID id, UpdateCustomerRqDto rq, String adminCode);
+
+    /**
+     * issue a new api key to a customer, only for the administrators.
+     * @param id customer identifier.
+     * @param adminCode authorization to issue the key.
+     * @return {@link ResponseEntity} of {@link CustomerKeyRsDto}.
+     */
+    ResponseEntity<CustomerKeyRsDto> issueKey(UUID id, String adminCode);
 
     /**
      * get a customer by email.
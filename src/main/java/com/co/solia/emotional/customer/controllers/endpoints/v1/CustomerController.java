@@ -2,20 +2,28 @@ package com.co.solia.emotional.customer.controllers.endpoints.v1;
 
 import com.co.solia.emotional.customer.controllers.docs.CustomerControllerDocs;
 import com.co.solia.emotional.customer.models.dtos.rq.CreateCustomerRqDto;
+import com.co.solia.emotional.customer.models.dtos.rq.UpdateCustomerRqDto;
 import com.co.solia.emotional.customer.models.dtos.rs.CreateCustomerRsDto;
+import com.co.solia.emotional.customer.models.dtos.rs.CustomerKeyRsDto;
 import com.co.solia.emotional.customer.services.services.CustomerService;
 import com.co.solia.emotional.share.models.exceptions.InternalServerException;
 import com.co.solia.emotional.share.models.exceptions.NotFoundException;
+import com.co.solia.emotional.share.utils.validators.AdminValidator;
+import com.co.solia.emotional.share.utils.validators.ServiceValidator;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.UUID;
+
 /**
  * implementation of {@link CustomerControllerDocs} and endpoints for customer resource.
  * @author luis.bolivar.
@@ -32,14 +40,25 @@ public class CustomerController implements CustomerControllerDocs {
     private CustomerService customerService;
 
     /**
-     * create a new customer.
+     * dependency on {@link AdminValidator} to authorize the changes of plan and the api keys.
+     */
+    private AdminValidator adminValidator;
+
+    /**
+     * create a new customer, only an administrator can give it a plan.
      *
      * @param rq payload to create a new customer.
+     * @param adminCode authorization to give a plan to the customer, required only with a plan.
      * @return {@link ResponseEntity} of {@link CreateCustomerRsDto}.
      */
     @Override
     @PostMapping("/")
-    public ResponseEntity<CreateCustomerRsDto> create(@RequestBody final CreateCustomerRqDto rq) {
+    public ResponseEntity<CreateCustomerRsDto> create(
+            @RequestBody final CreateCustomerRqDto rq,
+            @RequestHeader(value = "x-a-x", required = false) final String adminCode) {
+        if (rq.planId() != null) {
+            adminValidator.validate(adminCode, "/customer/");
+        }
         return customerService.create(rq)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> {
@@ -51,6 +70,58 @@ public class CustomerController implements CustomerControllerDocs {
                 });
     }
 
+    /**
+     * update the name or the plan of a customer, only for the administrators.
+     *
+     * @param id customer identifier.
+     * @param rq payload with the data to update.
+     * @param adminCode authorization to update the customer.
+     * @return {@link ResponseEntity} of {@link CreateCustomerRsDto}.
+     */
+    @Override
+    @PutMapping("/{id}")
+    public ResponseEntity<CreateCustomerRsDto> update(
+            @PathVariable("id") final UUID id,
+            @RequestBody final UpdateCustomerRqDto rq,
+            @RequestHeader("x-a-x") final String adminCode) {
+        adminValidator.validate(adminCode, "/customer/{id}");
+        ServiceValidator.validateId(id, "/customer/{id}");
+        return customerService.update(id, rq)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.error("[update]: Error updating the customer: {}", id);
+                    throw InternalServerException.builder()
+                            .endpoint("/customer/")
+                            .message("Error updating the customer: %s".formatted(id))
+                            .build();
+                });
+    }
+
+    /**
+     * issue a new api key to a customer, only for the administrators. the previous key stops working.
+     *
+     * @param id customer identifier.
+     * @param adminCode authorization to issue the key.
+     * @return {@link ResponseEntity} of {@link CustomerKeyRsDto}.
+     */
+    @Override
+    @PostMapping("/{id}/key")
+    public ResponseEntity<CustomerKeyRsDto> issueKey(
+            @PathVariable("id") final UUID id,
+            @RequestHeader("x-a-x") final String adminCode) {
+        adminValidator.validate(adminCode, "/customer/{id}/key");
+        ServiceValidator.validateId(id, "/customer/{id}/key");
+        return customerService.issueKey(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.error("[issueKey]: Error issuing an api key to the customer: {}", id);
+                    throw InternalServerException.builder()
+                            .endpoint("/customer/{id}/key")
+                            .message("Error issuing an api key to the customer: %s".formatted(id))
+                            .build();
+                });
+    }
+
     /**
      * get a customer by email.
      *
@@ -38,6 +38,16 @@ public class CustomerDao {
      */
     private String name;
 
+    /**
+     * plan of the customer, it sets the share of the openai capacity.
+     */
+    private UUID planId;
+
+    /**
+     * sha-256 of the api key of the customer, the key itself is never stored.
+     */
+    private String apiKeyHash;
+
     /**
      * created date of the customer.
      */
@@ -3,15 +3,19 @@ package com.co.solia.emotional.customer.models.dtos.rq;
 
 import lombok.Builder;
 
+import java.util.UUID;
+
 /**
  * the request for create a new customer.
  * @param email identity of the customer.
  * @param name name of the customer.
+ * @param planId plan of the customer, optional.
  * @author luis.bolivar.
  */
 @Builder
 public record CreateCustomerRqDto(
         String email,
-        String name
+        String name,
+        UUID planId
 ) {
 }
@@ -0,0 +1,18 @@
+package com.co.solia.emotional.customer.models.dtos.rq;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * request to update the name or the plan of a customer.
+ * @param name new name of the customer, the current one is kept when missing.
+ * @param planId new plan of the customer, the current one is kept when missing.
+ * @author luis.bolivar.
+ */
+@Builder
+public record UpdateCustomerRqDto(
+        String name,
+        UUID planId
+) {
+}
@@ -9,12 +9,14 @@ import java.util.UUID;
  * @param id customer identifier.
  * @param email email of the customer.
  * @param name name of the customer.
+ * @param planId plan of the customer.
  * @author luis.bolivar
  */
 @Builder
 public record CreateCustomerRsDto(
         UUID id,
         String email,
-        String name
+        String name,
+        UUID planId
 ) {
 }
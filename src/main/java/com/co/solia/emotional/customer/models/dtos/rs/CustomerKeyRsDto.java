@@ -0,0 +1,18 @@
+package com.co.solia.emotional.customer.models.dtos.rs;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * response after issue an api key to a customer, the key is only shown once.
+ * @param id customer identifier.
+ * @param apiKey to send in the header x-api-key.
+ * @author luis.bolivar.
+ */
+@Builder
+public record CustomerKeyRsDto(
+        UUID id,
+        String apiKey
+) {
+}
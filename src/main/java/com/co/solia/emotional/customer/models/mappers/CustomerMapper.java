@@ -1,6 +1,8 @@
 package com.co.solia.emotional.customer.models.mappers;
 
 import com.co.solia.emotional.customer.models.daos.CustomerDao;
+import com.co.solia.emotional.customer.models.dtos.rq.CreateCustomerRqDto;
+import com.co.solia.emotional.customer.models.dtos.rq.UpdateCustomerRqDto;
 import com.co.solia.emotional.customer.models.dtos.rs.CreateCustomerRsDto;
 import com.co.solia.emotional.share.utils.validators.Validator;
 import lombok.experimental.UtilityClass;
@@ -8,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 /**
@@ -32,6 +35,62 @@ public class CustomerMapper {
                 .map(CustomerMapper::getRsFromDao);
     }
 
+    /**
+     * get a new active {@link CustomerDao} from {@link CreateCustomerRqDto}.
+     * @param rq to create the customer.
+     * @return {@link CustomerDao}.
+     */
+    public static CustomerDao getDaoFromRq(final CreateCustomerRqDto rq) {
+        final long now = Validator.getNow();
+        return CustomerDao.builder()
+                .id(UUID.randomUUID())
+                .email(rq.email())
+                .name(rq.name())
+                .planId(rq.planId())
+                .created(now)
+                .active(true)
+                .updated(now)
+                .build();
+    }
+
+    /**
+     * get a {@link CustomerDao} updated with the data of the request.
+     * @param dao to update.
+     * @param rq with the data to update, the missing fields keep the current value.
+     * @return {@link CustomerDao}.
+     */
+    public static CustomerDao getUpdatedDao(final CustomerDao dao, final UpdateCustomerRqDto rq) {
+        return CustomerDao.builder()
+                .id(dao.getId())
+                .email(dao.getEmail())
+                .name(Validator.isValidString(rq.name()) ? rq.name() : dao.getName())
+                .planId(rq.planId() != null ? rq.planId() : dao.getPlanId())
+                .apiKeyHash(dao.getApiKeyHash())
+                .created(dao.getCreated())
+                .active(dao.getActive())
+                .updated(Validator.getNow())
+                .build();
+    }
+
+    /**
+     * get a {@link CustomerDao} with a new api key, the previous one stops working.
+     * @param dao to update.
+     * @param apiKeyHash sha-256 of the new api key.
+     * @return {@link CustomerDao}.
+     */
+    public static CustomerDao getDaoWithKey(final CustomerDao dao, final String apiKeyHash) {
+        return CustomerDao.builder()
+                .id(dao.getId())
+                .email(dao.getEmail())
+                .name(dao.getName())
+                .planId(dao.getPlanId())
+                .apiKeyHash(apiKeyHash)
+                .created(dao.getCreated())
+                .active(dao.getActive())
+                .updated(Validator.getNow())
+                .build();
+    }
+
     /**
      * get a {@link CreateCustomerRsDto} from {@link CustomerDao}.
      * @param dao a {@link CustomerDao}
@@ -42,6 +101,7 @@ public class CustomerMapper {
                 .id(dao.getId())
                 .email(dao.getEmail())
                 .name(dao.getName())
+                .planId(dao.getPlanId())
                 .build();
     }
 }
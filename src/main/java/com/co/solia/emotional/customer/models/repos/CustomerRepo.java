@@ -20,4 +20,11 @@ public interface CustomerRepo extends MongoRepository<CustomerDao, UUID> {
      * @return {@link Optional} of {@link CustomerDao}.
      */
     Optional<CustomerDao> findByEmail(String email);
+
+    /**
+     * find the customer by the hash of its api key.
+     * @param apiKeyHash sha-256 of the api key.
+     * @return {@link Optional} of {@link CustomerDao}.
+     */
+    Optional<CustomerDao> findByApiKeyHash(String apiKeyHash);
 }
@@ -2,15 +2,25 @@ package com.co.solia.emotional.customer.services.impls;
 
 import com.co.solia.emotional.customer.models.daos.CustomerDao;
 import com.co.solia.emotional.customer.models.dtos.rq.CreateCustomerRqDto;
+import com.co.solia.emotional.customer.models.dtos.rq.UpdateCustomerRqDto;
 import com.co.solia.emotional.customer.models.dtos.rs.CreateCustomerRsDto;
+import com.co.solia.emotional.customer.models.dtos.rs.CustomerKeyRsDto;
 import com.co.solia.emotional.customer.models.mappers.CustomerMapper;
 import com.co.solia.emotional.customer.models.repos.CustomerRepo;
 import com.co.solia.emotional.customer.services.services.CustomerService;
+import com.co.solia.emotional.plan.models.daos.PlanDao;
+import com.co.solia.emotional.plan.models.repos.PlanRepo;
+import com.co.solia.emotional.share.models.exceptions.NotFoundException;
+import com.co.solia.emotional.share.services.services.OpenaiTenantService;
+import com.co.solia.emotional.share.utils.hashes.Hasher;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * implementation of {@link CustomerService}.
@@ -22,11 +32,31 @@ import java.util.Optional;
 @Slf4j
 public class CustomerServiceImpl implements CustomerService {
 
+    /**
+     * random bytes of an api key.
+     */
+    private static final int API_KEY_BYTES = 32;
+
+    /**
+     * source of the api keys.
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     /**
      * dependency on the {@link CustomerRepo}.
      */
     private CustomerRepo customerRepo;
 
+    /**
+     * dependency on the {@link PlanRepo}.
+     */
+    private PlanRepo planRepo;
+
+    /**
+     * dependency on the {@link OpenaiTenantService} to refresh the share of a customer when its plan changes.
+     */
+    private OpenaiTenantService openaiTenantService;
+
     /**
      * create a new customer.
      *
@@ -35,7 +65,64 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public Optional<CreateCustomerRsDto> create(final CreateCustomerRqDto rq) {
-        return Optional.empty();
+        log.info("[create]: ready to create the customer: {}", rq.email());
+        validatePlan(rq.planId());
+        return save(CustomerMapper.getDaoFromRq(rq)).flatMap(CustomerMapper::getFromDao);
+    }
+
+    /**
+     * update the name or the plan of a customer.
+     *
+     * @param id customer identifier.
+     * @param rq payload with the data to update.
+     * @return {@link Optional} of {@link CreateCustomerRsDto}
+     */
+    @Override
+    public Optional<CreateCustomerRsDto> update(final UUID id, final UpdateCustomerRqDto rq) {
+        log.info("[update]: ready to update the customer: {}", id);
+        validatePlan(rq.planId());
+        final CustomerDao customer = findCustomerById(id).orElseThrow(() -> {
+            log.warn("[update]: error updating the customer: {}, not found.", id);
+            return NotFoundException.builder()
+                    .message("error updating the customer: %s, not found.".formatted(id))
+                    .endpoint("/customer/{id}")
+                    .build();
+        });
+        return save(CustomerMapper.getUpdatedDao(customer, rq))
+                .map(dao -> {
+                    openaiTenantService.evict(dao.getId());
+                    return dao;
+                })
+                .flatMap(CustomerMapper::getFromDao);
+    }
+
+    /**
+     * issue a new api key to a customer, only its hash is stored.
+     *
+     * @param id customer identifier.
+     * @return {@link Optional} of {@link CustomerKeyRsDto}
+     */
+    @Override
+    public Optional<CustomerKeyRsDto> issueKey(final UUID id) {
+        log.info("[issueKey]: ready to issue an api key to the customer: {}", id);
+        final CustomerDao customer = findCustomerById(id)
+                .filter(dao -> Boolean.TRUE.equals(dao.getActive()))
+                .orElseThrow(() -> {
+                    log.warn("[issueKey]: error issuing an api key to the customer: {}, not found.", id);
+                    return NotFoundException.builder()
+                            .message("error issuing an api key to the customer: %s, not found.".formatted(id))
+                            .endpoint("/customer/{id}/key")
+                            .build();
+                });
+        final String apiKey = generateKey();
+        return save(CustomerMapper.getDaoWithKey(customer, Hasher.sha256(apiKey)))
+                .map(dao -> {
+                    openaiTenantService.evict(dao.getId());
+                    return CustomerKeyRsDto.builder()
+                            .id(dao.getId())
+                            .apiKey(apiKey)
+                            .build();
+                });
     }
 
     /**
@@ -67,4 +154,75 @@ public class CustomerServiceImpl implements CustomerService {
 
         return result;
     }
+
+    /**
+     * find a customer by id.
+     * @param id customer identifier.
+     * @return {@link Optional} of {@link CustomerDao}.
+     */
+    private Optional<CustomerDao> findCustomerById(final UUID id) {
+        Optional<CustomerDao> result = Optional.empty();
+        try {
+            result = customerRepo.findById(id);
+        } catch (Exception e) {
+            log.error("[findCustomerById]: Error finding customer by id: {}, with error: {}", id, e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * validate the plan of the customer exists, a customer can have no plan.
+     * @param planId plan identifier, null when the customer has no plan.
+     */
+    private void validatePlan(final UUID planId) {
+        if (planId != null && findPlanById(planId).isEmpty()) {
+            log.warn("[validatePlan]: the plan: {} does not exist.", planId);
+            throw NotFoundException.builder()
+                    .message("the plan: %s does not exist.".formatted(planId))
+                    .endpoint("/customer/")
+                    .build();
+        }
+    }
+
+    /**
+     * find a plan by id.
+     * @param planId plan identifier.
+     * @return {@link Optional} of {@link PlanDao}.
+     */
+    private Optional<PlanDao> findPlanById(final UUID planId) {
+        Optional<PlanDao> result = Optional.empty();
+        try {
+            result = planRepo.findById(planId);
+        } catch (Exception e) {
+            log.error("[findPlanById]: Error finding plan by id: {}, with error: {}", planId, e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * generate a random api key.
+     * @return {@link String} with the key in base64 url.
+     */
+    private static String generateKey() {
+        final byte[] key = new byte[API_KEY_BYTES];
+        RANDOM.nextBytes(key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key);
+    }
+
+    /**
+     * save a customer.
+     * @param dao customer to save.
+     * @return {@link Optional} of {@link CustomerDao}, empty when it could not be saved.
+     */
+    private Optional<CustomerDao> save(final CustomerDao dao) {
+        Optional<CustomerDao> result = Optional.empty();
+        try {
+            customerRepo.save(dao);
+            result = Optional.of(dao);
+            log.info("[save]: customer saved ok: {}", dao.getId());
+        } catch (Exception e) {
+            log.error("[save]: error saving customer: {}, with error: {}", dao.getId(), e.getMessage());
+        }
+        return result;
+    }
 }
@@ -1,9 +1,12 @@
 package com.co.solia.emotional.customer.services.services;
 
 import com.co.solia.emotional.customer.models.dtos.rq.CreateCustomerRqDto;
+import com.co.solia.emotional.customer.models.dtos.rq.UpdateCustomerRqDto;
 import com.co.solia.emotional.customer.models.dtos.rs.CreateCustomerRsDto;
+import com.co.solia.emotional.customer.models.dtos.rs.CustomerKeyRsDto;
 
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * mapping of the customer services.
@@ -19,6 +22,21 @@ public interface CustomerService {
      */
     Optional<CreateCustomerRsDto> create(CreateCustomerRqDto rq);
 
+    /**
+     * update the name or the plan of a customer.
+     * @param id customer identifier.
+     * @param rq payload with the data to update.
+     * @return {@link Optional} of {@link CreateCustomerRsDto}
+     */
+    Optional<CreateCustomerRsDto> update(UUID id, UpdateCustomerRqDto rq);
+
+    /**
+     * issue a new api key to a customer, the previous one stops working.
+     * @param id customer identifier.
+     * @return {@link Optional} of {@link CustomerKeyRsDto}, the only place the key is shown.
+     */
+    Optional<CustomerKeyRsDto> issueKey(UUID id);
+
     /**
      * get a customer by its email.
      * @param email to get the customer by email.
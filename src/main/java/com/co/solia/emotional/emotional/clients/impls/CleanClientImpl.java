@@ -3,28 +3,28 @@ package com.co.solia.emotional.emotional.clients.impls;
 import com.co.solia.emotional.clean.models.dtos.rq.CleanRqDto;
 import com.co.solia.emotional.emotional.clients.clients.CleanClient;
 import com.co.solia.emotional.emotional.models.dtos.rs.CleanClientRsDto;
-import com.google.gson.Gson;
+import com.co.solia.emotional.share.utils.http.HttpCaller;
+import com.co.solia.emotional.share.utils.http.HttpClientFactory;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
+import com.co.solia.emotional.share.utils.metrics.ClientMetrics;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.Call;
-import okhttp3.ConnectionPool;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
-import okhttp3.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 /**
- * clean client implementation.
+ * clean client implementation over http, used when the clean module is deployed apart.
  *
  * @author luis.bolivar.
  */
 @Component
 @Slf4j
+@ConditionalOnProperty(name = "solia.emotional.clean.transport", havingValue = "http")
 public class CleanClientImpl implements CleanClient {
 
     private static final String CLEAN_RESULT = "result";
@@ -32,23 +32,29 @@ public class CleanClientImpl implements CleanClient {
     private final String cleanUrl;
 
     /**
-     * build the client to consume the other endpoints.
+     * client to consume the other endpoints, shared transport.
      */
-    private final OkHttpClient client = new OkHttpClient()
-            .newBuilder()
-            .connectTimeout(2, TimeUnit.MINUTES)
-            .writeTimeout(2, TimeUnit.MINUTES)
-            .readTimeout(2, TimeUnit.MINUTES)
-            .connectionPool(new ConnectionPool(5, 60, TimeUnit.SECONDS))
-            .build();
+    private final HttpCaller client;
+
+    /**
+     * timer of the calls.
+     */
+    private final ClientMetrics clientMetrics;
 
     /**
      * constructor class.
      * @param cleanUrl url to clean service.
+     * @param httpClientFactory factory of the shared http clients.
+     * @param clientMetrics timer of the calls.
      */
     @Autowired
-    public CleanClientImpl(@Value("${solia.emotional.clean.url}") final String cleanUrl) {
+    public CleanClientImpl(
+            @Value("${solia.emotional.clean.url}") final String cleanUrl,
+            final HttpClientFactory httpClientFactory,
+            final ClientMetrics clientMetrics) {
         this.cleanUrl = cleanUrl;
+        this.client = httpClientFactory.create("clean");
+        this.clientMetrics = clientMetrics;
     }
     /**
      * {@inheritDoc}.
@@ -57,48 +63,29 @@ public class CleanClientImpl implements CleanClient {
      */
     @Override
     public Optional<CleanClientRsDto> cleanMessage(final String message) {
-        final String url = getCleanUrl();
-        final Request request = getCleanRequest(message, url);
-        return callClean(request)
-                .filter(Response::isSuccessful)
-                .flatMap(CleanClientImpl::getResponse);
+        return clientMetrics.record("clean", "cleanMessage", "http", () -> {
+            final String url = getCleanUrl();
+            final Request request = getCleanRequest(message, url);
+            return client.execute(request, CleanClientImpl::getResponse);
+        });
     }
 
     /**
-     * get a {@link CleanClientRsDto} from the {@link Response}.
-     * @param rs to map.
+     * get a {@link CleanClientRsDto} from the body of the response.
+     * @param json body to map.
      * @return {@link Optional} of {@link CleanClientRsDto}.
      */
-    private static Optional<CleanClientRsDto> getResponse(final Response rs) {
+    private static Optional<CleanClientRsDto> getResponse(final String json) {
         Optional<CleanClientRsDto> result = Optional.empty();
         try {
-            final CleanClientRsDto cleanRs = new Gson().fromJson(rs.body().string(), CleanClientRsDto.class);
-            result = cleanRs != null && !cleanRs.getResult().isEmpty() ? Optional.of(cleanRs) : Optional.empty();
+            result = JsonCodec.read(json, CleanClientRsDto.class)
+                    .filter(cleanRs -> cleanRs.getResult() != null && !cleanRs.getResult().isEmpty());
         } catch(Exception e) {
             log.error("[getResponse] error parsing the response: {}", e.getMessage());
         }
         return result;
     }
 
-    /**
-     * call the clean endpoint.
-     * @param request for call.
-     * @return {@link Optional} of {@link Response}.
-     */
-    private Optional<Response> callClean(final Request request) {
-        Optional<Response> result = Optional.empty();
-        try {
-            Call call = client.newCall(request);
-            Response response = call.execute();
-            result = Optional.of(response);
-            log.info("[callClean] call to clean ok.");
-        } catch(Exception e) {
-            log.error("[callClean]: Error calling the clean service: {}", e.getMessage());
-        }
-
-        return result;
-    }
-
     /**
      * create the clean request.
      * @param message to clean.
@@ -108,7 +95,7 @@ public class CleanClientImpl implements CleanClient {
         final CleanRqDto rq = CleanRqDto.builder().message(message).build();
         return new Request.Builder()
                 .url(url)
-                .post(RequestBody.create(new Gson().toJson(rq).getBytes()))
+                .post(RequestBody.create(JsonCodec.write(rq).getBytes()))
                 .addHeader("Content-Type", "application/json")
                 .build();
     }
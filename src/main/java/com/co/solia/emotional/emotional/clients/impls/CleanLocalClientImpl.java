@@ -0,0 +1,94 @@
+package com.co.solia.emotional.emotional.clients.impls;
+
+import com.co.solia.emotional.clean.models.dtos.rq.CleanRqDto;
+import com.co.solia.emotional.clean.models.dtos.rs.CleanRsDto;
+import com.co.solia.emotional.clean.services.services.CleanService;
+import com.co.solia.emotional.emotional.clients.clients.CleanClient;
+import com.co.solia.emotional.emotional.models.dtos.rs.CleanClientRsDto;
+import com.co.solia.emotional.share.utils.metrics.ClientMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * clean client implementation that calls the clean service in the same application, without http.
+ *
+ * @author luis.bolivar.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "solia.emotional.clean.transport", havingValue = "local", matchIfMissing = true)
+public class CleanLocalClientImpl implements CleanClient {
+
+    private static final String CLEAN_RESULT = "result";
+
+    /**
+     * dependency on {@link CleanService}.
+     */
+    private final CleanService cleanService;
+
+    /**
+     * timer of the calls.
+     */
+    private final ClientMetrics clientMetrics;
+
+    /**
+     * default constructor.
+     * @param cleanService service to clean the messages.
+     * @param clientMetrics timer of the calls.
+     */
+    @Autowired
+    public CleanLocalClientImpl(final CleanService cleanService, final ClientMetrics clientMetrics) {
+        this.cleanService = cleanService;
+        this.clientMetrics = clientMetrics;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param message to clean.
+     * @return {@link Optional} of {@link CleanClientRsDto}, empty when the clean service has no result.
+     */
+    @Override
+    public Optional<CleanClientRsDto> cleanMessage(final String message) {
+        return clientMetrics.record("clean", "cleanMessage", "local", () -> {
+            Optional<CleanClientRsDto> result = Optional.empty();
+            try {
+                result = cleanService.clean(CleanRqDto.builder().message(message).build())
+                        .filter(cleanRs -> cleanRs.getResult() != null)
+                        .filter(cleanRs -> !cleanRs.getResult().isEmpty())
+                        .map(CleanLocalClientImpl::getResponse);
+            } catch (Exception e) {
+                log.error("[cleanMessage]: Error calling the clean service: {}", e.getMessage());
+            }
+            return result;
+        });
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param message to clean.
+     * @return {@link Optional} of the message cleaned, empty when it could not be cleaned.
+     */
+    @Override
+    public Optional<String> clean(final String message) {
+        return cleanMessage(message)
+                .filter(cleanRs -> cleanRs.getId() != null)
+                .map(cleanRs -> cleanRs.getResult().get(CLEAN_RESULT))
+                .filter(clean -> !clean.isBlank());
+    }
+
+    /**
+     * get a {@link CleanClientRsDto} from the {@link CleanRsDto}.
+     * @param rs to map.
+     * @return {@link CleanClientRsDto}.
+     */
+    private static CleanClientRsDto getResponse(final CleanRsDto rs) {
+        return CleanClientRsDto.builder()
+                .id(rs.getId())
+                .result(rs.getResult())
+                .build();
+    }
+}
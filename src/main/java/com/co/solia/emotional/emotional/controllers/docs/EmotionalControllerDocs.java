@@ -10,7 +10,9 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -55,24 +57,68 @@ public interface EmotionalControllerDocs {
     /**
      * compute a list of emotional estimations.
      * @param messages to compute.
+     * @param async true to process the messages in a background job.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
      * @return {@link ResponseEntity} of {@link EmotionalBatchRsDto}.
      */
     @Operation(
             summary = "compute a list of message to get estimation.",
-            description = "compute a list of messages to get estimation for each message."
+            description = "compute a list of messages to get estimation for each message. with async=true the " +
+                    "batch id is returned at once and the progress and partial results are read with the batch id."
     )
-    ResponseEntity<EmotionalBatchRsDto> computeBatch(EmotionalBatchRqDto messages);
+    @Parameters({
+            @Parameter(
+                    name = "async",
+                    description = "process the messages in a background job.",
+                    example = "true",
+                    in = ParameterIn.QUERY),
+            @Parameter(
+                    name = "x-api-key",
+                    description = "api key of the customer, optional. without it the request gets the default share.",
+                    in = ParameterIn.HEADER),
+    })
+    ResponseEntity<EmotionalBatchRsDto> computeBatch(EmotionalBatchRqDto messages, Boolean async, String apiKey);
+
+    /**
+     * compute a list of emotional estimations streaming the results.
+     * @param messages to compute.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
+     * @param request of the stream, it carries the timeout.
+     * @return {@link ResponseEntity} of {@link StreamingResponseBody}.
+     */
+    @Operation(
+            summary = "compute a list of message streaming the estimations.",
+            description = "compute a list of messages and write every estimation as a ndjson line as soon as it is " +
+                    "ready, the last line has the batch id, the counts and the duration."
+    )
+    @Parameters({
+            @Parameter(
+                    name = "x-api-key",
+                    description = "api key of the customer, optional. without it the request gets the default share.",
+                    in = ParameterIn.HEADER),
+    })
+    ResponseEntity<StreamingResponseBody> computeBatchStream(
+            EmotionalBatchRqDto messages,
+            String apiKey,
+            @Parameter(hidden = true) HttpServletRequest request);
 
     /**
      * process a list of messages in emotional estimation for all list.
      * @param messages to process.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
      * @return {@link ResponseEntity} of {@link EmotionalBatchRsDto}.
      */
     @Operation(
             summary = "compute a list of message to get estimation.",
             description = "compute a list of messages to get estimation for all messages."
     )
-    ResponseEntity<EmotionalUniqueRsDto> computeUnique(EmotionalBatchRqDto messages);
+    @Parameters({
+            @Parameter(
+                    name = "x-api-key",
+                    description = "api key of the customer, optional. without it the request gets the default share.",
+                    in = ParameterIn.HEADER),
+    })
+    ResponseEntity<EmotionalUniqueRsDto> computeUnique(EmotionalBatchRqDto messages, String apiKey);
 
     /**
      * get batch processing by identifier.
@@ -81,7 +127,8 @@ public interface EmotionalControllerDocs {
      */
     @Operation(
             summary = "get a batch processing by identifier.",
-            description = "get a batch processing by identifier without to process again."
+            description = "get a batch processing by identifier without to process again, with the status, " +
+                    "the counts and the partial results while the batch is running."
     )
     @Parameters({
             @Parameter(
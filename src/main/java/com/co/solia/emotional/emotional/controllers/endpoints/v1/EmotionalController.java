@@ -7,18 +7,32 @@ import com.co.solia.emotional.emotional.models.dtos.rq.EmotionalBatchRqDto;
 import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalBatchRsDto;
 import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalUniqueRsDto;
 import com.co.solia.emotional.emotional.services.services.EmotionalService;
+import com.co.solia.emotional.share.services.services.OpenaiTenantService;
+import com.co.solia.emotional.share.utils.http.AsyncTimeoutInterceptor;
 import com.co.solia.emotional.share.utils.validators.ServiceValidator;
 import com.co.solia.emotional.share.models.exceptions.InternalServerException;
 import com.co.solia.emotional.share.models.exceptions.NotFoundException;
-import lombok.AllArgsConstructor;
+import com.co.solia.emotional.share.models.exceptions.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.UUID;
 
 /**
@@ -28,13 +42,51 @@ import java.util.UUID;
  */
 @RestController
 @RequestMapping("/1/emotional")
-@AllArgsConstructor
 public class EmotionalController implements EmotionalControllerDocs {
 
+    /**
+     * time the client should wait before submitting again a batch job when all workers are busy.
+     */
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(30);
+
     /**
      * {@link EmotionalService} to use emotional behaviours.
      */
-    private EmotionalService emotionalService;
+    private final EmotionalService emotionalService;
+
+    /**
+     * dependency on {@link OpenaiTenantService} to get the customer of the api key.
+     */
+    private final OpenaiTenantService openaiTenantService;
+
+    /**
+     * mapper to write the streamed estimations.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * max time of a streamed batch, only for the stream endpoint.
+     */
+    private final Duration streamTimeout;
+
+    /**
+     * default constructor.
+     * @param emotionalService service of the emotional estimations.
+     * @param openaiTenantService provider of the customer of the api keys.
+     * @param objectMapper mapper to write the streamed estimations.
+     * @param streamTimeout max minutes of a streamed batch.
+     */
+    @Autowired
+    public EmotionalController(
+            final EmotionalService emotionalService,
+            final OpenaiTenantService openaiTenantService,
+            final ObjectMapper objectMapper,
+            @Value("${solia.emotional.emotional.batch.stream-timeout-minutes}") final long streamTimeout) {
+        this.emotionalService = emotionalService;
+        this.openaiTenantService = openaiTenantService;
+        this.objectMapper = objectMapper;
+        this.streamTimeout = Duration.ofMinutes(streamTimeout);
+    }
 
     /**
      * process the message in emotional estimation.
@@ -54,27 +106,91 @@ public class EmotionalController implements EmotionalControllerDocs {
     /**
      * process a list of messages in emotional estimation.
      * @param messages to process.
+     * @param async true to process the messages in a background job.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
      * @return {@link ResponseEntity} of {@link EmotionalBatchRsDto}.
      */
     @PostMapping("/compute/batch/")
-    public ResponseEntity<EmotionalBatchRsDto> computeBatch(@RequestBody final EmotionalBatchRqDto messages) {
+    public ResponseEntity<EmotionalBatchRsDto> computeBatch(
+            @RequestBody final EmotionalBatchRqDto messages,
+            @RequestParam(value = "async", defaultValue = "false") final Boolean async,
+            @RequestHeader(value = "x-api-key", required = false) final String apiKey) {
         ServiceValidator.validateMessages(messages.getMessages(), "/emotional/compute/batch/");
-        return emotionalService.computeList(messages)
+        final UUID tenant = openaiTenantService.getTenant(apiKey, "/emotional/compute/batch/");
+        if (Boolean.TRUE.equals(async)) {
+            return emotionalService.submitList(messages, tenant)
+                    .map(job -> ResponseEntity.accepted().body(job))
+                    .orElseThrow(() -> ServiceUnavailableException.builder()
+                            .message("Too many batch jobs running, try again later.")
+                            .endpoint("/emotional/compute/batch/")
+                            .status(503)
+                            .retryAfter(BUSY_RETRY_AFTER)
+                            .build());
+        }
+        return emotionalService.computeList(messages, tenant)
                 .map(ResponseEntity::ok)
                 .orElseThrow(() -> InternalServerException.builder()
                         .message("The compute process failed, try again.")
                         .endpoint("/emotional/").build());
     }
 
+    /**
+     * process a list of messages in emotional estimation, streaming every estimation as a ndjson line
+     * as soon as it is ready, the last line is the summary of the batch. the stream has its own timeout.
+     * @param messages to process.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
+     * @param request of the stream, it carries the timeout.
+     * @return {@link ResponseEntity} of {@link StreamingResponseBody}.
+     */
+    @PostMapping(value = "/compute/batch/stream/", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> computeBatchStream(
+            @RequestBody final EmotionalBatchRqDto messages,
+            @RequestHeader(value = "x-api-key", required = false) final String apiKey,
+            final HttpServletRequest request) {
+        ServiceValidator.validateMessages(messages.getMessages(), "/emotional/compute/batch/stream/");
+        final UUID tenant = openaiTenantService.getTenant(apiKey, "/emotional/compute/batch/stream/");
+        AsyncTimeoutInterceptor.set(request, streamTimeout);
+        final StreamingResponseBody body = out -> {
+            final EmotionalBatchRsDto summary =
+                    emotionalService.streamList(messages, tenant, ee -> writeLine(out, ee));
+            writeLine(out, summary);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * write a value as a ndjson line and flush it, the estimations arrive from several threads.
+     * @param out stream of the response.
+     * @param value to write.
+     */
+    private void writeLine(final OutputStream out, final Object value) {
+        try {
+            final byte[] line = objectMapper.writeValueAsBytes(value);
+            synchronized (out) {
+                out.write(line);
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * process a list of messages in emotional estimation for all list.
      * @param messages to process.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
      * @return {@link ResponseEntity} of {@link EmotionalBatchRsDto}.
      */
     @PostMapping("/compute/unique/")
-    public ResponseEntity<EmotionalUniqueRsDto> computeUnique(@RequestBody final EmotionalBatchRqDto messages) {
+    public ResponseEntity<EmotionalUniqueRsDto> computeUnique(
+            @RequestBody final EmotionalBatchRqDto messages,
+            @RequestHeader(value = "x-api-key", required = false) final String apiKey) {
         ServiceValidator.validateMessages(messages.getMessages(), "/emotional/compute/unique/");
-        return emotionalService.computeUnique(messages)
+        final UUID tenant = openaiTenantService.getTenant(apiKey, "/emotional/compute/unique/");
+        return emotionalService.computeUnique(messages, tenant)
                 .map(ResponseEntity::ok)
                 .orElseThrow(() -> InternalServerException.builder()
                         .message("The compute unique process failed, try again.")
@@ -1,5 +1,6 @@
 package com.co.solia.emotional.emotional.models.daos;
 
+import com.co.solia.emotional.emotional.models.enums.BatchStatusEnum;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -48,4 +49,24 @@ public class EmotionalBatchDao {
      * duration of emotional estimation.
      */
     private long duration;
+
+    /**
+     * status of the batch.
+     */
+    private BatchStatusEnum status;
+
+    /**
+     * amount of messages estimated.
+     */
+    private Integer processed;
+
+    /**
+     * amount of messages that could not be estimated.
+     */
+    private Integer failed;
+
+    /**
+     * estimated date in epoch seconds when the batch ends.
+     */
+    private Long eta;
 }
@@ -1,5 +1,6 @@
 package com.co.solia.emotional.emotional.models.daos;
 
+import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -8,6 +9,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -44,9 +46,9 @@ public class EmotionalDao {
     private String message;
 
     /**
-     * result of emotional estimation in json format.
+     * result of emotional estimation, a value by emotion.
      */
-    private String estimates;
+    private Map<EmotionEnum, Double> estimates;
 
     /**
      * tokens of message representing.
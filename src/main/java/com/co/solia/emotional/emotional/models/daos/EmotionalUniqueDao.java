@@ -1,5 +1,6 @@
 package com.co.solia.emotional.emotional.models.daos;
 
+import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -9,6 +10,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -35,9 +37,9 @@ public class EmotionalUniqueDao {
     private List<String> messages;
 
     /**
-     * result of emotional processing.
+     * result of emotional processing, a value by emotion.
      */
-    private String estimations;
+    private Map<EmotionEnum, Double> estimations;
 
     /**
      * user identifier that start emotional estimation.
@@ -0,0 +1,117 @@
+package com.co.solia.emotional.emotional.models.dtos.internal;
+
+import com.co.solia.emotional.share.utils.validators.Validator;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * progress of a batch emotional estimation, updated by the threads estimating its messages.
+ *
+ * @author luis.bolivar.
+ */
+@Getter
+public class BatchProgressDto {
+
+    /**
+     * id of batch emotional compute.
+     */
+    private final UUID id;
+
+    /**
+     * user identifier stored with the results, a random one when the request has no user.
+     */
+    private final UUID userId;
+
+    /**
+     * customer whose plan sets the share of the openai capacity, null when the request has no user.
+     */
+    private final UUID tenant;
+
+    /**
+     * amount of messages to process.
+     */
+    private final int amountMessages;
+
+    /**
+     * date of the batch created in epoch seconds.
+     */
+    private final long created = Instant.now().getEpochSecond();
+
+    /**
+     * start of the batch in millis.
+     */
+    private final long start = Validator.getNow();
+
+    /**
+     * amount of messages estimated.
+     */
+    private final AtomicInteger processed = new AtomicInteger();
+
+    /**
+     * amount of messages that could not be estimated.
+     */
+    private final AtomicInteger failed = new AtomicInteger();
+
+    /**
+     * last time in millis the progress was saved.
+     */
+    private final AtomicLong saved = new AtomicLong(start);
+
+    /**
+     * default constructor.
+     * @param id of batch emotional compute.
+     * @param tenant customer of the batch, null when the request has no user.
+     * @param amountMessages amount of messages to process.
+     */
+    public BatchProgressDto(final UUID id, final UUID tenant, final int amountMessages) {
+        this.id = id;
+        this.tenant = tenant;
+        this.userId = tenant != null ? tenant : UUID.randomUUID();
+        this.amountMessages = amountMessages;
+    }
+
+    /**
+     * record the result of a message.
+     * @param success true when the message was estimated.
+     */
+    public void record(final boolean success) {
+        (success ? processed : failed).incrementAndGet();
+    }
+
+    /**
+     * check if the progress should be saved, only one caller gets true by interval.
+     * @param intervalMillis min time between two saves.
+     * @return true when the caller should save the progress.
+     */
+    public boolean shouldSave(final long intervalMillis) {
+        final long last = saved.get();
+        final long now = Validator.getNow();
+        return now - last >= intervalMillis && saved.compareAndSet(last, now);
+    }
+
+    /**
+     * estimate the date the batch ends from the speed until now.
+     * @return estimated date in epoch seconds, null when nothing was processed yet.
+     */
+    public Long getEta() {
+        final int done = processed.get() + failed.get();
+        if (done == 0) {
+            return null;
+        }
+        final long elapsed = Validator.getDuration(start);
+        final long remaining = elapsed * (amountMessages - done) / done;
+        return Instant.now().plusMillis(remaining).getEpochSecond();
+    }
+
+    /**
+     * get the duration of the batch until now.
+     * @return duration in millis.
+     */
+    public long getDuration() {
+        return Validator.getDuration(start);
+    }
+}
@@ -0,0 +1,48 @@
+package com.co.solia.emotional.emotional.models.dtos.rq;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * dto to send several messages to openai in one emotional estimation request.
+ *
+ * @author luis.bolivar.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class EmotionalBatchOpenaiRqDto {
+
+    /**
+     * messages to estimate, each one with its position in the batch.
+     */
+    private List<Message> messages;
+
+    /**
+     * a message to estimate.
+     */
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @ToString
+    public static class Message {
+
+        /**
+         * position of the message in the batch.
+         */
+        private Integer id;
+
+        /**
+         * message to estimate.
+         */
+        private String message;
+    }
+}
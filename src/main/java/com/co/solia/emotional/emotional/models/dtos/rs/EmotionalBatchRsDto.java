@@ -1,5 +1,6 @@
 package com.co.solia.emotional.emotional.models.dtos.rs;
 
+import com.co.solia.emotional.emotional.models.enums.BatchStatusEnum;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,4 +39,64 @@ public class EmotionalBatchRsDto {
             description = "the results of batch processing.",
             type = "List")
     private List<EmotionalRsDto> results;
+
+    /**
+     * status of the batch processing.
+     */
+    @Schema(
+            name = "status",
+            description = "status of batch processing.",
+            type = "String",
+            example = "RUNNING")
+    private BatchStatusEnum status;
+
+    /**
+     * amount of messages to process.
+     */
+    @Schema(
+            name = "amountMessages",
+            description = "amount of messages to process.",
+            type = "Integer",
+            example = "100")
+    private Integer amountMessages;
+
+    /**
+     * amount of messages estimated.
+     */
+    @Schema(
+            name = "processed",
+            description = "amount of messages estimated.",
+            type = "Integer",
+            example = "40")
+    private Integer processed;
+
+    /**
+     * amount of messages that could not be estimated.
+     */
+    @Schema(
+            name = "failed",
+            description = "amount of messages that could not be estimated.",
+            type = "Integer",
+            example = "0")
+    private Integer failed;
+
+    /**
+     * estimated date in epoch seconds when the batch ends.
+     */
+    @Schema(
+            name = "eta",
+            description = "estimated date in epoch seconds when the batch processing ends.",
+            type = "Long",
+            example = "1717171717")
+    private Long eta;
+
+    /**
+     * duration of the batch processing in millis.
+     */
+    @Schema(
+            name = "duration",
+            description = "duration of the batch processing in millis.",
+            type = "Long",
+            example = "12000")
+    private Long duration;
 }
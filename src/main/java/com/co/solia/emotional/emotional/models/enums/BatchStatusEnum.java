@@ -0,0 +1,13 @@
+package com.co.solia.emotional.emotional.models.enums;
+
+/**
+ * status of a batch emotional estimation.
+ *
+ * @author luis.bolivar.
+ */
+public enum BatchStatusEnum {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -1,16 +1,23 @@
 package com.co.solia.emotional.emotional.models.mappers;
 
+import com.co.solia.emotional.emotional.models.daos.EmotionalBatchDao;
 import com.co.solia.emotional.emotional.models.daos.EmotionalDao;
 import com.co.solia.emotional.emotional.models.daos.EmotionalUniqueDao;
+import com.co.solia.emotional.emotional.models.dtos.internal.BatchProgressDto;
 import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalRsDto;
 import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalBatchRsDto;
 import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalUniqueRsDto;
-import com.google.gson.Gson;
+import com.co.solia.emotional.emotional.models.enums.BatchStatusEnum;
+import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
 
-import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -37,6 +44,21 @@ public class EmotionalMapper {
      */
     public static final int PROMPT_EMOTIONAL_UNIQUE_TOKEN_SIZE = 471;
 
+    /**
+     * results of the emotional estimation in batch.
+     */
+    private static final String BATCH_RESULTS = "results";
+
+    /**
+     * position of the message in the batch.
+     */
+    private static final String BATCH_ID = "id";
+
+    /**
+     * emotions of a message in the batch.
+     */
+    private static final String BATCH_EMOTIONS = "emotions";
+
     /**
      * map from {@link ChatCompletion} to {@link EmotionalDao}.
      *
@@ -62,6 +84,55 @@ public class EmotionalMapper {
                                                         .map(result -> buildEEDao(message, userId, duration, idBEE, idEE, result));
     }
 
+    /**
+     * map from a {@link ChatCompletion} with several estimations to a {@link EmotionalDao} by message.
+     * the prompt tokens are shared between the messages by its size.
+     *
+     * @param messages from request, in the order sent to openai.
+     * @param chat result from openai call.
+     * @param promptTokens estimated tokens of the system prompt sent.
+     * @param userId   user identifier.
+     * @param duration duration of openai call.
+     * @param idBEE    batch id.
+     * @return {@link Map} of {@code key}: position of the message with {@code value}: {@link EmotionalDao}.
+     */
+    public static Map<Integer, EmotionalDao> fromBatchChatCompletionToDaos(
+            final List<String> messages,
+            final ChatCompletion chat,
+            final int promptTokens,
+            final UUID userId,
+            final long duration,
+            final UUID idBEE) {
+        final Map<Integer, EmotionalDao> daos = new HashMap<>();
+        try {
+            final int totalSize = Math.max(1, messages.stream().mapToInt(String::length).sum());
+            final int tokens = Math.max(0, chat.usage().promptTokens() - promptTokens);
+            final JsonNode results = JsonCodec.getMapper()
+                    .readTree(chat.choices().getFirst().message().content())
+                    .path(BATCH_RESULTS);
+            results.forEach(result -> {
+                final int id = result.path(BATCH_ID).asInt(-1);
+                if (id >= 0 && id < messages.size() && result.path(BATCH_EMOTIONS).isObject()) {
+                    daos.put(id, EmotionalDao.builder()
+                            .message(messages.get(id))
+                            .id(UUID.randomUUID())
+                            .idBatch(idBEE)
+                            .idUser(userId)
+                            .openAiId(chat.id())
+                            .fingerPrintOpenai(chat.systemFingerprint())
+                            .tokens(tokens * messages.get(id).length() / totalSize)
+                            .estimates(getEmotions(result.get(BATCH_EMOTIONS)))
+                            .duration(duration)
+                            .build());
+                }
+            });
+        } catch (Exception e) {
+            log.error("[fromBatchChatCompletionToDaos]: error parsing the batch results: {}", e.getMessage());
+        }
+        log.info("[fromBatchChatCompletionToDaos]: estimations: {} of messages: {}", daos.size(), messages.size());
+        return daos;
+    }
+
     /**
      * build a {@link EmotionalDao}.
      * @param message the message was processed.
@@ -87,7 +158,7 @@ public class EmotionalMapper {
                 .openAiId(result.id())
                 .fingerPrintOpenai(result.systemFingerprint())
                 .tokens(result.usage().promptTokens() - PROMPT_EMOTIONAL_TOKEN_SIZE)
-                .estimates(result.choices().getFirst().message().content())
+                .estimates(getEmotionsFromJson(result.choices().getFirst().message().content()))
                 .duration(duration)
                 .build();
     }
@@ -103,26 +174,55 @@ public class EmotionalMapper {
                                 .filter(d -> d.getId() != null)
                                         .filter(d -> d.getEstimates() != null)
                 .filter(d -> !d.getEstimates().isEmpty())
-                .filter(d -> !d.getEstimates().isBlank())
                         .findFirst()
                                 .map(d -> EmotionalRsDto.builder()
                                         .id(dao.getId())
-                                        .emotions(getEmotionsFromDao(dao))
+                                        .emotions(toEmotionsRs(dao.getEstimates()))
                                         .message(dao.getMessage())
                                         .build());
     }
 
     /**
-     * get emotions from dao
-     * @param dao to get emotions.
+     * get the emotions of the response from the typed estimations, keyed as the openai json.
+     * @param estimates a value by emotion.
      * @return {@link Map} of {@code key}: {@link String} with {@code value}: {@link Double}.
      */
-    private static Map<String, Double> getEmotionsFromDao(final EmotionalDao dao) {
-        Map<String, Double> emotions = Map.of();
+    public static Map<String, Double> toEmotionsRs(final Map<EmotionEnum, Double> estimates) {
+        final Map<String, Double> emotions = new LinkedHashMap<>();
+        if (estimates != null) {
+            estimates.forEach((emotion, value) -> emotions.put(emotion.getKey(), value));
+        }
+        return emotions;
+    }
+
+    /**
+     * get the typed estimations from the json returned by openai, an emotion missing in the json is 0.
+     * @param json with a value by emotion.
+     * @return {@link Map} of {@code key}: {@link EmotionEnum} with {@code value}: {@link Double}, empty when the json is invalid.
+     */
+    public static Map<EmotionEnum, Double> getEmotionsFromJson(final String json) {
+        Map<EmotionEnum, Double> emotions = Map.of();
         try {
-            emotions = new Gson().fromJson(dao.getEstimates(), Map.class);
+            emotions = JsonCodec.readTree(json)
+                    .filter(JsonNode::isObject)
+                    .map(EmotionalMapper::getEmotions)
+                    .orElse(Map.of());
         } catch (Exception e) {
-            log.error("[getEmotionsFromDao]: error parsing data from json: {}", e.getMessage());
+            log.error("[getEmotionsFromJson]: error parsing data from json: {}", e.getMessage());
+        }
+        return emotions;
+    }
+
+    /**
+     * get the typed estimations from a json object, an emotion missing or not numeric is 0.
+     * @param json with a value by emotion.
+     * @return {@link Map} of {@code key}: {@link EmotionEnum} with {@code value}: {@link Double}.
+     */
+    private static Map<EmotionEnum, Double> getEmotions(final JsonNode json) {
+        final Map<EmotionEnum, Double> emotions = new EnumMap<>(EmotionEnum.class);
+        for (EmotionEnum emotion : EmotionEnum.values()) {
+            final JsonNode value = json.path(emotion.getKey());
+            emotions.put(emotion, value.isNumber() ? value.asDouble() : 0.0);
         }
         return emotions;
     }
@@ -135,7 +235,7 @@ public class EmotionalMapper {
     public static Map<String, Double> getEmotionsFromChatCompletion(final ChatCompletion chatCompletion) {
         Map<String, Double> emotions = Map.of();
         try {
-                emotions = new Gson().fromJson(chatCompletion.choices().get(0).message().content(), Map.class);
+            emotions = toEmotionsRs(getEmotionsFromJson(chatCompletion.choices().get(0).message().content()));
         } catch (Exception e) {
             log.error("[getEmotionsFromChatCompletion]: error parsing data from json: {}", e.getMessage());
         }
@@ -156,6 +256,46 @@ public class EmotionalMapper {
                         .build()) : Optional.empty();
     }
 
+    /**
+     * build a {@link EmotionalBatchDao} with the progress of a batch.
+     * @param progress of the batch.
+     * @param status of the batch.
+     * @return {@link EmotionalBatchDao}.
+     */
+    public static EmotionalBatchDao fromProgressToBatchDao(final BatchProgressDto progress, final BatchStatusEnum status) {
+        return EmotionalBatchDao.builder()
+                .id(progress.getId())
+                .userId(progress.getUserId())
+                .amountMessages(progress.getAmountMessages())
+                .created(progress.getCreated())
+                .duration(progress.getDuration())
+                .status(status)
+                .processed(progress.getProcessed().get())
+                .failed(progress.getFailed().get())
+                .eta(status == BatchStatusEnum.RUNNING ? progress.getEta() : null)
+                .build();
+    }
+
+    /**
+     * get {@link EmotionalBatchRsDto} from a {@link EmotionalBatchDao} and the results processed until now.
+     * a batch saved before the status was tracked is taken as done.
+     * @param dao batch to map.
+     * @param results emotional estimations of the batch, null to leave them out.
+     * @return {@link EmotionalBatchRsDto}.
+     */
+    public static EmotionalBatchRsDto fromBatchDaoToRsDto(final EmotionalBatchDao dao, final List<EmotionalRsDto> results) {
+        return EmotionalBatchRsDto.builder()
+                .id(dao.getId())
+                .results(results)
+                .status(Optional.ofNullable(dao.getStatus()).orElse(BatchStatusEnum.DONE))
+                .amountMessages(dao.getAmountMessages())
+                .processed(Optional.ofNullable(dao.getProcessed()).orElse(results != null ? results.size() : 0))
+                .failed(dao.getFailed())
+                .eta(dao.getEta())
+                .duration(dao.getDuration())
+                .build();
+    }
+
     /**
      * get a {@link Optional} of {@link List} of {@link EmotionalBatchRsDto} from a {@link List} of {@link EmotionalDao}.
      * @param daos to get the {@link List} of {@link EmotionalBatchRsDto}
@@ -175,8 +315,10 @@ public class EmotionalMapper {
      * @return {@link Optional} of {@link List} of {@link EmotionalBatchRsDto}.
      */
     private static Optional<List<EmotionalRsDto>> fromDaosToDtos(final List<EmotionalDao> daos) {
-        final List<EmotionalRsDto> result = new ArrayList<>(daos.size());
-        daos.parallelStream().forEach(dao -> fromDaoToRsDto(dao).ifPresent(result::add));
+        final List<EmotionalRsDto> result = daos.stream()
+                .map(EmotionalMapper::fromDaoToRsDto)
+                .flatMap(Optional::stream)
+                .toList();
         return !result.isEmpty() ? Optional.of(result) : Optional.empty();
     }
 
@@ -216,7 +358,7 @@ public class EmotionalMapper {
                 .messages(messages)
                 .fingerPrintOpenai(chat.systemFingerprint())
                 .openAiId(chat.id())
-                .estimations(chat.choices().get(0).message().content())
+                .estimations(getEmotionsFromJson(chat.choices().get(0).message().content()))
                 .duration(duration)
                 .tokens(chat.usage().promptTokens() - PROMPT_EMOTIONAL_UNIQUE_TOKEN_SIZE)
                 .build();
@@ -234,22 +376,7 @@ public class EmotionalMapper {
                 .map(d -> EmotionalUniqueRsDto.builder()
                         .id(d.getId())
                         .messages(d.getMessages())
-                        .emotions(getEmotionsFromString(d.getEstimations()))
+                        .emotions(toEmotionsRs(d.getEstimations()))
                         .build());
     }
-
-    /**
-     * get emotions from {@link String}.
-     * @param results to get emotions.
-     * @return {@link Map} of {@code key}: {@link String} with {@code value}: {@link Double}.
-     */
-    private static Map<String, Double> getEmotionsFromString(final String results) {
-        Map<String, Double> emotions = Map.of();
-        try {
-            emotions = new Gson().fromJson(results, Map.class);
-        } catch (Exception e) {
-            log.error("[getEmotionsFromString]: error parsing data from json: {}", e.getMessage());
-        }
-        return emotions;
-    }
 }
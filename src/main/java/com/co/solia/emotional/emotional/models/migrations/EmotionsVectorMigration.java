@@ -0,0 +1,168 @@
+package com.co.solia.emotional.emotional.models.migrations;
+
+import com.co.solia.emotional.emotional.models.mappers.EmotionalMapper;
+import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * migration of the estimations saved as json strings to typed vectors keyed by {@link EmotionEnum}.
+ * the documents are read with a cursor, and a marker is saved when the migration ends without errors,
+ * so the next startups skip it.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Component
+public class EmotionsVectorMigration implements ApplicationRunner {
+
+    /**
+     * id of the documents.
+     */
+    private static final String ID = "_id";
+
+    /**
+     * collection of the migrations already applied.
+     */
+    private static final String MIGRATIONS = "migrations";
+
+    /**
+     * id of the marker of this migration.
+     */
+    private static final String MARKER = "emotions-vector";
+
+    /**
+     * documents updated in every bulk write.
+     */
+    private static final int BULK_SIZE = 500;
+
+    /**
+     * the migration is run at startup.
+     */
+    private final boolean enabled;
+
+    /**
+     * access to the db.
+     */
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * default constructor.
+     * @param enabled the migration is run at startup.
+     * @param mongoTemplate access to the db.
+     */
+    @Autowired
+    public EmotionsVectorMigration(
+            @Value("${solia.emotional.migrations.emotions.enabled}") final boolean enabled,
+            final MongoTemplate mongoTemplate) {
+        this.enabled = enabled;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * migrate the emotional estimations and the unique estimations.
+     * @param args of the application.
+     */
+    @Override
+    public void run(final ApplicationArguments args) {
+        if (!enabled || isApplied()) {
+            return;
+        }
+        final boolean emotional = migrate("emotional", "estimates");
+        final boolean unique = migrate("emotionalUnique", "estimations");
+        if (emotional && unique) {
+            markApplied();
+        }
+    }
+
+    /**
+     * check the marker of the migration.
+     * @return true when the migration was already applied, also when the marker can not be read.
+     */
+    private boolean isApplied() {
+        try {
+            return mongoTemplate.exists(new Query(Criteria.where(ID).is(MARKER)), MIGRATIONS);
+        } catch (Exception e) {
+            log.error("[isApplied]: error reading the marker of the migration: {}, error: {}", MARKER, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * save the marker of the migration.
+     */
+    private void markApplied() {
+        try {
+            mongoTemplate.save(new Document(ID, MARKER).append("applied", System.currentTimeMillis()), MIGRATIONS);
+            log.info("[markApplied]: migration applied: {}", MARKER);
+        } catch (Exception e) {
+            log.error("[markApplied]: error saving the marker of the migration: {}, error: {}", MARKER, e.getMessage());
+        }
+    }
+
+    /**
+     * migrate the documents of a collection whose field is still a json string.
+     * @param collection to migrate.
+     * @param field with the estimations.
+     * @return true when the collection was migrated without errors, the invalid estimations are skipped.
+     */
+    private boolean migrate(final String collection, final String field) {
+        final Query query = new Query(Criteria.where(field).type(BsonType.STRING.getValue()));
+        query.fields().include(ID, field);
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            int pending = 0;
+            int migrated = 0;
+            int skipped = 0;
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                final Map<EmotionEnum, Double> emotions = EmotionalMapper.getEmotionsFromJson(document.getString(field));
+                if (emotions.isEmpty()) {
+                    log.error("[migrate]: estimations not valid in: {}, id: {}", collection, document.get(ID));
+                    skipped++;
+                    continue;
+                }
+                bulk.updateOne(new Query(Criteria.where(ID).is(document.get(ID))),
+                        new Update().set(field, toDocument(emotions)));
+                pending++;
+                if (pending == BULK_SIZE) {
+                    migrated += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                migrated += bulk.execute().getModifiedCount();
+            }
+            log.info("[migrate]: estimations migrated in: {}, migrated: {}, skipped: {}", collection, migrated, skipped);
+            return true;
+        } catch (Exception e) {
+            log.error("[migrate]: error migrating the estimations of: {}, error: {}", collection, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * get the document saved for a vector, keyed as spring data saves the enum keys.
+     * @param emotions a value by emotion.
+     * @return {@link Document}.
+     */
+    private static Document toDocument(final Map<EmotionEnum, Double> emotions) {
+        final Document document = new Document();
+        emotions.forEach((emotion, value) -> document.put(emotion.name(), value));
+        return document;
+    }
+}
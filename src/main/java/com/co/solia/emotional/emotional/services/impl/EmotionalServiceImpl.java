@@ -4,31 +4,53 @@ import com.co.solia.emotional.emotional.clients.clients.CleanClient;
 import com.co.solia.emotional.emotional.models.daos.EmotionalBatchDao;
 import com.co.solia.emotional.emotional.models.daos.EmotionalDao;
 import com.co.solia.emotional.emotional.models.daos.EmotionalUniqueDao;
-import com.co.solia.emotional.emotional.models.dtos.rq.EmotionalRqDto;
-import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalRsDto;
+import com.co.solia.emotional.emotional.models.dtos.internal.BatchProgressDto;
 import com.co.solia.emotional.emotional.models.dtos.rq.EmotionalBatchRqDto;
+import com.co.solia.emotional.emotional.models.dtos.rq.EmotionalRqDto;
 import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalBatchRsDto;
+import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalRsDto;
 import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalUniqueRsDto;
+import com.co.solia.emotional.emotional.models.enums.BatchStatusEnum;
 import com.co.solia.emotional.emotional.models.mappers.EmotionalMapper;
 import com.co.solia.emotional.emotional.models.repos.EmotionalBatchRepo;
 import com.co.solia.emotional.emotional.models.repos.EmotionalRepo;
 import com.co.solia.emotional.emotional.models.repos.EmotionalUniqueRepo;
 import com.co.solia.emotional.emotional.services.services.EmotionalService;
-import com.co.solia.emotional.share.utils.validators.Validator;
+import com.co.solia.emotional.share.models.dtos.internal.OpenaiCallerDto;
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import com.co.solia.emotional.share.models.enums.PromptEnum;
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
 import com.co.solia.emotional.share.models.exceptions.InternalServerException;
 import com.co.solia.emotional.share.models.exceptions.NotFoundException;
 import com.co.solia.emotional.share.services.services.OpenAIService;
-import lombok.AllArgsConstructor;
+import com.co.solia.emotional.share.services.services.PromptService;
+import com.co.solia.emotional.share.utils.concurrency.FanOut;
+import com.co.solia.emotional.share.utils.limits.OpenaiCallerContext;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import com.co.solia.emotional.share.utils.tokens.TokenEstimator;
+import com.co.solia.emotional.share.utils.validators.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of {@link EmotionalService}.
@@ -37,33 +59,104 @@ import java.util.UUID;
  */
 @Service
 @Slf4j
-@AllArgsConstructor
 public class EmotionalServiceImpl implements EmotionalService {
 
+    /**
+     * tokens added by the json of every message in a batch request.
+     */
+    private static final int TOKENS_BY_BATCH_MESSAGE = 10;
+
+    /**
+     * min time between two saves of the progress of a batch.
+     */
+    private static final long PROGRESS_SAVE_INTERVAL_MILLIS = 1000;
+
     /**
      * use openai service to do emotional estimation.
      */
-    private OpenAIService openAIService;
+    private final OpenAIService openAIService;
 
     /**
      * dependency on {@link EmotionalRepo} for use db.
      */
-    private EmotionalRepo emotionalRepo;
+    private final EmotionalRepo emotionalRepo;
 
     /**
      * dependency on {@link EmotionalBatchRepo} for persistence.
      */
-    private EmotionalBatchRepo emotionalBatchRepo;
+    private final EmotionalBatchRepo emotionalBatchRepo;
 
     /**
      * dependency on {@link EmotionalUniqueRepo} for persistence.
      */
-    private EmotionalUniqueRepo emotionalUniqueRepo;
+    private final EmotionalUniqueRepo emotionalUniqueRepo;
 
     /**
      * dependency on {@link CleanClient}.
      */
-    private CleanClient cleanClient;
+    private final CleanClient cleanClient;
+
+    /**
+     * dependency on {@link PromptService} to get the size of the system prompts.
+     */
+    private final PromptService promptService;
+
+    /**
+     * max messages estimated in one openai request, 1 disables the batching.
+     */
+    private final int batchMaxMessages;
+
+    /**
+     * max estimated tokens of one openai request, system prompt included.
+     */
+    private final int batchMaxTokens;
+
+    /**
+     * bounded pool of workers for the batch jobs.
+     */
+    private final TaskExecutor emotionalBatchExecutor;
+
+    /**
+     * fan-out of the blocking calls by message.
+     */
+    private final FanOut batchFanOut;
+
+    /**
+     * constructor of the service.
+     * @param openAIService openai service.
+     * @param emotionalRepo repository of the emotional estimations.
+     * @param emotionalBatchRepo repository of the batches.
+     * @param emotionalUniqueRepo repository of the unique estimations.
+     * @param cleanClient client of the clean service.
+     * @param promptService provider of the size of the system prompts.
+     * @param batchMaxMessages max messages in one openai request.
+     * @param batchMaxTokens max estimated tokens of one openai request, system prompt included.
+     * @param emotionalBatchExecutor workers for the batch jobs.
+     * @param batchFanOut fan-out of the calls by message.
+     */
+    @Autowired
+    public EmotionalServiceImpl(
+            final OpenAIService openAIService,
+            final EmotionalRepo emotionalRepo,
+            final EmotionalBatchRepo emotionalBatchRepo,
+            final EmotionalUniqueRepo emotionalUniqueRepo,
+            final CleanClient cleanClient,
+            final PromptService promptService,
+            @Value("${solia.emotional.emotional.batch.max-messages}") final int batchMaxMessages,
+            @Value("${solia.emotional.emotional.batch.max-tokens}") final int batchMaxTokens,
+            @Qualifier("emotionalBatchExecutor") final TaskExecutor emotionalBatchExecutor,
+            final FanOut batchFanOut) {
+        this.openAIService = openAIService;
+        this.emotionalRepo = emotionalRepo;
+        this.emotionalBatchRepo = emotionalBatchRepo;
+        this.emotionalUniqueRepo = emotionalUniqueRepo;
+        this.cleanClient = cleanClient;
+        this.promptService = promptService;
+        this.batchMaxMessages = batchMaxMessages;
+        this.batchMaxTokens = batchMaxTokens;
+        this.emotionalBatchExecutor = emotionalBatchExecutor;
+        this.batchFanOut = batchFanOut;
+    }
 
     /**
      * {@inheritDoc}
@@ -86,8 +179,21 @@ public class EmotionalServiceImpl implements EmotionalService {
             final String message,
             final UUID userId,
             final UUID idBee) {
+        return estimateCleanMessage(cleanMessage(message), userId, idBee);
+    }
+
+    /**
+     * emotional estimation of a message already cleaned.
+     * @param cleanMessage to estimate.
+     * @param userId user identifier.
+     * @param idBee id batch identifier.
+     * @return {@link Optional} of {@link EmotionalBatchRsDto}.
+     */
+    private Optional<EmotionalRsDto> estimateCleanMessage(
+            final String cleanMessage,
+            final UUID userId,
+            final UUID idBee) {
         final Instant start = Instant.now();
-        final String cleanMessage = cleanMessage(message);
         return openAIService.emotionalCompute(cleanMessage).map(resultEE -> {
             final long duration = Validator.getDuration(start.toEpochMilli(), Instant.now().toEpochMilli());
             return mapAndSaveEE(cleanMessage, resultEE, userId, UUID.randomUUID(), idBee, duration)
@@ -101,7 +207,7 @@ public class EmotionalServiceImpl implements EmotionalService {
      * @return {@link String}.
      */
     private String cleanMessage(final String message) {
-        return cleanClient.clean(message).orElseGet(() -> {
+        return ServerTiming.time(TimingPhaseEnum.CLEAN, () -> cleanClient.clean(message)).orElseGet(() -> {
                 log.error("[cleanMessage] error cleaning message: {}", message);
                 return message;
         });
@@ -110,60 +216,279 @@ public class EmotionalServiceImpl implements EmotionalService {
     /**
      * {@inheritDoc}
      * @param messages messages to process
-     * @return
+     * @param tenant customer of the request by its api key, null for the callers without one.
+     * @return {@link Optional} of {@link EmotionalBatchRsDto}.
      */
     @Override
-    public Optional<EmotionalBatchRsDto> computeList(final EmotionalBatchRqDto messages) {
+    public Optional<EmotionalBatchRsDto> computeList(final EmotionalBatchRqDto messages, final UUID tenant) {
         final UUID idBee = UUID.randomUUID();
-        final UUID userId = UUID.randomUUID();
-        return estimateMessageList(messages, userId, idBee)
+        return estimateMessageList(messages, tenant, idBee)
                 .flatMap(ees -> EmotionalMapper.getFromEmotionalResults(ees, idBee));
     }
 
+    /**
+     * {@inheritDoc}
+     * @param messages messages to process
+     * @param tenant customer of the request by its api key, null for the callers without one.
+     * @return {@link Optional} of {@link EmotionalBatchRsDto} with the batch id, empty when the job was rejected.
+     */
+    @Override
+    public Optional<EmotionalBatchRsDto> submitList(final EmotionalBatchRqDto messages, final UUID tenant) {
+        final BatchProgressDto progress = new BatchProgressDto(
+                UUID.randomUUID(), tenant, messages.getMessages().size());
+        final EmotionalBatchDao pending = EmotionalMapper.fromProgressToBatchDao(progress, BatchStatusEnum.PENDING);
+        save(pending);
+        try {
+            emotionalBatchExecutor.execute(() -> runJob(messages.getMessages(), progress));
+            log.info("[submitList]: batch job submitted: {}, messages: {}", progress.getId(), progress.getAmountMessages());
+        } catch (TaskRejectedException e) {
+            log.error("[submitList]: batch job rejected, all workers are busy: {}", e.getMessage());
+            saveBatch(progress, BatchStatusEnum.FAILED);
+            return Optional.empty();
+        }
+        return Optional.of(EmotionalMapper.fromBatchDaoToRsDto(pending, List.of()));
+    }
+
+    /**
+     * run a batch job in a worker, the progress is saved while the messages are estimated.
+     * @param messages to estimate.
+     * @param progress of the batch.
+     */
+    private void runJob(final List<String> messages, final BatchProgressDto progress) {
+        try {
+            saveBatch(progress, BatchStatusEnum.RUNNING);
+            computeMessages(messages, progress, (ee, position) -> { });
+            saveBatch(progress, getFinalStatus(progress));
+            log.info("[runJob]: batch job finished: {}, processed: {}, failed: {}",
+                    progress.getId(), progress.getProcessed().get(), progress.getFailed().get());
+        } catch (Exception e) {
+            log.error("[runJob]: batch job failed: {}, error: {}", progress.getId(), e.getMessage());
+            saveBatch(progress, BatchStatusEnum.FAILED);
+        }
+    }
+
     /**
      * estimate the messages.
      * @param messages to estimate.
-     * @param userId user identifier.
+     * @param tenant customer of the batch, null when the request has no user.
      * @param idBee id batch emotional estimation.
      * @return {@link Optional} of {@link List} of {@link EmotionalRsDto}.
      */
-    private Optional<List<EmotionalRsDto>> estimateMessageList(final EmotionalBatchRqDto messages, final UUID userId, final UUID idBee) {
-        final long start = Instant.now().toEpochMilli();
-        final List<EmotionalRsDto> ees = computeMessages(messages, userId, idBee);
-        final long end = Instant.now().toEpochMilli();
-        saveBatch(messages.getMessages().size(), userId, idBee, Validator.getDuration(start, end));
+    private Optional<List<EmotionalRsDto>> estimateMessageList(final EmotionalBatchRqDto messages, final UUID tenant, final UUID idBee) {
+        final BatchProgressDto progress = new BatchProgressDto(idBee, tenant, messages.getMessages().size());
+        final AtomicReferenceArray<EmotionalRsDto> positions = new AtomicReferenceArray<>(messages.getMessages().size());
+        computeMessages(messages.getMessages(), progress, (ee, position) -> positions.set(position, ee));
+        saveBatch(progress, getFinalStatus(progress));
+        final List<EmotionalRsDto> ees = IntStream.range(0, positions.length())
+                .mapToObj(positions::get)
+                .filter(Objects::nonNull)
+                .toList();
         return !ees.isEmpty() ? Optional.of(ees) : Optional.empty();
     }
 
+    /**
+     * get the status of a batch after processing all messages.
+     * @param progress of the batch.
+     * @return {@link BatchStatusEnum}.
+     */
+    private static BatchStatusEnum getFinalStatus(final BatchProgressDto progress) {
+        return progress.getProcessed().get() > 0 || progress.getAmountMessages() == 0
+                ? BatchStatusEnum.DONE
+                : BatchStatusEnum.FAILED;
+    }
+
     /**
      * save the batch data.
-     * @param amountMessages total amount of messages to process.
-     * @param userId user identifier.
-     * @param idBee batch emotional estimation identifier.
-     * @param duration of processing.
+     * @param progress of the batch.
+     * @param status of the batch.
      */
-    private void saveBatch(final int amountMessages, final UUID userId, final UUID idBee, final long duration) {
-        save(EmotionalBatchDao.builder()
-                .amountMessages(amountMessages)
-                .id(idBee)
-                .userId(userId)
-                .duration(duration)
-                .build());
+    private void saveBatch(final BatchProgressDto progress, final BatchStatusEnum status) {
+        save(EmotionalMapper.fromProgressToBatchDao(progress, status));
     }
 
     /**
-     * compute the all messages.
+     * {@inheritDoc}
+     * @param messages messages to process
+     * @param tenant customer of the request by its api key, null for the callers without one.
+     * @param consumer of every estimation, called as soon as the estimation is ready.
+     * @return {@link EmotionalBatchRsDto} with the summary of the batch, without results.
+     */
+    @Override
+    public EmotionalBatchRsDto streamList(
+            final EmotionalBatchRqDto messages,
+            final UUID tenant,
+            final Consumer<EmotionalRsDto> consumer) {
+        final BatchProgressDto progress = new BatchProgressDto(
+                UUID.randomUUID(), tenant, messages.getMessages().size());
+        try {
+            computeMessages(messages.getMessages(), progress, (ee, position) -> consumer.accept(ee));
+        } catch (Exception e) {
+            log.error("[streamList]: batch stream stopped: {}, error: {}", progress.getId(), e.getMessage());
+            saveBatch(progress, BatchStatusEnum.FAILED);
+            throw e;
+        }
+        final EmotionalBatchDao batch = EmotionalMapper.fromProgressToBatchDao(progress, getFinalStatus(progress));
+        save(batch);
+        return EmotionalMapper.fromBatchDaoToRsDto(batch, null);
+    }
+
+    /**
+     * compute the all messages in the batch fan-out, a message that fails is counted and skipped.
+     * the calls to openai go by the batch lane, queued as the customer of the batch, or as anonymous without one.
      * @param messages to process.
-     * @param userId user identifier.
-     * @param idBee batch emotional estimation id.
-     * @return {@link List} of {@link EmotionalRsDto}.
+     * @param progress of the batch.
+     * @param consumer of every estimation with the position of its message.
+     */
+    private void computeMessages(
+            final List<String> messages,
+            final BatchProgressDto progress,
+            final ObjIntConsumer<EmotionalRsDto> consumer){
+        final OpenaiCallerDto caller = OpenaiCallerDto.builder()
+                .lane(OpenaiLaneEnum.BATCH)
+                .userId(progress.getTenant())
+                .build();
+        OpenaiCallerContext.run(caller, () -> {
+            if (batchMaxMessages > 1) {
+                computeInBatches(messages, progress, consumer);
+                return;
+            }
+            batchFanOut.forEach(getPositions(messages.size()), position -> track(progress,
+                    ee -> consumer.accept(ee, position),
+                    () -> estimateMessage(messages.get(position), progress.getUserId(), progress.getId())));
+        });
+        log.info("[computeMessages] total messages processed: {}", messages.size());
+    }
+
+    /**
+     * get the positions of a list.
+     * @param size of the list.
+     * @return {@link List} of positions from 0 to size - 1.
+     */
+    private static List<Integer> getPositions(final int size) {
+        return IntStream.range(0, size).boxed().toList();
+    }
+
+    /**
+     * estimate a message of a batch and record the result in its progress.
+     * @param progress of the batch.
+     * @param consumer of the estimation.
+     * @param estimation of the message.
+     */
+    private void track(
+            final BatchProgressDto progress,
+            final Consumer<EmotionalRsDto> consumer,
+            final Supplier<Optional<EmotionalRsDto>> estimation) {
+        Optional<EmotionalRsDto> result = Optional.empty();
+        try {
+            result = estimation.get();
+        } catch (Exception e) {
+            log.error("[track]: error estimating a message of batch: {}, error: {}", progress.getId(), e.getMessage());
+        }
+        progress.record(result.isPresent());
+        if (progress.shouldSave(PROGRESS_SAVE_INTERVAL_MILLIS)) {
+            saveBatch(progress, BatchStatusEnum.RUNNING);
+        }
+        result.ifPresent(consumer);
+    }
+
+    /**
+     * compute the messages packing several of them in one openai request,
+     * the system prompt is sent once by request instead of once by message.
+     * @param messages to process.
+     * @param progress of the batch.
+     * @param consumer of every estimation with the position of its message.
      */
-    private List<EmotionalRsDto> computeMessages(final EmotionalBatchRqDto messages, final UUID userId, final UUID idBee){
-        final List<EmotionalRsDto> ees =  new ArrayList<>(messages.getMessages().size());
-        messages.getMessages().parallelStream()
-                .forEach(message -> estimateMessage(message, userId, idBee).map(ees::add));
-        log.info("[computeMessages] total messages processed: {}", messages.getMessages().size());
-        return ees;
+    private void computeInBatches(
+            final List<String> messages,
+            final BatchProgressDto progress,
+            final ObjIntConsumer<EmotionalRsDto> consumer) {
+        final List<Optional<String>> cleaned = batchFanOut.map(messages, this::cleanMessage);
+        final List<String> cleanMessages = IntStream.range(0, messages.size())
+                .mapToObj(i -> cleaned.get(i).orElse(messages.get(i)))
+                .toList();
+        final List<List<Integer>> chunks = getChunks(cleanMessages);
+        batchFanOut.forEach(chunks, chunk -> estimateChunk(cleanMessages, chunk, progress, consumer));
+        log.info("[computeInBatches] total messages processed: {}, openai requests: {}", messages.size(), chunks.size());
+    }
+
+    /**
+     * estimate the messages of a chunk in one openai request,
+     * a message without estimation in the response is estimated alone.
+     * @param messages of the batch already cleaned.
+     * @param positions of the messages in the chunk.
+     * @param progress of the batch.
+     * @param consumer of every estimation with the position of its message.
+     */
+    private void estimateChunk(
+            final List<String> messages,
+            final List<Integer> positions,
+            final BatchProgressDto progress,
+            final ObjIntConsumer<EmotionalRsDto> consumer) {
+        final List<String> chunk = positions.stream().map(messages::get).toList();
+        final long start = Instant.now().toEpochMilli();
+        final UUID userId = progress.getUserId();
+        final UUID idBee = progress.getId();
+        final int promptTokens = promptService.getTokens(PromptEnum.EMOTIONAL_BATCH);
+        Map<Integer, EmotionalDao> daos = Map.of();
+        try {
+            daos = openAIService.emotionalComputeBatch(chunk)
+                    .map(chat -> ServerTiming.time(TimingPhaseEnum.MAPPING, () ->
+                            EmotionalMapper.fromBatchChatCompletionToDaos(chunk, chat, promptTokens, userId,
+                                    Validator.getDuration(start, Instant.now().toEpochMilli()), idBee)))
+                    .orElseGet(Map::of);
+        } catch (Exception e) {
+            log.error("[estimateChunk]: error estimating a chunk of batch: {}, error: {}", idBee, e.getMessage());
+        }
+        saveAll(List.copyOf(daos.values()));
+        final Map<Integer, EmotionalDao> estimated = daos;
+        IntStream.range(0, chunk.size())
+                .forEach(i -> track(progress,
+                        ee -> consumer.accept(ee, positions.get(i)),
+                        () -> Optional.ofNullable(estimated.get(i))
+                        .flatMap(EmotionalMapper::fromDaoToRsDto)
+                        .or(() -> estimateCleanMessage(chunk.get(i), userId, idBee))));
+    }
+
+    /**
+     * split the messages in chunks limited by amount of messages and estimated tokens,
+     * the tokens of the current system prompt are taken from the budget of every request.
+     * @param messages to split.
+     * @return {@link List} of chunks with the positions of its messages.
+     */
+    private List<List<Integer>> getChunks(final List<String> messages) {
+        final int budget = batchMaxTokens - promptService.getTokens(PromptEnum.EMOTIONAL_BATCH);
+        final List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> chunk = new ArrayList<>();
+        int tokens = 0;
+        for (int position = 0; position < messages.size(); position++) {
+            final int size = TokenEstimator.ofText(messages.get(position)) + TOKENS_BY_BATCH_MESSAGE;
+            if (!chunk.isEmpty() && (chunk.size() >= batchMaxMessages || tokens + size > budget)) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                tokens = 0;
+            }
+            chunk.add(position);
+            tokens += size;
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * save the estimations of a chunk in one db call.
+     * @param daos to save.
+     */
+    private void saveAll(final List<EmotionalDao> daos) {
+        try {
+            if (!daos.isEmpty()) {
+                emotionalRepo.saveAll(daos);
+                log.info("[saveAll]: save estimations ok: {}", daos.size());
+            }
+        } catch (Exception e) {
+            log.error("[saveAll]: error saving the estimations: {}", e.getMessage());
+        }
     }
 
     /**
@@ -183,8 +508,8 @@ public class EmotionalServiceImpl implements EmotionalService {
             final UUID idEE,
             final UUID idBee,
             final long duration) {
-        return EmotionalMapper
-                .fromChatCompletionToDao(message, resultEE, userId, duration, idBee, idEE)
+        return ServerTiming.time(TimingPhaseEnum.MAPPING, () -> EmotionalMapper
+                        .fromChatCompletionToDao(message, resultEE, userId, duration, idBee, idEE))
                 .map(result -> {
                     save(result);
                     return result;
@@ -246,6 +571,19 @@ public class EmotionalServiceImpl implements EmotionalService {
      */
     @Override
     public Optional<EmotionalBatchRsDto> getByBatchId(final UUID id) {
+        return findBatchById(id)
+                .map(batch -> EmotionalMapper.fromBatchDaoToRsDto(batch, getEEByBEE(id)
+                        .flatMap(EmotionalMapper::fromDaosGetDtos)
+                        .orElseGet(List::of)))
+                .or(() -> getResultsByBatchId(id));
+    }
+
+    /**
+     * get the results of a batch without its tracking data.
+     * @param id batch emotional estimation identifier.
+     * @return {@link Optional} of {@link EmotionalBatchRsDto}.
+     */
+    private Optional<EmotionalBatchRsDto> getResultsByBatchId(final UUID id) {
         return getEEByBEE(id).map(list ->
             EmotionalBatchRsDto.builder()
                     .id(id)
@@ -260,12 +598,13 @@ public class EmotionalServiceImpl implements EmotionalService {
     /**
      * {@inheritDoc}.
      * @param emotionalBatch messages to have a unique process.
-     * @return
+     * @param tenant customer of the request by its api key, null for the callers without one.
+     * @return {@link Optional} of {@link EmotionalUniqueRsDto}.
      */
     @Override
-    public Optional<EmotionalUniqueRsDto> computeUnique(final EmotionalBatchRqDto emotionalBatch) {
+    public Optional<EmotionalUniqueRsDto> computeUnique(final EmotionalBatchRqDto emotionalBatch, final UUID tenant) {
         final UUID id = UUID.randomUUID();
-        final UUID userID = UUID.randomUUID();
+        final UUID userID = Optional.ofNullable(tenant).orElseGet(UUID::randomUUID);
         final long start = Instant.now().toEpochMilli();
         return openAIService.emotionalComputeUnique(emotionalBatch.getMessages()).map(chat -> {
             mapAndSave(emotionalBatch.getMessages(), chat, id, userID,
@@ -288,6 +627,21 @@ public class EmotionalServiceImpl implements EmotionalService {
         return findById(id).flatMap(EmotionalMapper::getFromDao);
     }
 
+    /**
+     * find a batch by id.
+     * @param id batch emotional estimation identifier.
+     * @return {@link Optional} of {@link EmotionalBatchDao}.
+     */
+    private Optional<EmotionalBatchDao> findBatchById(final UUID id) {
+        Optional<EmotionalBatchDao> result = Optional.empty();
+        try {
+            result = emotionalBatchRepo.findById(id);
+        } catch (Exception e) {
+            log.error("[findBatchById]: Error finding batch by id: {}, error: {}", id, e.getMessage());
+        }
+        return result;
+    }
+
     /**
      * find emotional unique processed by id.
      * @param id to get the emotional unique id.
@@ -318,7 +672,8 @@ public class EmotionalServiceImpl implements EmotionalService {
             final UUID id,
             final UUID userId,
             final long duration) {
-        EmotionalMapper.getEUFromChatCompletion(chat, id, userId, messages, duration)
+        ServerTiming.time(TimingPhaseEnum.MAPPING,
+                        () -> EmotionalMapper.getEUFromChatCompletion(chat, id, userId, messages, duration))
                 .ifPresent(this::save);
     }
 
@@ -343,15 +698,22 @@ public class EmotionalServiceImpl implements EmotionalService {
     /**
      * {@inheritDoc}.
      * @param emotionalUnique to save.
+     * @return {@link Optional} of the {@link EmotionalUniqueDao} saved, empty when the save failed.
      */
+    @Override
     @Transactional
-    public void save(final EmotionalUniqueDao emotionalUnique) {
+    public Optional<EmotionalUniqueDao> save(final EmotionalUniqueDao emotionalUnique) {
+        Optional<EmotionalUniqueDao> result = Optional.empty();
+
         try {
             emotionalUniqueRepo.save(emotionalUnique);
             log.info("[save]: emotional unique saved ok.");
+            result = Optional.of(emotionalUnique);
         } catch (Exception e) {
             log.error("[save]: error saving emotional unique processing: {}", e.getMessage());
         }
+
+        return result;
     }
 
 }
@@ -11,6 +11,7 @@ import com.co.solia.emotional.emotional.models.dtos.rs.EmotionalUniqueRsDto;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service to map the emotional process behaviors.
@@ -29,9 +30,28 @@ public interface EmotionalService {
     /**
      * estimate message list with emotional process behaviors.
      * @param messages messages to process
+     * @param tenant customer of the request by its api key, null for the callers without one.
      * @return {@link Optional} of {@link EmotionalBatchRsDto}.
      */
-    Optional<EmotionalBatchRsDto> computeList(EmotionalBatchRqDto messages);
+    Optional<EmotionalBatchRsDto> computeList(EmotionalBatchRqDto messages, UUID tenant);
+
+    /**
+     * start a background job to estimate a message list, the progress is read with {@link #getByBatchId(UUID)}.
+     * @param messages messages to process
+     * @param tenant customer of the request by its api key, null for the callers without one.
+     * @return {@link Optional} of {@link EmotionalBatchRsDto} with the batch id, empty when the job was rejected.
+     */
+    Optional<EmotionalBatchRsDto> submitList(EmotionalBatchRqDto messages, UUID tenant);
+
+    /**
+     * estimate a message list giving every estimation to the consumer as soon as it is ready,
+     * the estimations are not kept in memory.
+     * @param messages messages to process
+     * @param tenant customer of the request by its api key, null for the callers without one.
+     * @param consumer of every estimation.
+     * @return {@link EmotionalBatchRsDto} with the summary of the batch, without results.
+     */
+    EmotionalBatchRsDto streamList(EmotionalBatchRqDto messages, UUID tenant, Consumer<EmotionalRsDto> consumer);
 
     /**
      * save the emotional estimation.
@@ -48,8 +68,9 @@ public interface EmotionalService {
     /**
      * save the emotional unique process result.
      * @param emotionalUnique to save.
+     * @return {@link Optional} of {@link EmotionalUniqueDao}, empty when it could not be saved.
      */
-    void save(EmotionalUniqueDao emotionalUnique);
+    Optional<EmotionalUniqueDao> save(EmotionalUniqueDao emotionalUnique);
 
     /**
      * get emotional estimation by id.
@@ -59,7 +80,7 @@ public interface EmotionalService {
     Optional<EmotionalRsDto> getById(UUID id);
 
     /**
-     * get a messages processed by batch identifier.
+     * get a messages processed by batch identifier, with the partial results while the batch is running.
      * @param id batch emotional compute identifier.
      * @return {@link Optional} of {@link EmotionalBatchRsDto}.
      */
@@ -68,9 +89,10 @@ public interface EmotionalService {
     /**
      * compute unique emotional in messages.
      * @param emotionalBatch messages to have a unique process.
+     * @param tenant customer of the request by its api key, null for the callers without one.
      * @return {@link Optional} of {@link EmotionalUniqueRsDto}.
      */
-    Optional<EmotionalUniqueRsDto> computeUnique(EmotionalBatchRqDto emotionalBatch);
+    Optional<EmotionalUniqueRsDto> computeUnique(EmotionalBatchRqDto emotionalBatch, UUID tenant);
 
     /**
      * get a messages processed by unique identifier.
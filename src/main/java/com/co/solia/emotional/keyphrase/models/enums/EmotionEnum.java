@@ -1,27 +1,37 @@
 package com.co.solia.emotional.keyphrase.models.enums;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
 /**
  * Enum of emotions.
  *
  * @author luis.bolivar.
  */
+@Getter
+@AllArgsConstructor
 public enum EmotionEnum {
-    FELICIDAD,
-    TRISTEZA,
-    ENOJO,
-    MIEDO,
-    SORPRESA,
-    DISGUSTO,
-    CONFIANZA,
-    ALEGRIA,
-    AMOR,
-    PRECAUCION,
-    CULPA,
-    VERGUENZA,
-    AVERSION,
-    ESPERANZA,
-    ORGULLO,
-    MOTIVACION,
-    SATISFACCION,
-    FRUSTRACION
+    FELICIDAD("felicidad"),
+    TRISTEZA("tristeza"),
+    ENOJO("enojo"),
+    MIEDO("miedo"),
+    SORPRESA("sorpresa"),
+    DISGUSTO("disgusto"),
+    CONFIANZA("confianza"),
+    ALEGRIA("alegria"),
+    AMOR("amor"),
+    PRECAUCION("preocupacion"),
+    CULPA("culpa"),
+    VERGUENZA("verguenza"),
+    AVERSION("aversion"),
+    ESPERANZA("esperanza"),
+    ORGULLO("orgullo"),
+    MOTIVACION("motivacion"),
+    SATISFACCION("satisfaccion"),
+    FRUSTRACION("frustracion");
+
+    /**
+     * key of the emotion in the json of the estimations.
+     */
+    private final String key;
 }
@@ -10,11 +10,13 @@ import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
 import com.co.solia.emotional.keyphrase.models.dtos.rs.EmotionalDto;
 import com.co.solia.emotional.keyphrase.models.dtos.rs.KeyphrasesRsDto;
 import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
-import com.google.gson.Gson;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -108,7 +110,7 @@ public class KeyphraseMapper {
                 .emotion(emotion)
                 .keyphrases(getKeyphrases(chat))
                 .tokens(getTokens(chat))
-                .emotionEstimation(emotionalRs.getEmotions().toString())
+                .emotionEstimation(JsonCodec.write(emotionalRs.getEmotions()))
                 .build();
     }
 
@@ -132,17 +134,10 @@ public class KeyphraseMapper {
         List<String> result = new java.util.ArrayList<>();
 
         try {
-            final Map keyphrases = new Gson()
-                    .fromJson(chat.choices().getFirst().message().content(), Map.class);
-            Stream.of(keyphrases)
-                    .filter(Objects::nonNull)
-                    .filter(k -> !k.isEmpty())
-                    .filter(k -> k.containsKey("result"))
-                    .findFirst()
-                    .ifPresent(ke -> {
-                        final List<String> keyphrasesResults = (List<String>) ke.get("result");
-                        keyphrasesResults.parallelStream().forEach(result::add);
-                    });
+            JsonCodec.readTree(chat.choices().getFirst().message().content())
+                    .map(keyphrases -> keyphrases.get("result"))
+                    .filter(JsonNode::isArray)
+                    .ifPresent(keyphrases -> keyphrases.forEach(keyphrase -> result.add(keyphrase.asText())));
         } catch (Exception e) {
             log.error("[getKeyphrases]: Error getting the keyphrases: {}", e.getMessage());
         }
@@ -171,7 +166,7 @@ public class KeyphraseMapper {
      * @return {@link Optional} of {@link KeyphrasesRsDto}.
      */
     public static Optional<KeyphrasesRsDto> getRsFromDao(final KeyphrasesDao dao, final List<KeyphraseDao> keyphrases) {
-        final Map emotions = new Gson().fromJson(dao.getEmotionEstimation(), Map.class);
+        final Map<String, Double> emotions = getEmotionEstimation(dao.getEmotionEstimation());
         return getRsLisFromDaoList(keyphrases).map(keyphrasesRs -> KeyphrasesRsDto.builder()
                 .keyphrases(keyphrasesRs)
                 .emotion(EmotionEnum.valueOf(dao.getEmotion()))
@@ -188,7 +183,7 @@ public class KeyphraseMapper {
      * @return {@link Optional} of {@link KeyphrasesRsDto}.
      */
     public static Optional<KeyphrasesRsDto> getRsFromDao(final KeyphrasesDao dao, final UUID emotionId, final List<KeyphraseRsDto> keyphrases) {
-        final Map emotions = new Gson().fromJson(dao.getEmotionEstimation(), Map.class);
+        final Map<String, Double> emotions = getEmotionEstimation(dao.getEmotionEstimation());
         return Optional.of(KeyphrasesRsDto.builder()
                 .keyphrases(keyphrases)
                 .emotion(EmotionEnum.valueOf(dao.getEmotion()))
@@ -198,6 +193,33 @@ public class KeyphraseMapper {
                 .build());
     }
 
+    /**
+     * get the emotions estimated from the stored estimation, stored as json or, in the old documents,
+     * in the {@code {key=value, ...}} format of {@link Map#toString()}.
+     * @param estimation stored in the {@link KeyphrasesDao}.
+     * @return {@link Map}, {@code key}: {@link String} emotion, {@code value}: {@link Double} estimation.
+     */
+    private static Map<String, Double> getEmotionEstimation(final String estimation) {
+        final Map<String, Double> result = new HashMap<>();
+        if (estimation == null || estimation.isBlank()) {
+            return result;
+        }
+        if (estimation.startsWith("{\"")) {
+            JsonCodec.readTree(estimation).ifPresent(emotions -> emotions.fields()
+                    .forEachRemaining(emotion -> result.put(emotion.getKey(), emotion.getValue().asDouble())));
+            return result;
+        }
+        try {
+            Stream.of(estimation.substring(1, estimation.length() - 1).split(","))
+                    .map(emotion -> emotion.split("="))
+                    .filter(emotion -> emotion.length == 2)
+                    .forEach(emotion -> result.put(emotion[0].trim(), Double.parseDouble(emotion[1].trim())));
+        } catch (Exception e) {
+            log.error("[getEmotionEstimation]: error getting the emotions estimated: {}", e.getMessage());
+        }
+        return result;
+    }
+
     /**
      * get a {@link List} of {@link KeyphraseRsDto} from a {@link List} of {@link KeyphraseDao}.
      * @param daos a {@link List} of {@link KeyphraseDao}.
@@ -210,6 +232,21 @@ public class KeyphraseMapper {
                 .findFirst();
     }
 
+    /**
+     * get a {@link KeyphraseDao} by each keyphrase generated in a {@link KeyphrasesDao}.
+     * @param dao with the keyphrases.
+     * @return {@link List} of {@link KeyphraseDao}, associated to the keyphrases process.
+     */
+    public static List<KeyphraseDao> getKeyphraseDaos(final KeyphrasesDao dao) {
+        return dao.getKeyphrases().stream()
+                .map(keyphrase -> KeyphraseDao.builder()
+                        .id(UUID.randomUUID())
+                        .idKeyphrases(dao.getId())
+                        .keyphrase(keyphrase)
+                        .build())
+                .toList();
+    }
+
     /**
      * get a {@link KeyphraseRsDto} from a {@link KeyphraseDao}.
      * @param dao a {@link KeyphraseDao}.
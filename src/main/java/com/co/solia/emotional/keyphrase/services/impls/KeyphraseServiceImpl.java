@@ -12,7 +12,10 @@ import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
 import com.co.solia.emotional.keyphrase.models.mappers.KeyphraseMapper;
 import com.co.solia.emotional.keyphrase.models.repos.KeyphrasesRepo;
 import com.co.solia.emotional.keyphrase.services.services.KeyphraseService;
+import com.co.solia.emotional.share.utils.concurrency.FanOut;
 import com.co.solia.emotional.share.utils.validators.Validator;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
 import com.co.solia.emotional.share.services.services.OpenAIService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -54,6 +57,11 @@ public class KeyphraseServiceImpl implements KeyphraseService {
      */
     private KeyphraseRepo keyphraseRepo;
 
+    /**
+     * fan-out of the saves by keyphrase.
+     */
+    private FanOut batchFanOut;
+
     /**
      * {@inheritDoc}.
      * @param keyphraseRq request to compute.
@@ -127,19 +135,18 @@ public class KeyphraseServiceImpl implements KeyphraseService {
             final UUID id,
             final long start) {
         return mapAndSave(emotionalRs, emotion, userId, chat, id, getDuration(start))
-                .flatMap(dao -> mapAndSaveEachKeyphrase(dao, id)
+                .flatMap(dao -> mapAndSaveEachKeyphrase(dao)
                                 .flatMap(keyphrases -> KeyphraseMapper.getRsFromDao(dao, emotionalRs.getId(), keyphrases)));
     }
 
     /**
      * map and save each keyphrase.
      * @param dao to get the keyphrases.
-     * @param id to associate to the keyphrase process.
      * @return {@link Optional} of {@link List} of {@link KeyphraseRsDto}.
      */
-    private Optional<List<KeyphraseRsDto>> mapAndSaveEachKeyphrase(final KeyphrasesDao dao, final UUID id) {
-        return getKeyphrases(dao, id).flatMap(daos -> {
-            daos.parallelStream().forEach(this::saveKeyphrase);
+    private Optional<List<KeyphraseRsDto>> mapAndSaveEachKeyphrase(final KeyphrasesDao dao) {
+        return getKeyphrases(dao).flatMap(daos -> {
+            batchFanOut.forEach(daos, this::saveKeyphrase);
             return KeyphraseMapper.getRsLisFromDaoList(daos);
         });
     }
@@ -147,31 +154,15 @@ public class KeyphraseServiceImpl implements KeyphraseService {
     /**
      * get the list of {@link KeyphraseDao} for processing each keyphrase.
      * @param dao to get the keyphrases.
-     * @param id o associate to keyphrase process.
      * @return {@link Optional} of {@link List} of {@link KeyphraseDao}.
      */
-    private Optional<List<KeyphraseDao>> getKeyphrases(final KeyphrasesDao dao, final UUID id) {
-        final List<KeyphraseDao> result = dao.getKeyphrases().parallelStream()
-                .map(keyphrase -> generateKeyphrase(keyphrase, id)).toList();
+    private Optional<List<KeyphraseDao>> getKeyphrases(final KeyphrasesDao dao) {
+        final List<KeyphraseDao> result = KeyphraseMapper.getKeyphraseDaos(dao);
         return Stream.of(result)
                 .filter(r -> !r.isEmpty())
                 .findFirst();
     }
 
-    /**
-     * get a {@link KeyphraseDao} from the {@link String} plain keyphrase and id.
-     * @param keyphrase plain text.
-     * @param id to associated to keyphrases.
-     * @return {@link KeyphraseDao}.
-     */
-    private KeyphraseDao generateKeyphrase(final String keyphrase, final UUID id) {
-        return KeyphraseDao.builder()
-                .id(UUID.randomUUID())
-                .idKeyphrases(id)
-                .keyphrase(keyphrase)
-                .build();
-    }
-
     /**
      * call to {@link OpenAIService} to generate the keyphrases.
      * @param emotionalRs the emotional estimation to generate the keyphrases.
@@ -208,7 +199,8 @@ public class KeyphraseServiceImpl implements KeyphraseService {
             final ChatCompletion chat,
             final UUID id,
             final long duration) {
-        return KeyphraseMapper.getDaoFromChatCompletion(chat, id, emotionalRs, duration, userId, emotion.toString())
+        return ServerTiming.time(TimingPhaseEnum.MAPPING, () -> KeyphraseMapper
+                        .getDaoFromChatCompletion(chat, id, emotionalRs, duration, userId, emotion.toString()))
                 .flatMap(this::saveKeyphrase);
     }
 
@@ -0,0 +1,39 @@
+package com.co.solia.emotional.pipeline.controllers.docs;
+
+import com.co.solia.emotional.pipeline.models.dtos.rq.PipelineRqDto;
+import com.co.solia.emotional.pipeline.models.dtos.rs.PipelineRsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Parameters;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * documentation of pipeline endpoints.
+ *
+ * @author luis.bolivar.
+ */
+@Tag(name = "Pipeline", description = "generate a campaign from raw messages in a single request.")
+public interface PipelineControllerDocs {
+
+    /**
+     * run the clean, emotional, keyphrase and campaign stages.
+     * @param rq with the messages and the brand.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
+     * @return {@link ResponseEntity} of {@link PipelineRsDto}.
+     */
+    @Operation(
+            summary = "generate a campaign from raw messages.",
+            description = "clean the messages, estimate their emotions, get the keyphrases of the requested or the "
+                    + "dominant emotion and generate the campaign, returning the id and the duration of every stage. "
+                    + "the response is sent once every stage is saved, so all ids can be read."
+    )
+    @Parameters({
+            @Parameter(
+                    name = "x-api-key",
+                    description = "api key of the customer, optional. without it the request gets the default share.",
+                    in = ParameterIn.HEADER),
+    })
+    ResponseEntity<PipelineRsDto> compute(PipelineRqDto rq, String apiKey);
+}
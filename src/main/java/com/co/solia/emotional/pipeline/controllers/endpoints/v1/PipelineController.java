@@ -0,0 +1,64 @@
+package com.co.solia.emotional.pipeline.controllers.endpoints.v1;
+
+import com.co.solia.emotional.pipeline.controllers.docs.PipelineControllerDocs;
+import com.co.solia.emotional.pipeline.models.dtos.rq.PipelineRqDto;
+import com.co.solia.emotional.pipeline.models.dtos.rs.PipelineRsDto;
+import com.co.solia.emotional.pipeline.services.services.PipelineService;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.services.services.OpenaiTenantService;
+import com.co.solia.emotional.share.utils.validators.ServiceValidator;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * pipeline endpoints.
+ *
+ * @author luis.bolivar.
+ */
+@RestController
+@RequestMapping("/1/pipeline")
+@AllArgsConstructor
+@Slf4j
+public class PipelineController implements PipelineControllerDocs {
+
+    /**
+     * dependency on {@link PipelineService}.
+     */
+    private PipelineService pipelineService;
+
+    /**
+     * dependency on {@link OpenaiTenantService} to get the customer of the api key.
+     */
+    private OpenaiTenantService openaiTenantService;
+
+    /**
+     * {@inheritDoc}.
+     * @param rq with the messages and the brand.
+     * @param apiKey of the customer, it sets the share of the openai capacity, optional.
+     * @return {@link ResponseEntity} of {@link PipelineRsDto}.
+     */
+    @PostMapping("/compute/")
+    @Override
+    public ResponseEntity<PipelineRsDto> compute(
+            @RequestBody final PipelineRqDto rq,
+            @RequestHeader(value = "x-api-key", required = false) final String apiKey) {
+        ServiceValidator.validatePipelineRq(rq);
+        final UUID tenant = openaiTenantService.getTenant(apiKey, "/pipeline/compute/");
+        return pipelineService.compute(rq, tenant)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.error("[compute]: The pipeline failed, try again.");
+                    throw InternalServerException.builder()
+                            .message("The pipeline failed, try again.")
+                            .endpoint("/pipeline/compute/").build();
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package com.co.solia.emotional.pipeline.models.dtos.rq;
+
+import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * request to generate a campaign from raw messages in a single call.
+ *
+ * @author luis.bolivar.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class PipelineRqDto {
+
+    /**
+     * raw messages to clean and estimate.
+     */
+    @Schema(
+            name = "messages",
+            description = "raw messages to generate the campaign.",
+            type = "List")
+    private List<String> messages;
+
+    /**
+     * brand of the campaign.
+     */
+    @Schema(
+            name = "brandId",
+            description = "identifier of the brand of the campaign.",
+            type = "UUID",
+            example = "b6fbb344-da94-4433-b3f6-d67540d32ccc")
+    private UUID brandId;
+
+    /**
+     * emotion to get the keyphrases, the dominant emotion of the messages when it is missing.
+     */
+    @Schema(
+            name = "emotion",
+            description = "emotion to get the keyphrases, by default the dominant emotion of the messages.",
+            example = "FELICIDAD")
+    private EmotionEnum emotion;
+}
@@ -0,0 +1,91 @@
+package com.co.solia.emotional.pipeline.models.dtos.rs;
+
+import com.co.solia.emotional.campaign.models.dtos.rs.CampaignRsDto;
+import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
+import com.co.solia.emotional.pipeline.models.enums.PipelineStageEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * the response of the campaign pipeline, with the ids of every stage.
+ *
+ * @author luis.bolivar.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+public class PipelineRsDto {
+
+    /**
+     * campaign generated.
+     */
+    @Schema(
+            name = "campaign",
+            description = "campaign generated from the messages.")
+    private CampaignRsDto campaign;
+
+    /**
+     * id of the batch cleaning.
+     */
+    @Schema(
+            name = "cleanId",
+            description = "identifier of the batch cleaning processing.",
+            type = "UUID",
+            example = "b6fbb344-da94-4433-b3f6-d67540d32ccc")
+    private UUID cleanId;
+
+    /**
+     * id of the unique emotional estimation.
+     */
+    @Schema(
+            name = "emotionalId",
+            description = "identifier of the emotional unique processing.",
+            type = "UUID",
+            example = "b6fbb344-da94-4433-b3f6-d67540d32ccc")
+    private UUID emotionalId;
+
+    /**
+     * id of the keyphrases processing.
+     */
+    @Schema(
+            name = "keyphrasesId",
+            description = "identifier of the keyphrases processing.",
+            type = "UUID",
+            example = "b6fbb344-da94-4433-b3f6-d67540d32ccc")
+    private UUID keyphrasesId;
+
+    /**
+     * id of the keyphrase used by the campaign.
+     */
+    @Schema(
+            name = "keyphraseId",
+            description = "identifier of the keyphrase used by the campaign.",
+            type = "UUID",
+            example = "b6fbb344-da94-4433-b3f6-d67540d32ccc")
+    private UUID keyphraseId;
+
+    /**
+     * emotion used to get the keyphrases.
+     */
+    @Schema(
+            name = "emotion",
+            description = "emotion used to get the keyphrases.",
+            example = "FELICIDAD")
+    private EmotionEnum emotion;
+
+    /**
+     * milliseconds by stage.
+     */
+    @Schema(
+            name = "timings",
+            description = "milliseconds spent by stage and in total.",
+            type = "Map")
+    private Map<PipelineStageEnum, Long> timings;
+}
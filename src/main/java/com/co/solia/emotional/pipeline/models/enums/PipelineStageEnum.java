@@ -0,0 +1,14 @@
+package com.co.solia.emotional.pipeline.models.enums;
+
+/**
+ * stages of the campaign pipeline, in the order they run.
+ *
+ * @author luis.bolivar.
+ */
+public enum PipelineStageEnum {
+    CLEAN,
+    EMOTIONAL,
+    KEYPHRASE,
+    CAMPAIGN,
+    TOTAL
+}
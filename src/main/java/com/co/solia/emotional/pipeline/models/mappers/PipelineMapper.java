@@ -0,0 +1,78 @@
+package com.co.solia.emotional.pipeline.models.mappers;
+
+import com.co.solia.emotional.campaign.models.daos.CampaignDao;
+import com.co.solia.emotional.campaign.models.mappers.CampaignMapper;
+import com.co.solia.emotional.clean.models.daos.CleanBatchDao;
+import com.co.solia.emotional.emotional.models.daos.EmotionalUniqueDao;
+import com.co.solia.emotional.emotional.models.mappers.EmotionalMapper;
+import com.co.solia.emotional.keyphrase.models.daos.KeyphraseDao;
+import com.co.solia.emotional.keyphrase.models.daos.KeyphrasesDao;
+import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
+import com.co.solia.emotional.pipeline.models.dtos.rs.PipelineRsDto;
+import com.co.solia.emotional.pipeline.models.enums.PipelineStageEnum;
+import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
+import lombok.experimental.UtilityClass;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * utility class to map the stages of the campaign pipeline.
+ *
+ * @author luis.bolivar.
+ */
+@UtilityClass
+public class PipelineMapper {
+
+    /**
+     * get the emotional results passed to the keyphrase stage from the {@link EmotionalUniqueDao}.
+     * @param dao unique emotional estimation.
+     * @return {@link EmotionalClientRsDto}.
+     */
+    public static EmotionalClientRsDto getEmotionalRs(final EmotionalUniqueDao dao) {
+        return EmotionalClientRsDto.builder()
+                .id(dao.getId())
+                .messages(dao.getMessages())
+                .emotions(EmotionalMapper.toEmotionsRs(dao.getEstimations()))
+                .build();
+    }
+
+    /**
+     * get the emotion with the highest estimation.
+     * @param estimations a value by emotion.
+     * @return {@link Optional} of {@link EmotionEnum}, empty without estimations.
+     */
+    public static Optional<EmotionEnum> getDominantEmotion(final Map<EmotionEnum, Double> estimations) {
+        return estimations.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey);
+    }
+
+    /**
+     * get the response of the pipeline.
+     * @param clean batch cleaning.
+     * @param emotional unique emotional estimation.
+     * @param keyphrases keyphrases processing.
+     * @param keyphrase used by the campaign.
+     * @param campaign generated.
+     * @param timings milliseconds by stage.
+     * @return {@link Optional} of {@link PipelineRsDto}.
+     */
+    public static Optional<PipelineRsDto> getRs(
+            final CleanBatchDao clean,
+            final EmotionalUniqueDao emotional,
+            final KeyphrasesDao keyphrases,
+            final KeyphraseDao keyphrase,
+            final CampaignDao campaign,
+            final Map<PipelineStageEnum, Long> timings) {
+        return CampaignMapper.getRsFromDao(campaign).map(campaignRs -> PipelineRsDto.builder()
+                .campaign(campaignRs)
+                .cleanId(clean.getId())
+                .emotionalId(emotional.getId())
+                .keyphrasesId(keyphrases.getId())
+                .keyphraseId(keyphrase.getId())
+                .emotion(EmotionEnum.valueOf(keyphrases.getEmotion()))
+                .timings(timings)
+                .build());
+    }
+}
@@ -0,0 +1,458 @@
+package com.co.solia.emotional.pipeline.services.impls;
+
+import com.co.solia.emotional.campaign.clients.clients.BrandClient;
+import com.co.solia.emotional.campaign.models.daos.CampaignDao;
+import com.co.solia.emotional.campaign.models.dtos.rq.CampaignOpenaiRqDto;
+import com.co.solia.emotional.campaign.models.dtos.rs.BrandClientRsDto;
+import com.co.solia.emotional.campaign.models.mappers.BrandMapper;
+import com.co.solia.emotional.campaign.models.mappers.CampaignMapper;
+import com.co.solia.emotional.campaign.services.services.CampaignService;
+import com.co.solia.emotional.clean.models.daos.CleanBatchDao;
+import com.co.solia.emotional.clean.models.daos.CleanDao;
+import com.co.solia.emotional.clean.models.mappers.CleanMapper;
+import com.co.solia.emotional.clean.services.services.CleanService;
+import com.co.solia.emotional.emotional.models.daos.EmotionalUniqueDao;
+import com.co.solia.emotional.emotional.models.mappers.EmotionalMapper;
+import com.co.solia.emotional.emotional.services.services.EmotionalService;
+import com.co.solia.emotional.keyphrase.models.daos.KeyphraseDao;
+import com.co.solia.emotional.keyphrase.models.daos.KeyphrasesDao;
+import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
+import com.co.solia.emotional.keyphrase.models.mappers.KeyphraseMapper;
+import com.co.solia.emotional.keyphrase.services.services.KeyphraseService;
+import com.co.solia.emotional.pipeline.models.dtos.rq.PipelineRqDto;
+import com.co.solia.emotional.pipeline.models.dtos.rs.PipelineRsDto;
+import com.co.solia.emotional.pipeline.models.enums.PipelineStageEnum;
+import com.co.solia.emotional.pipeline.models.mappers.PipelineMapper;
+import com.co.solia.emotional.pipeline.services.services.PipelineService;
+import com.co.solia.emotional.share.models.dtos.internal.OpenaiCallerDto;
+import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.services.services.OpenAIService;
+import com.co.solia.emotional.share.utils.concurrency.FanOut;
+import com.co.solia.emotional.share.utils.concurrency.StructuredScope;
+import com.co.solia.emotional.share.utils.limits.OpenaiCallerContext;
+import com.co.solia.emotional.share.utils.validators.Validator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * implementation of {@link PipelineService}, the stages run in process one after the other and every
+ * result is saved in background while the next stage runs. the response waits for the saves, so every
+ * id returned can be read.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Service
+public class PipelineServiceImpl implements PipelineService {
+
+    /**
+     * endpoint reported by the errors of the pipeline.
+     */
+    private static final String ENDPOINT = "/pipeline/compute/";
+
+    /**
+     * dependency on {@link OpenAIService}.
+     */
+    private final OpenAIService openAIService;
+
+    /**
+     * dependency on {@link CleanService} to save the cleaning.
+     */
+    private final CleanService cleanService;
+
+    /**
+     * dependency on {@link EmotionalService} to save the emotional estimation.
+     */
+    private final EmotionalService emotionalService;
+
+    /**
+     * dependency on {@link KeyphraseService} to save the keyphrases.
+     */
+    private final KeyphraseService keyphraseService;
+
+    /**
+     * dependency on {@link CampaignService} to save the campaign.
+     */
+    private final CampaignService campaignService;
+
+    /**
+     * dependency on {@link BrandClient}.
+     */
+    private final BrandClient brandClient;
+
+    /**
+     * fan-out of the cleaning by message.
+     */
+    private final FanOut batchFanOut;
+
+    /**
+     * executor of the saves of every stage.
+     */
+    private final ThreadPoolTaskExecutor pipelinePersistExecutor;
+
+    /**
+     * max duration to get the brand while the messages are cleaned.
+     */
+    private final Duration brandDeadline;
+
+    /**
+     * max duration to wait for the saves once the last stage is done.
+     */
+    private final Duration persistDeadline;
+
+    /**
+     * registry of the metrics.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * default constructor.
+     * @param openAIService service to call openai.
+     * @param cleanService service to save the cleaning.
+     * @param emotionalService service to save the emotional estimation.
+     * @param keyphraseService service to save the keyphrases.
+     * @param campaignService service to save the campaign.
+     * @param brandClient client to get the brand.
+     * @param batchFanOut fan-out of the cleaning by message.
+     * @param pipelinePersistExecutor executor of the saves.
+     * @param brandDeadline max seconds to get the brand.
+     * @param persistDeadline max seconds to wait for the saves.
+     * @param registry registry of the metrics.
+     */
+    @Autowired
+    public PipelineServiceImpl(
+            final OpenAIService openAIService,
+            final CleanService cleanService,
+            final EmotionalService emotionalService,
+            final KeyphraseService keyphraseService,
+            final CampaignService campaignService,
+            final BrandClient brandClient,
+            final FanOut batchFanOut,
+            @Qualifier("pipelinePersistExecutor") final ThreadPoolTaskExecutor pipelinePersistExecutor,
+            @Value("${solia.emotional.campaign.dependencies.deadline-seconds}") final long brandDeadline,
+            @Value("${solia.emotional.pipeline.persist.deadline-seconds}") final long persistDeadline,
+            final MeterRegistry registry) {
+        this.openAIService = openAIService;
+        this.cleanService = cleanService;
+        this.emotionalService = emotionalService;
+        this.keyphraseService = keyphraseService;
+        this.campaignService = campaignService;
+        this.brandClient = brandClient;
+        this.batchFanOut = batchFanOut;
+        this.pipelinePersistExecutor = pipelinePersistExecutor;
+        this.brandDeadline = Duration.ofSeconds(brandDeadline);
+        this.persistDeadline = Duration.ofSeconds(persistDeadline);
+        this.registry = registry;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param rq with the messages and the brand.
+     * @param tenant customer of the request by its api key, null for the callers without one.
+     * @return {@link Optional} of {@link PipelineRsDto} with the ids of every stage and its timings.
+     */
+    @Override
+    public Optional<PipelineRsDto> compute(final PipelineRqDto rq, final UUID tenant) {
+        final UUID userId = Optional.ofNullable(tenant).orElseGet(UUID::randomUUID);
+        return OpenaiCallerContext.call(
+                OpenaiCallerDto.builder().lane(OpenaiLaneEnum.PIPELINE).userId(tenant).build(),
+                () -> runStages(rq, userId));
+    }
+
+    /**
+     * run the stages of the pipeline, the calls to openai go by the pipeline lane queued as the customer,
+     * or as anonymous without one.
+     * @param rq with the messages and the brand.
+     * @param userId user identifier stored with the results.
+     * @return {@link Optional} of {@link PipelineRsDto}.
+     */
+    private Optional<PipelineRsDto> runStages(final PipelineRqDto rq, final UUID userId) {
+        final long start = Validator.getNow();
+        final Map<PipelineStageEnum, Long> timings = new EnumMap<>(PipelineStageEnum.class);
+        final List<CompletableFuture<Void>> saves = new ArrayList<>();
+        log.info("[compute]: ready to run the pipeline for: {} messages, brandId: {}", rq.getMessages().size(), rq.getBrandId());
+        try (StructuredScope scope = new StructuredScope(ENDPOINT)) {
+            final Supplier<BrandClientRsDto> brand = scope.fork(() -> getBrandById(rq.getBrandId()));
+            final List<CleanDao> cleans = clean(rq.getMessages(), userId);
+            final CleanBatchDao clean = saveClean(cleans, userId, Validator.getDuration(start), saves);
+            timings.put(PipelineStageEnum.CLEAN, clean.getDuration());
+
+            final EmotionalUniqueDao emotional =
+                    estimate(cleans.stream().map(CleanDao::getResult).toList(), userId, saves);
+            timings.put(PipelineStageEnum.EMOTIONAL, emotional.getDuration());
+
+            final EmotionalClientRsDto emotionalRs = PipelineMapper.getEmotionalRs(emotional);
+            final KeyphrasesDao keyphrases = getKeyphrases(emotionalRs, getEmotion(rq, emotional), userId);
+            final List<KeyphraseDao> keyphraseList = saveKeyphrases(keyphrases, saves);
+            timings.put(PipelineStageEnum.KEYPHRASE, keyphrases.getDuration());
+
+            scope.join(brandDeadline);
+            final KeyphraseDao keyphrase = keyphraseList.getFirst();
+            final CampaignDao campaign =
+                    generateCampaign(keyphrase.getKeyphrase(), brand.get(), emotionalRs, userId, saves);
+            timings.put(PipelineStageEnum.CAMPAIGN, campaign.getDuration());
+            awaitSaves(saves);
+            timings.put(PipelineStageEnum.TOTAL, Validator.getDuration(start));
+            log.info("[compute]: pipeline done, campaignId: {}, timings: {}", campaign.getId(), timings);
+            return PipelineMapper.getRs(clean, emotional, keyphrases, keyphrase, campaign, timings);
+        }
+    }
+
+    /**
+     * clean stage, clean every message in the batch fan-out keeping the order.
+     * @param messages raw messages.
+     * @param userId user identifier.
+     * @return {@link List} of {@link CleanDao}, without the messages that failed.
+     */
+    private List<CleanDao> clean(final List<String> messages, final UUID userId) {
+        final UUID idBatch = UUID.randomUUID();
+        final List<CleanDao> cleans = batchFanOut.map(messages, message -> cleanMessage(message, userId, idBatch).orElse(null))
+                .stream()
+                .flatMap(Optional::stream)
+                .toList();
+        if (cleans.isEmpty()) {
+            throw getStageError(PipelineStageEnum.CLEAN);
+        }
+        return cleans;
+    }
+
+    /**
+     * clean a message.
+     * @param message to clean.
+     * @param userId user identifier.
+     * @param idBatch batch identifier.
+     * @return {@link Optional} of {@link CleanDao}.
+     */
+    private Optional<CleanDao> cleanMessage(final String message, final UUID userId, final UUID idBatch) {
+        final long start = Validator.getNow();
+        return openAIService.clean(message).flatMap(chat -> CleanMapper.toDaoFromChatCompletion(
+                chat, UUID.randomUUID(), userId, idBatch, Validator.getDuration(start), message));
+    }
+
+    /**
+     * save the cleaning in background.
+     * @param cleans messages cleaned.
+     * @param userId user identifier.
+     * @param duration of the clean stage.
+     * @param saves of the pipeline, the save of the cleaning is added.
+     * @return {@link CleanBatchDao}.
+     */
+    private CleanBatchDao saveClean(
+            final List<CleanDao> cleans,
+            final UUID userId,
+            final long duration,
+            final List<CompletableFuture<Void>> saves) {
+        final CleanBatchDao batch = CleanMapper.getDaoFromListRsDto(cleans.getFirst().getIdBatch(), cleans.size(), userId, duration)
+                .orElseThrow(() -> getStageError(PipelineStageEnum.CLEAN));
+        saves.add(persist(PipelineStageEnum.CLEAN, () -> {
+            cleans.forEach(dao -> cleanService.save(dao).orElseThrow(() -> getPersistError(PipelineStageEnum.CLEAN)));
+            cleanService.save(batch).orElseThrow(() -> getPersistError(PipelineStageEnum.CLEAN));
+        }));
+        return batch;
+    }
+
+    /**
+     * emotional stage, estimate the emotions of all messages together and save them in background.
+     * @param messages cleaned.
+     * @param userId user identifier.
+     * @param saves of the pipeline, the save of the estimation is added.
+     * @return {@link EmotionalUniqueDao}.
+     */
+    private EmotionalUniqueDao estimate(
+            final List<String> messages,
+            final UUID userId,
+            final List<CompletableFuture<Void>> saves) {
+        final long start = Validator.getNow();
+        final EmotionalUniqueDao dao = openAIService.emotionalComputeUnique(messages)
+                .flatMap(chat -> EmotionalMapper.getEUFromChatCompletion(
+                        chat, UUID.randomUUID(), userId, messages, Validator.getDuration(start)))
+                .filter(d -> !d.getEstimations().isEmpty())
+                .orElseThrow(() -> getStageError(PipelineStageEnum.EMOTIONAL));
+        saves.add(persist(PipelineStageEnum.EMOTIONAL,
+                () -> emotionalService.save(dao).orElseThrow(() -> getPersistError(PipelineStageEnum.EMOTIONAL))));
+        return dao;
+    }
+
+    /**
+     * get the emotion of the keyphrases, the one requested or the dominant one of the messages.
+     * @param rq of the pipeline.
+     * @param emotional estimation of the messages.
+     * @return {@link EmotionEnum}.
+     */
+    private static EmotionEnum getEmotion(final PipelineRqDto rq, final EmotionalUniqueDao emotional) {
+        return Optional.ofNullable(rq.getEmotion())
+                .or(() -> PipelineMapper.getDominantEmotion(emotional.getEstimations()))
+                .orElseThrow(() -> getStageError(PipelineStageEnum.EMOTIONAL));
+    }
+
+    /**
+     * keyphrase stage, generate the keyphrases of an emotion.
+     * @param emotionalRs emotional results.
+     * @param emotion to get the keyphrases.
+     * @param userId user identifier.
+     * @return {@link KeyphrasesDao}.
+     */
+    private KeyphrasesDao getKeyphrases(final EmotionalClientRsDto emotionalRs, final EmotionEnum emotion, final UUID userId) {
+        final long start = Validator.getNow();
+        return openAIService.getKeyphrases(KeyphraseMapper.getKeyphraseFromEmotionalRs(emotionalRs, emotion))
+                .flatMap(chat -> KeyphraseMapper.getDaoFromChatCompletion(
+                        chat, UUID.randomUUID(), emotionalRs, Validator.getDuration(start), userId, emotion.toString()))
+                .filter(dao -> !dao.getKeyphrases().isEmpty())
+                .orElseThrow(() -> getStageError(PipelineStageEnum.KEYPHRASE));
+    }
+
+    /**
+     * save the keyphrases in background.
+     * @param keyphrases process to save.
+     * @param saves of the pipeline, the save of the keyphrases is added.
+     * @return {@link List} of {@link KeyphraseDao}.
+     */
+    private List<KeyphraseDao> saveKeyphrases(
+            final KeyphrasesDao keyphrases,
+            final List<CompletableFuture<Void>> saves) {
+        final List<KeyphraseDao> daos = KeyphraseMapper.getKeyphraseDaos(keyphrases);
+        saves.add(persist(PipelineStageEnum.KEYPHRASE, () -> {
+            keyphraseService.saveKeyphrase(keyphrases).orElseThrow(() -> getPersistError(PipelineStageEnum.KEYPHRASE));
+            daos.forEach(dao -> keyphraseService.saveKeyphrase(dao)
+                    .orElseThrow(() -> getPersistError(PipelineStageEnum.KEYPHRASE)));
+        }));
+        return daos;
+    }
+
+    /**
+     * campaign stage, generate the campaign and save it in background.
+     * @param keyphrase of the campaign.
+     * @param brand of the campaign.
+     * @param emotionalRs emotional results.
+     * @param userId user identifier.
+     * @param saves of the pipeline, the save of the campaign is added.
+     * @return {@link CampaignDao}.
+     */
+    private CampaignDao generateCampaign(
+            final String keyphrase,
+            final BrandClientRsDto brand,
+            final EmotionalClientRsDto emotionalRs,
+            final UUID userId,
+            final List<CompletableFuture<Void>> saves) {
+        final long start = Validator.getNow();
+        final CampaignOpenaiRqDto rq = CampaignOpenaiRqDto.builder()
+                .brand(BrandMapper.getDtoFromRs(brand))
+                .emotions(emotionalRs.getEmotions())
+                .keyphrase(keyphrase)
+                .build();
+        final CampaignDao dao = openAIService.getCampaign(rq)
+                .flatMap(chat -> CampaignMapper.fromChatGetDao(chat, Validator.getDuration(start), UUID.randomUUID(),
+                        keyphrase, brand.id(), userId, emotionalRs.getId()))
+                .orElseThrow(() -> getStageError(PipelineStageEnum.CAMPAIGN));
+        saves.add(persist(PipelineStageEnum.CAMPAIGN,
+                () -> campaignService.save(dao).orElseThrow(() -> getPersistError(PipelineStageEnum.CAMPAIGN))));
+        return dao;
+    }
+
+    /**
+     * get the brand by id.
+     * @param brandId brand identifier.
+     * @return {@link BrandClientRsDto}.
+     */
+    private BrandClientRsDto getBrandById(final UUID brandId) {
+        return brandClient.getById(brandId).orElseThrow(() -> {
+            log.error("[getBrandById]: error getting brand: {}", brandId);
+            return InternalServerException.builder()
+                    .endpoint(ENDPOINT)
+                    .message("error getting brand, try again.")
+                    .build();
+        });
+    }
+
+    /**
+     * save in background while the next stage runs, a failed save is counted by stage.
+     * @param stage of the results.
+     * @param save to run.
+     * @return {@link CompletableFuture} of the save.
+     */
+    private CompletableFuture<Void> persist(final PipelineStageEnum stage, final Runnable save) {
+        return CompletableFuture.runAsync(save, pipelinePersistExecutor).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("[persist]: error saving the pipeline stage: {}, error: {}", stage, error.getMessage());
+                Counter.builder("solia.pipeline.persist.failed")
+                        .description("saves of the pipeline stages that failed.")
+                        .tag("stage", stage.name())
+                        .register(registry)
+                        .increment();
+            }
+        });
+    }
+
+    /**
+     * wait for the saves of the pipeline, the response only carries ids already saved.
+     * @param saves of the pipeline.
+     */
+    private void awaitSaves(final List<CompletableFuture<Void>> saves) {
+        try {
+            CompletableFuture.allOf(saves.toArray(CompletableFuture[]::new))
+                    .get(persistDeadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw getSaveError(e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw getSaveError(e);
+        }
+    }
+
+    /**
+     * get the error of a save that failed or did not end in time.
+     * @param cause of the error.
+     * @return {@link InternalServerException}.
+     */
+    private static InternalServerException getSaveError(final Exception cause) {
+        log.error("[getSaveError]: the pipeline results were not saved: {}", cause.getMessage());
+        return InternalServerException.builder()
+                .endpoint(ENDPOINT)
+                .message("the pipeline results were not saved, try again.")
+                .cause(cause)
+                .build();
+    }
+
+    /**
+     * get the error of a save rejected by its service.
+     * @param stage of the results.
+     * @return {@link IllegalStateException}.
+     */
+    private static IllegalStateException getPersistError(final PipelineStageEnum stage) {
+        return new IllegalStateException("the results of the stage: " + stage + " were not saved.");
+    }
+
+    /**
+     * get the error of a stage that failed.
+     * @param stage that failed.
+     * @return {@link InternalServerException}.
+     */
+    private static InternalServerException getStageError(final PipelineStageEnum stage) {
+        log.error("[getStageError]: the pipeline failed in the stage: {}", stage);
+        return InternalServerException.builder()
+                .endpoint(ENDPOINT)
+                .message("the pipeline failed in the stage: " + stage + ", try again.")
+                .build();
+    }
+}
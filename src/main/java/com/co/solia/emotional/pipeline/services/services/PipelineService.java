@@ -0,0 +1,23 @@
+package com.co.solia.emotional.pipeline.services.services;
+
+import com.co.solia.emotional.pipeline.models.dtos.rq.PipelineRqDto;
+import com.co.solia.emotional.pipeline.models.dtos.rs.PipelineRsDto;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * service to run the clean, emotional, keyphrase and campaign stages in a single request.
+ *
+ * @author luis.bolivar.
+ */
+public interface PipelineService {
+
+    /**
+     * generate a campaign from raw messages, passing the results of every stage in memory.
+     * @param rq with the messages and the brand.
+     * @param tenant customer of the request by its api key, null for the callers without one.
+     * @return {@link Optional} of {@link PipelineRsDto}.
+     */
+    Optional<PipelineRsDto> compute(PipelineRqDto rq, UUID tenant);
+}
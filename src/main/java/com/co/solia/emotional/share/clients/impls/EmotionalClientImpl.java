@@ -4,29 +4,29 @@ import com.co.solia.emotional.campaign.models.mappers.EmotionalMapper;
 import com.co.solia.emotional.share.clients.clients.EmotionalClient;
 import com.co.solia.emotional.keyphrase.models.dtos.rq.EmotionalClientRqDto;
 import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
-import com.google.gson.Gson;
+import com.co.solia.emotional.share.utils.http.HttpCaller;
+import com.co.solia.emotional.share.utils.http.HttpClientFactory;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
+import com.co.solia.emotional.share.utils.metrics.ClientMetrics;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.Call;
-import okhttp3.ConnectionPool;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
-import okhttp3.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 /**
- * emotion client implementation to call the emotional api.
+ * emotion client implementation to call the emotional api over http, used when the emotional module is deployed apart.
  *
  * @author luis.bolivar.
  */
 @Component
 @Slf4j
+@ConditionalOnProperty(name = "solia.emotional.emotional.transport", havingValue = "http")
 public class EmotionalClientImpl implements EmotionalClient {
 
     /**
@@ -35,23 +35,29 @@ public class EmotionalClientImpl implements EmotionalClient {
     private final String emotionalUrl;
 
     /**
-     * build the client to consume the other endpoints.
+     * client to consume the other endpoints, shared transport.
      */
-    private final OkHttpClient client = new OkHttpClient()
-            .newBuilder()
-            .connectTimeout(2, TimeUnit.MINUTES)
-            .writeTimeout(2, TimeUnit.MINUTES)
-            .readTimeout(2, TimeUnit.MINUTES)
-            .connectionPool(new ConnectionPool(5, 60, TimeUnit.SECONDS))
-            .build();
+    private final HttpCaller client;
+
+    /**
+     * timer of the calls.
+     */
+    private final ClientMetrics clientMetrics;
 
     /**
      * default constructor.
      * @param emotionalUrl emotional url.
+     * @param httpClientFactory factory of the shared http clients.
+     * @param clientMetrics timer of the calls.
      */
     @Autowired
-    public EmotionalClientImpl(@Value("${solia.emotional.emotional.url}") final String emotionalUrl){
+    public EmotionalClientImpl(
+            @Value("${solia.emotional.emotional.url}") final String emotionalUrl,
+            final HttpClientFactory httpClientFactory,
+            final ClientMetrics clientMetrics){
         this.emotionalUrl = emotionalUrl;
+        this.client = httpClientFactory.create("emotional");
+        this.clientMetrics = clientMetrics;
     }
 
     /**
@@ -61,11 +67,11 @@ public class EmotionalClientImpl implements EmotionalClient {
      */
     @Override
     public Optional<EmotionalClientRsDto> compute(final EmotionalClientRqDto emotionalRq) {
-        final String url = getEmotionalUrl();
-        final Request rq = getEmotionalRq(emotionalRq, url);
-        return callEmotional(rq)
-                .filter(Response::isSuccessful)
-                .flatMap(EmotionalClientImpl::getResponse);
+        return clientMetrics.record("emotional", "compute", "http", () -> {
+            final String url = getEmotionalUrl();
+            final Request rq = getEmotionalRq(emotionalRq, url);
+            return client.execute(rq, EmotionalClientImpl::getResponse);
+        });
     }
 
     /**
@@ -76,32 +82,12 @@ public class EmotionalClientImpl implements EmotionalClient {
      */
     @Override
     public Optional<EmotionalClientRsDto> getById(final UUID id) {
-        final Request rq = getRqToGetById(getUrlGetById(id));
-        return callGetById(rq).flatMap(rs -> {
-            log.info("[getById]: response: {}", rs.body());
-            return EmotionalMapper.getFromRs(rs);
+        return clientMetrics.record("emotional", "getById", "http", () -> {
+            final Request rq = getRqToGetById(getUrlGetById(id));
+            return client.execute(rq, EmotionalMapper::getFromRs);
         });
     }
 
-    /**
-     * call the keyphrase endpoint.
-     * @param rq for call.
-     * @return {@link Optional} of {@link Response}.
-     */
-    private Optional<Response> callGetById(final Request rq) {
-        Optional<Response> result = Optional.empty();
-        try {
-            final Call call = client.newCall(rq);
-            final Response response = call.execute();
-            result = Optional.of(response);
-            log.info("[callGetById] call to keyphrase ok.");
-        } catch(Exception e) {
-            log.error("[callGetById]: error getting the emotional processing by id error: {}", e.getMessage());
-        }
-
-        return result;
-    }
-
     /**
      * get the request to call emotional api.
      * @param url to consume the api.
@@ -125,42 +111,21 @@ public class EmotionalClientImpl implements EmotionalClient {
     }
 
     /**
-     * get a {@link EmotionalClientRsDto} from the {@link Response}.
-     * @param rs to map.
+     * get a {@link EmotionalClientRsDto} from the body of the response.
+     * @param json body to map.
      * @return {@link Optional} of {@link EmotionalClientRsDto}.
      */
-    private static Optional<EmotionalClientRsDto> getResponse(final Response rs) {
+    private static Optional<EmotionalClientRsDto> getResponse(final String json) {
         Optional<EmotionalClientRsDto> result = Optional.empty();
         try {
-            final EmotionalClientRsDto emotionalRs =
-                    new Gson().fromJson(rs.body().string(), EmotionalClientRsDto.class);
-            result = emotionalRs != null && !emotionalRs.getEmotions().isEmpty() ?
-                    Optional.of(emotionalRs) : Optional.empty();
+            result = JsonCodec.read(json, EmotionalClientRsDto.class)
+                    .filter(emotionalRs -> emotionalRs.getEmotions() != null && !emotionalRs.getEmotions().isEmpty());
         } catch(Exception e) {
             log.error("[getResponse] error parsing the response: {}", e.getMessage());
         }
         return result;
     }
 
-    /**
-     * call the clean endpoint.
-     * @param request for call.
-     * @return {@link Optional} of {@link Response}.
-     */
-    private Optional<Response> callEmotional(final Request request) {
-        Optional<Response> result = Optional.empty();
-        try {
-            final Call call = client.newCall(request);
-            final Response response = call.execute();
-            result = Optional.of(response);
-            log.info("[callEmotional] call to emotional ok.");
-        } catch(Exception e) {
-            log.error("[callEmotional]: Error calling the emotional service: {}", e.getMessage());
-        }
-
-        return result;
-    }
-
     /**
      * get the request to call emotional api.
      * @param emotionalRq for generate the request.
@@ -170,7 +135,7 @@ public class EmotionalClientImpl implements EmotionalClient {
     private Request getEmotionalRq(final EmotionalClientRqDto emotionalRq, final String url) {
         return new Request.Builder()
                 .url(url)
-                .post(RequestBody.create(new Gson().toJson(emotionalRq).getBytes()))
+                .post(RequestBody.create(JsonCodec.write(emotionalRq).getBytes()))
                 .addHeader("Content-Type", "application/json")
                 .build();
     }
@@ -0,0 +1,93 @@
+package com.co.solia.emotional.share.clients.impls;
+
+import com.co.solia.emotional.campaign.models.mappers.EmotionalMapper;
+import com.co.solia.emotional.emotional.models.dtos.rq.EmotionalBatchRqDto;
+import com.co.solia.emotional.emotional.services.services.EmotionalService;
+import com.co.solia.emotional.keyphrase.models.dtos.rq.EmotionalClientRqDto;
+import com.co.solia.emotional.share.clients.clients.EmotionalClient;
+import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
+import com.co.solia.emotional.share.utils.limits.OpenaiCallerContext;
+import com.co.solia.emotional.share.utils.metrics.ClientMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * emotion client implementation that calls the emotional service in the same application, without http.
+ *
+ * @author luis.bolivar.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "solia.emotional.emotional.transport", havingValue = "local", matchIfMissing = true)
+public class EmotionalLocalClientImpl implements EmotionalClient {
+
+    /**
+     * dependency on {@link EmotionalService}.
+     */
+    private final EmotionalService emotionalService;
+
+    /**
+     * timer of the calls.
+     */
+    private final ClientMetrics clientMetrics;
+
+    /**
+     * default constructor.
+     * @param emotionalService service to compute the emotions.
+     * @param clientMetrics timer of the calls.
+     */
+    @Autowired
+    public EmotionalLocalClientImpl(final EmotionalService emotionalService, final ClientMetrics clientMetrics) {
+        this.emotionalService = emotionalService;
+        this.clientMetrics = clientMetrics;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param emotionalRq with the messages.
+     * @return
+     */
+    @Override
+    public Optional<EmotionalClientRsDto> compute(final EmotionalClientRqDto emotionalRq) {
+        return clientMetrics.record("emotional", "compute", "local", () -> {
+            Optional<EmotionalClientRsDto> result = Optional.empty();
+            try {
+                result = emotionalService.computeUnique(EmotionalBatchRqDto.builder()
+                                .messages(emotionalRq.getMessages())
+                                .build(), OpenaiCallerContext.current().userId())
+                        .map(EmotionalMapper::getFromUniqueRs)
+                        .filter(emotionalRs -> emotionalRs.getEmotions() != null)
+                        .filter(emotionalRs -> !emotionalRs.getEmotions().isEmpty());
+            } catch (Exception e) {
+                log.error("[compute]: Error calling the emotional service: {}", e.getMessage());
+            }
+            return result;
+        });
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param id to get the emotional processing.
+     * @return
+     */
+    @Override
+    public Optional<EmotionalClientRsDto> getById(final UUID id) {
+        return clientMetrics.record("emotional", "getById", "local", () -> {
+            Optional<EmotionalClientRsDto> result = Optional.empty();
+            try {
+                result = emotionalService.getByUniqueId(id)
+                        .map(EmotionalMapper::getFromUniqueRs)
+                        .filter(emotionalRs -> emotionalRs.getEmotions() != null)
+                        .filter(emotionalRs -> !emotionalRs.getEmotions().isEmpty());
+            } catch (Exception e) {
+                log.error("[getById]: error getting the emotional processing by id error: {}", e.getMessage());
+            }
+            return result;
+        });
+    }
+}
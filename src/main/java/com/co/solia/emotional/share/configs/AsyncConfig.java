@@ -0,0 +1,24 @@
+package com.co.solia.emotional.share.configs;
+
+import com.co.solia.emotional.share.utils.http.AsyncTimeoutInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * configuration of the async processing of spring mvc, the timeout is set by endpoint.
+ *
+ * @author luis.bolivar.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    /**
+     * register the interceptor that applies the timeout of every endpoint.
+     * @param configurer of the async support.
+     */
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AsyncTimeoutInterceptor());
+    }
+}
@@ -0,0 +1,76 @@
+package com.co.solia.emotional.share.configs;
+
+import com.co.solia.emotional.share.utils.concurrency.FanOut;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * configuration of the executors of the background work.
+ *
+ * @author luis.bolivar
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * bounded pool of workers for the batch emotional jobs, a job is rejected when the queue is full.
+     * @param workers amount of jobs running at the same time.
+     * @param queue max amount of jobs waiting for a worker.
+     * @return {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor emotionalBatchExecutor(
+            @Value("${solia.emotional.emotional.jobs.workers}") final int workers,
+            @Value("${solia.emotional.emotional.jobs.queue}") final int queue) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queue);
+        executor.setThreadNamePrefix("emotional-batch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * bounded pool of workers for the saves of the pipeline stages, the caller saves when the queue is full.
+     * @param workers amount of saves running at the same time.
+     * @param queue max amount of saves waiting for a worker.
+     * @return {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor pipelinePersistExecutor(
+            @Value("${solia.emotional.pipeline.persist.workers}") final int workers,
+            @Value("${solia.emotional.pipeline.persist.queue}") final int queue) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queue);
+        executor.setThreadNamePrefix("pipeline-persist-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * fan-out on virtual threads for the blocking work of the batches, e.g. the calls by message.
+     * @param permits max amount of tasks running at the same time by batch.
+     * @param itemTimeout max seconds of a task once it is running.
+     * @param registry registry of the metrics.
+     * @return {@link FanOut}.
+     */
+    @Bean
+    public FanOut batchFanOut(
+            @Value("${solia.emotional.fanout.permits}") final int permits,
+            @Value("${solia.emotional.fanout.item-timeout-seconds}") final long itemTimeout,
+            final MeterRegistry registry) {
+        return new FanOut(permits, Duration.ofSeconds(itemTimeout), registry);
+    }
+}
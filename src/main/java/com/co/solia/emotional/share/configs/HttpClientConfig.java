@@ -0,0 +1,56 @@
+package com.co.solia.emotional.share.configs;
+
+import com.co.solia.emotional.share.utils.http.HttpClientFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * configuration of the transport shared by the http calls between the modules.
+ *
+ * @author luis.bolivar.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * factory of the http clients between the modules.
+     * @param maxRequests max amount of requests running at the same time.
+     * @param maxRequestsPerHost max amount of requests running at the same time by host.
+     * @param maxIdle max amount of idle connections kept in the pool.
+     * @param keepAlive seconds to keep alive an idle connection.
+     * @param connectTimeout seconds to wait to open a connection.
+     * @param readTimeout seconds to wait for the response.
+     * @param registry registry of the metrics.
+     * @return {@link HttpClientFactory}.
+     */
+    @Bean
+    public HttpClientFactory httpClientFactory(
+            @Value("${solia.emotional.http.dispatcher.max-requests}") final int maxRequests,
+            @Value("${solia.emotional.http.dispatcher.max-requests-per-host}") final int maxRequestsPerHost,
+            @Value("${solia.emotional.http.pool.max-idle}") final int maxIdle,
+            @Value("${solia.emotional.http.pool.keep-alive-seconds}") final long keepAlive,
+            @Value("${solia.emotional.http.timeout.connect-seconds}") final long connectTimeout,
+            @Value("${solia.emotional.http.timeout.read-seconds}") final long readTimeout,
+            final MeterRegistry registry) {
+        final Dispatcher dispatcher = new Dispatcher(Executors.newVirtualThreadPerTaskExecutor());
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        final OkHttpClient base = new OkHttpClient()
+                .newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdle, keepAlive, TimeUnit.SECONDS))
+                .connectTimeout(connectTimeout, TimeUnit.SECONDS)
+                .writeTimeout(readTimeout, TimeUnit.SECONDS)
+                .readTimeout(readTimeout, TimeUnit.SECONDS)
+                .build();
+        return new HttpClientFactory(base, registry);
+    }
+}
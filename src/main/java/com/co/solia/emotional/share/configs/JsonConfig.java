@@ -0,0 +1,25 @@
+package com.co.solia.emotional.share.configs;
+
+import com.co.solia.emotional.share.utils.json.JsonCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * configuration of the json mapper, the services and the mappers use through {@link JsonCodec} the same
+ * mapper that spring boot builds for spring mvc, with its properties and customizers.
+ *
+ * @author luis.bolivar.
+ */
+@Configuration
+public class JsonConfig {
+
+    /**
+     * give the mapper of spring boot to the codec.
+     * @param objectMapper built by spring boot.
+     */
+    @Autowired
+    public JsonConfig(final ObjectMapper objectMapper) {
+        JsonCodec.use(objectMapper);
+    }
+}
@@ -0,0 +1,94 @@
+package com.co.solia.emotional.share.configs;
+
+import com.co.solia.emotional.share.services.services.OpenaiSchedulerService;
+import com.co.solia.emotional.share.utils.http.OkHttpRequestFactory;
+import com.co.solia.emotional.share.utils.limits.RateLimitsInterceptor;
+import com.co.solia.emotional.share.utils.metrics.OpenaiPoolMetrics;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * configuration of the transport shared by every call to openai.
+ *
+ * @author luis.bolivar
+ */
+@Configuration
+public class OpenaiConfig {
+
+    /**
+     * connection pool kept alive between the calls to openai.
+     * @param maxIdle max amount of idle connections kept in the pool.
+     * @param keepAlive seconds to keep alive an idle connection.
+     * @return {@link ConnectionPool}.
+     */
+    @Bean
+    public ConnectionPool openaiConnectionPool(
+            @Value("${solia.emotional.openai.pool.max-idle}") final int maxIdle,
+            @Value("${solia.emotional.openai.pool.keep-alive-seconds}") final long keepAlive) {
+        return new ConnectionPool(maxIdle, keepAlive, TimeUnit.SECONDS);
+    }
+
+    /**
+     * metrics of the openai connection pool.
+     * @param openaiConnectionPool pool to observe.
+     * @return {@link OpenaiPoolMetrics}.
+     */
+    @Bean
+    public OpenaiPoolMetrics openaiPoolMetrics(final ConnectionPool openaiConnectionPool) {
+        return new OpenaiPoolMetrics(openaiConnectionPool);
+    }
+
+    /**
+     * http client to consume openai, negotiates http/2 when the server supports it.
+     * @param openaiConnectionPool pool shared by the calls.
+     * @param openaiPoolMetrics listener of the pool.
+     * @param connectTimeout seconds to wait to open a connection.
+     * @param readTimeout seconds to wait for the response.
+     * @return {@link OkHttpClient}.
+     */
+    @Bean
+    public OkHttpClient openaiHttpClient(
+            final ConnectionPool openaiConnectionPool,
+            final OpenaiPoolMetrics openaiPoolMetrics,
+            @Value("${solia.emotional.openai.timeout.connect-seconds}") final long connectTimeout,
+            @Value("${solia.emotional.openai.timeout.read-seconds}") final long readTimeout) {
+        return new OkHttpClient()
+                .newBuilder()
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectionPool(openaiConnectionPool)
+                .eventListener(openaiPoolMetrics)
+                .connectTimeout(connectTimeout, TimeUnit.SECONDS)
+                .writeTimeout(readTimeout, TimeUnit.SECONDS)
+                .readTimeout(readTimeout, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * the openai api instance shared by every call of {@code OpenAIService}.
+     * @param openaiHttpClient transport to consume openai.
+     * @param openaiSchedulerService receiver of the rate limits reported by openai.
+     * @param openaiUrl base url of openai.
+     * @param openaiApikey openai api key.
+     * @return {@link OpenAiApi}.
+     */
+    @Bean
+    public OpenAiApi openAiApi(
+            final OkHttpClient openaiHttpClient,
+            final OpenaiSchedulerService openaiSchedulerService,
+            @Value("${solia.emotional.openai.url}") final String openaiUrl,
+            @Value("${solia.emotional.openai.apikey}") final String openaiApikey) {
+        final RestClient.Builder restClient = RestClient.builder()
+                .requestFactory(new OkHttpRequestFactory(openaiHttpClient))
+                .requestInterceptor(new RateLimitsInterceptor(openaiSchedulerService::onRateLimits));
+        return new OpenAiApi(openaiUrl, openaiApikey, restClient);
+    }
+}
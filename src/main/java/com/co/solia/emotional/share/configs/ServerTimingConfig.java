@@ -0,0 +1,43 @@
+package com.co.solia.emotional.share.configs;
+
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * configuration of the {@code Server-Timing} header, the commands to mongo are added to the persistence phase
+ * of the request, the driver notifies them in the thread that runs the command.
+ *
+ * @author luis.bolivar.
+ */
+@Configuration
+@ConditionalOnProperty(name = "solia.emotional.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    /**
+     * listener of the mongo commands that adds its duration to the current request.
+     * @return {@link MongoClientSettingsBuilderCustomizer}.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer serverTimingMongoCustomizer() {
+        return settings -> settings.addCommandListener(new CommandListener() {
+            @Override
+            public void commandSucceeded(final CommandSucceededEvent event) {
+                ServerTiming.add(TimingPhaseEnum.PERSISTENCE, event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+
+            @Override
+            public void commandFailed(final CommandFailedEvent event) {
+                ServerTiming.add(TimingPhaseEnum.PERSISTENCE, event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.co.solia.emotional.share.controllers.docs;
+
+import com.co.solia.emotional.share.models.dtos.rs.DefaultRsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Interface to separate the documentation responsibility.
+ *
+ * @author luis.bolivar.
+ */
+@Tag(name = "Prompts", description = "endpoints to administrate the system prompts.")
+public interface PromptControllerDocs {
+
+    /**
+     * reload the system prompts.
+     * @param adminCode authorization to reload the prompts.
+     * @return {@link ResponseEntity} of {@link DefaultRsDto}.
+     */
+    @Operation(
+            summary = "reload the system prompts.",
+            description = "read again the system prompts and replace them only when all of them are valid, "
+                    + "the header x-a-x must carry the admin code."
+    )
+    ResponseEntity<DefaultRsDto> reload(String adminCode);
+}
@@ -0,0 +1,68 @@
+package com.co.solia.emotional.share.controllers.endpoints.v1;
+
+import com.co.solia.emotional.share.controllers.docs.PromptControllerDocs;
+import com.co.solia.emotional.share.models.dtos.rs.DefaultRsDto;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.services.services.PromptService;
+import com.co.solia.emotional.share.utils.validators.AdminValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * endpoints to administrate the system prompts.
+ *
+ * @author luis.bolivar.
+ */
+@RestController
+@Slf4j
+@RequestMapping("/1/prompts")
+public class PromptController implements PromptControllerDocs {
+
+    /**
+     * dependency on {@link PromptService}.
+     */
+    private final PromptService promptService;
+
+    /**
+     * dependency on {@link AdminValidator}, the reload is disabled when the admin code is empty.
+     */
+    private final AdminValidator adminValidator;
+
+    /**
+     * default constructor.
+     * @param promptService service of the system prompts.
+     * @param adminValidator validation of the admin code.
+     */
+    @Autowired
+    public PromptController(final PromptService promptService, final AdminValidator adminValidator) {
+        this.promptService = promptService;
+        this.adminValidator = adminValidator;
+    }
+
+    /**
+     * reload the system prompts.
+     * @param adminCode authorization to reload the prompts.
+     * @return {@link ResponseEntity} of {@link DefaultRsDto}.
+     */
+    @Override
+    @PostMapping("/reload/")
+    public ResponseEntity<DefaultRsDto> reload(@RequestHeader("x-a-x") final String adminCode) {
+        adminValidator.validate(adminCode, "/prompts/reload/");
+        if (!promptService.reload()) {
+            log.error("[reload]: error reloading the system prompts.");
+            throw InternalServerException.builder()
+                    .message("error reloading the system prompts, the current ones are kept.")
+                    .endpoint("/prompts/reload/")
+                    .build();
+        }
+        return ResponseEntity.ok(DefaultRsDto.builder()
+                .message("system prompts reloaded.")
+                .endpoint("/prompts/reload/")
+                .build());
+    }
+}
@@ -0,0 +1,63 @@
+package com.co.solia.emotional.share.models.daos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * response from openai saved by the hash of its request.
+ *
+ * @author luis.bolivar.
+ */
+@Builder
+@Getter
+@Document("openaiCache")
+@AllArgsConstructor
+@NoArgsConstructor
+public class OpenaiCacheDao {
+
+    /**
+     * hash of model, prompt version and normalized message.
+     */
+    @Id
+    private String id;
+
+    /**
+     * prompt used in the request.
+     */
+    private String prompt;
+
+    /**
+     * version of the prompt used in the request.
+     */
+    private String promptVersion;
+
+    /**
+     * model used in the request.
+     */
+    private String model;
+
+    /**
+     * chat completion from openai in json format.
+     */
+    private String response;
+
+    /**
+     * date of the response created.
+     */
+    @Builder.Default
+    private long created = Instant.now().getEpochSecond();
+
+    /**
+     * date when the response is removed from the db.
+     */
+    @Indexed(expireAfterSeconds = 0)
+    private Date expireAt;
+}
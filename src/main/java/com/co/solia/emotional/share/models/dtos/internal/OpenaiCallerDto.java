@@ -0,0 +1,19 @@
+package com.co.solia.emotional.share.models.dtos.internal;
+
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * caller of openai, used to dispatch its calls.
+ * @param lane of the calls.
+ * @param userId tenant of the calls, null when the caller has none.
+ * @author luis.bolivar.
+ */
+@Builder
+public record OpenaiCallerDto(
+        OpenaiLaneEnum lane,
+        UUID userId
+) {
+}
@@ -0,0 +1,21 @@
+package com.co.solia.emotional.share.models.dtos.internal;
+
+import lombok.Builder;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+
+/**
+ * a call to openai recorded, a line of the recordings file.
+ * @param key hash of the request.
+ * @param latencyMillis duration of the call.
+ * @param recordedAt epoch millis of the call.
+ * @param response from openai.
+ * @author luis.bolivar.
+ */
+@Builder
+public record OpenaiRecordingDto(
+        String key,
+        long latencyMillis,
+        long recordedAt,
+        ChatCompletion response
+) {
+}
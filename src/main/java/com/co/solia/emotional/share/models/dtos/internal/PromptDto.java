@@ -0,0 +1,19 @@
+package com.co.solia.emotional.share.models.dtos.internal;
+
+import lombok.Builder;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage;
+
+/**
+ * a system prompt loaded in memory.
+ * @param message system message to send to openai.
+ * @param version hash of the prompt content.
+ * @param tokens estimated tokens of the system message.
+ * @author luis.bolivar.
+ */
+@Builder
+public record PromptDto(
+        ChatCompletionMessage message,
+        String version,
+        int tokens
+) {
+}
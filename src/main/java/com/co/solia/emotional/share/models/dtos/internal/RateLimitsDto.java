@@ -0,0 +1,26 @@
+package com.co.solia.emotional.share.models.dtos.internal;
+
+import lombok.Builder;
+
+import java.time.Duration;
+
+/**
+ * rate limits reported by openai in the response headers, null when the header is missing.
+ * @param limitRequests requests allowed by minute.
+ * @param limitTokens tokens allowed by minute.
+ * @param remainingRequests requests available.
+ * @param remainingTokens tokens available.
+ * @param resetRequests time until the requests are fully available.
+ * @param resetTokens time until the tokens are fully available.
+ * @author luis.bolivar.
+ */
+@Builder
+public record RateLimitsDto(
+        Long limitRequests,
+        Long limitTokens,
+        Long remainingRequests,
+        Long remainingTokens,
+        Duration resetRequests,
+        Duration resetTokens
+) {
+}
@@ -0,0 +1,12 @@
+package com.co.solia.emotional.share.models.enums;
+
+/**
+ * states of a circuit breaker.
+ *
+ * @author luis.bolivar.
+ */
+public enum CircuitStateEnum {
+    CLOSED,
+    HALF_OPEN,
+    OPEN
+}
@@ -0,0 +1,13 @@
+package com.co.solia.emotional.share.models.enums;
+
+/**
+ * lanes of the calls to openai, from the most to the least sensitive to latency.
+ * every lane has its own concurrency limit and share of the rate limits.
+ *
+ * @author luis.bolivar.
+ */
+public enum OpenaiLaneEnum {
+    INTERACTIVE,
+    PIPELINE,
+    BATCH
+}
@@ -0,0 +1,30 @@
+package com.co.solia.emotional.share.models.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * system prompts sent to openai.
+ *
+ * @author luis.bolivar.
+ */
+@Getter
+@AllArgsConstructor
+public enum PromptEnum {
+    EMOTIONAL("prompt_emotional.st", "/emotional/compute/"),
+    EMOTIONAL_BATCH("prompt_emotional_batch.st", "/emotional/compute/batch/"),
+    EMOTIONAL_UNIQUE("prompt_emotional_unique.st", "/emotional/compute/unique/"),
+    CLEAN("prompt_clean.st", "/clean/compute/"),
+    KEYPHRASE("prompt_keyphrase.st", "/keyphrase/compute/"),
+    CAMPAIGN("prompt_campaign.st", "/campaign/compute/");
+
+    /**
+     * template file name inside the prompts location.
+     */
+    private final String template;
+
+    /**
+     * endpoint that uses the prompt.
+     */
+    private final String endpoint;
+}
@@ -0,0 +1,12 @@
+package com.co.solia.emotional.share.models.enums;
+
+/**
+ * modes of the recorder of the openai calls.
+ *
+ * @author luis.bolivar.
+ */
+public enum RecorderModeEnum {
+    OFF,
+    RECORD,
+    REPLAY
+}
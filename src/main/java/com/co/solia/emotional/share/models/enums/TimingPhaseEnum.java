@@ -0,0 +1,31 @@
+package com.co.solia.emotional.share.models.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * phases of a request reported in the {@code Server-Timing} header, a phase is a duration or an amount.
+ *
+ * @author luis.bolivar.
+ */
+@Getter
+@AllArgsConstructor
+public enum TimingPhaseEnum {
+    CLEAN("clean", true),
+    OPENAI_QUEUE("openai-queue", true),
+    OPENAI("openai", true),
+    MAPPING("mapping", true),
+    PERSISTENCE("db", true),
+    PROMPT_TOKENS("prompt-tokens", false),
+    COMPLETION_TOKENS("completion-tokens", false);
+
+    /**
+     * name of the metric in the header.
+     */
+    private final String metric;
+
+    /**
+     * the phase is a duration, otherwise an amount.
+     */
+    private final boolean duration;
+}
@@ -0,0 +1,33 @@
+package com.co.solia.emotional.share.models.exceptions;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Forbidden exception, the caller is not allowed to run the operation.
+ *
+ * @author luis.bolivar
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+public class ForbiddenException extends RuntimeException {
+
+    /**
+     * message about the exception.
+     */
+    private String message;
+
+    /**
+     * endpoint where was thrown the exception.
+     */
+    private String endpoint;
+
+    /**
+     * cause of the exception.
+     */
+    private Throwable cause;
+}
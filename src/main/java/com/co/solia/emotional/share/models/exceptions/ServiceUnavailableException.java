@@ -0,0 +1,40 @@
+package com.co.solia.emotional.share.models.exceptions;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * service unavailable exception, thrown when openai fails with a transient error,
+ * when its circuit breaker is open or when the workers of the batch jobs are busy.
+ *
+ * @author luis.bolivar
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+    /**
+     * message about the exception.
+     */
+    private String message;
+
+    /**
+     * endpoint where was thrown the exception.
+     */
+    private String endpoint;
+
+    /**
+     * http status returned by openai, 503 when the call was not sent.
+     */
+    private int status;
+
+    /**
+     * time to wait before the next call, null when openai does not say it.
+     */
+    private Duration retryAfter;
+}
@@ -0,0 +1,34 @@
+package com.co.solia.emotional.share.models.exceptions;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * too many requests exception, thrown when openai rejects a call by its rate limits.
+ *
+ * @author luis.bolivar
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    /**
+     * message about the exception.
+     */
+    private String message;
+
+    /**
+     * endpoint where was thrown the exception.
+     */
+    private String endpoint;
+
+    /**
+     * time to wait before the next call.
+     */
+    private Duration retryAfter;
+}
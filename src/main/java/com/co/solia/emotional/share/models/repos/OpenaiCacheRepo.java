@@ -0,0 +1,14 @@
+package com.co.solia.emotional.share.models.repos;
+
+import com.co.solia.emotional.share.models.daos.OpenaiCacheDao;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * repository to persistence the {@link OpenaiCacheDao}.
+ *
+ * @author luis.bolivar.
+ */
+@Repository
+public interface OpenaiCacheRepo extends MongoRepository<OpenaiCacheDao, String> {
+}
@@ -0,0 +1,193 @@
+package com.co.solia.emotional.share.services.impls;
+
+import com.co.solia.emotional.share.models.daos.OpenaiCacheDao;
+import com.co.solia.emotional.share.models.enums.PromptEnum;
+import com.co.solia.emotional.share.models.repos.OpenaiCacheRepo;
+import com.co.solia.emotional.share.services.services.OpenaiCacheService;
+import com.co.solia.emotional.share.services.services.PromptService;
+import com.co.solia.emotional.share.utils.hashes.Hasher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * implementation of {@link OpenaiCacheService}, a bounded cache in heap backed by the db.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Service
+public class OpenaiCacheServiceImpl implements OpenaiCacheService {
+
+    /**
+     * the cache is used.
+     */
+    private final boolean enabled;
+
+    /**
+     * time to live of a response in both levels.
+     */
+    private final Duration ttl;
+
+    /**
+     * first level, in heap.
+     */
+    private final Cache<String, ChatCompletion> heap;
+
+    /**
+     * second level, in db.
+     */
+    private final OpenaiCacheRepo openaiCacheRepo;
+
+    /**
+     * dependency on {@link PromptService} to get the prompt versions.
+     */
+    private final PromptService promptService;
+
+    /**
+     * mapper to save the responses in json format.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * hits in the db level.
+     */
+    private final Counter dbHits;
+
+    /**
+     * misses in the db level.
+     */
+    private final Counter dbMisses;
+
+    /**
+     * default constructor.
+     * @param enabled the cache is used.
+     * @param maxSize max amount of responses in heap.
+     * @param ttlMinutes minutes to keep a response.
+     * @param openaiCacheRepo repository of the db level.
+     * @param promptService provider of the prompt versions.
+     * @param objectMapper mapper of the responses.
+     * @param registry registry of the cache metrics.
+     */
+    @Autowired
+    public OpenaiCacheServiceImpl(
+            @Value("${solia.emotional.openai.cache.enabled}") final boolean enabled,
+            @Value("${solia.emotional.openai.cache.max-size}") final long maxSize,
+            @Value("${solia.emotional.openai.cache.ttl-minutes}") final long ttlMinutes,
+            final OpenaiCacheRepo openaiCacheRepo,
+            final PromptService promptService,
+            final ObjectMapper objectMapper,
+            final MeterRegistry registry) {
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.openaiCacheRepo = openaiCacheRepo;
+        this.promptService = promptService;
+        this.objectMapper = objectMapper;
+        this.heap = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, heap, "openai");
+        this.dbHits = Counter.builder("solia.openai.cache.db")
+                .tag("result", "hit")
+                .description("responses found in the db level of the openai cache.")
+                .register(registry);
+        this.dbMisses = Counter.builder("solia.openai.cache.db")
+                .tag("result", "miss")
+                .description("responses not found in the db level of the openai cache.")
+                .register(registry);
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param prompt system prompt of the request.
+     * @param model model of the request.
+     * @param message user message of the request.
+     * @return
+     */
+    @Override
+    public String getKey(final PromptEnum prompt, final String model, final String message) {
+        return Hasher.sha256(model, prompt.name(), promptService.getVersion(prompt), Hasher.normalize(message));
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param key of the request.
+     * @return
+     */
+    @Override
+    public Optional<ChatCompletion> get(final String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(heap.getIfPresent(key)).or(() -> {
+            final Optional<ChatCompletion> stored = findById(key);
+            stored.ifPresentOrElse(chat -> {
+                dbHits.increment();
+                heap.put(key, chat);
+            }, dbMisses::increment);
+            return stored;
+        });
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param key of the request.
+     * @param prompt system prompt of the request.
+     * @param chat response from openai.
+     */
+    @Override
+    public void put(final String key, final PromptEnum prompt, final ChatCompletion chat) {
+        if (!enabled) {
+            return;
+        }
+        heap.put(key, chat);
+        try {
+            openaiCacheRepo.save(OpenaiCacheDao.builder()
+                    .id(key)
+                    .prompt(prompt.name())
+                    .promptVersion(promptService.getVersion(prompt))
+                    .model(chat.model())
+                    .response(objectMapper.writeValueAsString(chat))
+                    .expireAt(Date.from(Instant.now().plus(ttl)))
+                    .build());
+            log.info("[put]: openai response cached: {}", prompt);
+        } catch (Exception e) {
+            log.error("[put]: error caching the openai response: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * find a response in the db level, skipping the expired ones not removed yet.
+     * @param key of the request.
+     * @return {@link Optional} of {@link ChatCompletion}.
+     */
+    private Optional<ChatCompletion> findById(final String key) {
+        Optional<ChatCompletion> result = Optional.empty();
+        try {
+            final Optional<OpenaiCacheDao> dao = openaiCacheRepo.findById(key)
+                    .filter(d -> d.getExpireAt() != null)
+                    .filter(d -> d.getExpireAt().toInstant().isAfter(Instant.now()));
+            if (dao.isPresent()) {
+                result = Optional.of(objectMapper.readValue(dao.get().getResponse(), ChatCompletion.class));
+            }
+        } catch (Exception e) {
+            log.error("[findById]: error getting the cached openai response: {}", e.getMessage());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,320 @@
+package com.co.solia.emotional.share.services.impls;
+
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import com.co.solia.emotional.share.models.enums.PromptEnum;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.services.services.OpenaiHedgingService;
+import com.co.solia.emotional.share.utils.limits.OpenaiCallerContext;
+import com.co.solia.emotional.share.utils.metrics.LatencyWindow;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * implementation of {@link OpenaiHedgingService}. a hedged prompt sends a duplicate call when the first one
+ * takes longer than a percentile of its last latencies, the first response wins and the other call is
+ * cancelled. the duplicates are bounded by a budget that earns a fraction of a hedge by call. only the calls of
+ * the interactive lane are hedged, the batch and pipeline calls wait for their answer without spending the budget.
+ * the duplicate is sent only when the rate limits and the concurrency limit have room for it, otherwise the hedge
+ * goes back to the budget and the first call is awaited alone.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Service
+public class OpenaiHedgingServiceImpl implements OpenaiHedgingService {
+
+    /**
+     * executor with a virtual thread by call.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * lock of the budget.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * the hedging is applied.
+     */
+    private final boolean enabled;
+
+    /**
+     * prompts hedged.
+     */
+    private final Set<PromptEnum> prompts = EnumSet.noneOf(PromptEnum.class);
+
+    /**
+     * latencies by prompt.
+     */
+    private final Map<PromptEnum, LatencyWindow> latencies = new EnumMap<>(PromptEnum.class);
+
+    /**
+     * percentile of the last latencies that triggers a duplicate.
+     */
+    private final double percentile;
+
+    /**
+     * min time to wait before a duplicate.
+     */
+    private final Duration minDelay;
+
+    /**
+     * hedges earned by call.
+     */
+    private final double budgetRatio;
+
+    /**
+     * max hedges saved in the budget.
+     */
+    private final double budgetBurst;
+
+    /**
+     * hedges available.
+     */
+    private double budget;
+
+    /**
+     * registry of the metrics.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * default constructor.
+     * @param enabled the hedging is applied.
+     * @param prompts names of the prompts hedged.
+     * @param percentile of the last latencies that triggers a duplicate.
+     * @param window latencies kept by prompt.
+     * @param minSamples latencies needed before the first duplicate.
+     * @param minDelay min millis to wait before a duplicate.
+     * @param budgetPercent max duplicates in percentage of the calls.
+     * @param budgetBurst max duplicates saved in the budget.
+     * @param registry registry of the metrics.
+     */
+    @Autowired
+    public OpenaiHedgingServiceImpl(
+            @Value("${solia.emotional.openai.hedging.enabled}") final boolean enabled,
+            @Value("${solia.emotional.openai.hedging.prompts}") final String[] prompts,
+            @Value("${solia.emotional.openai.hedging.percentile}") final double percentile,
+            @Value("${solia.emotional.openai.hedging.window}") final int window,
+            @Value("${solia.emotional.openai.hedging.min-samples}") final int minSamples,
+            @Value("${solia.emotional.openai.hedging.min-delay-millis}") final long minDelay,
+            @Value("${solia.emotional.openai.hedging.budget-percent}") final double budgetPercent,
+            @Value("${solia.emotional.openai.hedging.budget-burst}") final double budgetBurst,
+            final MeterRegistry registry) {
+        this.enabled = enabled;
+        Arrays.stream(prompts)
+                .map(String::trim)
+                .filter(prompt -> !prompt.isEmpty())
+                .map(prompt -> PromptEnum.valueOf(prompt.toUpperCase()))
+                .forEach(this.prompts::add);
+        this.prompts.forEach(prompt -> latencies.put(prompt, new LatencyWindow(window, minSamples, percentile)));
+        this.percentile = percentile;
+        this.minDelay = Duration.ofMillis(minDelay);
+        this.budgetRatio = budgetPercent / 100;
+        this.budgetBurst = budgetBurst;
+        this.budget = budgetBurst;
+        this.registry = registry;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param prompt type of the call.
+     * @param call to openai.
+     * @param duplicate of the call, empty when there is no capacity to send it.
+     * @return {@link ResponseEntity} of {@link ChatCompletion} of the call that finished first.
+     */
+    @Override
+    public ResponseEntity<ChatCompletion> execute(
+            final PromptEnum prompt,
+            final Supplier<ResponseEntity<ChatCompletion>> call,
+            final Supplier<Optional<ResponseEntity<ChatCompletion>>> duplicate) {
+        if (!enabled || !prompts.contains(prompt)
+                || OpenaiCallerContext.current().lane() != OpenaiLaneEnum.INTERACTIVE) {
+            return call.get();
+        }
+        final LatencyWindow window = latencies.get(prompt);
+        final long delay = window.getPercentile();
+        earn();
+        if (delay < 0) {
+            return timed(window, call);
+        }
+        final CompletionService<Optional<ResponseEntity<ChatCompletion>>> completion =
+                new ExecutorCompletionService<>(executor);
+        final List<Future<Optional<ResponseEntity<ChatCompletion>>>> futures = new ArrayList<>(2);
+        futures.add(completion.submit(wrap(() -> Optional.of(timed(window, call)))));
+        try {
+            Future<Optional<ResponseEntity<ChatCompletion>>> done =
+                    completion.poll(Math.max(delay, minDelay.toNanos()), TimeUnit.NANOSECONDS);
+            if (done == null && spend(prompt)) {
+                log.info("[execute]: hedging openai call: {}, p{} latency: {} ms",
+                        prompt, percentile, TimeUnit.NANOSECONDS.toMillis(delay));
+                futures.add(completion.submit(wrap(() -> hedge(prompt, window, duplicate))));
+            }
+            RuntimeException error = null;
+            for (int pending = futures.size(); pending > 0; pending--) {
+                done = done != null ? done : completion.take();
+                try {
+                    final Optional<ResponseEntity<ChatCompletion>> response = done.get();
+                    if (response.isPresent()) {
+                        if (futures.size() > 1) {
+                            count(prompt, done == futures.getFirst() ? "primary-won" : "hedge-won");
+                        }
+                        return response.get();
+                    }
+                } catch (ExecutionException e) {
+                    error = error != null ? error : e.getCause() instanceof RuntimeException cause
+                            ? cause : new IllegalStateException(e.getCause());
+                }
+                done = null;
+            }
+            throw error;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw InternalServerException.builder()
+                    .message("interrupted waiting for openai.")
+                    .endpoint(prompt.getEndpoint())
+                    .cause(e)
+                    .build();
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * stop the calls in flight.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * send the duplicate of a call when there is capacity for it, otherwise give the hedge back to the budget.
+     * @param prompt type of the call.
+     * @param window of the latencies of the prompt.
+     * @param duplicate of the call, empty when there is no capacity to send it.
+     * @return {@link Optional} of {@link ResponseEntity} of {@link ChatCompletion}, empty when it was not sent.
+     */
+    private Optional<ResponseEntity<ChatCompletion>> hedge(
+            final PromptEnum prompt,
+            final LatencyWindow window,
+            final Supplier<Optional<ResponseEntity<ChatCompletion>>> duplicate) {
+        final long start = System.nanoTime();
+        final Optional<ResponseEntity<ChatCompletion>> response = duplicate.get();
+        if (response.isEmpty()) {
+            refund();
+            count(prompt, "no-capacity");
+            return response;
+        }
+        window.record(System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * propagate the timing and the caller of the current thread to a task.
+     * @param task to run in the executor.
+     * @return {@link Callable} wrapped.
+     */
+    private static Callable<Optional<ResponseEntity<ChatCompletion>>> wrap(
+            final Callable<Optional<ResponseEntity<ChatCompletion>>> task) {
+        return ServerTiming.wrap(OpenaiCallerContext.wrap(task));
+    }
+
+    /**
+     * execute a call and keep its latency when it succeeds.
+     * @param window of the latencies of the prompt.
+     * @param call to openai.
+     * @return {@link ResponseEntity} of {@link ChatCompletion}.
+     */
+    private static ResponseEntity<ChatCompletion> timed(
+            final LatencyWindow window,
+            final Supplier<ResponseEntity<ChatCompletion>> call) {
+        final long start = System.nanoTime();
+        final ResponseEntity<ChatCompletion> response = call.get();
+        window.record(System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * add the fraction of a hedge earned by a call to the budget.
+     */
+    private void earn() {
+        lock.lock();
+        try {
+            budget = Math.min(budgetBurst, budget + budgetRatio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * give back to the budget a hedge that was not sent.
+     */
+    private void refund() {
+        lock.lock();
+        try {
+            budget = Math.min(budgetBurst, budget + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * take a hedge from the budget.
+     * @param prompt type of the call.
+     * @return true when the budget allows the hedge.
+     */
+    private boolean spend(final PromptEnum prompt) {
+        lock.lock();
+        try {
+            final boolean allowed = budget >= 1;
+            budget -= allowed ? 1 : 0;
+            count(prompt, allowed ? "sent" : "denied");
+            return allowed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * count an event of the hedging.
+     * @param prompt type of the call.
+     * @param result of the event: sent, denied, no-capacity, primary-won or hedge-won.
+     */
+    private void count(final PromptEnum prompt, final String result) {
+        Counter.builder("solia.openai.hedges")
+                .description("duplicated calls to openai.")
+                .tag("prompt", prompt.name())
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+}
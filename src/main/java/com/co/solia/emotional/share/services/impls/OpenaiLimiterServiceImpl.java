@@ -0,0 +1,135 @@
+package com.co.solia.emotional.share.services.impls;
+
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import com.co.solia.emotional.share.models.exceptions.ServiceUnavailableException;
+import com.co.solia.emotional.share.models.exceptions.TooManyRequestsException;
+import com.co.solia.emotional.share.services.services.OpenaiLimiterService;
+import com.co.solia.emotional.share.utils.limits.AdaptiveLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * implementation of {@link OpenaiLimiterService} with an {@link AdaptiveLimiter} by lane, so the batch
+ * and pipeline calls can not take the permits of the interactive ones. the 429, the 5xx and the i/o errors are drops
+ * that cut the limit, the latency of the answered calls makes it grow or cut it. a call cancelled by
+ * its caller, e.g. when the request gave up, does not count. the permits are taken without waiting, the callers
+ * wait for them in the order of their lane and tenant in the {@link OpenaiSchedulerServiceImpl}.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Service
+public class OpenaiLimiterServiceImpl implements OpenaiLimiterService {
+
+    /**
+     * limiter by lane.
+     */
+    private final Map<OpenaiLaneEnum, AdaptiveLimiter> limiters = new EnumMap<>(OpenaiLaneEnum.class);
+
+    /**
+     * default constructor.
+     * @param interactiveInitial starting limit of the interactive lane.
+     * @param interactiveMin min limit of the interactive lane.
+     * @param interactiveMax max limit of the interactive lane.
+     * @param pipelineInitial starting limit of the pipeline lane.
+     * @param pipelineMin min limit of the pipeline lane.
+     * @param pipelineMax max limit of the pipeline lane.
+     * @param batchInitial starting limit of the batch lane.
+     * @param batchMin min limit of the batch lane.
+     * @param batchMax max limit of the batch lane.
+     * @param tolerance times the average latency a call can take before it cuts the limit.
+     * @param backoffRatio ratio kept of the limit when it is cut.
+     * @param registry registry of the metrics.
+     */
+    @Autowired
+    public OpenaiLimiterServiceImpl(
+            @Value("${solia.emotional.openai.limiter.interactive.initial}") final int interactiveInitial,
+            @Value("${solia.emotional.openai.limiter.interactive.min}") final int interactiveMin,
+            @Value("${solia.emotional.openai.limiter.interactive.max}") final int interactiveMax,
+            @Value("${solia.emotional.openai.limiter.pipeline.initial}") final int pipelineInitial,
+            @Value("${solia.emotional.openai.limiter.pipeline.min}") final int pipelineMin,
+            @Value("${solia.emotional.openai.limiter.pipeline.max}") final int pipelineMax,
+            @Value("${solia.emotional.openai.limiter.batch.initial}") final int batchInitial,
+            @Value("${solia.emotional.openai.limiter.batch.min}") final int batchMin,
+            @Value("${solia.emotional.openai.limiter.batch.max}") final int batchMax,
+            @Value("${solia.emotional.openai.limiter.tolerance}") final double tolerance,
+            @Value("${solia.emotional.openai.limiter.backoff-ratio}") final double backoffRatio,
+            final MeterRegistry registry) {
+        limiters.put(OpenaiLaneEnum.INTERACTIVE,
+                new AdaptiveLimiter(interactiveInitial, interactiveMin, interactiveMax, tolerance, backoffRatio));
+        limiters.put(OpenaiLaneEnum.PIPELINE,
+                new AdaptiveLimiter(pipelineInitial, pipelineMin, pipelineMax, tolerance, backoffRatio));
+        limiters.put(OpenaiLaneEnum.BATCH,
+                new AdaptiveLimiter(batchInitial, batchMin, batchMax, tolerance, backoffRatio));
+        limiters.forEach((lane, limiter) -> {
+            final String tag = lane.name().toLowerCase();
+            Gauge.builder("solia.openai.limiter.limit", limiter, AdaptiveLimiter::getLimit)
+                    .description("concurrency limit of the calls to openai.")
+                    .tag("lane", tag)
+                    .register(registry);
+            Gauge.builder("solia.openai.limiter.inflight", limiter, AdaptiveLimiter::getInFlight)
+                    .description("calls to openai holding a permit.")
+                    .tag("lane", tag)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param lane of the call.
+     * @return true when the limit of the lane has a free permit.
+     */
+    @Override
+    public boolean tryAcquire(final OpenaiLaneEnum lane) {
+        return limiters.get(lane).tryAcquire();
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param lane of the call.
+     */
+    @Override
+    public void release(final OpenaiLaneEnum lane) {
+        limiters.get(lane).onIgnored();
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param lane of the call.
+     * @param call to openai.
+     * @return {@link ResponseEntity} of {@link ChatCompletion} answered by openai.
+     */
+    @Override
+    public ResponseEntity<ChatCompletion> execute(
+            final OpenaiLaneEnum lane,
+            final Supplier<ResponseEntity<ChatCompletion>> call) {
+        final AdaptiveLimiter limiter = limiters.get(lane);
+        final long start = System.nanoTime();
+        try {
+            final ResponseEntity<ChatCompletion> response = call.get();
+            limiter.onSuccess(System.nanoTime() - start);
+            return response;
+        } catch (TooManyRequestsException | ServiceUnavailableException | ResourceAccessException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                limiter.onIgnored();
+            } else {
+                limiter.onDropped();
+            }
+            throw e;
+        } catch (RuntimeException | Error e) {
+            limiter.onIgnored();
+            throw e;
+        }
+    }
+}
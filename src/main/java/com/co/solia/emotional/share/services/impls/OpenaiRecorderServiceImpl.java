@@ -0,0 +1,269 @@
+package com.co.solia.emotional.share.services.impls;
+
+import com.co.solia.emotional.share.models.dtos.internal.OpenaiRecordingDto;
+import com.co.solia.emotional.share.models.enums.RecorderModeEnum;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.services.services.OpenaiRecorderService;
+import com.co.solia.emotional.share.utils.hashes.Hasher;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * implementation of {@link OpenaiRecorderService} over an append only file with a json recording by line,
+ * keyed by the hash of the request. a request recorded several times is replayed in the recorded order, in a loop.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Service
+public class OpenaiRecorderServiceImpl implements OpenaiRecorderService {
+
+    /**
+     * mode of the recorder.
+     */
+    private final RecorderModeEnum mode;
+
+    /**
+     * file of the recordings.
+     */
+    private final Path file;
+
+    /**
+     * the replay waits the recorded latency, otherwise it answers at once.
+     */
+    private final boolean recordedLatency;
+
+    /**
+     * recordings by key, loaded in replay mode.
+     */
+    private final Map<String, List<OpenaiRecordingDto>> recordings = new ConcurrentHashMap<>();
+
+    /**
+     * next recording to replay by key.
+     */
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+    /**
+     * writer of the recordings, open in record mode.
+     */
+    private final BufferedWriter writer;
+
+    /**
+     * requests answered from the recordings.
+     */
+    private final Counter hits;
+
+    /**
+     * requests without recording.
+     */
+    private final Counter misses;
+
+    /**
+     * default constructor.
+     * @param mode of the recorder: off, record or replay.
+     * @param file of the recordings.
+     * @param recordedLatency the replay waits the recorded latency.
+     * @param registry registry of the metrics.
+     */
+    @Autowired
+    public OpenaiRecorderServiceImpl(
+            @Value("${solia.emotional.openai.recorder.mode}") final String mode,
+            @Value("${solia.emotional.openai.recorder.file}") final String file,
+            @Value("${solia.emotional.openai.recorder.replay-recorded-latency}") final boolean recordedLatency,
+            final MeterRegistry registry) {
+        this.mode = RecorderModeEnum.valueOf(mode.trim().toUpperCase());
+        this.file = Path.of(file);
+        this.recordedLatency = recordedLatency;
+        this.writer = this.mode == RecorderModeEnum.RECORD ? open(this.file) : null;
+        if (this.mode == RecorderModeEnum.REPLAY) {
+            load(this.file);
+        }
+        this.hits = Counter.builder("solia.openai.recorder.replay")
+                .tag("result", "hit")
+                .description("openai requests answered from the recordings.")
+                .register(registry);
+        this.misses = Counter.builder("solia.openai.recorder.replay")
+                .tag("result", "miss")
+                .description("openai requests without recording.")
+                .register(registry);
+        log.info("[OpenaiRecorderServiceImpl]: recorder mode: {}, file: {}", this.mode, this.file);
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @return true when the mode is replay.
+     */
+    @Override
+    public boolean isReplaying() {
+        return mode == RecorderModeEnum.REPLAY;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @return true when the mode is record.
+     */
+    @Override
+    public boolean isRecording() {
+        return mode == RecorderModeEnum.RECORD;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param rq request to send.
+     * @param call to openai.
+     * @return {@link ResponseEntity} of {@link ChatCompletion} answered by openai.
+     */
+    @Override
+    public ResponseEntity<ChatCompletion> record(
+            final ChatCompletionRequest rq, final Supplier<ResponseEntity<ChatCompletion>> call) {
+        if (mode != RecorderModeEnum.RECORD) {
+            return call.get();
+        }
+        final long start = System.nanoTime();
+        final ResponseEntity<ChatCompletion> response = call.get();
+        if (response != null && response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            write(OpenaiRecordingDto.builder()
+                    .key(getKey(rq))
+                    .latencyMillis((System.nanoTime() - start) / 1_000_000)
+                    .recordedAt(System.currentTimeMillis())
+                    .response(response.getBody())
+                    .build());
+        }
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param rq request to answer.
+     * @return {@link ResponseEntity} of {@link ChatCompletion} recorded for the request.
+     */
+    @Override
+    public ResponseEntity<ChatCompletion> replay(final ChatCompletionRequest rq) {
+        final String key = getKey(rq);
+        final List<OpenaiRecordingDto> recorded = recordings.get(key);
+        if (recorded == null) {
+            misses.increment();
+            log.error("[replay]: no recording for the request: {}", key);
+            throw InternalServerException.builder()
+                    .message("no recording for the openai request.")
+                    .endpoint("/")
+                    .build();
+        }
+        hits.increment();
+        final int next = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        final OpenaiRecordingDto recording = recorded.get(Math.floorMod(next, recorded.size()));
+        if (recordedLatency && recording.latencyMillis() > 0) {
+            try {
+                Thread.sleep(recording.latencyMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw InternalServerException.builder()
+                        .message("the replay was cancelled.")
+                        .endpoint("/")
+                        .cause(e)
+                        .build();
+            }
+        }
+        return ResponseEntity.ok(recording.response());
+    }
+
+    /**
+     * close the recordings file.
+     */
+    @PreDestroy
+    public void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.error("[close]: error closing the recordings: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * get the key of a request, the hash of its json.
+     * @param rq request to openai.
+     * @return {@link String} with the key.
+     */
+    private static String getKey(final ChatCompletionRequest rq) {
+        return Hasher.sha256(JsonCodec.write(rq));
+    }
+
+    /**
+     * append a recording to the file.
+     * @param recording to write.
+     */
+    private void write(final OpenaiRecordingDto recording) {
+        try {
+            final String line = JsonCodec.write(recording);
+            synchronized (writer) {
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            }
+        } catch (Exception e) {
+            log.error("[write]: error writing the recording: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * open the recordings file to append.
+     * @param file of the recordings.
+     * @return {@link BufferedWriter}.
+     */
+    private static BufferedWriter open(final Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("error opening the recordings: " + file, e);
+        }
+    }
+
+    /**
+     * load the recordings, the invalid lines are skipped.
+     * @param file of the recordings.
+     */
+    private void load(final Path file) {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            lines.filter(line -> !line.isBlank())
+                    .map(line -> JsonCodec.read(line, OpenaiRecordingDto.class))
+                    .flatMap(Optional::stream)
+                    .forEach(recording -> recordings
+                            .computeIfAbsent(recording.key(), key -> new ArrayList<>())
+                            .add(recording));
+            log.info("[load]: recordings loaded: {}", recordings.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("error reading the recordings: " + file, e);
+        }
+    }
+}
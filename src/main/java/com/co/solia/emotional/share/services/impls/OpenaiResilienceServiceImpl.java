@@ -0,0 +1,270 @@
+package com.co.solia.emotional.share.services.impls;
+
+import com.co.solia.emotional.share.models.enums.CircuitStateEnum;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.models.exceptions.ServiceUnavailableException;
+import com.co.solia.emotional.share.services.services.OpenaiResilienceService;
+import com.co.solia.emotional.share.utils.limits.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * implementation of {@link OpenaiResilienceService}. only the 5xx answers and the i/o errors are retried,
+ * with exponential backoff and full jitter, a retry-after sent by openai is honored when it fits in the max
+ * backoff. the 429 are not retried here, the scheduler already queues them again with the time to wait.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Service
+public class OpenaiResilienceServiceImpl implements OpenaiResilienceService {
+
+    /**
+     * max times a call is sent when it fails with a transient error.
+     */
+    private final int maxAttempts;
+
+    /**
+     * backoff before the first retry.
+     */
+    private final Duration initialBackoff;
+
+    /**
+     * max backoff between the retries.
+     */
+    private final Duration maxBackoff;
+
+    /**
+     * calls evaluated by the breakers.
+     */
+    private final int window;
+
+    /**
+     * min calls in the window to evaluate the failure rate.
+     */
+    private final int minCalls;
+
+    /**
+     * failure rate in percentage that opens a breaker.
+     */
+    private final int failureRate;
+
+    /**
+     * duration a breaker stays open.
+     */
+    private final Duration open;
+
+    /**
+     * trial calls allowed while a breaker is half open.
+     */
+    private final int halfOpenCalls;
+
+    /**
+     * breaker by model.
+     */
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * registry of the metrics.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * default constructor.
+     * @param maxAttempts max times a call is sent when it fails with a transient error.
+     * @param initialBackoff millis of backoff before the first retry.
+     * @param maxBackoff max millis of backoff between the retries.
+     * @param window calls evaluated by the breakers.
+     * @param minCalls min calls in the window to evaluate the failure rate.
+     * @param failureRate failure rate in percentage that opens a breaker.
+     * @param openSeconds seconds a breaker stays open.
+     * @param halfOpenCalls trial calls allowed while a breaker is half open.
+     * @param registry registry of the metrics.
+     */
+    @Autowired
+    public OpenaiResilienceServiceImpl(
+            @Value("${solia.emotional.openai.resilience.max-attempts}") final int maxAttempts,
+            @Value("${solia.emotional.openai.resilience.backoff.initial-millis}") final long initialBackoff,
+            @Value("${solia.emotional.openai.resilience.backoff.max-millis}") final long maxBackoff,
+            @Value("${solia.emotional.openai.resilience.breaker.window}") final int window,
+            @Value("${solia.emotional.openai.resilience.breaker.min-calls}") final int minCalls,
+            @Value("${solia.emotional.openai.resilience.breaker.failure-rate}") final int failureRate,
+            @Value("${solia.emotional.openai.resilience.breaker.open-seconds}") final long openSeconds,
+            @Value("${solia.emotional.openai.resilience.breaker.half-open-calls}") final int halfOpenCalls,
+            final MeterRegistry registry) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = Duration.ofMillis(initialBackoff);
+        this.maxBackoff = Duration.ofMillis(maxBackoff);
+        this.window = window;
+        this.minCalls = minCalls;
+        this.failureRate = failureRate;
+        this.open = Duration.ofSeconds(openSeconds);
+        this.halfOpenCalls = halfOpenCalls;
+        this.registry = registry;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param model of the call, every model has its own breaker.
+     * @param call to openai, executed once by attempt.
+     * @return
+     */
+    @Override
+    public ResponseEntity<ChatCompletion> execute(
+            final String model,
+            final Supplier<ResponseEntity<ChatCompletion>> call) {
+        final CircuitBreaker breaker = getBreaker(model);
+        for (int attempt = 1; ; attempt++) {
+            acquire(model, breaker);
+            try {
+                final ResponseEntity<ChatCompletion> response = call.get();
+                breaker.onSuccess();
+                return response;
+            } catch (ServiceUnavailableException | ResourceAccessException e) {
+                breaker.onFailure();
+                final Duration backoff = getBackoff(attempt, e);
+                if (attempt >= maxAttempts || backoff == null) {
+                    log.error("[execute]: openai failed after: {} attempts, model: {}, error: {}",
+                            attempt, model, e.getMessage());
+                    throw unavailable(e);
+                }
+                retried(model, e);
+                log.info("[execute]: retrying openai call, attempt: {}, backoff: {}, error: {}",
+                        attempt, backoff, e.getMessage());
+                sleep(backoff);
+            } catch (RuntimeException e) {
+                breaker.release();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * ask the breaker for a permit, failing fast while it is open.
+     * @param model of the call.
+     * @param breaker of the model.
+     */
+    private void acquire(final String model, final CircuitBreaker breaker) {
+        final long wait = breaker.tryAcquire();
+        if (wait > 0) {
+            Counter.builder("solia.openai.breaker.rejected")
+                    .description("calls rejected while the breaker was open.")
+                    .tag("model", model)
+                    .register(registry)
+                    .increment();
+            throw ServiceUnavailableException.builder()
+                    .message("openai is unavailable, the circuit breaker is open.")
+                    .endpoint("/")
+                    .status(503)
+                    .retryAfter(Duration.ofNanos(wait))
+                    .build();
+        }
+    }
+
+    /**
+     * get the backoff before the next attempt, exponential with full jitter or the retry-after of openai.
+     * @param attempt number of the failed attempt.
+     * @param error of the attempt.
+     * @return {@link Duration} to wait, null when the retry-after is longer than the max backoff.
+     */
+    private Duration getBackoff(final int attempt, final RuntimeException error) {
+        if (error instanceof ServiceUnavailableException unavailable && unavailable.getRetryAfter() != null) {
+            return unavailable.getRetryAfter().compareTo(maxBackoff) <= 0 ? unavailable.getRetryAfter() : null;
+        }
+        final long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    /**
+     * wait before the next attempt.
+     * @param backoff to wait.
+     */
+    private static void sleep(final Duration backoff) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(backoff.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw InternalServerException.builder()
+                    .message("interrupted waiting to retry the openai call.")
+                    .endpoint("/")
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    /**
+     * get the error thrown when the retries are exhausted.
+     * @param error of the last attempt.
+     * @return {@link ServiceUnavailableException}.
+     */
+    private static ServiceUnavailableException unavailable(final RuntimeException error) {
+        return error instanceof ServiceUnavailableException unavailable ? unavailable
+                : ServiceUnavailableException.builder()
+                        .message("openai is unreachable: " + error.getMessage())
+                        .endpoint("/")
+                        .status(503)
+                        .build();
+    }
+
+    /**
+     * count a retry.
+     * @param model of the call.
+     * @param error of the failed attempt.
+     */
+    private void retried(final String model, final RuntimeException error) {
+        Counter.builder("solia.openai.retries")
+                .description("calls to openai retried after a transient error.")
+                .tag("model", model)
+                .tag("reason", error instanceof ServiceUnavailableException unavailable
+                        ? String.valueOf(unavailable.getStatus()) : "io")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * get the breaker of a model, created the first time the model is called.
+     * @param model of the call.
+     * @return {@link CircuitBreaker}.
+     */
+    private CircuitBreaker getBreaker(final String model) {
+        return breakers.computeIfAbsent(String.valueOf(model), key -> {
+            final CircuitBreaker breaker = new CircuitBreaker(window, minCalls, failureRate, open, halfOpenCalls,
+                    state -> transitioned(key, state));
+            Gauge.builder("solia.openai.breaker.state", breaker, b -> b.getState().ordinal())
+                    .description("state of the breaker: 0 closed, 1 half open, 2 open.")
+                    .tag("model", key)
+                    .register(registry);
+            return breaker;
+        });
+    }
+
+    /**
+     * log and count a transition of a breaker.
+     * @param model of the breaker.
+     * @param state reached.
+     */
+    private void transitioned(final String model, final CircuitStateEnum state) {
+        log.info("[transitioned]: openai breaker of model: {} is now: {}", model, state);
+        Counter.builder("solia.openai.breaker.transitions")
+                .description("transitions of the openai breakers.")
+                .tag("model", model)
+                .tag("state", state.name())
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,361 @@
+package com.co.solia.emotional.share.services.impls;
+
+import com.co.solia.emotional.share.models.dtos.internal.OpenaiCallerDto;
+import com.co.solia.emotional.share.models.dtos.internal.RateLimitsDto;
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.models.exceptions.ServiceUnavailableException;
+import com.co.solia.emotional.share.models.exceptions.TooManyRequestsException;
+import com.co.solia.emotional.share.services.services.OpenaiLimiterService;
+import com.co.solia.emotional.share.services.services.OpenaiSchedulerService;
+import com.co.solia.emotional.share.services.services.OpenaiTenantService;
+import com.co.solia.emotional.share.utils.limits.LaneDispatcher;
+import com.co.solia.emotional.share.utils.limits.OpenaiCallerContext;
+import com.co.solia.emotional.share.utils.limits.TokenBucket;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import com.co.solia.emotional.share.utils.tokens.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest;
+import org.springframework.ai.openai.api.OpenAiApi.Usage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * implementation of {@link OpenaiSchedulerService} with a token bucket for the requests by minute
+ * and another one for the tokens by minute. the tokens are debited with an estimation of the request
+ * and settled with the usage reported by openai. the callers wait in a {@link LaneDispatcher} that shares
+ * the buckets between the lanes by weight, and between the tenants of a lane by the weight of their plans.
+ * only the interactive lane can take the reserve of the buckets. a caller is served when a permit of the
+ * {@link OpenaiLimiterService}, a request and its estimated tokens are all available, so the lane and tenant
+ * order decides who gets the permits too, and the buckets are never debited for a call without a permit.
+ * a duplicate of a call does not wait, it is sent only when its capacity is available and its lane is idle.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Service
+public class OpenaiSchedulerServiceImpl implements OpenaiSchedulerService {
+
+    /**
+     * requests by minute.
+     */
+    private final TokenBucket requests;
+
+    /**
+     * tokens by minute.
+     */
+    private final TokenBucket tokens;
+
+    /**
+     * queue of the callers by lane.
+     */
+    private final LaneDispatcher lanes;
+
+    /**
+     * dependency on {@link OpenaiTenantService} to get the weight of the tenants.
+     */
+    private final OpenaiTenantService openaiTenantService;
+
+    /**
+     * dependency on {@link OpenaiLimiterService} to bound the calls in flight.
+     */
+    private final OpenaiLimiterService openaiLimiterService;
+
+    /**
+     * ratio of the buckets only available to the interactive lane.
+     */
+    private final double interactiveReserve;
+
+    /**
+     * tokens expected in a response without max tokens.
+     */
+    private final long outputTokens;
+
+    /**
+     * max times a call is sent when openai rejects it by the rate limits.
+     */
+    private final int maxAttempts;
+
+    /**
+     * time waiting for the rate limits by lane.
+     */
+    private final Map<OpenaiLaneEnum, Timer> waiting = new EnumMap<>(OpenaiLaneEnum.class);
+
+    /**
+     * calls rejected by openai with 429.
+     */
+    private final Counter throttled;
+
+    /**
+     * default constructor.
+     * @param rpm initial requests by minute, adapted with the openai headers.
+     * @param tpm initial tokens by minute, adapted with the openai headers.
+     * @param outputTokens tokens expected in a response.
+     * @param maxAttempts max times a call is sent when rejected by the rate limits.
+     * @param interactiveWeight share of the buckets of the interactive lane.
+     * @param pipelineWeight share of the buckets of the pipeline lane.
+     * @param batchWeight share of the buckets of the batch lane.
+     * @param interactiveReserve percentage of the buckets only available to the interactive lane.
+     * @param quantum tokens a tenant of weight 1 can take in a round of its lane.
+     * @param openaiTenantService provider of the weight of the tenants.
+     * @param openaiLimiterService adaptive concurrency limit of the calls.
+     * @param registry registry of the metrics.
+     */
+    @Autowired
+    public OpenaiSchedulerServiceImpl(
+            @Value("${solia.emotional.openai.limits.rpm}") final long rpm,
+            @Value("${solia.emotional.openai.limits.tpm}") final long tpm,
+            @Value("${solia.emotional.openai.limits.output-tokens}") final long outputTokens,
+            @Value("${solia.emotional.openai.limits.max-attempts}") final int maxAttempts,
+            @Value("${solia.emotional.openai.lanes.weight.interactive}") final double interactiveWeight,
+            @Value("${solia.emotional.openai.lanes.weight.pipeline}") final double pipelineWeight,
+            @Value("${solia.emotional.openai.lanes.weight.batch}") final double batchWeight,
+            @Value("${solia.emotional.openai.lanes.interactive-reserve-percent}") final double interactiveReserve,
+            @Value("${solia.emotional.openai.tenants.quantum-tokens}") final long quantum,
+            final OpenaiTenantService openaiTenantService,
+            final OpenaiLimiterService openaiLimiterService,
+            final MeterRegistry registry) {
+        this.requests = new TokenBucket(rpm);
+        this.tokens = new TokenBucket(tpm);
+        this.outputTokens = outputTokens;
+        this.maxAttempts = maxAttempts;
+        this.lanes = new LaneDispatcher(Map.of(
+                OpenaiLaneEnum.INTERACTIVE, interactiveWeight,
+                OpenaiLaneEnum.PIPELINE, pipelineWeight,
+                OpenaiLaneEnum.BATCH, batchWeight), quantum);
+        this.openaiTenantService = openaiTenantService;
+        this.openaiLimiterService = openaiLimiterService;
+        this.interactiveReserve = interactiveReserve / 100;
+        for (OpenaiLaneEnum lane : OpenaiLaneEnum.values()) {
+            final String tag = lane.name().toLowerCase();
+            waiting.put(lane, Timer.builder("solia.openai.scheduler.wait")
+                    .description("time waiting for the turn, a permit and the rate limits to call openai.")
+                    .tag("lane", tag)
+                    .register(registry));
+            Gauge.builder("solia.openai.scheduler.queued", lanes, dispatcher -> dispatcher.getQueued(lane))
+                    .description("calls waiting for their turn to call openai.")
+                    .tag("lane", tag)
+                    .register(registry);
+            Gauge.builder("solia.openai.scheduler.tenants", lanes, dispatcher -> dispatcher.getTenants(lane))
+                    .description("tenants with calls waiting for their turn to call openai.")
+                    .tag("lane", tag)
+                    .register(registry);
+        }
+        this.throttled = Counter.builder("solia.openai.scheduler.throttled")
+                .description("calls rejected by openai with 429.")
+                .register(registry);
+        Gauge.builder("solia.openai.scheduler.available", requests, TokenBucket::getAvailable)
+                .tag("bucket", "requests")
+                .register(registry);
+        Gauge.builder("solia.openai.scheduler.available", tokens, TokenBucket::getAvailable)
+                .tag("bucket", "tokens")
+                .register(registry);
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param rq request to send, used to estimate the tokens.
+     * @param call to openai.
+     * @return
+     */
+    @Override
+    public ResponseEntity<ChatCompletion> submit(
+            final ChatCompletionRequest rq,
+            final Supplier<ResponseEntity<ChatCompletion>> call) {
+        final long estimated = estimate(rq);
+        final OpenaiCallerDto caller = OpenaiCallerContext.current();
+        final double weight = openaiTenantService.getWeight(caller.userId());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                acquire(caller, weight, estimated);
+                final ResponseEntity<ChatCompletion> response;
+                try {
+                    response = openaiLimiterService.execute(caller.lane(), () -> charge(estimated, call));
+                } finally {
+                    lanes.signal();
+                }
+                settle(estimated, response);
+                return response;
+            } catch (TooManyRequestsException e) {
+                pause(e);
+                if (attempt >= maxAttempts) {
+                    log.error("[submit]: openai rate limit reached after: {} attempts.", attempt);
+                    throw e;
+                }
+                log.info("[submit]: call queued again, attempt: {}, retry after: {}", attempt, e.getRetryAfter());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param rq request to send, used to estimate the tokens.
+     * @param call to openai.
+     * @return {@link Optional} of {@link ResponseEntity} of {@link ChatCompletion}, empty without capacity.
+     */
+    @Override
+    public Optional<ResponseEntity<ChatCompletion>> duplicate(
+            final ChatCompletionRequest rq,
+            final Supplier<ResponseEntity<ChatCompletion>> call) {
+        final long estimated = estimate(rq);
+        final OpenaiLaneEnum lane = OpenaiCallerContext.current().lane();
+        if (!lanes.tryAcquire(lane, estimated, () -> take(lane, estimated, getReserve(lane)))) {
+            return Optional.empty();
+        }
+        try {
+            final ResponseEntity<ChatCompletion> response =
+                    openaiLimiterService.execute(lane, () -> charge(estimated, call));
+            settle(estimated, response);
+            return Optional.of(response);
+        } catch (TooManyRequestsException e) {
+            pause(e);
+            throw e;
+        } finally {
+            lanes.signal();
+        }
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param limits read from a response.
+     */
+    @Override
+    public void onRateLimits(final RateLimitsDto limits) {
+        requests.sync(limits.limitRequests(), limits.remainingRequests());
+        tokens.sync(limits.limitTokens(), limits.remainingTokens());
+    }
+
+    /**
+     * wait for the turn of the caller until a permit, a request and the estimated tokens are available.
+     * @param caller of openai, with its lane and tenant.
+     * @param weight of the tenant.
+     * @param estimated tokens of the request.
+     */
+    private void acquire(final OpenaiCallerDto caller, final double weight, final long estimated) {
+        final long start = System.nanoTime();
+        final OpenaiLaneEnum lane = caller.lane();
+        final double reserve = getReserve(lane);
+        try {
+            lanes.acquire(lane, caller.userId(), weight, estimated, () -> take(lane, estimated, reserve));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw InternalServerException.builder()
+                    .message("interrupted waiting for the turn to call openai.")
+                    .endpoint("/")
+                    .cause(e)
+                    .build();
+        } finally {
+            final long waited = System.nanoTime() - start;
+            waiting.get(lane).record(waited, TimeUnit.NANOSECONDS);
+            ServerTiming.add(TimingPhaseEnum.OPENAI_QUEUE, waited);
+        }
+    }
+
+    /**
+     * get the ratio of the buckets a lane must leave available, only the interactive lane takes the reserve.
+     * @param lane of the call.
+     * @return ratio of the buckets reserved.
+     */
+    private double getReserve(final OpenaiLaneEnum lane) {
+        return lane == OpenaiLaneEnum.INTERACTIVE ? 0 : interactiveReserve;
+    }
+
+    /**
+     * pause the buckets after a rejection of openai by the rate limits.
+     * @param e rejection with the time to retry.
+     */
+    private void pause(final TooManyRequestsException e) {
+        throttled.increment();
+        requests.pause(e.getRetryAfter());
+        tokens.pause(e.getRetryAfter());
+    }
+
+    /**
+     * take a permit, a request and the estimated tokens without waiting, keeping the reserve of the buckets.
+     * nothing is kept when any of them is missing.
+     * @param lane of the call.
+     * @param estimated tokens of the request.
+     * @param reserve ratio of the buckets that must stay available.
+     * @return 0 when taken, otherwise the nanos to wait, {@link Long#MAX_VALUE} until a permit is released.
+     */
+    private long take(final OpenaiLaneEnum lane, final long estimated, final double reserve) {
+        if (!openaiLimiterService.tryAcquire(lane)) {
+            return Long.MAX_VALUE;
+        }
+        final long wait = requests.tryAcquire(1, reserve);
+        if (wait > 0) {
+            openaiLimiterService.release(lane);
+            return wait;
+        }
+        final long tokensWait = tokens.tryAcquire(estimated, reserve);
+        if (tokensWait > 0) {
+            requests.adjust(1);
+            openaiLimiterService.release(lane);
+        }
+        return tokensWait;
+    }
+
+    /**
+     * execute a call that holds a request and the estimated tokens. when it fails the tokens are given back,
+     * and the request too when the call did not reach openai, e.g. interrupted before it was sent.
+     * @param estimated tokens debited before the call.
+     * @param call to openai.
+     * @return {@link ResponseEntity} of {@link ChatCompletion}.
+     */
+    private ResponseEntity<ChatCompletion> charge(
+            final long estimated,
+            final Supplier<ResponseEntity<ChatCompletion>> call) {
+        try {
+            return call.get();
+        } catch (TooManyRequestsException | ServiceUnavailableException | RestClientException e) {
+            tokens.adjust(estimated);
+            throw e;
+        } catch (RuntimeException e) {
+            tokens.adjust(estimated);
+            requests.adjust(1);
+            throw e;
+        }
+    }
+
+    /**
+     * settle the estimated tokens with the usage reported by openai.
+     * @param estimated tokens debited before the call.
+     * @param response from openai.
+     */
+    private void settle(final long estimated, final ResponseEntity<ChatCompletion> response) {
+        Optional.ofNullable(response)
+                .map(ResponseEntity::getBody)
+                .map(ChatCompletion::usage)
+                .map(Usage::totalTokens)
+                .ifPresent(used -> tokens.adjust(estimated - used));
+    }
+
+    /**
+     * estimate the tokens of a request, the prompt by its size plus the expected response.
+     * @param rq request to estimate.
+     * @return estimated tokens.
+     */
+    private long estimate(final ChatCompletionRequest rq) {
+        final long prompt = rq.messages().stream()
+                .map(ChatCompletionMessage::content)
+                .mapToLong(TokenEstimator::ofMessage)
+                .sum();
+        return prompt + Optional.ofNullable(rq.maxTokens()).map(Integer::longValue).orElse(outputTokens);
+    }
+}
@@ -1,12 +1,26 @@
 package com.co.solia.emotional.share.services.impls;
 
 import com.co.solia.emotional.campaign.models.dtos.rq.CampaignOpenaiRqDto;
+import com.co.solia.emotional.emotional.models.dtos.rq.EmotionalBatchOpenaiRqDto;
 import com.co.solia.emotional.keyphrase.models.dtos.rq.KeyphraseOpenaiRqDto;
 import com.co.solia.emotional.keyphrase.models.enums.EmotionEnum;
+import com.co.solia.emotional.share.models.enums.PromptEnum;
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
 import com.co.solia.emotional.share.models.exceptions.InternalServerException;
-import com.co.solia.emotional.share.utils.validators.Validator;
+import com.co.solia.emotional.share.models.exceptions.ServiceUnavailableException;
+import com.co.solia.emotional.share.models.exceptions.TooManyRequestsException;
 import com.co.solia.emotional.share.services.services.OpenAIService;
-import com.google.gson.Gson;
+import com.co.solia.emotional.share.services.services.OpenaiCacheService;
+import com.co.solia.emotional.share.services.services.OpenaiHedgingService;
+import com.co.solia.emotional.share.services.services.OpenaiRecorderService;
+import com.co.solia.emotional.share.services.services.OpenaiResilienceService;
+import com.co.solia.emotional.share.services.services.OpenaiSchedulerService;
+import com.co.solia.emotional.share.services.services.PromptService;
+import com.co.solia.emotional.share.utils.concurrency.SingleFlight;
+import com.co.solia.emotional.share.utils.json.JsonCodec;
+import com.co.solia.emotional.share.utils.metrics.OpenaiMetrics;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest;
@@ -16,19 +30,18 @@ import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage.Role;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest.ResponseFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.ai.openai.api.OpenAiApi.FunctionTool;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -41,9 +54,9 @@ import java.util.stream.Stream;
 public class OpenaiServiceImpl implements OpenAIService {
 
     /**
-     * openai apikey as a secret.
+     * openai api shared by every call.
      */
-    private final String OPENAI_APIKEY;
+    private final OpenAiApi openAiApi;
 
     /**
      * openai model used.
@@ -56,56 +69,78 @@ public class OpenaiServiceImpl implements OpenAIService {
     private static final String JSOM_FORMAT_OPENAI = "json_object";
 
     /**
-     * prompt to do campaign.
+     * dependency on {@link PromptService} to get the system prompts.
      */
-    private final Resource promptCampaign;
+    private final PromptService promptService;
 
     /**
-     * prompt to do emotional_estimation.
+     * dependency on {@link OpenaiCacheService} to reuse deterministic responses.
      */
-    private final Resource promptEmotional;
+    private final OpenaiCacheService openaiCacheService;
 
     /**
-     * prompt to do emotional estimation in multiple message.
+     * dependency on {@link OpenaiSchedulerService} to keep the calls under the rate limits.
      */
-    private final Resource promptEmotionalUnique;
+    private final OpenaiSchedulerService openaiSchedulerService;
 
     /**
-     * prompt to clean the comment.
+     * dependency on {@link OpenaiRecorderService} to record and replay the calls.
      */
-    private final Resource promptClean;
+    private final OpenaiRecorderService openaiRecorderService;
 
     /**
-     * prompt to get the keyphrases.
+     * dependency on {@link OpenaiResilienceService} to retry the transient errors.
      */
-    private final Resource promptKeyphrase;
+    private final OpenaiResilienceService openaiResilienceService;
+
+    /**
+     * dependency on {@link OpenaiHedgingService} to duplicate the slow calls.
+     */
+    private final OpenaiHedgingService openaiHedgingService;
+
+    /**
+     * calls to openai in flight by cache key.
+     */
+    private final SingleFlight<String, Optional<ChatCompletion>> inFlight;
+
+    /**
+     * meters of the calls by prompt type.
+     */
+    private final OpenaiMetrics openaiMetrics;
 
     /**
      * the basic constructor for get all required parameters.
-     * @param openaiApikey openai api key.
+     * @param openAiApi openai api shared by every call.
      * @param openaiModel openai model.
-     * @param promptKeyphrase prompt for keyphrases.
-     * @param promptCampaign prompt for campaign.
-     * @param promptEmotional prompt for emotional estimation.
-     * @param promptEmotionalUnique prompt for emotional unique estimation.
-     * @param promptClean prompt to clean.
+     * @param promptService provider of the system prompts.
+     * @param openaiCacheService cache of the responses.
+     * @param openaiSchedulerService scheduler of the calls.
+     * @param openaiRecorderService recorder of the calls.
+     * @param openaiResilienceService retries and circuit breaker of the calls.
+     * @param openaiHedgingService hedging of the slow calls.
+     * @param registry registry of the metrics.
      */
     @Autowired
     public OpenaiServiceImpl(
-            @Value("${solia.emotional.openai.apikey}") final String openaiApikey,
+            final OpenAiApi openAiApi,
             @Value("${solia.emotional.openai.model}") final String openaiModel,
-            @Value("classpath:templates/prompt_keyphrase.st") final Resource promptKeyphrase,
-            @Value("classpath:templates/prompt_campaign.st") final Resource promptCampaign,
-            @Value("classpath:templates/prompt_emotional.st") final Resource promptEmotional,
-            @Value("classpath:templates/prompt_emotional_unique.st") final Resource promptEmotionalUnique,
-            @Value("classpath:templates/prompt_clean.st") final Resource promptClean){
-        this.OPENAI_APIKEY = openaiApikey;
+            final PromptService promptService,
+            final OpenaiCacheService openaiCacheService,
+            final OpenaiSchedulerService openaiSchedulerService,
+            final OpenaiRecorderService openaiRecorderService,
+            final OpenaiResilienceService openaiResilienceService,
+            final OpenaiHedgingService openaiHedgingService,
+            final MeterRegistry registry){
+        this.openAiApi = openAiApi;
         this.OPENAI_MODEL = openaiModel;
-        this.promptClean = promptClean;
-        this.promptKeyphrase = promptKeyphrase;
-        this.promptCampaign = promptCampaign;
-        this.promptEmotional = promptEmotional;
-        this.promptEmotionalUnique = promptEmotionalUnique;
+        this.promptService = promptService;
+        this.openaiCacheService = openaiCacheService;
+        this.openaiSchedulerService = openaiSchedulerService;
+        this.openaiRecorderService = openaiRecorderService;
+        this.openaiResilienceService = openaiResilienceService;
+        this.openaiHedgingService = openaiHedgingService;
+        this.inFlight = new SingleFlight<>("openai", registry);
+        this.openaiMetrics = new OpenaiMetrics(registry);
     }
 
     /**
@@ -116,7 +151,7 @@ public class OpenaiServiceImpl implements OpenAIService {
     @Override
     public Optional<ChatCompletion> emotionalCompute(final String message) {
         log.info("[emotionalEstimation]: starting emotional compute.");
-        return callEE(message);
+        return cached(PromptEnum.EMOTIONAL, message, () -> callEE(message));
     }
 
     /**
@@ -130,6 +165,25 @@ public class OpenaiServiceImpl implements OpenAIService {
         return callEEU(messages);
     }
 
+    /**
+     * {@inheritDoc}
+     * @param messages to compute.
+     * @return
+     */
+    @Override
+    public Optional<ChatCompletion> emotionalComputeBatch(final List<String> messages) {
+        log.info("[emotionalComputeBatch]: starting emotional compute in batch: {}", messages.size());
+        final String jsonToSend = JsonCodec.write(EmotionalBatchOpenaiRqDto.builder()
+                .messages(IntStream.range(0, messages.size())
+                        .mapToObj(i -> EmotionalBatchOpenaiRqDto.Message.builder()
+                                .id(i)
+                                .message(messages.get(i))
+                                .build())
+                        .toList())
+                .build());
+        return cached(PromptEnum.EMOTIONAL_BATCH, jsonToSend, () -> callEEB(jsonToSend));
+    }
+
     /**
      * {@inheritDoc}
      * @param messages to process.
@@ -138,7 +192,7 @@ public class OpenaiServiceImpl implements OpenAIService {
     @Override
     public Optional<ChatCompletion> clean(final String messages) {
         log.info("[clean]: starting clean message: {}", messages);
-        return callClean(messages);
+        return cached(PromptEnum.CLEAN, messages, () -> callClean(messages));
     }
 
     /**
@@ -151,12 +205,12 @@ public class OpenaiServiceImpl implements OpenAIService {
     @Override
     public Optional<ChatCompletion> getKeyphrases(
             final String emotion, final List<String> messages, final Map<String, Double> emotions) {
-        final String jsonToSend = new Gson().toJson(KeyphraseOpenaiRqDto.builder()
+        final String jsonToSend = JsonCodec.write(KeyphraseOpenaiRqDto.builder()
                         .messages(messages)
                         .emotions(emotions)
                         .emotion(EmotionEnum.valueOf(emotion))
                 .build());
-        return callKeyphrase(jsonToSend);
+        return cached(PromptEnum.KEYPHRASE, jsonToSend, () -> callKeyphrase(jsonToSend));
     }
 
     /**
@@ -177,20 +231,57 @@ public class OpenaiServiceImpl implements OpenAIService {
     @Override
     public Optional<ChatCompletion> getCampaign(final CampaignOpenaiRqDto rq) {
         log.info("[generateCampaign]: starting campaign compute.");
-        return callCampaign(rq);
+        final String jsonToSend = JsonCodec.write(rq);
+        return cached(PromptEnum.CAMPAIGN, jsonToSend, () -> callCampaign(jsonToSend));
+    }
+
+    /**
+     * get the response from the cache or call openai and cache the result,
+     * the requests use temperature 0 so the same input gets the same answer.
+     * concurrent callers with the same input share the lookup and the call in flight.
+     * in record and replay modes the cache and the sharing are skipped, so every request is written to
+     * the recording and every replayed request finds its answer there.
+     * @param prompt system prompt of the request.
+     * @param message user message of the request.
+     * @param call to openai when the response is not cached.
+     * @return {@link Optional} of {@link ChatCompletion}.
+     */
+    private Optional<ChatCompletion> cached(
+            final PromptEnum prompt,
+            final String message,
+            final Supplier<Optional<ChatCompletion>> call) {
+        if (openaiRecorderService.isRecording() || openaiRecorderService.isReplaying()) {
+            return call.get();
+        }
+        final String key = openaiCacheService.getKey(prompt, getModel(), message);
+        return inFlight.execute(key, () -> openaiCacheService.get(key)
+                .map(chat -> {
+                    log.info("[cached]: response got from cache: {}", prompt);
+                    openaiMetrics.cache(prompt, true);
+                    return chat;
+                })
+                .or(() -> {
+                    openaiMetrics.cache(prompt, false);
+                    return call.get().map(chat -> {
+                        openaiCacheService.put(key, prompt, chat);
+                        return chat;
+                    });
+                }));
     }
 
     /**
      * call to OpenAI api.
-     * @param rq data for generate the campaign.
+     * @param rq data for generate the campaign in json format.
      * @return {@link Optional} of {@link ChatCompletion}.
      */
-    private Optional<ChatCompletion> callCampaign(final CampaignOpenaiRqDto rq) {
+    private Optional<ChatCompletion> callCampaign(final String rq) {
         Optional<ChatCompletion> result = Optional.empty();
         try {
-            final ResponseEntity<ChatCompletion> response = getOpenAiInstance()
-                    .chatCompletionEntity(getCampaignChatRq(new Gson().toJson(rq)));
+            final ResponseEntity<ChatCompletion> response = execute(PromptEnum.CAMPAIGN, getCampaignChatRq(rq));
             result = mapResult(response);
+        } catch (ServiceUnavailableException | TooManyRequestsException e) {
+            log.error("[callCampaign]: OpenAI unavailable or rate limited: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("[callCampaign]: Error getting response from OpenAI: {}", e.getMessage());
         }
@@ -198,6 +289,26 @@ public class OpenaiServiceImpl implements OpenAIService {
         return result;
     }
 
+    /**
+     * call to OpenAI api.
+     * @param messages to estimate in json format.
+     * @return {@link Optional} of {@link ChatCompletion}.
+     */
+    private Optional<ChatCompletion> callEEB(final String messages) {
+        Optional<ChatCompletion> result = Optional.empty();
+        try {
+            final ResponseEntity<ChatCompletion> response = execute(PromptEnum.EMOTIONAL_BATCH, getEmotionalBatchChatRq(messages));
+            result = mapResult(response);
+        } catch (ServiceUnavailableException | TooManyRequestsException e) {
+            log.error("[callEEB]: OpenAI unavailable or rate limited: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("[callEEB]: Error getting response from OpenAI: {}", e.getMessage());
+        }
+
+        return result;
+    }
+
     /**
      * call to OpenAI api.
      * @param messages to estimate.
@@ -206,9 +317,11 @@ public class OpenaiServiceImpl implements OpenAIService {
     private Optional<ChatCompletion> callEEU(final List<String> messages) {
         Optional<ChatCompletion> result = Optional.empty();
         try {
-            final ResponseEntity<ChatCompletion> response = getOpenAiInstance()
-                    .chatCompletionEntity(getEmotionalUniqueChatRq(messages.toString()));
+            final ResponseEntity<ChatCompletion> response = execute(PromptEnum.EMOTIONAL_UNIQUE, getEmotionalUniqueChatRq(messages.toString()));
             result = mapResult(response);
+        } catch (ServiceUnavailableException | TooManyRequestsException e) {
+            log.error("[callEEU]: OpenAI unavailable or rate limited: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("[callEEU]: Error getting response from OpenAI: {}", e.getMessage());
         }
@@ -224,9 +337,11 @@ public class OpenaiServiceImpl implements OpenAIService {
     private Optional<ChatCompletion> callClean(final String message) {
         Optional<ChatCompletion> result = Optional.empty();
         try {
-            final ResponseEntity<ChatCompletion> response = getOpenAiInstance()
-                    .chatCompletionEntity(getCleanChatRequest(message));
+            final ResponseEntity<ChatCompletion> response = execute(PromptEnum.CLEAN, getCleanChatRequest(message));
             result = mapResult(response);
+        } catch (ServiceUnavailableException | TooManyRequestsException e) {
+            log.error("[callClean]: OpenAI unavailable or rate limited: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("[callClean]: Error getting response from OpenAI: {}", e.getMessage());
         }
@@ -242,9 +357,11 @@ public class OpenaiServiceImpl implements OpenAIService {
     private Optional<ChatCompletion> callKeyphrase(final String message) {
         Optional<ChatCompletion> result = Optional.empty();
         try {
-            final ResponseEntity<ChatCompletion> response = getOpenAiInstance()
-                    .chatCompletionEntity(getKeyphraseChatRequest(message));
+            final ResponseEntity<ChatCompletion> response = execute(PromptEnum.KEYPHRASE, getKeyphraseChatRequest(message));
             result = mapResult(response);
+        } catch (ServiceUnavailableException | TooManyRequestsException e) {
+            log.error("[callKeyphrase]: OpenAI unavailable or rate limited: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("[callKeyphrase]: Error getting response from OpenAI: {}", e.getMessage());
         }
@@ -260,9 +377,11 @@ public class OpenaiServiceImpl implements OpenAIService {
     private Optional<ChatCompletion> callEE(final String message) {
         Optional<ChatCompletion> result = Optional.empty();
         try {
-            final ResponseEntity<ChatCompletion> response = getOpenAiInstance()
-                    .chatCompletionEntity(getChatRequest(message));
+            final ResponseEntity<ChatCompletion> response = execute(PromptEnum.EMOTIONAL, getChatRequest(message));
             result = mapResult(response);
+        } catch (ServiceUnavailableException | TooManyRequestsException e) {
+            log.error("[callEE]: OpenAI unavailable or rate limited: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("[callEE]: Error getting response from OpenAI: {}", e.getMessage());
         }
@@ -271,11 +390,35 @@ public class OpenaiServiceImpl implements OpenAIService {
     }
 
     /**
-     * get the OpenApi instance.
+     * execute a request through the scheduler, it waits for the openai rate limits.
+     * the transient errors are retried with the scheduler again, unless the breaker of the model is open,
+     * and the calls in flight are bounded by an adaptive limit. once the call holds its turn and its permit,
+     * a slow call of a hedged prompt is duplicated when the rate limits and the limit have room for one more call,
+     * the duplicate is charged to them like any other call but it never queues.
+     * in replay mode the recorded response is served without calling openai.
+     * @param prompt type of the request, used in the metrics.
+     * @param rq request to send.
+     * @return {@link ResponseEntity} of {@link ChatCompletion}.
+     */
+    private ResponseEntity<ChatCompletion> execute(final PromptEnum prompt, final ChatCompletionRequest rq) {
+        return openaiMetrics.record(prompt, rq.model(), () -> {
+            if (openaiRecorderService.isReplaying()) {
+                return ServerTiming.time(TimingPhaseEnum.OPENAI, () -> openaiRecorderService.replay(rq));
+            }
+            final Supplier<ResponseEntity<ChatCompletion>> call = () ->
+                    ServerTiming.time(TimingPhaseEnum.OPENAI, () -> openaiRecorderService.record(rq, () ->
+                            getOpenAiInstance().chatCompletionEntity(rq)));
+            return openaiResilienceService.execute(rq.model(), () -> openaiSchedulerService.submit(rq, () ->
+                    openaiHedgingService.execute(prompt, call, () -> openaiSchedulerService.duplicate(rq, call))));
+        });
+    }
+
+    /**
+     * get the shared OpenApi instance, it reuses the pooled connections to openai.
      * @return {@link OpenAiApi}
      */
     private OpenAiApi getOpenAiInstance() {
-        return new OpenAiApi(OPENAI_APIKEY);
+        return openAiApi;
     }
 
     /**
@@ -304,6 +447,18 @@ public class OpenaiServiceImpl implements OpenAIService {
         return getChatRequest(getEmotionalMessages(message), model, temperature, responseFormat);
     }
 
+    /**
+     * method to create the request to emotional batch compute.
+     * @param message from the user with the messages to estimate.
+     * @return {@link ChatCompletionRequest}
+     */
+    private ChatCompletionRequest getEmotionalBatchChatRq(final String message) {
+        final String model = getModel();
+        final Float temperature = 0.0f;
+        final ResponseFormat responseFormat = new ResponseFormat(JSOM_FORMAT_OPENAI);
+        return getChatRequest(getEmotionalBatchMessages(message), model, temperature, responseFormat);
+    }
+
     /**
      * method to create the request to emotional unique compute.
      * @param message from the user to get the emotional estimation.
@@ -433,7 +588,7 @@ public class OpenaiServiceImpl implements OpenAIService {
     private List<ChatCompletionMessage> getEmotionalMessages(final String message){
         List<ChatCompletionMessage> messages = new ArrayList<>();
         try {
-            messages = List.of(getSysMessEmotional(), getUserMessage(message));
+            messages = List.of(getSysMessage(PromptEnum.EMOTIONAL), getUserMessage(message));
         } catch (Exception e) {
             log.error("[getEmotionalMessages]: Error getting messages to call open ai: {}, {}", message, e.getMessage());
         }
@@ -441,6 +596,22 @@ public class OpenaiServiceImpl implements OpenAIService {
         return messages;
     }
 
+    /**
+     * method to get the message from emotional batch to send to openai.
+     * @param message to create as user message.
+     * @return {@link List} of {@link ChatCompletionMessage}.
+     */
+    private List<ChatCompletionMessage> getEmotionalBatchMessages(final String message){
+        List<ChatCompletionMessage> messages = new ArrayList<>();
+        try {
+            messages = List.of(getSysMessage(PromptEnum.EMOTIONAL_BATCH), getUserMessage(message));
+        } catch (Exception e) {
+            log.error("[getEmotionalBatchMessages]: Error getting messages to call open ai: {}, {}", message, e.getMessage());
+        }
+
+        return messages;
+    }
+
     /**
      * method to get the message from emotional unique to send to openai.
      * @param message to create as user message.
@@ -449,7 +620,7 @@ public class OpenaiServiceImpl implements OpenAIService {
     private List<ChatCompletionMessage> getEmotionalUniqueMessages(final String message){
         List<ChatCompletionMessage> messages = new ArrayList<>();
         try {
-            messages = List.of(getSysMessEmotionalUnique(), getUserMessage(message));
+            messages = List.of(getSysMessage(PromptEnum.EMOTIONAL_UNIQUE), getUserMessage(message));
         } catch (Exception e) {
             log.error("[getEmotionalUniqueMessages]: Error getting messages to call open ai: {}, {}", message, e.getMessage());
         }
@@ -465,7 +636,7 @@ public class OpenaiServiceImpl implements OpenAIService {
     private List<ChatCompletionMessage> getCampaignMessages(final String message){
         List<ChatCompletionMessage> messages = new ArrayList<>();
         try {
-            messages = List.of(getSysMessCampaign(), getUserMessage(message));
+            messages = List.of(getSysMessage(PromptEnum.CAMPAIGN), getUserMessage(message));
         } catch (Exception e) {
             log.error("[getCampaignMessages]: Error getting messages to call open ai: {}, {}", message, e.getMessage());
         }
@@ -481,7 +652,7 @@ public class OpenaiServiceImpl implements OpenAIService {
     private List<ChatCompletionMessage> getCleanMessages(final String message){
         List<ChatCompletionMessage> messages = List.of();
         try {
-            messages = List.of(getSysMessClean(), getUserMessage(message));
+            messages = List.of(getSysMessage(PromptEnum.CLEAN), getUserMessage(message));
         } catch (Exception e) {
             log.error("[getCleanMessages]: Error getting messages to call open ai: {}, {}", message, e.getMessage());
         }
@@ -496,7 +667,7 @@ public class OpenaiServiceImpl implements OpenAIService {
     private List<ChatCompletionMessage> getKeyphraseMessages(final String message){
         List<ChatCompletionMessage> messages = new ArrayList<>();
         try {
-            messages = List.of(getSysMessKeyphrase(), getUserMessage(message));
+            messages = List.of(getSysMessage(PromptEnum.KEYPHRASE), getUserMessage(message));
         } catch (Exception e) {
             log.error("[getKeyphraseMessages]: Error getting messages to call open ai: {}, {}", message, e.getMessage());
         }
@@ -513,64 +684,21 @@ public class OpenaiServiceImpl implements OpenAIService {
     }
 
     /**
-     * method to get the system message in {@link ChatCompletionMessage} format to emotional compute.
+     * method to get the system message in {@link ChatCompletionMessage} format, already loaded in memory.
+     * @param prompt system prompt to get.
      * @return {@link ChatCompletionMessage}.
      */
-    private ChatCompletionMessage getSysMessEmotional() {
-        return getPrompt(promptEmotional)
-                .map(campaign -> new ChatCompletionMessage(campaign, Role.SYSTEM))
-                .orElseGet(() -> {
-                    log.error("[getSysMessEmotional]: error getting system message for emotional estimation.");
-                    throw InternalServerException.builder()
-                            .message("error getting system message for emotional estimation.")
-                            .endpoint("/emotional/compute/")
+    private ChatCompletionMessage getSysMessage(final PromptEnum prompt) {
+        return Optional.ofNullable(promptService.getSystemMessage(prompt))
+                .orElseThrow(() -> {
+                    log.error("[getSysMessage]: error getting system message for: {}", prompt);
+                    return InternalServerException.builder()
+                            .message("error getting system message for: " + prompt)
+                            .endpoint(prompt.getEndpoint())
                             .build();
                 });
     }
 
-    /**
-     * method to get the system message in {@link ChatCompletionMessage} format to emotional unique compute.
-     * @return {@link ChatCompletionMessage}.
-     */
-    private ChatCompletionMessage getSysMessEmotionalUnique(){
-        return getPrompt(promptEmotionalUnique)
-                .map(campaign -> new ChatCompletionMessage(campaign, Role.SYSTEM))
-                .orElseGet(() -> {
-                    log.error("[getSysMessEmotionalUnique]: error getting system message for emotional unique estimation.");
-                    throw InternalServerException.builder()
-                            .message("error getting system message for emotional unique estimation.")
-                            .endpoint("/emotional/compute/unique/")
-                            .build();
-                });
-    }
-
-    /**
-     * method to get the system message in {@link ChatCompletionMessage} format to campaign compute.
-     * @return {@link ChatCompletionMessage}.
-     */
-    private ChatCompletionMessage getSysMessCampaign() {
-        return getPrompt(promptCampaign)
-                        .map(campaign -> new ChatCompletionMessage(campaign, Role.SYSTEM))
-                        .orElseGet(() -> {
-                            log.error("[getSysMessCampaign]: error getting system message for campaign");
-                            throw InternalServerException.builder()
-                                    .message("error getting system message for campaign")
-                                    .endpoint("/campaign/compute/")
-                                    .build();
-                        });
-    }
-
-    private Optional<String> getPrompt(final Resource resource) {
-        Optional<String> campaignPrompt = Optional.empty();
-        try {
-            final String prompt = resource.getContentAsString(StandardCharsets.UTF_8);
-            campaignPrompt = Validator.isValidString(prompt) ? Optional.of(prompt) : Optional.empty();
-        } catch (IOException e) {
-            log.error("[getPrompt]: error getting prompt: {}", e.getMessage());
-        }
-        return campaignPrompt;
-    }
-
     /**
      * decouple method to get the openai model.
      * @return {@link String} with model name.
@@ -579,36 +707,4 @@ public class OpenaiServiceImpl implements OpenAIService {
         return OPENAI_MODEL;
     }
 
-    /**
-     * method to get the system message in {@link ChatCompletionMessage} format to clean.
-     * @return {@link ChatCompletionMessage}.
-     */
-    private ChatCompletionMessage getSysMessClean(){
-        return getPrompt(promptClean)
-                .map(campaign -> new ChatCompletionMessage(campaign, Role.SYSTEM))
-                .orElseGet(() -> {
-                    log.error("[getSysMessClean]: error getting system message for clean");
-                    throw InternalServerException.builder()
-                            .message("error getting system message for clean.")
-                            .endpoint("/clean/compute/")
-                            .build();
-                });
-    }
-
-    /**
-     * method to get the system message in {@link ChatCompletionMessage} format to clean.
-     * @return {@link ChatCompletionMessage}.
-     */
-    private ChatCompletionMessage getSysMessKeyphrase(){
-        return getPrompt(promptKeyphrase)
-                .map(campaign -> new ChatCompletionMessage(campaign, Role.SYSTEM))
-                .orElseGet(() -> {
-                    log.error("[getSysMessKeyphrase]: error getting system message for keyphrases");
-                    throw InternalServerException.builder()
-                            .message("error getting system message for keyphrases.")
-                            .endpoint("/keyphrase/compute/")
-                            .build();
-                });
-    }
-
 }
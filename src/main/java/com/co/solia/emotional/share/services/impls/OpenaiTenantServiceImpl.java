@@ -0,0 +1,187 @@
+package com.co.solia.emotional.share.services.impls;
+
+import com.co.solia.emotional.customer.models.daos.CustomerDao;
+import com.co.solia.emotional.customer.models.repos.CustomerRepo;
+import com.co.solia.emotional.plan.models.daos.PlanDao;
+import com.co.solia.emotional.plan.models.repos.PlanRepo;
+import com.co.solia.emotional.share.models.exceptions.ForbiddenException;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.services.services.OpenaiTenantService;
+import com.co.solia.emotional.share.utils.hashes.Hasher;
+import com.co.solia.emotional.share.utils.validators.Validator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * implementation of {@link OpenaiTenantService}, the weight of a tenant grows with the campaigns by month
+ * of its plan. the weights are kept in heap, also the ones of the tenants without plan, so the queues of
+ * openai do not go to the db on every call. the tenant of a request is the customer of its api key, the keys are
+ * kept in heap by their hash, also the unknown ones.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Service
+public class OpenaiTenantServiceImpl implements OpenaiTenantService {
+
+    /**
+     * weight of the tenants without an active plan.
+     */
+    private final double defaultWeight;
+
+    /**
+     * campaigns by month of a plan that give a weight of 1.
+     */
+    private final double campaignsPerWeightUnit;
+
+    /**
+     * weight by tenant.
+     */
+    private final Cache<UUID, Double> weights;
+
+    /**
+     * tenant by hash of api key, empty for the unknown keys.
+     */
+    private final Cache<String, Optional<UUID>> keys;
+
+    /**
+     * dependency on {@link CustomerRepo} to get the plan of the tenant.
+     */
+    private final CustomerRepo customerRepo;
+
+    /**
+     * dependency on {@link PlanRepo} to get the campaigns of the plan.
+     */
+    private final PlanRepo planRepo;
+
+    /**
+     * default constructor.
+     * @param defaultWeight weight of the tenants without an active plan, it must be positive.
+     * @param campaignsPerWeightUnit campaigns by month of a plan that give a weight of 1.
+     * @param maxSize max amount of tenants and of api keys in heap.
+     * @param ttlMinutes minutes to keep the weight and the api key of a tenant.
+     * @param customerRepo repository of the customers.
+     * @param planRepo repository of the plans.
+     * @param registry registry of the cache metrics.
+     */
+    @Autowired
+    public OpenaiTenantServiceImpl(
+            @Value("${solia.emotional.openai.tenants.default-weight}") final double defaultWeight,
+            @Value("${solia.emotional.openai.tenants.campaigns-per-weight-unit}") final double campaignsPerWeightUnit,
+            @Value("${solia.emotional.openai.tenants.cache.max-size}") final long maxSize,
+            @Value("${solia.emotional.openai.tenants.cache.ttl-minutes}") final long ttlMinutes,
+            final CustomerRepo customerRepo,
+            final PlanRepo planRepo,
+            final MeterRegistry registry) {
+        if (!(defaultWeight > 0)) {
+            throw new IllegalArgumentException("the default weight of the tenants must be positive: " + defaultWeight);
+        }
+        this.defaultWeight = defaultWeight;
+        this.campaignsPerWeightUnit = Math.max(campaignsPerWeightUnit, 1);
+        this.customerRepo = customerRepo;
+        this.planRepo = planRepo;
+        this.weights = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, weights, "openai-tenants");
+        CaffeineCacheMetrics.monitor(registry, keys, "openai-tenant-keys");
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param userId tenant of the calls, null when the caller has none.
+     * @return
+     */
+    @Override
+    public double getWeight(final UUID userId) {
+        return userId != null ? weights.get(userId, this::findWeight) : defaultWeight;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param apiKey sent by the caller in the header x-api-key, null or empty for the callers without one.
+     * @param endpoint called, used in the errors.
+     * @return identifier of the customer of the key, null for the callers without a key.
+     */
+    @Override
+    public UUID getTenant(final String apiKey, final String endpoint) {
+        if (!Validator.isValidString(apiKey)) {
+            return null;
+        }
+        return keys.get(Hasher.sha256(apiKey), this::findTenant).orElseThrow(() -> {
+            log.warn("[getTenant]: unknown api key in the endpoint: {}", endpoint);
+            return ForbiddenException.builder()
+                    .message("invalid api key.")
+                    .endpoint(endpoint)
+                    .build();
+        });
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param userId tenant of the calls.
+     */
+    @Override
+    public void evict(final UUID userId) {
+        weights.invalidate(userId);
+        keys.asMap().values().removeIf(tenant -> tenant.filter(userId::equals).isPresent());
+    }
+
+    /**
+     * find the active customer of an api key, a failure of the db is not kept so the key is checked again.
+     * @param apiKeyHash sha-256 of the api key.
+     * @return {@link Optional} of the customer identifier, empty when no active customer has the key.
+     */
+    private Optional<UUID> findTenant(final String apiKeyHash) {
+        try {
+            return customerRepo.findByApiKeyHash(apiKeyHash)
+                    .filter(customer -> Boolean.TRUE.equals(customer.getActive()))
+                    .map(CustomerDao::getId);
+        } catch (Exception e) {
+            log.error("[findTenant]: error finding the customer of an api key, error: {}", e.getMessage());
+            throw InternalServerException.builder()
+                    .message("error checking the api key.")
+                    .endpoint("/")
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    /**
+     * find the weight of a tenant by the active plan of the customer.
+     * @param userId tenant of the calls.
+     * @return weight of the tenant, the default one when it has no active plan.
+     */
+    private double findWeight(final UUID userId) {
+        double weight = defaultWeight;
+        try {
+            weight = customerRepo.findById(userId)
+                    .map(CustomerDao::getPlanId)
+                    .flatMap(planRepo::findById)
+                    .filter(plan -> Boolean.TRUE.equals(plan.getActive()))
+                    .map(PlanDao::getCamsByMonth)
+                    .map(cams -> Math.max(defaultWeight, cams / campaignsPerWeightUnit))
+                    .orElse(defaultWeight);
+        } catch (Exception e) {
+            log.error("[findWeight]: error getting the plan of the tenant: {}, error: {}", userId, e.getMessage());
+        }
+        return weight;
+    }
+}
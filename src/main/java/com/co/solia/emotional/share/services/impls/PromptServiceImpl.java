@@ -0,0 +1,214 @@
+package com.co.solia.emotional.share.services.impls;
+
+import com.co.solia.emotional.share.models.dtos.internal.PromptDto;
+import com.co.solia.emotional.share.models.enums.PromptEnum;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.services.services.PromptService;
+import com.co.solia.emotional.share.utils.hashes.Hasher;
+import com.co.solia.emotional.share.utils.tokens.TokenEstimator;
+import com.co.solia.emotional.share.utils.validators.Validator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * implementation of {@link PromptService}, the prompts are read once and kept as immutable messages.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Service
+public class PromptServiceImpl implements PromptService {
+
+    /**
+     * location of the templates, classpath or file system.
+     */
+    private final String location;
+
+    /**
+     * loader of the templates.
+     */
+    private final ResourceLoader resourceLoader;
+
+    /**
+     * the current system messages, replaced as a whole on reload.
+     */
+    private final AtomicReference<Map<PromptEnum, PromptDto>> prompts = new AtomicReference<>();
+
+    /**
+     * watcher of the templates directory, only when the watch is enabled.
+     */
+    private WatchService watcher;
+
+    /**
+     * constructor that loads and validates all prompts.
+     * @param location of the templates.
+     * @param watch enable the reload when a template file changes.
+     * @param resourceLoader loader of the templates.
+     */
+    @Autowired
+    public PromptServiceImpl(
+            @Value("${solia.emotional.prompts.location}") final String location,
+            @Value("${solia.emotional.prompts.watch}") final boolean watch,
+            final ResourceLoader resourceLoader) {
+        this.location = location;
+        this.resourceLoader = resourceLoader;
+        this.prompts.set(loadPrompts().orElseThrow(() -> InternalServerException.builder()
+                .message("error loading the system prompts from: " + location)
+                .endpoint("/")
+                .build()));
+        log.info("[PromptServiceImpl]: system prompts loaded from: {}", location);
+        if (watch) {
+            startWatcher();
+        }
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param prompt to get.
+     * @return
+     */
+    @Override
+    public ChatCompletionMessage getSystemMessage(final PromptEnum prompt) {
+        return prompts.get().get(prompt).message();
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param prompt to get the version.
+     * @return
+     */
+    @Override
+    public String getVersion(final PromptEnum prompt) {
+        return prompts.get().get(prompt).version();
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param prompt to get the tokens.
+     * @return
+     */
+    @Override
+    public int getTokens(final PromptEnum prompt) {
+        return prompts.get().get(prompt).tokens();
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @return
+     */
+    @Override
+    public Boolean reload() {
+        return loadPrompts().map(loaded -> {
+            prompts.set(loaded);
+            log.info("[reload]: system prompts reloaded from: {}", location);
+            return Boolean.TRUE;
+        }).orElseGet(() -> {
+            log.error("[reload]: invalid system prompts in: {}, keeping the current ones.", location);
+            return Boolean.FALSE;
+        });
+    }
+
+    /**
+     * load all prompts.
+     * @return {@link Optional} of {@link Map} with all prompts, empty if any prompt is invalid.
+     */
+    private Optional<Map<PromptEnum, PromptDto>> loadPrompts() {
+        final Map<PromptEnum, PromptDto> loaded = new EnumMap<>(PromptEnum.class);
+        for (PromptEnum prompt : PromptEnum.values()) {
+            final Optional<String> content = getPrompt(prompt);
+            if (content.isEmpty()) {
+                return Optional.empty();
+            }
+            loaded.put(prompt, PromptDto.builder()
+                    .message(new ChatCompletionMessage(content.get(), Role.SYSTEM))
+                    .version(Hasher.sha256(content.get()).substring(0, 12))
+                    .tokens(TokenEstimator.ofMessage(content.get()))
+                    .build());
+        }
+        return Optional.of(Map.copyOf(loaded));
+    }
+
+    /**
+     * read the template of a prompt.
+     * @param prompt to read.
+     * @return {@link Optional} of {@link String} with the prompt.
+     */
+    private Optional<String> getPrompt(final PromptEnum prompt) {
+        Optional<String> result = Optional.empty();
+        try {
+            final String content = resourceLoader.getResource(location + prompt.getTemplate())
+                    .getContentAsString(StandardCharsets.UTF_8);
+            result = Validator.isValidString(content) ? Optional.of(content) : Optional.empty();
+        } catch (IOException e) {
+            log.error("[getPrompt]: error getting prompt: {}, error: {}", prompt, e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * start the watcher of the templates directory, only works for file system locations.
+     */
+    private void startWatcher() {
+        try {
+            final Path directory = resourceLoader.getResource(location).getFile().toPath();
+            watcher = FileSystems.getDefault().newWatchService();
+            directory.register(watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            Thread.ofPlatform().daemon().name("prompt-watcher").start(this::watch);
+            log.info("[startWatcher]: watching system prompts in: {}", directory);
+        } catch (Exception e) {
+            log.error("[startWatcher]: the prompts location can not be watched: {}, error: {}", location, e.getMessage());
+        }
+    }
+
+    /**
+     * wait for changes in the templates and reload them.
+     */
+    private void watch() {
+        try {
+            WatchKey key;
+            while ((key = watcher.take()) != null) {
+                if (!key.pollEvents().isEmpty()) {
+                    reload();
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.info("[watch]: prompts watcher stopped.");
+        }
+    }
+
+    /**
+     * stop the watcher.
+     */
+    @PreDestroy
+    public void stopWatcher() {
+        try {
+            if (watcher != null) {
+                watcher.close();
+            }
+        } catch (IOException e) {
+            log.error("[stopWatcher]: error closing the prompts watcher: {}", e.getMessage());
+        }
+    }
+}
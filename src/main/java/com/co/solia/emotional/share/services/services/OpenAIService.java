@@ -25,6 +25,13 @@ public interface OpenAIService {
      */
     Optional<ChatCompletion> emotionalCompute(String message);
 
+    /**
+     * emotional compute of several messages in one request, one estimation by message.
+     * @param messages to compute.
+     * @return {@link Optional} of {@link ChatCompletion}.
+     */
+    Optional<ChatCompletion> emotionalComputeBatch(List<String> messages);
+
     /**
      * emotional compute for unique estimation in messages.
      * @param messages to process.
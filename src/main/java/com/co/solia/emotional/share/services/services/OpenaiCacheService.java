@@ -0,0 +1,38 @@
+package com.co.solia.emotional.share.services.services;
+
+import com.co.solia.emotional.share.models.enums.PromptEnum;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+
+import java.util.Optional;
+
+/**
+ * cache of the deterministic responses from openai.
+ *
+ * @author luis.bolivar.
+ */
+public interface OpenaiCacheService {
+
+    /**
+     * get the key of a request, a hash of model, prompt version and normalized message.
+     * @param prompt system prompt of the request.
+     * @param model model of the request.
+     * @param message user message of the request.
+     * @return {@link String} with the key.
+     */
+    String getKey(PromptEnum prompt, String model, String message);
+
+    /**
+     * get a response from the cache.
+     * @param key of the request.
+     * @return {@link Optional} of {@link ChatCompletion}.
+     */
+    Optional<ChatCompletion> get(String key);
+
+    /**
+     * save a response in the cache.
+     * @param key of the request.
+     * @param prompt system prompt of the request.
+     * @param chat response from openai.
+     */
+    void put(String key, PromptEnum prompt, ChatCompletion chat);
+}
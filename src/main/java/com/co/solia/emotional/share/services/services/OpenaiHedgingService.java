@@ -0,0 +1,31 @@
+package com.co.solia.emotional.share.services.services;
+
+import com.co.solia.emotional.share.models.enums.PromptEnum;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * hedging of the calls to openai, a slow call is duplicated and the first response wins.
+ *
+ * @author luis.bolivar.
+ */
+public interface OpenaiHedgingService {
+
+    /**
+     * execute the call, sending a duplicate when it is slower than the usual latency of the prompt.
+     * the prompts not hedged and the calls outside the interactive lane are executed once as they are.
+     * the call must already hold its rate limits and its permit, so only the call to openai is timed. the duplicate
+     * takes its own rate limits and permit, and it is not sent when they are not available.
+     * @param prompt type of the call.
+     * @param call to openai.
+     * @param duplicate of the call, empty when there is no capacity to send it.
+     * @return {@link ResponseEntity} of {@link ChatCompletion} of the call that finished first.
+     */
+    ResponseEntity<ChatCompletion> execute(
+            PromptEnum prompt,
+            Supplier<ResponseEntity<ChatCompletion>> call,
+            Supplier<Optional<ResponseEntity<ChatCompletion>>> duplicate);
+}
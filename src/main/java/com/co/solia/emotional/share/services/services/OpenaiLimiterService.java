@@ -0,0 +1,38 @@
+package com.co.solia.emotional.share.services.services;
+
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * adaptive concurrency limit of the calls to openai, by lane of the caller.
+ * the limiter does not queue the callers, they wait for their turn in the {@link OpenaiSchedulerService}.
+ *
+ * @author luis.bolivar.
+ */
+public interface OpenaiLimiterService {
+
+    /**
+     * take a permit of a lane without waiting.
+     * @param lane of the call.
+     * @return true when the permit was taken, it is released by {@link #execute} or {@link #release}.
+     */
+    boolean tryAcquire(OpenaiLaneEnum lane);
+
+    /**
+     * give back a permit not used by a call.
+     * @param lane of the call.
+     */
+    void release(OpenaiLaneEnum lane);
+
+    /**
+     * execute a call holding a permit of its lane and release the permit, the latency and errors of the call
+     * adapt the limit of the lane.
+     * @param lane of the call.
+     * @param call to openai.
+     * @return {@link ResponseEntity} of {@link ChatCompletion}.
+     */
+    ResponseEntity<ChatCompletion> execute(OpenaiLaneEnum lane, Supplier<ResponseEntity<ChatCompletion>> call);
+}
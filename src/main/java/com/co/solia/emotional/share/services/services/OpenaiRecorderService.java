@@ -0,0 +1,43 @@
+package com.co.solia.emotional.share.services.services;
+
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * recorder of the calls to openai, it writes each request and response to a file and serves them back later,
+ * so the same traffic can be replayed offline to compare builds.
+ *
+ * @author luis.bolivar.
+ */
+public interface OpenaiRecorderService {
+
+    /**
+     * the responses are served from the recordings instead of openai.
+     * @return true when the recorder is in replay mode.
+     */
+    boolean isReplaying();
+
+    /**
+     * the calls that reach openai are written to the recordings.
+     * @return true when the recorder is in record mode.
+     */
+    boolean isRecording();
+
+    /**
+     * execute the call and, in record mode, write the request and the response with its latency.
+     * @param rq request to send.
+     * @param call to openai.
+     * @return {@link ResponseEntity} of {@link ChatCompletion}.
+     */
+    ResponseEntity<ChatCompletion> record(ChatCompletionRequest rq, Supplier<ResponseEntity<ChatCompletion>> call);
+
+    /**
+     * serve the response recorded for the request, waiting its recorded latency when configured.
+     * @param rq request to answer.
+     * @return {@link ResponseEntity} of {@link ChatCompletion}.
+     */
+    ResponseEntity<ChatCompletion> replay(ChatCompletionRequest rq);
+}
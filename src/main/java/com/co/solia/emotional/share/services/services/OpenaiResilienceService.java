@@ -0,0 +1,22 @@
+package com.co.solia.emotional.share.services.services;
+
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * resilience of the calls to openai: retries of the transient errors and a circuit breaker by model.
+ *
+ * @author luis.bolivar.
+ */
+public interface OpenaiResilienceService {
+
+    /**
+     * execute the call, retrying the transient errors with backoff while the breaker of the model is closed.
+     * @param model of the call, every model has its own breaker.
+     * @param call to openai, executed once by attempt.
+     * @return {@link ResponseEntity} of {@link ChatCompletion}.
+     */
+    ResponseEntity<ChatCompletion> execute(String model, Supplier<ResponseEntity<ChatCompletion>> call);
+}
@@ -0,0 +1,45 @@
+package com.co.solia.emotional.share.services.services;
+
+import com.co.solia.emotional.share.models.dtos.internal.RateLimitsDto;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * scheduler of the calls to openai, keeps them under the requests and tokens by minute limits.
+ *
+ * @author luis.bolivar.
+ */
+public interface OpenaiSchedulerService {
+
+    /**
+     * wait for the turn of the current caller in its lane and tenant, until a permit of the concurrency limit
+     * and the rate limits are available, and execute the call. a call rejected by the rate limits is queued again.
+     * @param rq request to send, used to estimate the tokens.
+     * @param call to openai.
+     * @return {@link ResponseEntity} of {@link ChatCompletion}.
+     */
+    ResponseEntity<ChatCompletion> submit(ChatCompletionRequest rq, Supplier<ResponseEntity<ChatCompletion>> call);
+
+    /**
+     * execute a duplicate of a call of the current caller, e.g. a hedge, only when a permit of the concurrency limit,
+     * a request and its estimated tokens are available right now and no caller of its lane is waiting.
+     * the duplicate is charged to the rate limits and counted in flight like any other call.
+     * @param rq request to send, used to estimate the tokens.
+     * @param call to openai.
+     * @return {@link Optional} of {@link ResponseEntity} of {@link ChatCompletion}, empty when there is no capacity
+     * for the duplicate.
+     */
+    Optional<ResponseEntity<ChatCompletion>> duplicate(
+            ChatCompletionRequest rq,
+            Supplier<ResponseEntity<ChatCompletion>> call);
+
+    /**
+     * adapt the limits to the ones reported by openai.
+     * @param limits read from a response.
+     */
+    void onRateLimits(RateLimitsDto limits);
+}
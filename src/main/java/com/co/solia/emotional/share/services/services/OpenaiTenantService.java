@@ -0,0 +1,32 @@
+package com.co.solia.emotional.share.services.services;
+
+import java.util.UUID;
+
+/**
+ * share of the openai capacity of every tenant, by the plan of the customer.
+ *
+ * @author luis.bolivar.
+ */
+public interface OpenaiTenantService {
+
+    /**
+     * get the weight of a tenant in the queues of openai.
+     * @param userId tenant of the calls, null when the caller has none.
+     * @return weight of the tenant, the default one when it has no active plan.
+     */
+    double getWeight(UUID userId);
+
+    /**
+     * get the tenant of a caller by its api key, the key is the only proof of the customer of a request.
+     * @param apiKey sent by the caller in the header x-api-key, null or empty for the callers without one.
+     * @param endpoint called, used in the errors.
+     * @return identifier of the customer of the key, null for the callers without a key.
+     */
+    UUID getTenant(String apiKey, String endpoint);
+
+    /**
+     * forget the weight and the api keys kept of a tenant, e.g. when its plan or its key changes.
+     * @param userId tenant of the calls.
+     */
+    void evict(UUID userId);
+}
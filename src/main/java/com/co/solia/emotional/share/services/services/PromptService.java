@@ -0,0 +1,39 @@
+package com.co.solia.emotional.share.services.services;
+
+import com.co.solia.emotional.share.models.enums.PromptEnum;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage;
+
+/**
+ * service to provide the system prompts sent to openai.
+ *
+ * @author luis.bolivar.
+ */
+public interface PromptService {
+
+    /**
+     * get the system message of a prompt, already loaded in memory.
+     * @param prompt to get.
+     * @return {@link ChatCompletionMessage}.
+     */
+    ChatCompletionMessage getSystemMessage(PromptEnum prompt);
+
+    /**
+     * get the version of a prompt, it changes when the prompt content changes.
+     * @param prompt to get the version.
+     * @return {@link String} with the version.
+     */
+    String getVersion(PromptEnum prompt);
+
+    /**
+     * get the estimated tokens of the system message of a prompt, it changes when the prompt is reloaded.
+     * @param prompt to get the tokens.
+     * @return estimated tokens of the system message.
+     */
+    int getTokens(PromptEnum prompt);
+
+    /**
+     * load again all prompts and replace them only when all are valid.
+     * @return {@link Boolean} true when the prompts were replaced.
+     */
+    Boolean reload();
+}
@@ -0,0 +1,198 @@
+package com.co.solia.emotional.share.utils.concurrency;
+
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.utils.limits.OpenaiCallerContext;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * fan-out of blocking tasks on virtual threads, every call runs at most a number of tasks at the same time.
+ * a task running longer than the item timeout is interrupted, and the waiting caller cancels all its tasks
+ * when it is interrupted.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+public class FanOut implements AutoCloseable {
+
+    /**
+     * executor with a virtual thread by task.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * interrupts the tasks running longer than the item timeout.
+     */
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("fanout-watchdog").factory());
+
+    /**
+     * max amount of tasks running at the same time by call.
+     */
+    private final int permits;
+
+    /**
+     * max duration of a task once it is running.
+     */
+    private final Duration itemTimeout;
+
+    /**
+     * tasks interrupted by the item timeout.
+     */
+    private final Counter timeouts;
+
+    /**
+     * default constructor.
+     * @param permits max amount of tasks running at the same time by call.
+     * @param itemTimeout max duration of a task once it is running.
+     * @param registry registry of the metrics.
+     */
+    public FanOut(final int permits, final Duration itemTimeout, final MeterRegistry registry) {
+        this.permits = permits;
+        this.itemTimeout = itemTimeout;
+        this.timeouts = Counter.builder("solia.fanout.timeouts")
+                .description("fan-out tasks interrupted by the item timeout.")
+                .register(registry);
+    }
+
+    /**
+     * apply the task to every item, a failed item gives an empty result.
+     * @param items to process.
+     * @param task to apply.
+     * @param <T> type of the items.
+     * @param <R> type of the results.
+     * @return {@link List} of {@link Optional} results in the same order of the items.
+     */
+    public <T, R> List<Optional<R>> map(final List<T> items, final Function<T, R> task) {
+        final Semaphore semaphore = new Semaphore(permits);
+        final List<Future<R>> futures = new ArrayList<>(items.size());
+        items.forEach(item -> futures.add(executor.submit(
+                ServerTiming.wrap(OpenaiCallerContext.wrap(() -> run(semaphore, () -> task.apply(item)))))));
+        final List<Optional<R>> results = new ArrayList<>(items.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(getResult(future));
+            }
+        } catch (InterruptedException e) {
+            throw cancel(futures, e);
+        }
+        return results;
+    }
+
+    /**
+     * run the task for every item, the first task that fails cancels the others and its error is thrown.
+     * @param items to process.
+     * @param task to run.
+     * @param <T> type of the items.
+     */
+    public <T> void forEach(final List<T> items, final Consumer<T> task) {
+        final Semaphore semaphore = new Semaphore(permits);
+        final CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        final List<Future<Void>> futures = new ArrayList<>(items.size());
+        items.forEach(item -> futures.add(completion.submit(ServerTiming.wrap(OpenaiCallerContext.wrap(() ->
+                run(semaphore, () -> {
+                    task.accept(item);
+                    return null;
+                }))))));
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                completion.take().get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            log.error("[forEach]: task failed, cancelling the others: {}", e.getCause().getMessage());
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            throw cancel(futures, e);
+        }
+    }
+
+    /**
+     * run a task holding a permit, interrupting it when it runs longer than the item timeout.
+     * @param semaphore permits of the call.
+     * @param task to run.
+     * @param <R> type of the result.
+     * @return the result of the task.
+     * @throws Exception when the task fails or it is cancelled waiting for a permit.
+     */
+    private <R> R run(final Semaphore semaphore, final Callable<R> task) throws Exception {
+        semaphore.acquire();
+        final Thread thread = Thread.currentThread();
+        final ScheduledFuture<?> timer = watchdog.schedule(() -> {
+            timeouts.increment();
+            thread.interrupt();
+        }, itemTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            return task.call();
+        } finally {
+            timer.cancel(false);
+            semaphore.release();
+        }
+    }
+
+    /**
+     * wait for the result of a task.
+     * @param future of the task.
+     * @param <R> type of the result.
+     * @return {@link Optional} of the result, empty when the task failed or was cancelled.
+     * @throws InterruptedException when the caller is interrupted.
+     */
+    private static <R> Optional<R> getResult(final Future<R> future) throws InterruptedException {
+        Optional<R> result = Optional.empty();
+        try {
+            result = Optional.ofNullable(future.get());
+        } catch (ExecutionException e) {
+            log.error("[getResult]: task failed: {}", e.getCause().getMessage());
+        } catch (CancellationException e) {
+            log.error("[getResult]: task cancelled.");
+        }
+        return result;
+    }
+
+    /**
+     * cancel all tasks of a call because the caller was interrupted.
+     * @param futures of the tasks.
+     * @param e interruption of the caller.
+     * @return {@link InternalServerException} to throw.
+     */
+    private static InternalServerException cancel(final List<? extends Future<?>> futures, final InterruptedException e) {
+        futures.forEach(future -> future.cancel(true));
+        Thread.currentThread().interrupt();
+        log.error("[cancel]: fan-out interrupted, tasks cancelled: {}", futures.size());
+        return InternalServerException.builder()
+                .message("the batch processing was cancelled.")
+                .endpoint("/")
+                .cause(e)
+                .build();
+    }
+
+    /**
+     * stop the executors.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        watchdog.shutdownNow();
+    }
+}
@@ -0,0 +1,96 @@
+package com.co.solia.emotional.share.utils.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * registry of the calls in flight, concurrent callers with the same key share one call.
+ * @param <K> type of the key.
+ * @param <V> type of the result.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+
+    /**
+     * calls in flight by key.
+     */
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * callers that got the result of a call started by another caller.
+     */
+    private final Counter shared;
+
+    /**
+     * default constructor.
+     * @param name of the registry, used as tag of the metrics.
+     * @param registry registry of the metrics.
+     */
+    public SingleFlight(final String name, final MeterRegistry registry) {
+        this.shared = Counter.builder("solia.singleflight.shared")
+                .tag("name", name)
+                .description("callers that joined a call already in flight.")
+                .register(registry);
+        Gauge.builder("solia.singleflight.inflight", inFlight, Map::size)
+                .tag("name", name)
+                .description("distinct calls in flight.")
+                .register(registry);
+    }
+
+    /**
+     * execute the call or join the one in flight with the same key.
+     * the first caller executes the call in its own thread, the others wait for its result,
+     * whatever the call throws, errors included, releases the key and reaches every caller.
+     * @param key of the call.
+     * @param call to execute.
+     * @return the result of the call.
+     */
+    public V execute(final K key, final Supplier<V> call) {
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> current = inFlight.putIfAbsent(key, flight);
+        if (current != null) {
+            shared.increment();
+            log.info("[execute]: joining the call in flight: {}", key);
+            return join(current);
+        }
+        try {
+            final V result = call.get();
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * wait for a call in flight and rethrow its original exception or error.
+     * @param flight the call in flight.
+     * @return the result of the call.
+     */
+    private V join(final CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.co.solia.emotional.share.utils.concurrency;
+
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.co.solia.emotional.share.utils.limits.OpenaiCallerContext;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * scope of independent subtasks on virtual threads that live only inside the scope, the first failure
+ * cancels the others and is thrown by {@link #join(Duration)}, the same policy of a shutdown on failure.
+ * use it in a try-with-resources block, fork the subtasks, join them and then read their results.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+public class StructuredScope implements AutoCloseable {
+
+    /**
+     * executor with a virtual thread by subtask.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * the subtasks in the order they finish.
+     */
+    private final CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+
+    /**
+     * the subtasks forked.
+     */
+    private final List<Future<Object>> futures = new ArrayList<>();
+
+    /**
+     * endpoint reported when the scope fails.
+     */
+    private final String endpoint;
+
+    /**
+     * default constructor.
+     * @param endpoint reported when the scope fails.
+     */
+    public StructuredScope(final String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * start a subtask.
+     * @param task to run.
+     * @param <T> type of the result.
+     * @return {@link Supplier} of the result, only valid after a successful {@link #join(Duration)}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> fork(final Callable<T> task) {
+        final Future<Object> future = completion.submit(ServerTiming.wrap(OpenaiCallerContext.wrap(task::call)));
+        futures.add(future);
+        return () -> (T) future.resultNow();
+    }
+
+    /**
+     * wait for all subtasks, cancelling the others when one fails or when the deadline is reached.
+     * @param deadline max duration to wait for all subtasks.
+     */
+    public void join(final Duration deadline) {
+        final long end = System.nanoTime() + deadline.toNanos();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                final Future<Object> done = completion.poll(end - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    cancel();
+                    log.error("[join]: deadline reached: {}, subtasks cancelled.", deadline);
+                    throw InternalServerException.builder()
+                            .message("the dependencies took longer than " + deadline.toSeconds() + " seconds.")
+                            .endpoint(endpoint)
+                            .build();
+                }
+                done.get();
+            }
+        } catch (ExecutionException e) {
+            cancel();
+            log.error("[join]: subtask failed, cancelling the others: {}", e.getCause().getMessage());
+            throw e.getCause() instanceof RuntimeException cause ? cause : InternalServerException.builder()
+                    .message(e.getCause().getMessage())
+                    .endpoint(endpoint)
+                    .cause(e.getCause())
+                    .build();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw InternalServerException.builder()
+                    .message("the processing was cancelled.")
+                    .endpoint(endpoint)
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    /**
+     * cancel the subtasks not finished.
+     */
+    private void cancel() {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    /**
+     * cancel the subtasks still running and stop the executor, no subtask outlives the scope.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
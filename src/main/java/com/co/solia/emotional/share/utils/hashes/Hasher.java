@@ -0,0 +1,65 @@
+package com.co.solia.emotional.share.utils.hashes;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * utility class to get content addressed keys.
+ *
+ * @author luis.bolivar.
+ */
+@UtilityClass
+public class Hasher {
+
+    /**
+     * separator between the parts of a key.
+     */
+    private static final char SEPARATOR = '\u001F';
+
+    /**
+     * consecutive whitespaces.
+     */
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    /**
+     * get the sha-256 of the parts in hexadecimal.
+     * @param parts to hash, in order.
+     * @return {@link String} with the hash.
+     */
+    public static String sha256(final String... parts) {
+        final MessageDigest digest = getDigest();
+        for (String part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) SEPARATOR);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * normalize a text before hashing it: unicode composition, trimmed and single spaces.
+     * @param text to normalize.
+     * @return {@link String} normalized.
+     */
+    public static String normalize(final String text) {
+        return text == null ? "" :
+                WHITESPACES.matcher(Normalizer.normalize(text, Normalizer.Form.NFC)).replaceAll(" ").trim();
+    }
+
+    /**
+     * get a new sha-256 digest.
+     * @return {@link MessageDigest}.
+     */
+    private static MessageDigest getDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
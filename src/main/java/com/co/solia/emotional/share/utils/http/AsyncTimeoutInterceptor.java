@@ -0,0 +1,47 @@
+package com.co.solia.emotional.share.utils.http;
+
+import jakarta.servlet.ServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * timeout of the async processing by endpoint, an endpoint that streams for long sets its own timeout
+ * in the request and the others keep the default one of the container.
+ *
+ * @author luis.bolivar.
+ */
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    /**
+     * attribute of the request with the timeout of its async processing.
+     */
+    private static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    /**
+     * set the timeout of the async processing of a request, it must be called by the handler.
+     * @param request of the endpoint.
+     * @param timeout of the async processing.
+     */
+    public static void set(final ServletRequest request, final Duration timeout) {
+        request.setAttribute(TIMEOUT_ATTRIBUTE, timeout);
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param request of the async processing, not started yet.
+     * @param task to run.
+     * @param <T> type of the result.
+     */
+    @Override
+    public <T> void beforeConcurrentHandling(final NativeWebRequest request, final Callable<T> task) {
+        if (request instanceof AsyncWebRequest async
+                && request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout) {
+            async.setTimeout(timeout.toMillis());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.co.solia.emotional.share.utils.http;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * http client of a module, the response is always closed after reading its body.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+public class HttpCaller {
+
+    /**
+     * name of the client.
+     */
+    private final String name;
+
+    /**
+     * client sharing the pool and the dispatcher.
+     */
+    private final OkHttpClient client;
+
+    /**
+     * default constructor.
+     * @param name of the client.
+     * @param client sharing the pool and the dispatcher.
+     */
+    HttpCaller(final String name, final OkHttpClient client) {
+        this.name = name;
+        this.client = client;
+    }
+
+    /**
+     * execute a request and wait for its response in the current thread. the call goes through the shared
+     * dispatcher, so its limits by host and in total apply, a synchronous call of okhttp would skip them.
+     * an interrupted caller cancels the call.
+     * @param request to execute.
+     * @param parser of the body of a successful response.
+     * @param <T> type of the result.
+     * @return {@link Optional} of the result, empty when the call or the parsing failed.
+     */
+    public <T> Optional<T> execute(final Request request, final Function<String, Optional<T>> parser) {
+        final CompletableFuture<Optional<T>> future = enqueue(request, parser);
+        Optional<T> result = Optional.empty();
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            log.error("[execute]: interrupted calling: {}, client: {}", request.url(), name);
+        } catch (Exception e) {
+            log.error("[execute]: error calling: {}, client: {}, error: {}", request.url(), name, e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * enqueue a request in the shared dispatcher, the caller thread does not wait for the response.
+     * the response is closed before the future completes.
+     * @param request to execute.
+     * @param parser of the body of a successful response.
+     * @param <T> type of the result.
+     * @return {@link CompletableFuture} of {@link Optional} of the result, cancelling it cancels the call.
+     */
+    public <T> CompletableFuture<Optional<T>> enqueue(final Request request, final Function<String, Optional<T>> parser) {
+        final Call call = client.newCall(request);
+        final CompletableFuture<Optional<T>> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                Optional<T> result = Optional.empty();
+                try (response) {
+                    result = read(response, parser);
+                } catch (Exception e) {
+                    log.error("[enqueue]: error reading: {}, client: {}, error: {}", request.url(), name, e.getMessage());
+                }
+                future.complete(result);
+            }
+
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                log.error("[enqueue]: error calling: {}, client: {}, error: {}", request.url(), name, e.getMessage());
+                future.complete(Optional.empty());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * read the body of a response.
+     * @param response to read.
+     * @param parser of the body of a successful response.
+     * @param <T> type of the result.
+     * @return {@link Optional} of the result, empty when the response is not successful.
+     * @throws IOException when the body can not be read.
+     */
+    private <T> Optional<T> read(final Response response, final Function<String, Optional<T>> parser) throws IOException {
+        final ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
+            log.error("[read]: unsuccessful response from: {}, client: {}, status: {}",
+                    response.request().url(), name, response.code());
+            return Optional.empty();
+        }
+        return parser.apply(body.string());
+    }
+}
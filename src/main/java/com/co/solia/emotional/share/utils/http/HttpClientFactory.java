@@ -0,0 +1,71 @@
+package com.co.solia.emotional.share.utils.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpMetricsEventListener;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * factory of the http clients between the modules, every client shares the same connection pool and
+ * dispatcher, and records its own metrics.
+ *
+ * @author luis.bolivar.
+ */
+public class HttpClientFactory {
+
+    /**
+     * name of the metrics of the requests.
+     */
+    private static final String REQUESTS_METRIC = "solia.http.client.requests";
+
+    /**
+     * base client with the pool, the dispatcher and the timeouts.
+     */
+    private final OkHttpClient base;
+
+    /**
+     * registry of the metrics by client.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * default constructor.
+     * @param base client with the pool, the dispatcher and the timeouts.
+     * @param registry registry of the metrics.
+     */
+    public HttpClientFactory(final OkHttpClient base, final MeterRegistry registry) {
+        this.base = base;
+        this.registry = registry;
+        final ConnectionPool pool = base.connectionPool();
+        final Dispatcher dispatcher = base.dispatcher();
+        Gauge.builder("solia.http.client.pool.total", pool, ConnectionPool::connectionCount)
+                .description("connections open in the pool between the modules.")
+                .register(registry);
+        Gauge.builder("solia.http.client.pool.idle", pool, ConnectionPool::idleConnectionCount)
+                .description("connections kept alive without a request between the modules.")
+                .register(registry);
+        Gauge.builder("solia.http.client.dispatcher.running", dispatcher, Dispatcher::runningCallsCount)
+                .description("requests between the modules running.")
+                .register(registry);
+        Gauge.builder("solia.http.client.dispatcher.queued", dispatcher, Dispatcher::queuedCallsCount)
+                .description("requests between the modules waiting for the dispatcher limits.")
+                .register(registry);
+    }
+
+    /**
+     * create a client, it shares the pool and the dispatcher of the others.
+     * @param name of the client, tag of its metrics.
+     * @return {@link HttpCaller}.
+     */
+    public HttpCaller create(final String name) {
+        final OkHttpClient client = base.newBuilder()
+                .eventListener(OkHttpMetricsEventListener.builder(registry, REQUESTS_METRIC)
+                        .tags(Tags.of("client", name))
+                        .build())
+                .build();
+        return new HttpCaller(name, client);
+    }
+}
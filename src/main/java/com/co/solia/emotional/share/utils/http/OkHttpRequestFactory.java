@@ -0,0 +1,214 @@
+package com.co.solia.emotional.share.utils.http;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * implementation of {@link ClientHttpRequestFactory} over an {@link OkHttpClient}, it replaces the one of
+ * spring deprecated since 6.1 and keeps the pool and the listeners of the client. the body of a request is
+ * buffered before the call.
+ *
+ * @author luis.bolivar.
+ */
+public class OkHttpRequestFactory implements ClientHttpRequestFactory {
+
+    /**
+     * methods that always send a body.
+     */
+    private static final Set<HttpMethod> WITH_BODY = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH);
+
+    /**
+     * client of the calls.
+     */
+    private final OkHttpClient client;
+
+    /**
+     * default constructor.
+     * @param client of the calls.
+     */
+    public OkHttpRequestFactory(final OkHttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param uri of the request.
+     * @param method of the request.
+     * @return
+     */
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod method) {
+        return new OkHttpRequest(uri, method);
+    }
+
+    /**
+     * request buffered in memory and sent with the client.
+     */
+    private final class OkHttpRequest extends AbstractClientHttpRequest {
+
+        /**
+         * uri of the request.
+         */
+        private final URI uri;
+
+        /**
+         * method of the request.
+         */
+        private final HttpMethod method;
+
+        /**
+         * body of the request.
+         */
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        /**
+         * default constructor.
+         * @param uri of the request.
+         * @param method of the request.
+         */
+        private OkHttpRequest(final URI uri, final HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        /**
+         * {@inheritDoc}.
+         * @return
+         */
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        /**
+         * {@inheritDoc}.
+         * @return
+         */
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        /**
+         * {@inheritDoc}.
+         * @param headers of the request.
+         * @return
+         */
+        @Override
+        protected OutputStream getBodyInternal(final HttpHeaders headers) {
+            return body;
+        }
+
+        /**
+         * {@inheritDoc}.
+         * @param headers of the request.
+         * @return
+         * @throws IOException when the call fails.
+         */
+        @Override
+        protected ClientHttpResponse executeInternal(final HttpHeaders headers) throws IOException {
+            final byte[] content = body.toByteArray();
+            final MediaType type = headers.getContentType() != null
+                    ? MediaType.parse(headers.getContentType().toString())
+                    : null;
+            final RequestBody requestBody = content.length > 0 || WITH_BODY.contains(method)
+                    ? RequestBody.create(content, type)
+                    : null;
+            final Request.Builder request = new Request.Builder()
+                    .url(uri.toURL())
+                    .method(method.name(), requestBody);
+            headers.forEach((name, values) -> values.forEach(value -> request.addHeader(name, value)));
+            return new OkHttpResponse(client.newCall(request.build()).execute());
+        }
+    }
+
+    /**
+     * response of the client, closing it releases the connection.
+     */
+    private static final class OkHttpResponse implements ClientHttpResponse {
+
+        /**
+         * response of the client.
+         */
+        private final Response response;
+
+        /**
+         * headers of the response, read once.
+         */
+        private HttpHeaders headers;
+
+        /**
+         * default constructor.
+         * @param response of the client.
+         */
+        private OkHttpResponse(final Response response) {
+            this.response = response;
+        }
+
+        /**
+         * {@inheritDoc}.
+         * @return
+         */
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(response.code());
+        }
+
+        /**
+         * {@inheritDoc}.
+         * @return
+         */
+        @Override
+        public String getStatusText() {
+            return response.message();
+        }
+
+        /**
+         * {@inheritDoc}.
+         * @return
+         */
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                final HttpHeaders read = new HttpHeaders();
+                response.headers().names().forEach(name -> read.addAll(name, response.headers(name)));
+                headers = HttpHeaders.readOnlyHttpHeaders(read);
+            }
+            return headers;
+        }
+
+        /**
+         * {@inheritDoc}.
+         * @return
+         */
+        @Override
+        public InputStream getBody() {
+            return response.body().byteStream();
+        }
+
+        /**
+         * {@inheritDoc}.
+         */
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
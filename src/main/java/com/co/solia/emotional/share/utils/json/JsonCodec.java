@@ -0,0 +1,150 @@
+package com.co.solia.emotional.share.utils.json;
+
+import com.co.solia.emotional.campaign.models.dtos.dtos.CampaignDto;
+import com.co.solia.emotional.campaign.models.dtos.rq.CampaignOpenaiRqDto;
+import com.co.solia.emotional.campaign.models.dtos.rs.BrandClientRsDto;
+import com.co.solia.emotional.campaign.models.dtos.rs.KeyphraseClientRsDto;
+import com.co.solia.emotional.clean.models.dtos.rq.CleanRqDto;
+import com.co.solia.emotional.emotional.models.dtos.rq.EmotionalBatchOpenaiRqDto;
+import com.co.solia.emotional.emotional.models.dtos.rs.CleanClientRsDto;
+import com.co.solia.emotional.keyphrase.models.dtos.rq.EmotionalClientRqDto;
+import com.co.solia.emotional.keyphrase.models.dtos.rq.KeyphraseOpenaiRqDto;
+import com.co.solia.emotional.share.models.dtos.rs.EmotionalClientRsDto;
+import com.co.solia.emotional.share.models.exceptions.InternalServerException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * json codec shared by the whole application, in the application it uses the mapper of spring boot, so the
+ * {@code spring.jackson} properties and customizers apply to it, outside it uses a mapper with the defaults.
+ * the readers and writers are resolved once by type and reused, they are immutable and thread safe.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@UtilityClass
+public class JsonCodec {
+
+    /**
+     * the current codec, replaced as a whole when the mapper of the application is given.
+     */
+    private static volatile Codec codec = new Codec(Jackson2ObjectMapperBuilder.json().build());
+
+    /**
+     * use a mapper, the readers and writers are resolved again with it.
+     * @param mapper of the application.
+     */
+    public static void use(final ObjectMapper mapper) {
+        codec = new Codec(mapper);
+    }
+
+    /**
+     * get the mapper of the application.
+     * @return {@link ObjectMapper}.
+     */
+    public static ObjectMapper getMapper() {
+        return codec.mapper;
+    }
+
+    /**
+     * read a json.
+     * @param json to read.
+     * @param type of the result.
+     * @param <T> type of the result.
+     * @return {@link Optional} of the result, empty when the json is invalid.
+     */
+    public static <T> Optional<T> read(final String json, final Class<T> type) {
+        Optional<T> result = Optional.empty();
+        try {
+            result = Optional.ofNullable(codec.readers.get(type).readValue(json));
+        } catch (Exception e) {
+            log.error("[read]: error reading json as: {}, error: {}", type.getSimpleName(), e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * read a json as a tree.
+     * @param json to read.
+     * @return {@link Optional} of {@link JsonNode}, empty when the json is invalid.
+     */
+    public static Optional<JsonNode> readTree(final String json) {
+        Optional<JsonNode> result = Optional.empty();
+        try {
+            result = Optional.ofNullable(codec.mapper.readTree(json));
+        } catch (Exception e) {
+            log.error("[readTree]: error reading json: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * write a value as json.
+     * @param value to write.
+     * @return {@link String} with the json.
+     */
+    public static String write(final Object value) {
+        try {
+            return codec.writers.get(value.getClass()).writeValueAsString(value);
+        } catch (Exception e) {
+            log.error("[write]: error writing json: {}, error: {}", value.getClass().getSimpleName(), e.getMessage());
+            throw InternalServerException.builder()
+                    .message("error writing json.")
+                    .endpoint("/")
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    /**
+     * a mapper with its readers and writers by type.
+     */
+    private static final class Codec {
+
+        /**
+         * the mapper.
+         */
+        private final ObjectMapper mapper;
+
+        /**
+         * reader by type, resolved the first time the type is read.
+         */
+        private final ClassValue<ObjectReader> readers = new ClassValue<>() {
+            @Override
+            protected ObjectReader computeValue(final Class<?> type) {
+                return mapper.readerFor(type);
+            }
+        };
+
+        /**
+         * writer by type, resolved the first time the type is written.
+         */
+        private final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+            @Override
+            protected ObjectWriter computeValue(final Class<?> type) {
+                return mapper.writerFor(type);
+            }
+        };
+
+        /**
+         * default constructor, the types of the hot paths are resolved at once.
+         * @param mapper the mapper.
+         */
+        private Codec(final ObjectMapper mapper) {
+            this.mapper = mapper;
+            List.of(ChatCompletion.class, CampaignDto.class, BrandClientRsDto.class, KeyphraseClientRsDto.class,
+                    EmotionalClientRsDto.class, CleanClientRsDto.class).forEach(readers::get);
+            List.of(KeyphraseOpenaiRqDto.class, EmotionalBatchOpenaiRqDto.class, CampaignOpenaiRqDto.class,
+                    EmotionalClientRqDto.class, CleanRqDto.class).forEach(writers::get);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * concurrency limit adapted with aimd: while the latency stays near its average and the limit is in use,
+ * it grows by one for every limit of successful calls. when a call is dropped by the upstream or its
+ * latency goes beyond the tolerance, the limit is cut by a ratio, at most once by round trip.
+ * the limiter does not queue: a caller without a permit is told so, and the order of the callers waiting
+ * for a permit is decided by who asks, e.g. a {@link LaneDispatcher} asking for the turn of its callers.
+ *
+ * @author luis.bolivar.
+ */
+public class AdaptiveLimiter {
+
+    /**
+     * weight of a new latency in its average.
+     */
+    private static final double SMOOTHING = 0.05;
+
+    /**
+     * lock of the state.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * min concurrency limit.
+     */
+    private final int minLimit;
+
+    /**
+     * max concurrency limit.
+     */
+    private final int maxLimit;
+
+    /**
+     * times the average latency a call can take before it cuts the limit.
+     */
+    private final double tolerance;
+
+    /**
+     * ratio kept of the limit when it is cut.
+     */
+    private final double backoffRatio;
+
+    /**
+     * source of the current instant in nanos.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * current limit, the permits are its integer part.
+     */
+    private double limit;
+
+    /**
+     * calls holding a permit.
+     */
+    private int inFlight;
+
+    /**
+     * average latency in nanos, 0 before the first call.
+     */
+    private double average;
+
+    /**
+     * instant in nanos of the last cut.
+     */
+    private long cutAt;
+
+    /**
+     * default constructor.
+     * @param initialLimit starting concurrency limit.
+     * @param minLimit min concurrency limit.
+     * @param maxLimit max concurrency limit.
+     * @param tolerance times the average latency a call can take before it cuts the limit.
+     * @param backoffRatio ratio kept of the limit when it is cut.
+     */
+    public AdaptiveLimiter(
+            final int initialLimit,
+            final int minLimit,
+            final int maxLimit,
+            final double tolerance,
+            final double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, tolerance, backoffRatio, System::nanoTime);
+    }
+
+    /**
+     * constructor with the source of the time.
+     * @param initialLimit starting concurrency limit.
+     * @param minLimit min concurrency limit.
+     * @param maxLimit max concurrency limit.
+     * @param tolerance times the average latency a call can take before it cuts the limit.
+     * @param backoffRatio ratio kept of the limit when it is cut.
+     * @param clock source of the current instant in nanos.
+     */
+    public AdaptiveLimiter(
+            final int initialLimit,
+            final int minLimit,
+            final int maxLimit,
+            final double tolerance,
+            final double backoffRatio,
+            final LongSupplier clock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.clock = clock;
+        this.cutAt = clock.getAsLong();
+    }
+
+    /**
+     * take a permit without waiting.
+     * @return true when the permit was taken, it must be released by one of the outcomes of the call.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * release the permit of a call answered by the upstream.
+     * @param latency of the call in nanos.
+     */
+    public void onSuccess(final long latency) {
+        lock.lock();
+        try {
+            final boolean saturated = inFlight * 2 >= (int) limit;
+            inFlight--;
+            if (average > 0 && latency > average * tolerance) {
+                cut();
+            } else if (saturated) {
+                grow(1 / limit);
+            }
+            average = average > 0 ? average + SMOOTHING * (latency - average) : latency;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * release the permit of a call dropped by the upstream: rate limited, failed or timed out.
+     */
+    public void onDropped() {
+        lock.lock();
+        try {
+            inFlight--;
+            cut();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * release the permit of a call that says nothing about the upstream, e.g. cancelled.
+     */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * get the current limit.
+     * @return the permits of the limit.
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * get the calls holding a permit.
+     * @return amount of calls in flight.
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * grow the limit.
+     * @param amount to add.
+     */
+    private void grow(final double amount) {
+        limit = Math.min(maxLimit, limit + amount);
+    }
+
+    /**
+     * cut the limit by the backoff ratio, once by round trip so a burst of drops counts as one.
+     */
+    private void cut() {
+        final long now = clock.getAsLong();
+        if (now - cutAt >= Math.max(average, TimeUnit.MILLISECONDS.toNanos(1))) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            cutAt = now;
+        }
+    }
+}
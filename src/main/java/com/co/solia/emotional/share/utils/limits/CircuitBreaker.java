@@ -0,0 +1,262 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import com.co.solia.emotional.share.models.enums.CircuitStateEnum;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * circuit breaker over a window of the last calls. it opens when the failure rate of the window reaches
+ * the threshold, rejects the calls while open and then lets a few trial calls pass, they close it when
+ * all succeed or open it again when one fails.
+ *
+ * @author luis.bolivar.
+ */
+public class CircuitBreaker {
+
+    /**
+     * lock of the state of the breaker.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * outcomes of the last calls, true when the call failed.
+     */
+    private final boolean[] window;
+
+    /**
+     * min amount of calls in the window to evaluate the failure rate.
+     */
+    private final int minCalls;
+
+    /**
+     * failure rate in percentage that opens the breaker.
+     */
+    private final int failureRate;
+
+    /**
+     * nanos the breaker stays open.
+     */
+    private final long openNanos;
+
+    /**
+     * trial calls allowed while half open.
+     */
+    private final int halfOpenCalls;
+
+    /**
+     * receiver of the transitions.
+     */
+    private final Consumer<CircuitStateEnum> listener;
+
+    /**
+     * source of the current instant in nanos.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * current state.
+     */
+    private CircuitStateEnum state = CircuitStateEnum.CLOSED;
+
+    /**
+     * next position of the window.
+     */
+    private int next;
+
+    /**
+     * calls in the window.
+     */
+    private int calls;
+
+    /**
+     * failed calls in the window.
+     */
+    private int failures;
+
+    /**
+     * instant in nanos when the breaker was opened.
+     */
+    private long openedAt;
+
+    /**
+     * trial calls given while half open.
+     */
+    private int trials;
+
+    /**
+     * trial calls succeeded while half open.
+     */
+    private int succeeded;
+
+    /**
+     * default constructor, the breaker starts closed.
+     * @param window amount of calls evaluated.
+     * @param minCalls min amount of calls in the window to evaluate the failure rate.
+     * @param failureRate failure rate in percentage that opens the breaker.
+     * @param open duration the breaker stays open.
+     * @param halfOpenCalls trial calls allowed while half open.
+     * @param listener receiver of the transitions.
+     */
+    public CircuitBreaker(
+            final int window,
+            final int minCalls,
+            final int failureRate,
+            final Duration open,
+            final int halfOpenCalls,
+            final Consumer<CircuitStateEnum> listener) {
+        this(window, minCalls, failureRate, open, halfOpenCalls, listener, System::nanoTime);
+    }
+
+    /**
+     * constructor with the source of the time, the breaker starts closed.
+     * @param window amount of calls evaluated.
+     * @param minCalls min amount of calls in the window to evaluate the failure rate.
+     * @param failureRate failure rate in percentage that opens the breaker.
+     * @param open duration the breaker stays open.
+     * @param halfOpenCalls trial calls allowed while half open.
+     * @param listener receiver of the transitions.
+     * @param clock source of the current instant in nanos.
+     */
+    public CircuitBreaker(
+            final int window,
+            final int minCalls,
+            final int failureRate,
+            final Duration open,
+            final int halfOpenCalls,
+            final Consumer<CircuitStateEnum> listener,
+            final LongSupplier clock) {
+        this.window = new boolean[Math.max(1, window)];
+        this.minCalls = Math.max(1, Math.min(minCalls, this.window.length));
+        this.failureRate = failureRate;
+        this.openNanos = open.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.listener = listener;
+        this.clock = clock;
+    }
+
+    /**
+     * ask for a permit to call.
+     * @return nanos to wait until the breaker lets calls pass, 0 when the call is allowed.
+     */
+    public long tryAcquire() {
+        lock.lock();
+        try {
+            if (state == CircuitStateEnum.OPEN) {
+                final long remaining = openedAt + openNanos - clock.getAsLong();
+                if (remaining > 0) {
+                    return remaining;
+                }
+                transition(CircuitStateEnum.HALF_OPEN);
+            }
+            if (state == CircuitStateEnum.HALF_OPEN) {
+                if (trials >= halfOpenCalls) {
+                    return openNanos;
+                }
+                trials++;
+            }
+            return 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * register a successful call.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (state == CircuitStateEnum.HALF_OPEN) {
+                if (++succeeded >= halfOpenCalls) {
+                    transition(CircuitStateEnum.CLOSED);
+                }
+            } else if (state == CircuitStateEnum.CLOSED) {
+                add(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * register a failed call.
+     */
+    public void onFailure() {
+        lock.lock();
+        try {
+            if (state == CircuitStateEnum.HALF_OPEN) {
+                transition(CircuitStateEnum.OPEN);
+            } else if (state == CircuitStateEnum.CLOSED) {
+                add(true);
+                if (calls >= minCalls && failures * 100 >= failureRate * calls) {
+                    transition(CircuitStateEnum.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * give back a permit of a call that neither succeeded nor failed, e.g. rejected by the rate limits.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            if (state == CircuitStateEnum.HALF_OPEN && trials > succeeded) {
+                trials--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * get the current state.
+     * @return {@link CircuitStateEnum}.
+     */
+    public CircuitStateEnum getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * add an outcome to the window, replacing the oldest one.
+     * @param failed true when the call failed.
+     */
+    private void add(final boolean failed) {
+        if (calls == window.length) {
+            failures -= window[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        failures += failed ? 1 : 0;
+        next = (next + 1) % window.length;
+    }
+
+    /**
+     * move to a state and reset the counters of the previous one.
+     * @param target state.
+     */
+    private void transition(final CircuitStateEnum target) {
+        state = target;
+        trials = 0;
+        succeeded = 0;
+        if (target == CircuitStateEnum.OPEN) {
+            openedAt = clock.getAsLong();
+        } else if (target == CircuitStateEnum.CLOSED) {
+            calls = 0;
+            failures = 0;
+            next = 0;
+        }
+        listener.accept(target);
+    }
+}
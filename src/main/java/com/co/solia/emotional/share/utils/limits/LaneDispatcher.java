@@ -0,0 +1,449 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * weighted fair queue of the callers waiting for capacity, one queue by lane. the lanes are served in the
+ * order of their virtual time, that advances by the cost of every call divided by the weight of the lane,
+ * so under contention every lane gets capacity in proportion to its weight. inside a lane every tenant has
+ * its own queue served by deficit round-robin, a tenant earns a quantum by its weight on every round, so one
+ * tenant with many calls can not hold back the others. a lane that can not take capacity yet does not hold
+ * back the other lanes. capacity that is released without a clock, like a permit of concurrency, is announced
+ * with {@link #signal()} so the waiting callers get it in their order. a call that must not wait, like a hedged
+ * duplicate, takes capacity with {@link #tryAcquire} only when no caller of its lane is waiting.
+ *
+ * @author luis.bolivar.
+ */
+public class LaneDispatcher {
+
+    /**
+     * lock of the queues.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * queue by lane.
+     */
+    private final Map<OpenaiLaneEnum, Lane> lanes = new EnumMap<>(OpenaiLaneEnum.class);
+
+    /**
+     * tenant of the callers without one.
+     */
+    private static final UUID ANONYMOUS = new UUID(0, 0);
+
+    /**
+     * min weight of a tenant, so a tenant always earns part of a quantum by round.
+     */
+    private static final double MIN_TENANT_WEIGHT = 0.01;
+
+    /**
+     * virtual time of the last call served.
+     */
+    private double virtualTime;
+
+    /**
+     * cost a tenant of weight 1 can take in a round.
+     */
+    private final double quantum;
+
+    /**
+     * default constructor.
+     * @param weights share of the capacity by lane, a lane without weight gets 1.
+     * @param quantum cost a tenant of weight 1 can take in a round.
+     * @throws IllegalArgumentException when the weight of a lane is not positive.
+     */
+    public LaneDispatcher(final Map<OpenaiLaneEnum, Double> weights, final long quantum) {
+        for (OpenaiLaneEnum lane : OpenaiLaneEnum.values()) {
+            final double weight = weights.getOrDefault(lane, 1.0);
+            if (!(weight > 0)) {
+                throw new IllegalArgumentException("the weight of the lane: " + lane + " must be positive: " + weight);
+            }
+            lanes.put(lane, new Lane(lane, weight));
+        }
+        this.quantum = Math.max(1, quantum);
+    }
+
+    /**
+     * wait for the turn of the caller and take its capacity.
+     * @param lane of the caller.
+     * @param tenant of the caller, null for the callers without one.
+     * @param weight share of the tenant inside the lane, a weight under 0.01 counts as 0.01.
+     * @param cost of the call, used to share the capacity by weight.
+     * @param take tries to take the capacity without waiting, it answers 0 when taken, otherwise the nanos to wait,
+     *             {@link Long#MAX_VALUE} to wait for a {@link #signal()}.
+     * @throws InterruptedException when the caller is interrupted while waiting.
+     */
+    public void acquire(
+            final OpenaiLaneEnum lane,
+            final UUID tenant,
+            final double weight,
+            final long cost,
+            final LongSupplier take) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            final Lane queue = lanes.get(lane);
+            final Waiter waiter = new Waiter(cost, take, lock.newCondition());
+            if (queue.isEmpty()) {
+                queue.virtualTime = Math.max(queue.virtualTime, virtualTime);
+            }
+            queue.add(tenant != null ? tenant : ANONYMOUS, weight, waiter);
+            try {
+                long wait = dispatch();
+                while (!waiter.granted) {
+                    if (queue.peek() == waiter) {
+                        waiter.turn.awaitNanos(wait);
+                    } else {
+                        waiter.turn.await();
+                    }
+                    wait = waiter.granted ? 0 : dispatch();
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                queue.remove(waiter);
+                if (!queue.isEmpty()) {
+                    queue.peek().turn.signal();
+                }
+                dispatch();
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * take capacity without waiting, only when no caller of the lane is waiting so it never jumps the queue.
+     * the cost is charged to the virtual time of the lane like a caller served.
+     * @param lane of the caller.
+     * @param cost of the call, used to share the capacity by weight.
+     * @param take tries to take the capacity without waiting, it answers 0 when taken.
+     * @return true when the capacity was taken.
+     */
+    public boolean tryAcquire(final OpenaiLaneEnum lane, final long cost, final LongSupplier take) {
+        lock.lock();
+        try {
+            final Lane queue = lanes.get(lane);
+            if (!queue.isEmpty() || take.getAsLong() > 0) {
+                return false;
+            }
+            queue.virtualTime = Math.max(queue.virtualTime, virtualTime);
+            virtualTime = queue.virtualTime;
+            queue.virtualTime += cost / queue.weight;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * serve the callers that can take capacity now, called when capacity is released outside the dispatcher.
+     */
+    public void signal() {
+        lock.lock();
+        try {
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * get the callers waiting in a lane.
+     * @param lane to read.
+     * @return amount of callers queued.
+     */
+    public int getQueued(final OpenaiLaneEnum lane) {
+        lock.lock();
+        try {
+            return lanes.get(lane).size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * get the tenants waiting in a lane.
+     * @param lane to read.
+     * @return amount of tenants with callers queued.
+     */
+    public int getTenants(final OpenaiLaneEnum lane) {
+        lock.lock();
+        try {
+            return lanes.get(lane).tenants.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * serve the first caller of the lanes in order of virtual time while one of them can take capacity.
+     * @return nanos until the first caller of a lane could take capacity.
+     */
+    private long dispatch() {
+        boolean served;
+        long wait;
+        do {
+            served = false;
+            wait = Long.MAX_VALUE;
+            for (Lane lane : getBacklogged()) {
+                final Waiter head = lane.peek();
+                final long needed = head.take.getAsLong();
+                if (needed <= 0) {
+                    serve(lane);
+                    served = true;
+                    break;
+                }
+                wait = Math.min(wait, needed);
+            }
+        } while (served);
+        return wait;
+    }
+
+    /**
+     * give the turn to the next caller of a lane and advance the virtual time of the lane by its cost.
+     * @param lane to serve.
+     */
+    private void serve(final Lane lane) {
+        final Waiter head = lane.poll();
+        virtualTime = lane.virtualTime;
+        lane.virtualTime += head.cost / lane.weight;
+        head.granted = true;
+        head.turn.signal();
+        if (!lane.isEmpty()) {
+            lane.peek().turn.signal();
+        }
+    }
+
+    /**
+     * get the lanes with callers in order of virtual time, the ties go to the most sensitive lane.
+     * @return {@link List} of {@link Lane}.
+     */
+    private List<Lane> getBacklogged() {
+        final List<Lane> backlogged = new ArrayList<>(lanes.size());
+        lanes.values().stream()
+                .filter(lane -> !lane.isEmpty())
+                .forEach(backlogged::add);
+        backlogged.sort(Comparator.comparingDouble((Lane lane) -> lane.virtualTime)
+                .thenComparing(lane -> lane.id));
+        return backlogged;
+    }
+
+    /**
+     * queue of a lane, with a queue by tenant served by deficit round-robin.
+     */
+    private final class Lane {
+
+        /**
+         * the lane.
+         */
+        private final OpenaiLaneEnum id;
+
+        /**
+         * share of the capacity.
+         */
+        private final double weight;
+
+        /**
+         * tenants with callers waiting.
+         */
+        private final Map<UUID, Tenant> tenants = new HashMap<>();
+
+        /**
+         * tenants with callers waiting in the order of the round, the first one is being served.
+         */
+        private final Deque<Tenant> round = new ArrayDeque<>();
+
+        /**
+         * callers waiting.
+         */
+        private int size;
+
+        /**
+         * virtual time of the next caller of the lane.
+         */
+        private double virtualTime;
+
+        /**
+         * default constructor.
+         * @param id the lane.
+         * @param weight share of the capacity.
+         */
+        private Lane(final OpenaiLaneEnum id, final double weight) {
+            this.id = id;
+            this.weight = weight;
+        }
+
+        /**
+         * check if no caller is waiting.
+         * @return true when the lane is empty.
+         */
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * add a caller to the queue of its tenant, a new tenant joins the end of the round.
+         * @param key of the tenant.
+         * @param weight of the tenant.
+         * @param waiter to add.
+         */
+        private void add(final UUID key, final double weight, final Waiter waiter) {
+            tenants.computeIfAbsent(key, id -> {
+                final Tenant tenant = new Tenant(id, Math.max(weight, MIN_TENANT_WEIGHT));
+                round.addLast(tenant);
+                return tenant;
+            }).waiters.addLast(waiter);
+            waiter.tenant = key;
+            size++;
+        }
+
+        /**
+         * get the next caller by deficit round-robin: the first tenant of the round earns its quantum once,
+         * and it keeps the turn while its deficit covers the cost of its first caller.
+         * @return {@link Waiter}, null when the lane is empty.
+         */
+        private Waiter peek() {
+            while (!round.isEmpty()) {
+                final Tenant tenant = round.peekFirst();
+                if (!tenant.credited) {
+                    tenant.deficit += quantum * tenant.weight;
+                    tenant.credited = true;
+                }
+                final Waiter head = tenant.waiters.peekFirst();
+                if (head.cost <= tenant.deficit) {
+                    return head;
+                }
+                tenant.credited = false;
+                round.addLast(round.pollFirst());
+            }
+            return null;
+        }
+
+        /**
+         * remove the next caller, charging its cost to the deficit of its tenant.
+         * @return {@link Waiter} removed.
+         */
+        private Waiter poll() {
+            final Waiter head = peek();
+            final Tenant tenant = tenants.get(head.tenant);
+            tenant.deficit -= head.cost;
+            remove(head);
+            return head;
+        }
+
+        /**
+         * remove a caller, a tenant without callers leaves the round and loses its deficit.
+         * @param waiter to remove.
+         */
+        private void remove(final Waiter waiter) {
+            final Tenant tenant = tenants.get(waiter.tenant);
+            if (tenant != null && tenant.waiters.remove(waiter)) {
+                size--;
+                if (tenant.waiters.isEmpty()) {
+                    tenants.remove(tenant.id);
+                    round.remove(tenant);
+                }
+            }
+        }
+    }
+
+    /**
+     * queue of a tenant inside a lane.
+     */
+    private static final class Tenant {
+
+        /**
+         * key of the tenant.
+         */
+        private final UUID id;
+
+        /**
+         * share of the tenant inside the lane.
+         */
+        private final double weight;
+
+        /**
+         * callers waiting in arrival order.
+         */
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+        /**
+         * cost the tenant can still take in the round.
+         */
+        private double deficit;
+
+        /**
+         * the tenant earned its quantum in the current round.
+         */
+        private boolean credited;
+
+        /**
+         * default constructor.
+         * @param id key of the tenant.
+         * @param weight share of the tenant inside the lane.
+         */
+        private Tenant(final UUID id, final double weight) {
+            this.id = id;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * caller waiting for capacity.
+     */
+    private static final class Waiter {
+
+        /**
+         * cost of the call.
+         */
+        private final long cost;
+
+        /**
+         * tries to take the capacity of the call.
+         */
+        private final LongSupplier take;
+
+        /**
+         * signaled when the caller gets its turn or becomes the first of its lane.
+         */
+        private final Condition turn;
+
+        /**
+         * the capacity was taken for the caller.
+         */
+        private boolean granted;
+
+        /**
+         * key of the tenant of the caller.
+         */
+        private UUID tenant;
+
+        /**
+         * default constructor.
+         * @param cost of the call.
+         * @param take tries to take the capacity of the call.
+         * @param turn condition of the caller.
+         */
+        private Waiter(final long cost, final LongSupplier take, final Condition turn) {
+            this.cost = cost;
+            this.take = take;
+            this.turn = turn;
+        }
+    }
+}
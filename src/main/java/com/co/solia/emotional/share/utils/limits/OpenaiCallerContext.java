@@ -0,0 +1,101 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import com.co.solia.emotional.share.models.dtos.internal.OpenaiCallerDto;
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * caller of openai bound to the current thread, the calls without a caller are interactive.
+ *
+ * @author luis.bolivar.
+ */
+@UtilityClass
+public class OpenaiCallerContext {
+
+    /**
+     * caller of the threads without one.
+     */
+    private static final OpenaiCallerDto INTERACTIVE = OpenaiCallerDto.builder()
+            .lane(OpenaiLaneEnum.INTERACTIVE)
+            .build();
+
+    /**
+     * caller of the current thread.
+     */
+    private static final ThreadLocal<OpenaiCallerDto> CURRENT = new ThreadLocal<>();
+
+    /**
+     * get the caller of the current thread.
+     * @return {@link OpenaiCallerDto}, interactive when no caller is bound.
+     */
+    public static OpenaiCallerDto current() {
+        final OpenaiCallerDto caller = CURRENT.get();
+        return caller != null ? caller : INTERACTIVE;
+    }
+
+    /**
+     * run a task with a caller bound to the current thread.
+     * @param caller to bind.
+     * @param task to run.
+     * @param <T> type of the result.
+     * @return the result of the task.
+     */
+    public static <T> T call(final OpenaiCallerDto caller, final Supplier<T> task) {
+        final OpenaiCallerDto previous = CURRENT.get();
+        CURRENT.set(caller);
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * run a task with a caller bound to the current thread.
+     * @param caller to bind.
+     * @param task to run.
+     */
+    public static void run(final OpenaiCallerDto caller, final Runnable task) {
+        call(caller, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * wrap a task to run it with the caller of the current thread, for the subtasks of a request.
+     * @param task to wrap.
+     * @param <T> type of the result.
+     * @return {@link Callable} that runs the task with the caller.
+     */
+    public static <T> Callable<T> wrap(final Callable<T> task) {
+        final OpenaiCallerDto caller = CURRENT.get();
+        if (caller == null) {
+            return task;
+        }
+        return () -> {
+            final OpenaiCallerDto previous = CURRENT.get();
+            CURRENT.set(caller);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * bind again the previous caller of the thread.
+     * @param previous caller, null when there was none.
+     */
+    private static void restore(final OpenaiCallerDto previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import com.co.solia.emotional.share.models.dtos.internal.RateLimitsDto;
+import com.co.solia.emotional.share.models.exceptions.ServiceUnavailableException;
+import com.co.solia.emotional.share.models.exceptions.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * interceptor of the calls to openai, reads the rate limit headers of every response,
+ * turns a 429 into a {@link TooManyRequestsException} and a transient 5xx into a
+ * {@link ServiceUnavailableException}, both with the time to wait.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+public class RateLimitsInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * parts of a duration in the openai format, e.g. 6m0s or 20ms.
+     */
+    private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    /**
+     * time to wait when openai does not say it.
+     */
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    /**
+     * statuses of openai that are worth retrying.
+     */
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(500, 502, 503, 504);
+
+    /**
+     * receiver of the rate limits.
+     */
+    private final Consumer<RateLimitsDto> listener;
+
+    /**
+     * default constructor.
+     * @param listener receiver of the rate limits.
+     */
+    public RateLimitsInterceptor(final Consumer<RateLimitsDto> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param request to openai.
+     * @param body of the request.
+     * @param execution of the request.
+     * @return
+     * @throws IOException
+     */
+    @Override
+    public ClientHttpResponse intercept(
+            final HttpRequest request,
+            final byte[] body,
+            final ClientHttpRequestExecution execution) throws IOException {
+        final ClientHttpResponse response = execution.execute(request, body);
+        final HttpHeaders headers = response.getHeaders();
+        final RateLimitsDto limits = getRateLimits(headers);
+        listener.accept(limits);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+            final Duration retryAfter = getRetryAfter(headers, limits);
+            response.close();
+            log.error("[intercept]: openai rate limit reached, retry after: {}", retryAfter);
+            throw TooManyRequestsException.builder()
+                    .message("openai rate limit reached.")
+                    .endpoint(request.getURI().getPath())
+                    .retryAfter(retryAfter)
+                    .build();
+        }
+        if (TRANSIENT_STATUSES.contains(response.getStatusCode().value())) {
+            final int status = response.getStatusCode().value();
+            final Duration retryAfter = Optional.ofNullable(getLong(headers, HttpHeaders.RETRY_AFTER))
+                    .map(Duration::ofSeconds)
+                    .orElse(null);
+            response.close();
+            log.error("[intercept]: openai transient error: {}, retry after: {}", status, retryAfter);
+            throw ServiceUnavailableException.builder()
+                    .message("openai answered with status " + status + ".")
+                    .endpoint(request.getURI().getPath())
+                    .status(status)
+                    .retryAfter(retryAfter)
+                    .build();
+        }
+        return response;
+    }
+
+    /**
+     * get the rate limits from the headers.
+     * @param headers of the response.
+     * @return {@link RateLimitsDto}.
+     */
+    private static RateLimitsDto getRateLimits(final HttpHeaders headers) {
+        return RateLimitsDto.builder()
+                .limitRequests(getLong(headers, "x-ratelimit-limit-requests"))
+                .limitTokens(getLong(headers, "x-ratelimit-limit-tokens"))
+                .remainingRequests(getLong(headers, "x-ratelimit-remaining-requests"))
+                .remainingTokens(getLong(headers, "x-ratelimit-remaining-tokens"))
+                .resetRequests(getDuration(headers.getFirst("x-ratelimit-reset-requests")))
+                .resetTokens(getDuration(headers.getFirst("x-ratelimit-reset-tokens")))
+                .build();
+    }
+
+    /**
+     * get the time to wait after a 429, from retry-after or from the reset of the exhausted limit.
+     * @param headers of the response.
+     * @param limits read from the response.
+     * @return {@link Duration} to wait.
+     */
+    private static Duration getRetryAfter(final HttpHeaders headers, final RateLimitsDto limits) {
+        return Optional.ofNullable(getLong(headers, HttpHeaders.RETRY_AFTER))
+                .map(Duration::ofSeconds)
+                .or(() -> Optional.ofNullable(limits.remainingRequests())
+                        .filter(remaining -> remaining == 0)
+                        .map(remaining -> limits.resetRequests()))
+                .or(() -> Optional.ofNullable(limits.resetTokens()))
+                .orElse(DEFAULT_RETRY_AFTER);
+    }
+
+    /**
+     * get a numeric header.
+     * @param headers of the response.
+     * @param name of the header.
+     * @return {@link Long} value or null when missing or invalid.
+     */
+    private static Long getLong(final HttpHeaders headers, final String name) {
+        Long result = null;
+        try {
+            final String value = headers.getFirst(name);
+            result = value != null ? Long.valueOf(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            log.error("[getLong]: invalid header: {}, error: {}", name, e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * parse a duration in the openai format, e.g. 1s, 6m0s, 20ms.
+     * @param value of the header.
+     * @return {@link Duration} or null when missing or invalid.
+     */
+    private static Duration getDuration(final String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        final Matcher matcher = DURATION.matcher(value);
+        double millis = 0;
+        boolean found = false;
+        while (matcher.find()) {
+            found = true;
+            final double amount = Double.parseDouble(matcher.group(1));
+            millis += switch (matcher.group(2)) {
+                case "h" -> amount * 3_600_000;
+                case "m" -> amount * 60_000;
+                case "s" -> amount * 1_000;
+                default -> amount;
+            };
+        }
+        return found ? Duration.ofMillis((long) Math.ceil(millis)) : null;
+    }
+}
@@ -0,0 +1,183 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * token bucket refilled continuously per minute, the callers take tokens without waiting and are told
+ * how long to wait when there are not enough, the order of the callers is kept by the {@link LaneDispatcher}.
+ * the bucket can go in debt when a settlement debits more than the available tokens.
+ *
+ * @author luis.bolivar.
+ */
+public class TokenBucket {
+
+    /**
+     * nanos in a minute.
+     */
+    private static final double NANOS_BY_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * lock of the state of the bucket.
+     */
+    private final ReentrantLock state = new ReentrantLock();
+
+    /**
+     * source of the current instant in nanos.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * max amount of tokens by minute.
+     */
+    private double capacity;
+
+    /**
+     * available tokens, negative when the bucket is in debt.
+     */
+    private double tokens;
+
+    /**
+     * last refill in nanos.
+     */
+    private long refilled;
+
+    /**
+     * no tokens are given until this instant in nanos.
+     */
+    private long pausedUntil;
+
+    /**
+     * default constructor, the bucket starts full.
+     * @param capacity max amount of tokens by minute.
+     */
+    public TokenBucket(final long capacity) {
+        this(capacity, System::nanoTime);
+    }
+
+    /**
+     * constructor with the source of the time, the bucket starts full.
+     * @param capacity max amount of tokens by minute.
+     * @param clock source of the current instant in nanos.
+     */
+    public TokenBucket(final long capacity, final LongSupplier clock) {
+        this.clock = clock;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.refilled = clock.getAsLong();
+        this.pausedUntil = refilled;
+    }
+
+    /**
+     * give back or take tokens without waiting, used to settle an estimation with the real usage.
+     * @param amount positive to give back, negative to take.
+     */
+    public void adjust(final long amount) {
+        state.lock();
+        try {
+            refill(clock.getAsLong());
+            tokens = Math.min(capacity, tokens + amount);
+        } finally {
+            state.unlock();
+        }
+    }
+
+    /**
+     * update the capacity and the available tokens with the values reported by the server.
+     * @param limit new capacity, ignored when null.
+     * @param remaining tokens available in the server, ignored when null.
+     */
+    public void sync(final Long limit, final Long remaining) {
+        state.lock();
+        try {
+            refill(clock.getAsLong());
+            if (limit != null && limit > 0) {
+                capacity = limit;
+                tokens = Math.min(tokens, capacity);
+            }
+            if (remaining != null && remaining < tokens) {
+                tokens = remaining;
+            }
+        } finally {
+            state.unlock();
+        }
+    }
+
+    /**
+     * stop giving tokens for a while, the bucket keeps refilling meanwhile.
+     * @param duration of the pause.
+     */
+    public void pause(final Duration duration) {
+        state.lock();
+        try {
+            pausedUntil = Math.max(pausedUntil, clock.getAsLong() + duration.toNanos());
+        } finally {
+            state.unlock();
+        }
+    }
+
+    /**
+     * get the max amount of tokens by minute.
+     * @return the capacity.
+     */
+    public long getCapacity() {
+        state.lock();
+        try {
+            return (long) capacity;
+        } finally {
+            state.unlock();
+        }
+    }
+
+    /**
+     * get the available tokens.
+     * @return the available tokens, negative when the bucket is in debt.
+     */
+    public long getAvailable() {
+        state.lock();
+        try {
+            refill(clock.getAsLong());
+            return (long) tokens;
+        } finally {
+            state.unlock();
+        }
+    }
+
+    /**
+     * take the tokens without waiting when they are available and a part of the capacity is kept after them,
+     * the reserve lets the callers with priority take tokens while the others wait.
+     * an amount bigger than the capacity is given when the bucket is full.
+     * @param amount of tokens to take.
+     * @param reserve ratio of the capacity that must stay available, 0 to take all.
+     * @return 0 when the tokens were taken, otherwise the nanos to wait.
+     */
+    public long tryAcquire(final long amount, final double reserve) {
+        state.lock();
+        try {
+            final long now = clock.getAsLong();
+            refill(now);
+            if (now < pausedUntil) {
+                return pausedUntil - now;
+            }
+            final double needed = Math.min(amount + capacity * reserve, capacity);
+            if (tokens >= needed) {
+                tokens -= amount;
+                return 0;
+            }
+            return Math.max(1, (long) ((needed - tokens) * NANOS_BY_MINUTE / capacity));
+        } finally {
+            state.unlock();
+        }
+    }
+
+    /**
+     * add the tokens earned since the last refill.
+     * @param now current instant in nanos.
+     */
+    private void refill(final long now) {
+        tokens = Math.min(capacity, tokens + (now - refilled) * capacity / NANOS_BY_MINUTE);
+        refilled = now;
+    }
+}
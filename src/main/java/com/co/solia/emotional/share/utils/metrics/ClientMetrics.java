@@ -0,0 +1,67 @@
+package com.co.solia.emotional.share.utils.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * timer of the calls between the modules, the same meter for the local and the http transports.
+ *
+ * @author luis.bolivar.
+ */
+@Component
+public class ClientMetrics {
+
+    /**
+     * name of the timer.
+     */
+    private static final String CLIENT_CALLS = "solia.client.calls";
+
+    /**
+     * registry of the timers.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * default constructor.
+     * @param registry registry of the timers.
+     */
+    @Autowired
+    public ClientMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * time a call to another module, tagged with its outcome: found, empty or error.
+     * @param client name of the module called.
+     * @param method called.
+     * @param transport of the call: local or http.
+     * @param call to time.
+     * @param <T> type of the result.
+     * @return {@link Optional} with the result of the call.
+     */
+    public <T> Optional<T> record(
+            final String client, final String method, final String transport, final Supplier<Optional<T>> call) {
+        final long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            final Optional<T> result = call.get();
+            outcome = result.isPresent() ? "found" : "empty";
+            return result;
+        } finally {
+            Timer.builder(CLIENT_CALLS)
+                    .description("calls between the modules.")
+                    .tag("client", client)
+                    .tag("method", method)
+                    .tag("transport", transport)
+                    .tag("outcome", outcome)
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
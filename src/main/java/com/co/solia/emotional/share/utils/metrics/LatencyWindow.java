@@ -0,0 +1,99 @@
+package com.co.solia.emotional.share.utils.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * window of the last latencies of a call, it answers a percentile of them. the percentile is sorted again
+ * only after some new samples, so reading it is cheap on every call.
+ *
+ * @author luis.bolivar.
+ */
+public class LatencyWindow {
+
+    /**
+     * new samples before the percentile is computed again.
+     */
+    private static final int REFRESH = 16;
+
+    /**
+     * lock of the samples.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * last latencies in nanos.
+     */
+    private final long[] samples;
+
+    /**
+     * min samples to answer a percentile.
+     */
+    private final int minSamples;
+
+    /**
+     * percentile answered, between 0 and 100.
+     */
+    private final double percentile;
+
+    /**
+     * next position of the window.
+     */
+    private int next;
+
+    /**
+     * samples in the window.
+     */
+    private int size;
+
+    /**
+     * samples added since the percentile was computed.
+     */
+    private int stale;
+
+    /**
+     * last percentile computed, -1 when there are not enough samples.
+     */
+    private volatile long value = -1;
+
+    /**
+     * default constructor.
+     * @param window amount of latencies kept.
+     * @param minSamples min samples to answer a percentile.
+     * @param percentile percentile answered, between 0 and 100.
+     */
+    public LatencyWindow(final int window, final int minSamples, final double percentile) {
+        this.samples = new long[Math.max(1, window)];
+        this.minSamples = Math.max(1, Math.min(minSamples, samples.length));
+        this.percentile = percentile;
+    }
+
+    /**
+     * add a latency, replacing the oldest one.
+     * @param nanos latency of a call.
+     */
+    public void record(final long nanos) {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+            if (size >= minSamples && (++stale >= REFRESH || value < 0)) {
+                final long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                value = sorted[(int) Math.max(0, Math.min(size - 1, Math.ceil(percentile / 100 * size) - 1))];
+                stale = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * get the percentile of the window.
+     * @return nanos of the percentile, -1 when there are not enough samples.
+     */
+    public long getPercentile() {
+        return value;
+    }
+}
@@ -0,0 +1,112 @@
+package com.co.solia.emotional.share.utils.metrics;
+
+import com.co.solia.emotional.share.models.enums.PromptEnum;
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
+import com.co.solia.emotional.share.models.exceptions.ServiceUnavailableException;
+import com.co.solia.emotional.share.models.exceptions.TooManyRequestsException;
+import com.co.solia.emotional.share.utils.timing.ServerTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletion;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * meters of the calls to openai by prompt type: duration by status, tokens used and cache lookups.
+ *
+ * @author luis.bolivar.
+ */
+public class OpenaiMetrics {
+
+    /**
+     * registry of the meters.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * default constructor.
+     * @param registry registry of the meters.
+     */
+    public OpenaiMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * time a call to openai, tagged with the model, the prompt and the status of the response,
+     * and count the prompt and completion tokens reported in its usage.
+     * @param prompt type of the call.
+     * @param model of the call.
+     * @param call to openai.
+     * @return {@link ResponseEntity} of {@link ChatCompletion}.
+     */
+    public ResponseEntity<ChatCompletion> record(
+            final PromptEnum prompt, final String model, final Supplier<ResponseEntity<ChatCompletion>> call) {
+        final long start = System.nanoTime();
+        String status = "error";
+        try {
+            final ResponseEntity<ChatCompletion> response = call.get();
+            status = response == null ? "empty" : String.valueOf(response.getStatusCode().value());
+            if (response != null && response.getBody() != null && response.getBody().usage() != null) {
+                tokens(prompt, model, TimingPhaseEnum.PROMPT_TOKENS, response.getBody().usage().promptTokens());
+                tokens(prompt, model, TimingPhaseEnum.COMPLETION_TOKENS,
+                        response.getBody().usage().completionTokens());
+            }
+            return response;
+        } catch (RestClientResponseException e) {
+            status = String.valueOf(e.getStatusCode().value());
+            throw e;
+        } catch (ServiceUnavailableException e) {
+            status = String.valueOf(e.getStatus());
+            throw e;
+        } catch (TooManyRequestsException e) {
+            status = "429";
+            throw e;
+        } finally {
+            Timer.builder("solia.openai.calls")
+                    .description("calls to openai.")
+                    .tag("prompt", prompt.name())
+                    .tag("model", String.valueOf(model))
+                    .tag("status", status)
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * count a lookup in the openai cache.
+     * @param prompt type of the call.
+     * @param hit the response was cached.
+     */
+    public void cache(final PromptEnum prompt, final boolean hit) {
+        Counter.builder("solia.openai.cache.requests")
+                .description("lookups in the openai cache.")
+                .tag("prompt", prompt.name())
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * count the tokens of a response, they are also added to the timing of the request.
+     * @param prompt type of the call.
+     * @param model of the call.
+     * @param type of the tokens: prompt or completion.
+     * @param amount of tokens.
+     */
+    private void tokens(final PromptEnum prompt, final String model, final TimingPhaseEnum type, final Integer amount) {
+        if (amount != null) {
+            ServerTiming.add(type, amount);
+            Counter.builder("solia.openai.tokens")
+                    .description("tokens used in the calls to openai.")
+                    .tag("prompt", prompt.name())
+                    .tag("model", String.valueOf(model))
+                    .tag("type", type == TimingPhaseEnum.PROMPT_TOKENS ? "prompt" : "completion")
+                    .register(registry)
+                    .increment(amount);
+        }
+    }
+}
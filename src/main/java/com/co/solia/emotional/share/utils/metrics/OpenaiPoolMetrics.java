@@ -0,0 +1,150 @@
+package com.co.solia.emotional.share.utils.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * listener of the openai transport to expose the connection pool state (leased, idle, pending).
+ *
+ * @author luis.bolivar
+ */
+@Slf4j
+public class OpenaiPoolMetrics extends EventListener implements MeterBinder {
+
+    /**
+     * pool shared by every call to openai.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * connections currently carrying a call.
+     */
+    private final AtomicInteger leased = new AtomicInteger();
+
+    /**
+     * calls started that still wait for a connection.
+     */
+    private final Set<Call> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * default constructor.
+     * @param pool connection pool to observe.
+     */
+    public OpenaiPoolMetrics(final ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param registry to register the gauges.
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("solia.openai.pool.leased", leased, AtomicInteger::get)
+                .description("connections to openai carrying a request.")
+                .register(registry);
+        Gauge.builder("solia.openai.pool.idle", pool, ConnectionPool::idleConnectionCount)
+                .description("connections to openai kept alive without a request.")
+                .register(registry);
+        Gauge.builder("solia.openai.pool.pending", pending, Set::size)
+                .description("requests to openai waiting for a connection.")
+                .register(registry);
+        Gauge.builder("solia.openai.pool.total", pool, ConnectionPool::connectionCount)
+                .description("connections to openai open in the pool.")
+                .register(registry);
+    }
+
+    /**
+     * get the connections carrying a request.
+     * @return amount of leased connections.
+     */
+    public int getLeased() {
+        return leased.get();
+    }
+
+    /**
+     * get the idle connections in the pool.
+     * @return amount of idle connections.
+     */
+    public int getIdle() {
+        return pool.idleConnectionCount();
+    }
+
+    /**
+     * get the requests waiting for a connection.
+     * @return amount of pending requests.
+     */
+    public int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param call started.
+     */
+    @Override
+    public void callStart(final Call call) {
+        pending.add(call);
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param call that got the connection.
+     * @param connection leased.
+     */
+    @Override
+    public void connectionAcquired(final Call call, final Connection connection) {
+        pending.remove(call);
+        leased.incrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param call that released the connection.
+     * @param connection released.
+     */
+    @Override
+    public void connectionReleased(final Call call, final Connection connection) {
+        leased.decrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param call ended.
+     */
+    @Override
+    public void callEnd(final Call call) {
+        pending.remove(call);
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param call failed.
+     * @param ioe cause of the failure.
+     */
+    @Override
+    public void callFailed(final Call call, final IOException ioe) {
+        pending.remove(call);
+        log.warn("[callFailed]: call to openai failed: {}", ioe.getMessage());
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param call canceled.
+     */
+    @Override
+    public void canceled(final Call call) {
+        pending.remove(call);
+    }
+}
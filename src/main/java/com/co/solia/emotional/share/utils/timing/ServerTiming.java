@@ -0,0 +1,108 @@
+package com.co.solia.emotional.share.utils.timing;
+
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * timing context of the current request, used to build its {@code Server-Timing} header.
+ * when it is disabled every method returns at once, without reading the thread local.
+ *
+ * @author luis.bolivar.
+ */
+@UtilityClass
+public class ServerTiming {
+
+    /**
+     * context of the request run by the current thread.
+     */
+    private static final ThreadLocal<TimingContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * the timing is collected.
+     */
+    private static volatile boolean enabled;
+
+    /**
+     * enable the collection of the timings.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * get the context of the current thread.
+     * @return {@link TimingContext}, null when there is no request timed.
+     */
+    public static TimingContext current() {
+        return enabled ? CURRENT.get() : null;
+    }
+
+    /**
+     * set the context of the current thread.
+     * @param context to set, null to remove it.
+     */
+    public static void attach(final TimingContext context) {
+        if (context != null) {
+            CURRENT.set(context);
+        } else if (enabled) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * wrap a task to run it with the context of the current thread, for the subtasks of a request.
+     * @param task to wrap.
+     * @param <T> type of the result.
+     * @return {@link Callable} that runs the task with the context.
+     */
+    public static <T> Callable<T> wrap(final Callable<T> task) {
+        final TimingContext context = current();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            final TimingContext previous = CURRENT.get();
+            CURRENT.set(context);
+            try {
+                return task.call();
+            } finally {
+                attach(previous);
+            }
+        };
+    }
+
+    /**
+     * add a value to a phase of the current request.
+     * @param phase to add.
+     * @param value nanoseconds for a duration, otherwise an amount.
+     */
+    public static void add(final TimingPhaseEnum phase, final long value) {
+        final TimingContext context = current();
+        if (context != null) {
+            context.add(phase, value);
+        }
+    }
+
+    /**
+     * time a task as a phase of the current request.
+     * @param phase of the task.
+     * @param task to time.
+     * @param <T> type of the result.
+     * @return the result of the task.
+     */
+    public static <T> T time(final TimingPhaseEnum phase, final Supplier<T> task) {
+        final TimingContext context = current();
+        if (context == null) {
+            return task.get();
+        }
+        final long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            context.add(phase, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.co.solia.emotional.share.utils.timing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * advice that writes the {@code Server-Timing} header of a timed request, just before its body.
+ *
+ * @author luis.bolivar.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * name of the header.
+     */
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    /**
+     * {@inheritDoc}.
+     * @param returnType of the handler.
+     * @param converterType of the body.
+     * @return
+     */
+    @Override
+    public boolean supports(
+            final MethodParameter returnType,
+            final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param body of the response.
+     * @param returnType of the handler.
+     * @param contentType of the body.
+     * @param converterType of the body.
+     * @param request received.
+     * @param response to send.
+     * @return
+     */
+    @Override
+    public Object beforeBodyWrite(
+            final Object body,
+            final MethodParameter returnType,
+            final MediaType contentType,
+            final Class<? extends HttpMessageConverter<?>> converterType,
+            final ServerHttpRequest request,
+            final ServerHttpResponse response) {
+        final TimingContext context = ServerTiming.current();
+        if (context != null) {
+            response.getHeaders().set(SERVER_TIMING, context.toHeader());
+        }
+        return body;
+    }
+}
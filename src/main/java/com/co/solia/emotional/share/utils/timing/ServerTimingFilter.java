@@ -0,0 +1,67 @@
+package com.co.solia.emotional.share.utils.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * filter that opens a {@link TimingContext} for the compute requests, the header is written by {@link ServerTimingAdvice}
+ * before the body, the streamed responses are not timed.
+ *
+ * @author luis.bolivar.
+ */
+@Component
+@ConditionalOnProperty(name = "solia.emotional.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    /**
+     * compute endpoints timed.
+     */
+    private static final Pattern COMPUTE = Pattern.compile("^/1/(emotional|clean|keyphrase|campaign)/compute/.*");
+
+    /**
+     * default constructor, it enables the collection of the timings.
+     */
+    public ServerTimingFilter() {
+        ServerTiming.enable();
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param request to filter.
+     * @return
+     */
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final String path = request.getRequestURI();
+        return !"POST".equals(request.getMethod()) || !COMPUTE.matcher(path).matches() || path.contains("/stream/");
+    }
+
+    /**
+     * {@inheritDoc}.
+     * @param request to filter.
+     * @param response of the request.
+     * @param chain of filters.
+     * @throws ServletException when the chain fails.
+     * @throws IOException when the chain fails.
+     */
+    @Override
+    protected void doFilterInternal(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final FilterChain chain) throws ServletException, IOException {
+        ServerTiming.attach(new TimingContext());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ServerTiming.attach(null);
+        }
+    }
+}
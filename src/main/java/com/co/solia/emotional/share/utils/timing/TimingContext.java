@@ -0,0 +1,65 @@
+package com.co.solia.emotional.share.utils.timing;
+
+import com.co.solia.emotional.share.models.enums.TimingPhaseEnum;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * totals of the phases of a request, written by the request thread and by the subtasks it forks.
+ *
+ * @author luis.bolivar.
+ */
+public class TimingContext {
+
+    /**
+     * nanoseconds by millisecond.
+     */
+    private static final double NANOS_BY_MILLI = 1_000_000.0;
+
+    /**
+     * start of the request.
+     */
+    private final long start = System.nanoTime();
+
+    /**
+     * total by phase, nanoseconds for the durations.
+     */
+    private final AtomicLongArray totals = new AtomicLongArray(TimingPhaseEnum.values().length);
+
+    /**
+     * times each phase was added.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(TimingPhaseEnum.values().length);
+
+    /**
+     * add a value to a phase.
+     * @param phase to add.
+     * @param value nanoseconds for a duration, otherwise an amount.
+     */
+    public void add(final TimingPhaseEnum phase, final long value) {
+        totals.addAndGet(phase.ordinal(), value);
+        counts.incrementAndGet(phase.ordinal());
+    }
+
+    /**
+     * get the value of the {@code Server-Timing} header, the durations of the phases run in parallel are summed.
+     * @return {@link String} with the header.
+     */
+    public String toHeader() {
+        final StringJoiner header = new StringJoiner(", ");
+        for (TimingPhaseEnum phase : TimingPhaseEnum.values()) {
+            final long count = counts.get(phase.ordinal());
+            if (count == 0) {
+                continue;
+            }
+            final long total = totals.get(phase.ordinal());
+            header.add(phase.isDuration()
+                    ? String.format(Locale.ROOT, "%s;dur=%.1f;desc=\"%d\"", phase.getMetric(), total / NANOS_BY_MILLI, count)
+                    : String.format(Locale.ROOT, "%s;desc=\"%d\"", phase.getMetric(), total));
+        }
+        header.add(String.format(Locale.ROOT, "total;dur=%.1f", (System.nanoTime() - start) / NANOS_BY_MILLI));
+        return header.toString();
+    }
+}
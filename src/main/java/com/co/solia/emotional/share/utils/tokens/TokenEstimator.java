@@ -0,0 +1,41 @@
+package com.co.solia.emotional.share.utils.tokens;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * utility class to estimate the tokens of a text before sending it to openai,
+ * shared by the prompts, the chunks of the batches and the rate limits so all of them agree.
+ *
+ * @author luis.bolivar.
+ */
+@UtilityClass
+public class TokenEstimator {
+
+    /**
+     * characters by token used to estimate the size of a text.
+     */
+    private static final int CHARS_BY_TOKEN = 4;
+
+    /**
+     * tokens added by openai to every message.
+     */
+    private static final int TOKENS_BY_MESSAGE = 4;
+
+    /**
+     * estimate the tokens of a text.
+     * @param text to estimate, null counts as empty.
+     * @return estimated tokens.
+     */
+    public static int ofText(final String text) {
+        return text == null ? 0 : text.length() / CHARS_BY_TOKEN;
+    }
+
+    /**
+     * estimate the tokens of a chat message, its content plus the tokens openai adds to every message.
+     * @param content of the message, null counts as empty.
+     * @return estimated tokens.
+     */
+    public static int ofMessage(final String content) {
+        return ofText(content) + TOKENS_BY_MESSAGE;
+    }
+}
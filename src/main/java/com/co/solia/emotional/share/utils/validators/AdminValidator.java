@@ -0,0 +1,59 @@
+package com.co.solia.emotional.share.utils.validators;
+
+import com.co.solia.emotional.share.models.exceptions.ForbiddenException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * validation of the admin code sent in the header x-a-x by the administrative endpoints.
+ *
+ * @author luis.bolivar.
+ */
+@Slf4j
+@Component
+public class AdminValidator {
+
+    /**
+     * code of the administrators, the administrative endpoints are disabled when it is empty.
+     */
+    private final byte[] adminCode;
+
+    /**
+     * default constructor.
+     * @param adminCode code of the administrators.
+     */
+    @Autowired
+    public AdminValidator(@Value("${solia.emotional.admin.code}") final String adminCode) {
+        this.adminCode = adminCode.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * validate the code of the caller is the one of the administrators.
+     * @param code of the caller.
+     * @param endpoint called, used in the errors.
+     */
+    public void validate(final String code, final String endpoint) {
+        Validator.isValidField(Validator.isValidString(code), "adminCode", endpoint);
+        if (!isAdmin(code)) {
+            log.error("[validate]: invalid admin code in the endpoint: {}", endpoint);
+            throw ForbiddenException.builder()
+                    .message("invalid admin code.")
+                    .endpoint(endpoint)
+                    .build();
+        }
+    }
+
+    /**
+     * check the code of the caller against the one of the administrators, in constant time.
+     * @param code of the caller.
+     * @return true when the code is the one of the administrators.
+     */
+    private boolean isAdmin(final String code) {
+        return adminCode.length > 0 && MessageDigest.isEqual(adminCode, code.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,9 +4,13 @@ package com.co.solia.emotional.share.utils.validators;
 import com.co.solia.emotional.share.models.dtos.rs.DefaultRsDto;
 import com.co.solia.emotional.share.models.exceptions.BadRequestException;
 import com.co.solia.emotional.share.models.exceptions.CreatedException;
+import com.co.solia.emotional.share.models.exceptions.ForbiddenException;
 import com.co.solia.emotional.share.models.exceptions.InternalServerException;
 import com.co.solia.emotional.share.models.exceptions.NotFoundException;
+import com.co.solia.emotional.share.models.exceptions.ServiceUnavailableException;
+import com.co.solia.emotional.share.models.exceptions.TooManyRequestsException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -62,6 +66,18 @@ public class ControllerHandler {
                 .body(DefaultRsDto.builder().message(bre.getMessage()).endpoint(bre.getEndpoint()).build());
     }
 
+    /**
+     * {@link ExceptionHandler} for {@link ForbiddenException}.
+     * @param fe {@link ForbiddenException} to catch.
+     * @return {@link ExceptionHandler} for {@link ForbiddenException}.
+     */
+    @ExceptionHandler(value = ForbiddenException.class)
+    public ResponseEntity<DefaultRsDto> forbiddenException(final ForbiddenException fe) {
+        log.error("[forbiddenException]: Error catch: message: {}, endpoint: {}", fe.getMessage(), fe.getEndpoint());
+        return ResponseEntity.status(HttpStatusCode.valueOf(403))
+                .body(DefaultRsDto.builder().message(fe.getMessage()).endpoint(fe.getEndpoint()).build());
+    }
+
     /**
      * {@link ExceptionHandler} for {@link NotFoundException}.
      * @param nfe {@link NotFoundException} to catch.
@@ -75,6 +91,40 @@ public class ControllerHandler {
                 .body(DefaultRsDto.builder().message(nfe.getMessage()).endpoint(nfe.getEndpoint()).build());
     }
 
+    /**
+     * {@link ExceptionHandler} for {@link ServiceUnavailableException}, openai failed after the retries
+     * or its circuit breaker is open, the client is told when to try again.
+     * @param sue {@link ServiceUnavailableException} to catch.
+     * @return {@link ExceptionHandler} for {@link ServiceUnavailableException}.
+     */
+    @ExceptionHandler(value = ServiceUnavailableException.class)
+    public ResponseEntity<DefaultRsDto> serviceUnavailableException(final ServiceUnavailableException sue) {
+        log.error("[serviceUnavailableException]: Error catch: message: {}, endpoint: {}",
+                sue.getMessage(), sue.getEndpoint());
+        final ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatusCode.valueOf(503));
+        if (sue.getRetryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, sue.getRetryAfter().toSeconds())));
+        }
+        return response.body(DefaultRsDto.builder().message(sue.getMessage()).endpoint(sue.getEndpoint()).build());
+    }
+
+    /**
+     * {@link ExceptionHandler} for {@link TooManyRequestsException}, openai kept rejecting the call by its
+     * rate limits after the retries, the client is told when to try again.
+     * @param tmre {@link TooManyRequestsException} to catch.
+     * @return {@link ExceptionHandler} for {@link TooManyRequestsException}.
+     */
+    @ExceptionHandler(value = TooManyRequestsException.class)
+    public ResponseEntity<DefaultRsDto> tooManyRequestsException(final TooManyRequestsException tmre) {
+        log.error("[tooManyRequestsException]: Error catch: message: {}, endpoint: {}",
+                tmre.getMessage(), tmre.getEndpoint());
+        final ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatusCode.valueOf(429));
+        if (tmre.getRetryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, tmre.getRetryAfter().toSeconds())));
+        }
+        return response.body(DefaultRsDto.builder().message(tmre.getMessage()).endpoint(tmre.getEndpoint()).build());
+    }
+
     /**
      * get log for the runtime exception.
      * @param rte runtime exception.
@@ -1,6 +1,7 @@
 package com.co.solia.emotional.share.utils.validators;
 
 import com.co.solia.emotional.campaign.models.dtos.rq.CampaignRqDto;
+import com.co.solia.emotional.pipeline.models.dtos.rq.PipelineRqDto;
 import com.co.solia.emotional.plan.models.dtos.rq.CreatePlanRqDto;
 import com.co.solia.emotional.plan.models.dtos.rq.UpdatePlanRqDto;
 import com.co.solia.emotional.share.models.exceptions.BadRequestException;
@@ -90,6 +91,16 @@ public class ServiceValidator {
         log.info("[validateComputeCampaign]: the data is valid to generate the campaign.");
     }
 
+    /**
+     * validate the pipeline request to generate the campaign from raw messages.
+     * @param rq to validate.
+     */
+    public static void validatePipelineRq(final PipelineRqDto rq) {
+        validateMessages(rq.getMessages(), "/pipeline/compute/");
+        Validator.isValidField(Validator.isValidId(rq.getBrandId()), "brandId", "/pipeline/");
+        log.info("[validatePipelineRq]: the data is valid to run the pipeline.");
+    }
+
     /**
      * validate the data for create a new plan.
      * @param rq request with the data to create a new plan.
@@ -0,0 +1,167 @@
+package com.co.solia.emotional.share.utils.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * tests of {@link SingleFlight}, the followers join the call once the counter of shared callers says so,
+ * so the tests do not depend on sleeps.
+ *
+ * @author luis.bolivar.
+ */
+class SingleFlightTest {
+
+    /**
+     * callers joining the call in flight.
+     */
+    private static final int FOLLOWERS = 3;
+
+    /**
+     * registry of the metrics of the flight.
+     */
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * flight under test.
+     */
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test", registry);
+
+    /**
+     * the concurrent callers with the same key share one call and its result.
+     * @throws Exception when a caller fails.
+     */
+    @Test
+    void executeCoalescesTheCallsInFlight() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<String> leader = executor.submit(() -> flight.execute("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            started.await();
+            final List<Future<String>> followers = submitFollowers(executor, () -> "other");
+            awaitShared(FOLLOWERS);
+            release.countDown();
+
+            assertEquals("result", leader.get());
+            for (Future<String> follower : followers) {
+                assertEquals("result", follower.get());
+            }
+        }
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * the error of the call is thrown to every caller, and the key is released for the next call.
+     * @throws Exception when a caller fails.
+     */
+    @Test
+    void executePropagatesTheErrorToAllTheCallers() throws Exception {
+        final IllegalStateException error = new IllegalStateException("openai down.");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<String> leader = executor.submit(() -> flight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw error;
+            }));
+            started.await();
+            final List<Future<String>> followers = submitFollowers(executor, () -> "other");
+            awaitShared(FOLLOWERS);
+            release.countDown();
+
+            assertSame(error, assertThrows(ExecutionException.class, leader::get).getCause());
+            for (Future<String> follower : followers) {
+                assertSame(error, assertThrows(ExecutionException.class, follower::get).getCause());
+            }
+        }
+        assertEquals("retried", flight.execute("key", () -> "retried"));
+    }
+
+    /**
+     * an error of the leader, not only a runtime exception, reaches the followers and releases the key.
+     * @throws Exception when a caller fails.
+     */
+    @Test
+    void executeReleasesTheKeyOnAnError() throws Exception {
+        final StackOverflowError error = new StackOverflowError("too deep.");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<String> leader = executor.submit(() -> flight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw error;
+            }));
+            started.await();
+            final List<Future<String>> followers = submitFollowers(executor, () -> "other");
+            awaitShared(FOLLOWERS);
+            release.countDown();
+
+            assertSame(error, assertThrows(ExecutionException.class, leader::get).getCause());
+            for (Future<String> follower : followers) {
+                assertSame(error, assertThrows(ExecutionException.class, follower::get).getCause());
+            }
+        }
+        assertEquals("retried", flight.execute("key", () -> "retried"));
+    }
+
+    /**
+     * submit the followers of the call in flight.
+     * @param executor of the followers.
+     * @param call of the followers, never executed while the leader is in flight.
+     * @return {@link List} of {@link Future} of the followers.
+     */
+    private List<Future<String>> submitFollowers(
+            final ExecutorService executor,
+            final Supplier<String> call) {
+        final List<Future<String>> followers = new ArrayList<>(FOLLOWERS);
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(executor.submit(() -> flight.execute("key", call)));
+        }
+        return followers;
+    }
+
+    /**
+     * wait until the amount of callers joined the call in flight.
+     * @param expected amount of callers.
+     */
+    private void awaitShared(final int expected) {
+        while (registry.get("solia.singleflight.shared").counter().count() < expected) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * wait for a latch without a checked exception.
+     * @param latch to wait.
+     */
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.co.solia.emotional.share.utils.http;
+
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * tests of {@link HttpCaller}, the responses are answered by an interceptor so no call leaves the test,
+ * and the bodies count when they are closed.
+ *
+ * @author luis.bolivar.
+ */
+class HttpCallerTest {
+
+    /**
+     * max time a call can take once it can finish.
+     */
+    private static final Duration DEADLINE = Duration.ofSeconds(5);
+
+    /**
+     * request of the tests, it never reaches the network.
+     */
+    private static final Request REQUEST = new Request.Builder().url("http://module.local/test").build();
+
+    /**
+     * dispatcher of the calls.
+     */
+    private final Dispatcher dispatcher = new Dispatcher(Executors.newVirtualThreadPerTaskExecutor());
+
+    /**
+     * bodies of the responses closed.
+     */
+    private final AtomicInteger closed = new AtomicInteger();
+
+    /**
+     * a successful response is parsed and its body closed.
+     */
+    @Test
+    void executeClosesTheResponse() {
+        final HttpCaller caller = getCaller(chain -> respond(chain, 200, "result"));
+
+        assertEquals(Optional.of("result"), caller.execute(REQUEST, Optional::of));
+        assertEquals(1, closed.get());
+    }
+
+    /**
+     * an unsuccessful response is not parsed, and its body is closed all the same.
+     */
+    @Test
+    void executeClosesTheUnsuccessfulResponse() {
+        final HttpCaller caller = getCaller(chain -> respond(chain, 500, "error"));
+
+        assertEquals(Optional.empty(), caller.execute(REQUEST, Optional::of));
+        assertEquals(1, closed.get());
+    }
+
+    /**
+     * a synchronous call waits for the limits of the dispatcher like an async one.
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    void executeWaitsForTheDispatcherLimits() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final HttpCaller caller = getCaller(chain -> {
+            started.countDown();
+            await(release);
+            return respond(chain, 200, "result");
+        });
+        dispatcher.setMaxRequests(1);
+
+        final Thread first = Thread.ofVirtual().start(() -> caller.execute(REQUEST, Optional::of));
+        assertTrue(started.await(DEADLINE.toMillis(), TimeUnit.MILLISECONDS));
+        final Thread second = Thread.ofVirtual().start(() -> caller.execute(REQUEST, Optional::of));
+        while (dispatcher.queuedCallsCount() == 0) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, dispatcher.runningCallsCount());
+
+        release.countDown();
+        assertTrue(first.join(DEADLINE));
+        assertTrue(second.join(DEADLINE));
+        assertEquals(2, closed.get());
+    }
+
+    /**
+     * cancelling the future of an enqueued request cancels its call.
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    void cancelCancelsTheCall() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final HttpCaller caller = getCaller(chain -> {
+            started.countDown();
+            while (!chain.call().isCanceled()) {
+                Thread.onSpinWait();
+            }
+            cancelled.countDown();
+            throw new IOException("canceled.");
+        });
+
+        final CompletableFuture<Optional<String>> future = caller.enqueue(REQUEST, Optional::of);
+        assertTrue(started.await(DEADLINE.toMillis(), TimeUnit.MILLISECONDS));
+        future.cancel(true);
+
+        assertTrue(cancelled.await(DEADLINE.toMillis(), TimeUnit.MILLISECONDS));
+        assertTrue(future.isCancelled());
+    }
+
+    /**
+     * an interrupted caller cancels its call and keeps its interrupt.
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    void interruptCancelsTheCall() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final HttpCaller caller = getCaller(chain -> {
+            started.countDown();
+            while (!chain.call().isCanceled()) {
+                Thread.onSpinWait();
+            }
+            cancelled.countDown();
+            throw new IOException("canceled.");
+        });
+        final AtomicInteger interrupted = new AtomicInteger();
+
+        final Thread waiter = Thread.ofVirtual().start(() -> {
+            assertEquals(Optional.empty(), caller.execute(REQUEST, Optional::of));
+            if (Thread.currentThread().isInterrupted()) {
+                interrupted.incrementAndGet();
+            }
+        });
+        assertTrue(started.await(DEADLINE.toMillis(), TimeUnit.MILLISECONDS));
+        waiter.interrupt();
+
+        assertTrue(cancelled.await(DEADLINE.toMillis(), TimeUnit.MILLISECONDS));
+        assertTrue(waiter.join(DEADLINE));
+        assertEquals(1, interrupted.get());
+    }
+
+    /**
+     * get a caller answered by an interceptor.
+     * @param interceptor answering the calls.
+     * @return {@link HttpCaller}.
+     */
+    private HttpCaller getCaller(final Interceptor interceptor) {
+        return new HttpCaller("test", new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .addInterceptor(interceptor)
+                .build());
+    }
+
+    /**
+     * answer a call with a body that counts when it is closed.
+     * @param chain of the call.
+     * @param code of the response.
+     * @param content of the body.
+     * @return {@link Response}.
+     */
+    private Response respond(final Interceptor.Chain chain, final int code, final String content) {
+        final Buffer buffer = new Buffer().writeUtf8(content);
+        final long length = buffer.size();
+        final ForwardingSource source = new ForwardingSource(buffer) {
+            @Override
+            public void close() throws IOException {
+                closed.incrementAndGet();
+                super.close();
+            }
+        };
+        return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message(String.valueOf(code))
+                .body(ResponseBody.create(Okio.buffer(source), MediaType.get("text/plain"), length))
+                .build();
+    }
+
+    /**
+     * wait for a latch without a checked exception.
+     * @param latch to wait.
+     */
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * tests of {@link AdaptiveLimiter} over a manual clock.
+ *
+ * @author luis.bolivar.
+ */
+class AdaptiveLimiterTest {
+
+    /**
+     * usual latency of a call.
+     */
+    private static final long LATENCY = Duration.ofMillis(100).toNanos();
+
+    /**
+     * current instant of the limiter in nanos.
+     */
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    /**
+     * limiter from 4 to 10 permits, it cuts by half beyond 2 times the average latency.
+     */
+    private final AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 10, 2, 0.5, now::get);
+
+    /**
+     * the saturated limit grows by one for every limit of successful calls.
+     */
+    @Test
+    void growsWhileSaturated() {
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(LATENCY);
+        }
+        assertEquals(4, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.onSuccess(LATENCY);
+        assertEquals(5, limiter.getLimit());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    /**
+     * the limit does not grow when less than half of it is in use.
+     */
+    @Test
+    void doesNotGrowWhenIdle() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(LATENCY);
+        }
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    /**
+     * a latency beyond the tolerance of the average cuts the limit.
+     */
+    @Test
+    void slowCallCutsTheLimit() {
+        assertTrue(limiter.tryAcquire());
+        limiter.onSuccess(LATENCY);
+        advance(Duration.ofMillis(100));
+
+        assertTrue(limiter.tryAcquire());
+        limiter.onSuccess(LATENCY * 3);
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    /**
+     * a burst of drops cuts the limit once by round trip, never below the min.
+     */
+    @Test
+    void dropsCutOnceByRoundTrip() {
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        advance(Duration.ofMillis(1));
+
+        limiter.onDropped();
+        limiter.onDropped();
+        assertEquals(2, limiter.getLimit());
+
+        advance(Duration.ofMillis(1));
+        limiter.onDropped();
+        assertEquals(1, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+
+        advance(Duration.ofMillis(1));
+        assertTrue(limiter.tryAcquire());
+        limiter.onDropped();
+        assertEquals(1, limiter.getLimit());
+    }
+
+    /**
+     * an ignored call releases its permit without changing the limit.
+     */
+    @Test
+    void ignoredCallOnlyReleases() {
+        assertTrue(limiter.tryAcquire());
+        advance(Duration.ofMillis(1));
+
+        limiter.onIgnored();
+
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * a caller gets no permit while all of them are in use, and gets the one released.
+     */
+    @Test
+    void tryAcquireFailsWhileThePermitsAreInUse() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.getInFlight());
+
+        limiter.onIgnored();
+
+        assertTrue(limiter.tryAcquire());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    /**
+     * move the clock forward.
+     * @param duration to move.
+     */
+    private void advance(final Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,156 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import com.co.solia.emotional.share.models.enums.CircuitStateEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * tests of {@link CircuitBreaker} over a manual clock.
+ *
+ * @author luis.bolivar.
+ */
+class CircuitBreakerTest {
+
+    /**
+     * duration the breaker stays open.
+     */
+    private static final Duration OPEN = Duration.ofSeconds(10);
+
+    /**
+     * current instant of the breaker in nanos.
+     */
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    /**
+     * transitions received by the listener.
+     */
+    private final List<CircuitStateEnum> transitions = new ArrayList<>();
+
+    /**
+     * breaker over the last 4 calls, it opens at 50% of failures and allows 2 trial calls.
+     */
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 4, 50, OPEN, 2, transitions::add, now::get);
+
+    /**
+     * the failure rate is not evaluated until the window has the min amount of calls.
+     */
+    @Test
+    void staysClosedUntilTheMinCalls() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitStateEnum.CLOSED, breaker.getState());
+        assertEquals(0, breaker.tryAcquire());
+    }
+
+    /**
+     * the breaker opens at the failure rate and rejects the calls until the open duration passes.
+     */
+    @Test
+    void opensAtTheFailureRate() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitStateEnum.OPEN, breaker.getState());
+        assertEquals(OPEN.toNanos(), breaker.tryAcquire());
+
+        advance(OPEN.minusSeconds(4));
+
+        assertEquals(Duration.ofSeconds(4).toNanos(), breaker.tryAcquire());
+        assertEquals(List.of(CircuitStateEnum.OPEN), transitions);
+    }
+
+    /**
+     * the oldest outcomes leave the window, so old failures do not open the breaker.
+     */
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertEquals(CircuitStateEnum.CLOSED, breaker.getState());
+    }
+
+    /**
+     * after the open duration only the trial calls pass, and they close the breaker when all succeed.
+     */
+    @Test
+    void halfOpenClosesWhenTheTrialsSucceed() {
+        open();
+        advance(OPEN);
+
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(CircuitStateEnum.HALF_OPEN, breaker.getState());
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(OPEN.toNanos(), breaker.tryAcquire());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(CircuitStateEnum.CLOSED, breaker.getState());
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(List.of(CircuitStateEnum.OPEN, CircuitStateEnum.HALF_OPEN, CircuitStateEnum.CLOSED),
+                transitions);
+    }
+
+    /**
+     * a failed trial call opens the breaker again for the whole open duration.
+     */
+    @Test
+    void halfOpenOpensAgainWhenATrialFails() {
+        open();
+        advance(OPEN);
+        breaker.tryAcquire();
+
+        breaker.onFailure();
+
+        assertEquals(CircuitStateEnum.OPEN, breaker.getState());
+        assertEquals(OPEN.toNanos(), breaker.tryAcquire());
+    }
+
+    /**
+     * a released trial call gives its permit to the next caller.
+     */
+    @Test
+    void releaseGivesBackATrial() {
+        open();
+        advance(OPEN);
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+
+        breaker.release();
+
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(OPEN.toNanos(), breaker.tryAcquire());
+    }
+
+    /**
+     * fill the window with failures to open the breaker.
+     */
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+    }
+
+    /**
+     * move the clock forward.
+     * @param duration to move.
+     */
+    private void advance(final Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
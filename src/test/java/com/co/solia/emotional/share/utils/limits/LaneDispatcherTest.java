@@ -0,0 +1,287 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import com.co.solia.emotional.share.models.enums.OpenaiLaneEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * tests of {@link LaneDispatcher}, the capacity is given by a counter so the callers are served
+ * only once it is opened and the order of the turns is recorded.
+ *
+ * @author luis.bolivar.
+ */
+class LaneDispatcherTest {
+
+    /**
+     * cost of every call and quantum of a tenant of weight 1.
+     */
+    private static final long COST = 100;
+
+    /**
+     * nanos a caller is told to wait when there is no capacity.
+     */
+    private static final long WAIT = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * max time a caller can take to finish once it can be served.
+     */
+    private static final Duration DEADLINE = Duration.ofSeconds(5);
+
+    /**
+     * calls that can take capacity.
+     */
+    private final AtomicInteger capacity = new AtomicInteger();
+
+    /**
+     * labels of the callers in the order they took capacity.
+     */
+    private final List<String> served = new ArrayList<>();
+
+    /**
+     * callers interrupted while waiting.
+     */
+    private final AtomicInteger interrupted = new AtomicInteger();
+
+    /**
+     * dispatcher with the interactive lane weighing 3 times the others.
+     */
+    private final LaneDispatcher dispatcher = new LaneDispatcher(Map.of(
+            OpenaiLaneEnum.INTERACTIVE, 3.0,
+            OpenaiLaneEnum.PIPELINE, 1.0,
+            OpenaiLaneEnum.BATCH, 1.0), COST);
+
+    /**
+     * under contention the lanes get the capacity in proportion to their weights.
+     */
+    @Test
+    void lanesShareByWeight() throws InterruptedException {
+        final List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(enqueue(OpenaiLaneEnum.INTERACTIVE, null, 1, "interactive"));
+            callers.add(enqueue(OpenaiLaneEnum.BATCH, null, 1, "batch"));
+        }
+
+        capacity.set(callers.size());
+        join(callers);
+
+        assertEquals(List.of("interactive", "batch", "interactive", "interactive",
+                "interactive", "batch", "interactive", "interactive"), served.subList(0, 8));
+        assertEquals(0, dispatcher.getQueued(OpenaiLaneEnum.INTERACTIVE));
+        assertEquals(0, dispatcher.getQueued(OpenaiLaneEnum.BATCH));
+    }
+
+    /**
+     * inside a lane the tenants take turns by their weights, whatever the order the callers arrived in.
+     */
+    @Test
+    void tenantsShareByWeight() throws InterruptedException {
+        final UUID heavy = UUID.randomUUID();
+        final UUID light = UUID.randomUUID();
+        final List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            callers.add(enqueue(OpenaiLaneEnum.BATCH, heavy, 2, "heavy"));
+        }
+        for (int i = 0; i < 3; i++) {
+            callers.add(enqueue(OpenaiLaneEnum.BATCH, light, 1, "light"));
+        }
+        assertEquals(2, dispatcher.getTenants(OpenaiLaneEnum.BATCH));
+
+        capacity.set(callers.size());
+        join(callers);
+
+        assertEquals(List.of("heavy", "heavy", "light", "heavy", "heavy", "light", "heavy", "heavy", "light"),
+                served);
+        assertEquals(0, dispatcher.getTenants(OpenaiLaneEnum.BATCH));
+    }
+
+    /**
+     * an interrupted caller leaves the queue of its tenant and the next caller gets the turn.
+     */
+    @Test
+    void interruptedCallerLeavesTheQueue() throws InterruptedException {
+        final Thread first = enqueue(OpenaiLaneEnum.PIPELINE, UUID.randomUUID(), 1, "first");
+        final Thread second = enqueue(OpenaiLaneEnum.PIPELINE, UUID.randomUUID(), 1, "second");
+
+        first.interrupt();
+        join(List.of(first));
+
+        assertEquals(1, interrupted.get());
+        assertEquals(1, dispatcher.getQueued(OpenaiLaneEnum.PIPELINE));
+        assertEquals(1, dispatcher.getTenants(OpenaiLaneEnum.PIPELINE));
+
+        capacity.set(1);
+        join(List.of(second));
+
+        assertEquals(List.of("second"), served);
+        assertEquals(0, dispatcher.getQueued(OpenaiLaneEnum.PIPELINE));
+        assertEquals(0, dispatcher.getTenants(OpenaiLaneEnum.PIPELINE));
+    }
+
+    /**
+     * the permits of a limiter go by the turns of the tenants, not by arrival: a tenant with a big backlog
+     * queued first does not hold back a tenant with a small one.
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    void tenantsTakeTheLimiterPermitsByTurns() throws InterruptedException {
+        final AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 2, 0.5);
+        assertTrue(limiter.tryAcquire());
+        final UUID heavy = UUID.randomUUID();
+        final UUID light = UUID.randomUUID();
+        final List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            callers.add(enqueue(OpenaiLaneEnum.BATCH, heavy, 1, permit(limiter, "heavy")));
+        }
+        for (int i = 0; i < 2; i++) {
+            callers.add(enqueue(OpenaiLaneEnum.BATCH, light, 1, permit(limiter, "light")));
+        }
+
+        for (int i = 0; i < callers.size(); i++) {
+            limiter.onIgnored();
+            dispatcher.signal();
+            while (limiter.getInFlight() == 0) {
+                Thread.onSpinWait();
+            }
+        }
+        join(callers);
+
+        assertEquals(List.of("heavy", "light", "heavy", "light", "heavy", "heavy", "heavy", "heavy"), served);
+        assertEquals(0, dispatcher.getQueued(OpenaiLaneEnum.BATCH));
+    }
+
+    /**
+     * a call that does not wait takes capacity only when its lane is idle, it never jumps a caller queued.
+     * @throws InterruptedException when the test is interrupted.
+     */
+    @Test
+    void tryAcquireDoesNotJumpTheQueue() throws InterruptedException {
+        capacity.set(1);
+        assertTrue(dispatcher.tryAcquire(OpenaiLaneEnum.INTERACTIVE, COST, take("duplicate")));
+        assertFalse(dispatcher.tryAcquire(OpenaiLaneEnum.INTERACTIVE, COST, take("duplicate")));
+
+        final Thread caller = enqueue(OpenaiLaneEnum.INTERACTIVE, null, 1, "queued");
+        capacity.set(1);
+        assertFalse(dispatcher.tryAcquire(OpenaiLaneEnum.INTERACTIVE, COST, take("duplicate")));
+        dispatcher.signal();
+        join(List.of(caller));
+
+        assertEquals(List.of("duplicate", "queued"), served);
+        assertEquals(0, capacity.get());
+    }
+
+    /**
+     * a tenant without weight still gets its turns, at the min weight.
+     */
+    @Test
+    void tenantWithoutWeightIsServed() throws InterruptedException {
+        final Thread caller = enqueue(OpenaiLaneEnum.BATCH, UUID.randomUUID(), 0, "zero");
+
+        capacity.set(1);
+        join(List.of(caller));
+
+        assertEquals(List.of("zero"), served);
+    }
+
+    /**
+     * a lane without a positive weight is rejected.
+     */
+    @Test
+    void laneWithoutWeightIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LaneDispatcher(Map.of(OpenaiLaneEnum.BATCH, 0.0), COST));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LaneDispatcher(Map.of(OpenaiLaneEnum.PIPELINE, -1.0), COST));
+    }
+
+    /**
+     * start a caller taking capacity from the counter and wait until it is queued.
+     * @param lane of the caller.
+     * @param tenant of the caller.
+     * @param weight of the tenant.
+     * @param label recorded when the caller takes capacity.
+     * @return {@link Thread} of the caller.
+     */
+    private Thread enqueue(final OpenaiLaneEnum lane, final UUID tenant, final double weight, final String label) {
+        return enqueue(lane, tenant, weight, take(label));
+    }
+
+    /**
+     * start a caller and wait until it is queued.
+     * @param lane of the caller.
+     * @param tenant of the caller.
+     * @param weight of the tenant.
+     * @param take of the capacity of the caller.
+     * @return {@link Thread} of the caller.
+     */
+    private Thread enqueue(final OpenaiLaneEnum lane, final UUID tenant, final double weight, final LongSupplier take) {
+        final int queued = dispatcher.getQueued(lane);
+        final Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                dispatcher.acquire(lane, tenant, weight, COST, take);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        });
+        while (dispatcher.getQueued(lane) == queued) {
+            Thread.onSpinWait();
+        }
+        return caller;
+    }
+
+    /**
+     * take capacity for a caller, the dispatcher calls it holding its lock.
+     * @param label recorded when the capacity is taken.
+     * @return {@link LongSupplier} answering 0 when taken, otherwise the nanos to wait.
+     */
+    private LongSupplier take(final String label) {
+        return () -> {
+            if (capacity.get() <= 0) {
+                return WAIT;
+            }
+            capacity.decrementAndGet();
+            served.add(label);
+            return 0;
+        };
+    }
+
+    /**
+     * take a permit of a limiter for a caller, the dispatcher calls it holding its lock.
+     * @param limiter to take the permit from.
+     * @param label recorded when the permit is taken.
+     * @return {@link LongSupplier} answering 0 when taken, otherwise to wait for a signal.
+     */
+    private LongSupplier permit(final AdaptiveLimiter limiter, final String label) {
+        return () -> {
+            if (!limiter.tryAcquire()) {
+                return Long.MAX_VALUE;
+            }
+            served.add(label);
+            return 0;
+        };
+    }
+
+    /**
+     * wait for the callers to finish.
+     * @param callers to wait.
+     * @throws InterruptedException when the test is interrupted.
+     */
+    private static void join(final List<Thread> callers) throws InterruptedException {
+        for (Thread caller : callers) {
+            assertTrue(caller.join(DEADLINE));
+            assertFalse(caller.isAlive());
+        }
+    }
+}
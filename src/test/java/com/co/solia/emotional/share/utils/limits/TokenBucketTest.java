@@ -0,0 +1,130 @@
+package com.co.solia.emotional.share.utils.limits;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * tests of {@link TokenBucket} over a manual clock.
+ *
+ * @author luis.bolivar.
+ */
+class TokenBucketTest {
+
+    /**
+     * current instant of the bucket in nanos.
+     */
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    /**
+     * bucket of 60 tokens by minute, one token by second.
+     */
+    private final TokenBucket bucket = new TokenBucket(60, now::get);
+
+    /**
+     * an empty bucket tells how long to wait and gives the tokens once they are refilled.
+     */
+    @Test
+    void tryAcquireWaitsForTheRefill() {
+        assertEquals(0, bucket.tryAcquire(60, 0));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), bucket.tryAcquire(1, 0));
+
+        advance(Duration.ofSeconds(1));
+
+        assertEquals(0, bucket.tryAcquire(1, 0));
+        assertEquals(0, bucket.getAvailable());
+    }
+
+    /**
+     * the refill never goes over the capacity.
+     */
+    @Test
+    void refillIsCappedByTheCapacity() {
+        bucket.tryAcquire(30, 0);
+
+        advance(Duration.ofMinutes(10));
+
+        assertEquals(60, bucket.getAvailable());
+    }
+
+    /**
+     * the settlement can put the bucket in debt, paid with the refill.
+     */
+    @Test
+    void adjustCanPutTheBucketInDebt() {
+        bucket.tryAcquire(60, 0);
+        bucket.adjust(-30);
+
+        assertEquals(-30, bucket.getAvailable());
+        advance(Duration.ofSeconds(40));
+        assertEquals(10, bucket.getAvailable());
+    }
+
+    /**
+     * the limits of the server replace the capacity and only lower the available tokens.
+     */
+    @Test
+    void syncTakesTheLimitsOfTheServer() {
+        bucket.sync(30L, 10L);
+
+        assertEquals(30, bucket.getCapacity());
+        assertEquals(10, bucket.getAvailable());
+
+        bucket.sync(null, 50L);
+
+        assertEquals(30, bucket.getCapacity());
+        assertEquals(10, bucket.getAvailable());
+    }
+
+    /**
+     * no tokens are given while paused, the bucket keeps refilling meanwhile.
+     */
+    @Test
+    void pauseStopsTheTokensUntilItEnds() {
+        bucket.tryAcquire(60, 0);
+        bucket.pause(Duration.ofSeconds(5));
+
+        assertEquals(TimeUnit.SECONDS.toNanos(5), bucket.tryAcquire(1, 0));
+        advance(Duration.ofSeconds(2));
+        assertEquals(TimeUnit.SECONDS.toNanos(3), bucket.tryAcquire(1, 0));
+
+        advance(Duration.ofSeconds(3));
+
+        assertEquals(0, bucket.tryAcquire(5, 0));
+        assertEquals(0, bucket.getAvailable());
+    }
+
+    /**
+     * a caller with reserve leaves a part of the capacity to the callers without it.
+     */
+    @Test
+    void tryAcquireKeepsTheReserve() {
+        final TokenBucket reserved = new TokenBucket(100, now::get);
+
+        assertEquals(0, reserved.tryAcquire(80, 0.2));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(600), reserved.tryAcquire(1, 0.2));
+        assertEquals(0, reserved.tryAcquire(20, 0));
+        assertEquals(0, reserved.getAvailable());
+    }
+
+    /**
+     * an amount bigger than the capacity is given only when the bucket is full.
+     */
+    @Test
+    void tryAcquireGivesAnAmountOverTheCapacityWhenFull() {
+        assertEquals(0, bucket.tryAcquire(90, 0));
+        assertEquals(-30, bucket.getAvailable());
+    }
+
+    /**
+     * move the clock forward.
+     * @param duration to advance.
+     */
+    private void advance(final Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}